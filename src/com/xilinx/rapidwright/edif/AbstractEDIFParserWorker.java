@@ -91,6 +91,17 @@ public abstract class AbstractEDIFParserWorker {
         this(fileName, in, uniquifier, EDIFTokenizer.DEFAULT_MAX_TOKEN_LENGTH, cache);
     }
 
+    /**
+     * Create a worker that reads from an already constructed tokenizer, such as a {@link MappedEDIFTokenizer}
+     * @param tokenizer the tokenizer to read from. It is closed together with this worker.
+     * @param cache the legal name cache
+     */
+    public AbstractEDIFParserWorker(EDIFTokenizer tokenizer, EDIFReadLegalNameCache cache) {
+        this.in = null;
+        this.cache = cache;
+        this.tokenizer = tokenizer;
+    }
+
     public AbstractEDIFParserWorker(Path fileName, StringPool uniquifier, EDIFReadLegalNameCache cache) throws FileNotFoundException {
         in = InputStreamSupplier.getInputStream(fileName,
                 fileName.toString().endsWith(".gz") && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK);
@@ -28,13 +28,26 @@ package com.xilinx.rapidwright.edif;
 
 import static com.xilinx.rapidwright.edif.BinaryEDIFWriter.EDIF_HAS_OWNER;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A Reader for the RapidWright Binary EDIF Format
@@ -141,9 +154,23 @@ public class BinaryEDIFReader {
      * @see BinaryEDIFWriter#writeEDIFCell(EDIFCell, Output, Map)
      */
     public static EDIFCell readEDIFCell(Input is, String[] strings, EDIFLibrary lib, EDIFNetlist netlist) {
+        EDIFCell c = readEDIFCellHeader(is, strings);
+        lib.addCell(c);
+        readEDIFCellContents(c, is, strings, netlist);
+        return c;
+    }
+
+    /**
+     * Reads and creates a new EDIFCell with its name, properties, view and ports, but without
+     * adding it to a library.
+     * @param is Kryo-based input stream
+     * @param strings Indexed string lookup
+     * @return The newly read and created EDIFCell
+     * @see BinaryEDIFWriter#writeEDIFCellHeader(EDIFCell, Output, Map)
+     */
+    static EDIFCell readEDIFCellHeader(Input is, String[] strings) {
         EDIFCell c = new EDIFCell();
         readEDIFObject(c, is, strings);
-        lib.addCell(c);
         int portCount = is.readInt();
         if ((portCount & BinaryEDIFWriter.EDIF_UNIQUE_VIEW_FLAG) == BinaryEDIFWriter.EDIF_UNIQUE_VIEW_FLAG) {
             portCount = portCount & ~BinaryEDIFWriter.EDIF_UNIQUE_VIEW_FLAG;
@@ -172,6 +199,20 @@ public class BinaryEDIFReader {
             port.setIsLittleEndian();
             c.addPort(port);
         }
+        return c;
+    }
+
+    /**
+     * Reads the cell instances and nets of an EDIFCell. All cells referenced by the instances must
+     * already exist in the libraries of the netlist.
+     * @param c The cell to populate, which must already be part of a library
+     * @param is Kryo-based input stream
+     * @param strings Indexed string lookup
+     * @param netlist The current netlist being read
+     * @see BinaryEDIFWriter#writeEDIFCellContents(EDIFCell, Output, Map)
+     */
+    static void readEDIFCellContents(EDIFCell c, Input is, String[] strings, EDIFNetlist netlist) {
+        EDIFLibrary lib = c.getLibrary();
         int instCount = is.readInt();
         for (int i=0; i < instCount; i++) {
             EDIFCellInst inst = new EDIFCellInst();
@@ -198,7 +239,6 @@ public class BinaryEDIFReader {
                 }
             }
         }
-        return c;
     }
 
     /**
@@ -218,6 +258,27 @@ public class BinaryEDIFReader {
      * @see BinaryEDIFWriter#writeBinaryEDIF(Path, EDIFNetlist)
      */
     public static EDIFNetlist readBinaryEDIF(Path path) {
+        return readBinaryEDIF(path, false);
+    }
+
+    /**
+     * Reads a binary EDIF (.bedf) file and creates a new EDIFNetlist object, optionally deferring
+     * the decoding of cell instances and nets. In lazy mode, libraries, cells, their properties
+     * and ports are loaded eagerly, while the instances and nets of a cell are only decoded when
+     * first accessed (for example, by {@link EDIFCell#getCellInsts()} or
+     * {@link EDIFCell#getNets()}). This suits flows that only touch a few cells of a large
+     * netlist. Note that the cell types of instances are looked up by library and cell name when
+     * the contents are decoded, so renaming or removing cells before their users are accessed
+     * should be avoided. Lazy loading requires the chunked format, other files are read eagerly.
+     * @param path Name of the file to read
+     * @param lazy If true, defers decoding of cell instances and nets until first access
+     * @return The newly created netlist populated from the binary EDIF file
+     * @see BinaryEDIFWriter#writeBinaryEDIF(Path, EDIFNetlist)
+     */
+    public static EDIFNetlist readBinaryEDIF(Path path, boolean lazy) {
+        if (isChunkedBinaryEDIF(path)) {
+            return readChunkedBinaryEDIF(path, lazy);
+        }
         try (Input is = FileTools.getKryoZstdInputStream(path.toString())) {
             if (!is.readString().equals(BinaryEDIFWriter.EDIF_BINARY_FILE_TAG)) {
                 throw new RuntimeException("ERROR: Cannot recognize EDIF Binary format");
@@ -247,4 +308,230 @@ public class BinaryEDIFReader {
         }
     }
 
+    /**
+     * The sequential format is a single Zstandard stream, while the chunked format starts with an
+     * uncompressed file tag. Checks for the Zstandard frame magic number to tell them apart.
+     */
+    private static boolean isChunkedBinaryEDIF(Path path) {
+        byte[] magic = new byte[4];
+        try (InputStream in = Files.newInputStream(path)) {
+            if (in.read(magic) != magic.length) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return !(magic[0] == (byte) 0x28 && magic[1] == (byte) 0xb5
+                && magic[2] == (byte) 0x2f && magic[3] == (byte) 0xfd);
+    }
+
+    /**
+     * A decompressed frame of the chunked format, see
+     * {@link BinaryEDIFWriter#writeChunkedBinaryEDIF(java.io.OutputStream, EDIFNetlist)}.
+     */
+    private static class Frame {
+        Input is;
+        String[] strings;
+        EDIFCell[] cells;
+        boolean[] hasContents;
+        /** Compressed frame, only kept for lazy loading */
+        byte[] bytes;
+        /** Number of decompressed bytes of the string table and of the string table plus cell headers */
+        long stringsLength;
+        long headersLength;
+    }
+
+    /**
+     * Populates the contents of all cells of a frame when the contents of one of them are first
+     * accessed. Cells of a frame share one compressed stream, so they are decoded together.
+     */
+    private static class LazyFrame implements Runnable {
+        private final Frame frame;
+        private final EDIFNetlist netlist;
+        /** Flags whether the contents of this frame are being read, guarded by this monitor */
+        private boolean loading;
+
+        LazyFrame(Frame frame, EDIFNetlist netlist) {
+            this.frame = frame;
+            this.netlist = netlist;
+        }
+
+        @Override
+        public synchronized void run() {
+            byte[] bytes = frame.bytes;
+            if (bytes == null || loading) {
+                // Already loaded, or the contents of this frame are being read by this thread
+                return;
+            }
+            loading = true;
+            // Populating cells from the file is not a change to the netlist
+            netlist.beginLoadingContents();
+            try (Input is = openFrame(bytes)) {
+                String[] strings = FileTools.readStringArray(is);
+                is.skip(frame.headersLength - frame.stringsLength);
+                for (EDIFCell cell : frame.cells) {
+                    readEDIFCellContents(cell, is, strings, netlist);
+                }
+            } catch (RuntimeException e) {
+                // Keep the compressed frame so that the next access can try again
+                for (int i = 0; i < frame.cells.length; i++) {
+                    if (frame.hasContents[i]) {
+                        frame.cells[i].discardPartialContents();
+                    }
+                }
+                throw e;
+            } finally {
+                netlist.endLoadingContents();
+                loading = false;
+            }
+            frame.bytes = null;
+            // Only publish the contents once all are read, other threads wait on this monitor
+            for (EDIFCell cell : frame.cells) {
+                cell.setContentsLoader(null);
+            }
+        }
+    }
+
+    private static byte[] readFrame(FileChannel channel, long offset, long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new RuntimeException("ERROR: Binary EDIF frame too large: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of binary EDIF file");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.array();
+    }
+
+    private static Input openFrame(byte[] bytes) {
+        return FileTools.getKryoZstdInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Reads the string table and cell headers of a cell frame.
+     * @param bytes The compressed frame
+     * @param lazy If true, the frame input is closed after the headers and the compressed frame
+     * is kept instead
+     * @return The frame, positioned at the first cell's contents unless lazy
+     * @see BinaryEDIFWriter#writeEDIFCellHeader(EDIFCell, Output, Map)
+     */
+    private static Frame readEDIFCellHeaders(byte[] bytes, boolean lazy) {
+        Frame frame = new Frame();
+        Input is = openFrame(bytes);
+        frame.strings = FileTools.readStringArray(is);
+        frame.stringsLength = is.total();
+        frame.cells = new EDIFCell[is.readInt()];
+        frame.hasContents = new boolean[frame.cells.length];
+        for (int i = 0; i < frame.cells.length; i++) {
+            frame.cells[i] = readEDIFCellHeader(is, frame.strings);
+            frame.hasContents[i] = is.readBoolean();
+        }
+        frame.headersLength = is.total();
+        if (lazy) {
+            is.close();
+            frame.bytes = bytes;
+            frame.strings = null;
+        } else {
+            frame.is = is;
+        }
+        return frame;
+    }
+
+    /**
+     * Reads the chunked binary EDIF format. Frames are decompressed in parallel, first to create
+     * all cells and their ports, and then again in parallel to populate cell instances and nets
+     * once every cell that could be referenced exists.
+     * @param path Name of the file to read
+     * @param lazy If true, skips populating cell instances and nets, which happens on first access
+     * of each cell instead
+     * @return The newly created netlist populated from the binary EDIF file
+     * @see BinaryEDIFWriter#writeChunkedBinaryEDIF(java.io.OutputStream, EDIFNetlist)
+     */
+    private static EDIFNetlist readChunkedBinaryEDIF(Path path, boolean lazy) {
+        long[] frameLengths;
+        long dataStart;
+        try (Input is = FileTools.getKryoInputStreamWithoutInflater(Files.newInputStream(path))) {
+            if (!is.readString().equals(BinaryEDIFWriter.EDIF_BINARY_FILE_TAG)) {
+                throw new RuntimeException("ERROR: Cannot recognize EDIF Binary format");
+            }
+            if (!is.readString().equals(BinaryEDIFWriter.EDIF_BINARY_CHUNKED_FILE_VERSION)) {
+                throw new RuntimeException("ERROR: Unsupported EDIF Binary format version");
+            }
+            frameLengths = is.readLongs(is.readInt());
+            dataStart = is.total();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long[] frameOffsets = new long[frameLengths.length];
+        long offset = dataStart;
+        for (int i = 0; i < frameLengths.length; i++) {
+            frameOffsets[i] = offset;
+            offset += frameLengths[i];
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<Integer> cellFrameIndices = new ArrayList<>();
+            for (int i = 1; i < frameLengths.length; i++) {
+                cellFrameIndices.add(i);
+            }
+            List<Future<Frame>> futures = ParallelismTools.invokeAll(cellFrameIndices,
+                    i -> readEDIFCellHeaders(readFrame(channel, frameOffsets[i], frameLengths[i]), lazy));
+
+            EDIFNetlist netlist = new EDIFNetlist();
+            try (Input is = openFrame(readFrame(channel, frameOffsets[0], frameLengths[0]))) {
+                String[] strings = FileTools.readStringArray(is);
+                List<Frame> frames = new ArrayList<>(futures.size());
+                int numLibraries = is.readInt();
+                int frameIndex = 0;
+                for (int i = 0; i < numLibraries; i++) {
+                    EDIFLibrary lib = new EDIFLibrary();
+                    readEDIFName(lib, is, strings);
+                    netlist.addLibrary(lib);
+                    int numFrames = is.readInt();
+                    for (int j = 0; j < numFrames; j++) {
+                        Frame frame = ParallelismTools.get(futures.get(frameIndex++));
+                        for (EDIFCell cell : frame.cells) {
+                            lib.addCell(cell);
+                        }
+                        frames.add(frame);
+                    }
+                }
+
+                if (lazy) {
+                    for (Frame frame : frames) {
+                        LazyFrame loader = new LazyFrame(frame, netlist);
+                        for (int i = 0; i < frame.cells.length; i++) {
+                            if (frame.hasContents[i]) {
+                                frame.cells[i].setContentsLoader(loader);
+                            }
+                        }
+                    }
+                } else {
+                    ParallelismTools.invokeAllRunnable(frames, frame -> {
+                        try (Input frameInput = frame.is) {
+                            for (EDIFCell cell : frame.cells) {
+                                readEDIFCellContents(cell, frameInput, frame.strings, netlist);
+                            }
+                        }
+                    });
+                }
+
+                readEDIFName(netlist, is, strings);
+                int numComments = is.readInt();
+                for (int i=0; i < numComments; i++) {
+                    netlist.addComment(is.readString());
+                }
+                readEDIFDesign(is, strings, netlist);
+            }
+            return netlist;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
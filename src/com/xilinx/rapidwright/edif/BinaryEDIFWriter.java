@@ -26,18 +26,23 @@
  */
 package com.xilinx.rapidwright.edif;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
 
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A Writer for the RapidWright Binary EDIF Format
@@ -45,11 +50,21 @@ import com.xilinx.rapidwright.util.FileTools;
  * Provides a binary alternative to textual EDIF that is ~10-15X smaller and loads 5-10X faster.
  * This is intended as a cached version of text-based EDIF as it cannot be read by Vivado.  One
  * additional tradeoff is that it takes about 2.5-3X longer to write than text-based EDIF.
+ *
+ * By default, the chunked format is written, which splits cells into independently compressed
+ * frames so that both writing and reading can use multiple threads.
  */
 public class BinaryEDIFWriter {
 
     public static final String EDIF_BINARY_FILE_TAG = "RAPIDWRIGHT_EDIF_BINARY";
     public static final String EDIF_BINARY_FILE_VERSION = "0.0.2";
+    /**
+     * Version of the chunked format, in which groups of cells are stored in independently
+     * compressed frames that can be written and read in parallel
+     */
+    public static final String EDIF_BINARY_CHUNKED_FILE_VERSION = "0.1.0";
+    /** Approximate number of ports, instances, nets and port refs per frame of the chunked format */
+    public static final int EDIF_BINARY_FRAME_SIZE = 1 << 17;
 
     public static final int EDIF_NAME_FLAG = 0x80000000;
     public static final int EDIF_UNIQUE_VIEW_FLAG = 0x80000000;
@@ -92,6 +107,27 @@ public class BinaryEDIFWriter {
         }
     }
 
+    private static void addCellToStringMap(EDIFCell cell, Map<String,Integer> stringMap) {
+        addObjectToStringMap(cell, stringMap);
+        addNameToStringMap(cell.getEDIFView(), stringMap);
+        for (EDIFCellInst inst : cell.getCellInsts()) {
+            addObjectToStringMap(inst, stringMap);
+            addStringToStringMap(inst.getCellType().getName(), stringMap);
+            addStringToStringMap(inst.getCellType().getLibrary().getName(), stringMap);
+        }
+        for (EDIFNet net : cell.getNets()) {
+            addObjectToStringMap(net, stringMap);
+            for (EDIFPortInst pi : net.getPortInsts()) {
+                String name = pi.getPort().isBus() ? pi.getPort().getBusName(true) : pi.getName();
+                addStringToStringMap(name, stringMap);
+                addStringToStringMap(getPortInstKey(pi), stringMap);
+            }
+        }
+        for (EDIFPort port : cell.getPorts()) {
+            addObjectToStringMap(port, stringMap);
+        }
+    }
+
     /**
      * This method iterates over an entire EDIFNetlist to enumerate all Strings.  This is done to
      * provide a fast lookup array at the front of the file when loading the Binary EDIF.
@@ -103,21 +139,7 @@ public class BinaryEDIFWriter {
         for (EDIFLibrary lib : netlist.getLibraries()) {
             addNameToStringMap(lib, stringMap);
             for (EDIFCell cell : lib.getCells()) {
-                addObjectToStringMap(cell, stringMap);
-                addNameToStringMap(cell.getEDIFView(), stringMap);
-                for (EDIFCellInst inst : cell.getCellInsts()) {
-                    addObjectToStringMap(inst, stringMap);
-                }
-                for (EDIFNet net : cell.getNets()) {
-                    addObjectToStringMap(net, stringMap);
-                    for (EDIFPortInst pi : net.getPortInsts()) {
-                        String name = pi.getPort().isBus() ? pi.getPort().getBusName(true) : pi.getName();
-                        addStringToStringMap(name, stringMap);
-                    }
-                }
-                for (EDIFPort port : cell.getPorts()) {
-                    addObjectToStringMap(port, stringMap);
-                }
+                addCellToStringMap(cell, stringMap);
             }
         }
         addNameToStringMap(netlist, stringMap);
@@ -221,6 +243,18 @@ public class BinaryEDIFWriter {
      * @see BinaryEDIFReader#readEDIFCell(Input, String[], EDIFLibrary, EDIFNetlist)
      */
     public static void writeEDIFCell(EDIFCell c, Output os, Map<String,Integer> stringMap) {
+        writeEDIFCellHeader(c, os, stringMap);
+        writeEDIFCellContents(c, os, stringMap);
+    }
+
+    /**
+     * Writes the name, properties, view and ports of the provided EDIFCell.
+     * @param c The current cell to write
+     * @param os The Kryo-based output stream
+     * @param stringMap Map of string to integer enumerations to use to reference strings
+     * @see BinaryEDIFReader#readEDIFCellHeader(Input, String[])
+     */
+    static void writeEDIFCellHeader(EDIFCell c, Output os, Map<String,Integer> stringMap) {
         writeEDIFObject(c, os, stringMap);
         boolean hasUniqueView = c.getEDIFView() != EDIFCell.DEFAULT_VIEW;
         os.writeInt((hasUniqueView ? EDIF_UNIQUE_VIEW_FLAG : 0) | c.getPorts().size());
@@ -244,7 +278,16 @@ public class BinaryEDIFWriter {
             }
             os.writeInt(dirAndWidth);
         }
+    }
 
+    /**
+     * Writes the cell instances and nets of the provided EDIFCell.
+     * @param c The current cell to write
+     * @param os The Kryo-based output stream
+     * @param stringMap Map of string to integer enumerations to use to reference strings
+     * @see BinaryEDIFReader#readEDIFCellContents(EDIFCell, Input, String[], EDIFNetlist)
+     */
+    static void writeEDIFCellContents(EDIFCell c, Output os, Map<String,Integer> stringMap) {
         os.writeInt(c.getCellInsts().size());
         for (EDIFCellInst i : c.getCellInsts()) {
             writeEDIFObject(i, os, stringMap);
@@ -309,16 +352,33 @@ public class BinaryEDIFWriter {
         }
     }
 
+    /**
+     * Writes the provided netlist in the chunked binary EDIF format to the provided stream.
+     * @param outputStream The stream to write to, it is closed when done
+     * @param netlist The current netlist to write
+     */
     public static void writeBinaryEDIF(OutputStream outputStream, EDIFNetlist netlist) {
+        writeBinaryEDIF(outputStream, netlist, true);
+    }
+
+    /**
+     * Writes the provided netlist as binary EDIF to the provided stream.
+     * @param outputStream The stream to write to, it is closed when done
+     * @param netlist The current netlist to write
+     * @param chunked If true, writes the chunked format (see
+     * {@link #EDIF_BINARY_CHUNKED_FILE_VERSION}) whose frames are compressed and can be read in
+     * parallel. If false, writes the sequential format as a single compressed stream.
+     */
+    public static void writeBinaryEDIF(OutputStream outputStream, EDIFNetlist netlist, boolean chunked) {
+        if (chunked) {
+            writeChunkedBinaryEDIF(outputStream, netlist);
+            return;
+        }
         Map<String, Integer> stringMap = createStringMap(netlist);
         try (Output os = FileTools.getKryoZstdOutputStream(outputStream)) {
             os.writeString(EDIF_BINARY_FILE_TAG);
             os.writeString(EDIF_BINARY_FILE_VERSION);
-            String[] strings = new String[stringMap.size()];
-            for (Entry<String,Integer> e : stringMap.entrySet()) {
-                strings[e.getValue()] = e.getKey();
-            }
-            FileTools.writeStringArray(os, strings);
+            FileTools.writeStringArray(os, getStringArray(stringMap));
             os.writeInt(netlist.getLibraries().size());
             for (EDIFLibrary lib : netlist.getLibrariesInExportOrder()) {
                 writeEDIFName(lib, os, stringMap);
@@ -336,4 +396,146 @@ public class BinaryEDIFWriter {
             writeEDIFDesign(netlist.getDesign(), os, stringMap);
         }
     }
+
+    private static String[] getStringArray(Map<String, Integer> stringMap) {
+        String[] strings = new String[stringMap.size()];
+        for (Entry<String,Integer> e : stringMap.entrySet()) {
+            strings[e.getValue()] = e.getKey();
+        }
+        return strings;
+    }
+
+    /**
+     * Splits the cells of a library (in export order) into groups of roughly
+     * {@link #EDIF_BINARY_FRAME_SIZE} objects each.
+     * @param lib The library to split
+     * @return The list of cell groups, each of which becomes one frame
+     */
+    private static List<List<EDIFCell>> getFrameCells(EDIFLibrary lib) {
+        List<List<EDIFCell>> frames = new ArrayList<>();
+        List<EDIFCell> current = new ArrayList<>();
+        long size = 0;
+        for (EDIFCell cell : lib.getValidCellExportOrder(false)) {
+            current.add(cell);
+            size += 1 + cell.getPorts().size() + cell.getCellInsts().size();
+            for (EDIFNet net : cell.getNets()) {
+                size += 1 + net.getPortInsts().size();
+            }
+            if (size >= EDIF_BINARY_FRAME_SIZE) {
+                frames.add(current);
+                current = new ArrayList<>();
+                size = 0;
+            }
+        }
+        if (!current.isEmpty()) {
+            frames.add(current);
+        }
+        return frames;
+    }
+
+    /**
+     * Writes a group of cells as an independently compressed frame with its own string table. All
+     * cell headers come first so that a reader can create every cell of the netlist before reading
+     * any cell contents.
+     * @param cells The cells to write
+     * @return The compressed frame
+     * @see BinaryEDIFReader#readEDIFCellHeaders(Input)
+     */
+    private static byte[] writeFrame(List<EDIFCell> cells) {
+        Map<String, Integer> stringMap = new HashMap<>();
+        for (EDIFCell cell : cells) {
+            addCellToStringMap(cell, stringMap);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output os = FileTools.getKryoZstdOutputStream(bytes)) {
+            FileTools.writeStringArray(os, getStringArray(stringMap));
+            os.writeInt(cells.size());
+            for (EDIFCell cell : cells) {
+                writeEDIFCellHeader(cell, os, stringMap);
+                // Lets a lazy reader know which cells have contents without decoding them
+                os.writeBoolean(!cell.isLeafCellOrBlackBox());
+            }
+            for (EDIFCell cell : cells) {
+                writeEDIFCellContents(cell, os, stringMap);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the frame holding everything but the cells: libraries, the netlist name, comments
+     * and the design.
+     * @param netlist The current netlist to write
+     * @param libraries The libraries in export order
+     * @param framesPerLibrary The number of cell frames of each library
+     * @return The compressed frame
+     */
+    private static byte[] writeHeaderFrame(EDIFNetlist netlist, List<EDIFLibrary> libraries,
+                                           List<Integer> framesPerLibrary) {
+        Map<String, Integer> stringMap = new HashMap<>();
+        for (EDIFLibrary lib : libraries) {
+            addNameToStringMap(lib, stringMap);
+        }
+        addNameToStringMap(netlist, stringMap);
+        EDIFDesign design = netlist.getDesign();
+        addObjectToStringMap(design, stringMap);
+        addNameToStringMap(design.getTopCell(), stringMap);
+        addNameToStringMap(design.getTopCell().getLibrary(), stringMap);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output os = FileTools.getKryoZstdOutputStream(bytes)) {
+            FileTools.writeStringArray(os, getStringArray(stringMap));
+            os.writeInt(libraries.size());
+            for (int i = 0; i < libraries.size(); i++) {
+                writeEDIFName(libraries.get(i), os, stringMap);
+                os.writeInt(framesPerLibrary.get(i));
+            }
+            writeEDIFName(netlist, os, stringMap);
+            // Comments are likely to be unique
+            os.writeInt(netlist.getComments().size());
+            for (String comment : netlist.getComments()) {
+                os.writeString(comment);
+            }
+            writeEDIFDesign(design, os, stringMap);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the chunked binary EDIF format. Cells are split into frames that are encoded and
+     * compressed in parallel. The uncompressed file prefix holds the file tag, the version and the
+     * frame offset table (the compressed size of every frame), followed by the header frame and
+     * the cell frames.
+     * @param outputStream The stream to write to, it is closed when done
+     * @param netlist The current netlist to write
+     * @see BinaryEDIFReader#readBinaryEDIF(Path)
+     */
+    public static void writeChunkedBinaryEDIF(OutputStream outputStream, EDIFNetlist netlist) {
+        List<EDIFLibrary> libraries = netlist.getLibrariesInExportOrder();
+        List<List<EDIFCell>> frameCells = new ArrayList<>();
+        List<Integer> framesPerLibrary = new ArrayList<>();
+        for (EDIFLibrary lib : libraries) {
+            List<List<EDIFCell>> libFrames = getFrameCells(lib);
+            frameCells.addAll(libFrames);
+            framesPerLibrary.add(libFrames.size());
+        }
+        List<Future<byte[]>> frames = ParallelismTools.invokeAll(frameCells, BinaryEDIFWriter::writeFrame);
+        byte[] header = writeHeaderFrame(netlist, libraries, framesPerLibrary);
+
+        try (Output os = FileTools.getKryoOutputStreamWithoutDeflater(outputStream)) {
+            os.writeString(EDIF_BINARY_FILE_TAG);
+            os.writeString(EDIF_BINARY_CHUNKED_FILE_VERSION);
+            os.writeInt(frames.size() + 1);
+            os.writeLong(header.length);
+            List<byte[]> frameBytes = new ArrayList<>(frames.size());
+            for (Future<byte[]> frame : frames) {
+                byte[] bytes = ParallelismTools.get(frame);
+                frameBytes.add(bytes);
+                os.writeLong(bytes.length);
+            }
+            os.writeBytes(header);
+            for (byte[] bytes : frameBytes) {
+                os.writeBytes(bytes);
+            }
+        }
+    }
 }
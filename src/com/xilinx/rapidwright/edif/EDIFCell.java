@@ -62,6 +62,13 @@ public class EDIFCell extends EDIFPropertyObject {
 
     private EDIFName view = DEFAULT_VIEW;
 
+    /**
+     * Populates the instances and nets of this cell on first access when the netlist was loaded
+     * lazily (see {@link BinaryEDIFReader#readBinaryEDIF(java.nio.file.Path, boolean)}), null once
+     * they are loaded.
+     */
+    private volatile Runnable contentsLoader;
+
     public EDIFCell(EDIFLibrary lib, String name) {
         super(name);
         if (lib != null) lib.addCell(this);
@@ -77,6 +84,7 @@ public class EDIFCell extends EDIFPropertyObject {
     public EDIFCell(EDIFLibrary lib, EDIFCell orig) {
         super(orig.getName());
         if (lib != null) lib.addCell(this);
+        orig.loadContents();
         instances = orig.instances;
         nets = orig.nets;
         ports = orig.ports;
@@ -94,6 +102,7 @@ public class EDIFCell extends EDIFPropertyObject {
     public EDIFCell(EDIFLibrary lib, EDIFCell orig, String newCellName) {
         super(newCellName);
         if (lib != null) lib.addCell(this);
+        orig.loadContents();
         if (orig.instances != null) {
             for (Entry<String, EDIFCellInst> e : orig.instances.entrySet()) {
                 addCellInst(new EDIFCellInst(e.getValue(), this));
@@ -136,6 +145,36 @@ public class EDIFCell extends EDIFPropertyObject {
 
     }
 
+    void setContentsLoader(Runnable contentsLoader) {
+        this.contentsLoader = contentsLoader;
+    }
+
+    /**
+     * Discards any instances and nets that a failed attempt to load the contents of this cell
+     * has added, so that the next attempt starts afresh.
+     */
+    void discardPartialContents() {
+        instances = null;
+        nets = null;
+        internalPortMap = null;
+    }
+
+    /**
+     * Checks if the instances and nets of this cell are in memory. This is only false for cells
+     * with contents of a lazily loaded netlist that have not been accessed yet.
+     * @return True if the contents are loaded, false otherwise.
+     */
+    public boolean isContentsLoaded() {
+        return contentsLoader == null;
+    }
+
+    private void loadContents() {
+        Runnable loader = contentsLoader;
+        if (loader != null) {
+            loader.run();
+        }
+    }
+
     public EDIFCellInst createChildCellInst(String name, EDIFCell reference) {
         return new EDIFCellInst(name, reference, this);
     }
@@ -154,6 +193,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The instance added to the cell.
      */
     public EDIFCellInst addCellInst(EDIFCellInst instance) {
+        loadContents();
         if (instances == null) instances = getNewMap();
         instance.setParentCell(this);
         EDIFCellInst collision = instances.put(instance.getName(), instance);
@@ -173,6 +213,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The instance added to the cell.
      */
     public EDIFCellInst addCellInstUniqueName(EDIFCellInst instance) {
+        loadContents();
         if (instances == null) instances = getNewMap();
         instance.setParentCell(this);
         while (instances.containsKey(instance.getName())) {
@@ -183,6 +224,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFCellInst getCellInst(String name) {
+        loadContents();
         if (instances == null) return null;
         return instances.get(name);
     }
@@ -194,6 +236,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The net that was added.
      */
     public EDIFNet addNet(EDIFNet net) {
+        loadContents();
         if (nets == null) nets = getNewMap();
         net.setParentCell(this);
         EDIFNet collision = nets.put(net.getName(), net);
@@ -210,6 +253,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFNet getNet(String name) {
+        loadContents();
         if (nets == null) return null;
         return nets.get(name);
     }
@@ -219,6 +263,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFNet removeNet(String name) {
+        loadContents();
         if (nets == null) return null;
         trackChange(EDIFChangeType.NET_REMOVE, name);
         return nets.remove(name);
@@ -291,6 +336,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFCellInst removeCellInst(String name) {
+        loadContents();
         if (instances == null) return null;
         trackChange(EDIFChangeType.CELL_INST_REMOVE, name);
         return instances.remove(name);
@@ -392,11 +438,13 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public Collection<EDIFCellInst> getCellInsts() {
+        loadContents();
         if (instances == null) return Collections.emptyList();
         return instances.values();
     }
 
     public Collection<EDIFNet> getNets() {
+        loadContents();
         if (nets == null) return Collections.emptyList();
         return nets.values();
     }
@@ -408,6 +456,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @param internalNet  The net inside this cell to match with the port ref name.
      */
     public void addInternalPortMapEntry(String portInstName, EDIFNet internalNet) {
+        loadContents();
         if (internalPortMap == null) internalPortMap = getNewMap();
         internalPortMap.put(portInstName, internalNet);
     }
@@ -419,11 +468,13 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The net to which the removed port ref belongs, or null if none could be found.
      */
     public EDIFNet removeInternalPortMapEntry(String portInstName) {
+        loadContents();
         if (internalPortMap == null) return null;
         return internalPortMap.remove(portInstName);
     }
 
     public Map<String, EDIFNet> getInternalNetMap() {
+        loadContents();
         if (internalPortMap == null) return Collections.emptyMap();
         return internalPortMap;
     }
@@ -447,6 +498,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The internal connected net or null if none exists.
      */
     public EDIFNet getInternalNet(String portInstName) {
+        loadContents();
         if (internalPortMap == null) return null;
         return internalPortMap.get(portInstName);
     }
@@ -466,6 +518,8 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public boolean hasContents() {
+        // Only cells with contents get a loader
+        if (contentsLoader != null) return true;
         return instances != null || nets != null;
     }
 
@@ -474,6 +528,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public boolean isLeafCellOrBlackBox() {
+        if (contentsLoader != null) return false;
         return (instances == null || instances.size() == 0) && (nets == null || nets.size() == 0);
     }
 
@@ -505,7 +560,12 @@ public class EDIFCell extends EDIFPropertyObject {
      * Deletes internal representation.
      */
     public void makePrimitive() {
+        // Contents of a lazily loaded cell are decoded together with others of the same frame
+        loadContents();
         EDIFNetlist netlist = getNetlist();
+        if (netlist != null) {
+            netlist.resetHierNameIndex();
+        }
         if (netlist != null && netlist.isTrackingCellChanges()) {
             for (EDIFCellInst inst : getCellInsts()) {
                 netlist.trackChange(this, EDIFChangeType.CELL_INST_REMOVE, inst.getName());
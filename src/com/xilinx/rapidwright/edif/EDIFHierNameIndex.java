@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.edif;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Prebuilt index of all hierarchical cell instance names of an {@link EDIFNetlist}. Each
+ * hierarchical instance is stored as a compact handle (an int id with a parent id and its
+ * {@link EDIFCellInst}) rather than as an {@link EDIFHierCellInst}, which is only created when a
+ * lookup returns. Only the local name of each instance (that of its EDIFCellInst) is kept, and full
+ * names are built from the chain of parents on demand. The hash of each full name is stored for O(1)
+ * exact lookups, and handles are kept in sorted order of full name so that prefix and wildcard
+ * queries only visit the matching range of names.
+ *
+ * Nets and port instances are not stored; they are resolved by looking up their parent instance
+ * in the index followed by a lookup in the parent's cell. See
+ * {@link EDIFNetlist#setUseHierNameIndex(boolean)} for how the index is used and invalidated.
+ */
+public class EDIFHierNameIndex {
+
+    /** Minimum number of top level children before the index is built in parallel */
+    private static final int PARALLEL_BUILD_THRESHOLD = 64;
+
+    private final EDIFNetlist netlist;
+    /** Cell instance of each handle, the top cell instance has id 0 */
+    private final EDIFCellInst[] insts;
+    /** Parent id of each handle, -1 for the top cell instance */
+    private final int[] parents;
+    /** Hash code of the full hierarchical name of each handle */
+    private final int[] hashes;
+    /** Ids sorted lexicographically by name */
+    private final int[] sorted;
+    /** Open-addressed hash table of (id + 1), 0 marks an empty slot */
+    private final int[] table;
+
+    /**
+     * Subtree of the hierarchy collected by one worker. Parent ids are local to the subtree, with
+     * -1 referring to the top cell instance.
+     */
+    private static class Subtree {
+        private final List<EDIFCellInst> insts = new ArrayList<>();
+        private int[] parents = new int[16];
+
+        private int add(EDIFCellInst inst, int parent) {
+            int id = insts.size();
+            if (id == parents.length) {
+                parents = Arrays.copyOf(parents, id * 2);
+            }
+            insts.add(inst);
+            parents[id] = parent;
+            return id;
+        }
+    }
+
+    /**
+     * Builds the index over the current hierarchy of the netlist. If parallelism is enabled (see
+     * {@link ParallelismTools#getParallel()}), the children of the top cell are split across
+     * worker threads.
+     * @param netlist The netlist to index.
+     */
+    public EDIFHierNameIndex(EDIFNetlist netlist) {
+        this.netlist = netlist;
+        EDIFCellInst topInst = netlist.getTopCellInst();
+        List<EDIFCellInst> topChildren = new ArrayList<>(topInst.getCellType().getCellInsts());
+
+        List<Subtree> subtrees = new ArrayList<>();
+        if (ParallelismTools.getParallel() && topChildren.size() >= PARALLEL_BUILD_THRESHOLD) {
+            int numChunks = Math.min(topChildren.size(), ParallelismTools.maxParallelism() * 4);
+            int chunkSize = (topChildren.size() + numChunks - 1) / numChunks;
+            List<List<EDIFCellInst>> chunks = new ArrayList<>();
+            for (int i = 0; i < topChildren.size(); i += chunkSize) {
+                chunks.add(topChildren.subList(i, Math.min(topChildren.size(), i + chunkSize)));
+            }
+            for (Future<Subtree> f : ParallelismTools.invokeAll(chunks, EDIFHierNameIndex::collect)) {
+                subtrees.add(ParallelismTools.get(f));
+            }
+        } else {
+            subtrees.add(collect(topChildren));
+        }
+
+        int size = 1;
+        for (Subtree subtree : subtrees) {
+            size += subtree.insts.size();
+        }
+        insts = new EDIFCellInst[size];
+        parents = new int[size];
+        insts[0] = topInst;
+        parents[0] = -1;
+        int offset = 1;
+        for (Subtree subtree : subtrees) {
+            for (int i = 0; i < subtree.insts.size(); i++) {
+                insts[offset + i] = subtree.insts.get(i);
+                int parent = subtree.parents[i];
+                parents[offset + i] = parent < 0 ? 0 : offset + parent;
+            }
+            offset += subtree.insts.size();
+        }
+
+        // Full names are only materialized while sorting; parents always precede their children
+        String[] names = new String[size];
+        hashes = new int[size];
+        names[0] = "";
+        for (int id = 1; id < size; id++) {
+            String localName = insts[id].getName();
+            names[id] = parents[id] == 0 ? localName : names[parents[id]] + EDIFTools.EDIF_HIER_SEP + localName;
+            hashes[id] = names[id].hashCode();
+        }
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.parallelSort(order, Comparator.comparing(i -> names[i]));
+        sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = order[i];
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, size * 2) - 1) << 1;
+        table = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            int slot = slot(names[id], hashes[id]);
+            int existing = table[slot] - 1;
+            // Names containing the hierarchy separator can collide, prefer the deeper instance
+            // just like EDIFNetlist.getHierCellInstFromName() would
+            if (existing < 0 || getDepth(id) > getDepth(existing)) {
+                table[slot] = id + 1;
+            }
+        }
+    }
+
+    private static Subtree collect(List<EDIFCellInst> roots) {
+        Subtree subtree = new Subtree();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (EDIFCellInst root : roots) {
+            queue.add(subtree.add(root, -1));
+        }
+        while (!queue.isEmpty()) {
+            int id = queue.poll();
+            EDIFCell cellType = subtree.insts.get(id).getCellType();
+            if (cellType.isLeafCellOrBlackBox()) {
+                continue;
+            }
+            for (EDIFCellInst child : cellType.getCellInsts()) {
+                queue.add(subtree.add(child, id));
+            }
+        }
+        return subtree;
+    }
+
+    private int slot(String name, int hash) {
+        int h = hash ^ (hash >>> 16);
+        int mask = table.length - 1;
+        int i = h & mask;
+        while (table[i] != 0 && !(hashes[table[i] - 1] == hash && nameEquals(table[i] - 1, name))) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Checks if the full name of a handle equals the given name, by matching local names from the
+     * end of the given name upwards, without building the full name.
+     */
+    private boolean nameEquals(int id, String name) {
+        final String sep = EDIFTools.EDIF_HIER_SEP;
+        int end = name.length();
+        for (int i = id; i > 0; i = parents[i]) {
+            String localName = insts[i].getName();
+            int start = end - localName.length();
+            if (start < 0 || !name.startsWith(localName, start)) {
+                return false;
+            }
+            if (parents[i] == 0) {
+                return start == 0;
+            }
+            end = start - sep.length();
+            if (end < 0 || !name.startsWith(sep, end)) {
+                return false;
+            }
+        }
+        return end == 0;
+    }
+
+    private int getDepth(int id) {
+        int depth = 0;
+        for (int i = id; i >= 0; i = parents[i]) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * @return The netlist this index was built from.
+     */
+    public EDIFNetlist getNetlist() {
+        return netlist;
+    }
+
+    /**
+     * @return The number of hierarchical cell instances in the index (including the top).
+     */
+    public int size() {
+        return insts.length;
+    }
+
+    /**
+     * Gets the handle of a hierarchical cell instance.
+     * @param name Full hierarchical name of the cell instance ("" for the top).
+     * @return The id of the instance, or -1 if not found.
+     */
+    public int getId(String name) {
+        return table[slot(name, name.hashCode())] - 1;
+    }
+
+    /**
+     * Builds the full hierarchical name of a handle (as in
+     * {@link EDIFHierCellInst#getFullHierarchicalInstName()}).
+     * @param id A handle as returned by {@link #getId(String)}.
+     * @return The full hierarchical name of the instance.
+     */
+    public String getName(int id) {
+        if (id == 0) {
+            return "";
+        }
+        int depth = getDepth(id) - 1;
+        String[] localNames = new String[depth];
+        for (int i = id, j = depth - 1; i > 0; i = parents[i], j--) {
+            localNames[j] = insts[i].getName();
+        }
+        return String.join(EDIFTools.EDIF_HIER_SEP, localNames);
+    }
+
+    /**
+     * @param id A handle as returned by {@link #getId(String)}.
+     * @return The handle of the parent instance, or -1 for the top instance.
+     */
+    public int getParentId(int id) {
+        return parents[id];
+    }
+
+    /**
+     * @param id A handle as returned by {@link #getId(String)}.
+     * @return The (non-hierarchical) cell instance of the handle.
+     */
+    public EDIFCellInst getCellInst(int id) {
+        return insts[id];
+    }
+
+    /**
+     * Creates the hierarchical cell instance of a handle.
+     * @param id A handle as returned by {@link #getId(String)}.
+     * @return The hierarchical cell instance.
+     */
+    public EDIFHierCellInst getHierCellInst(int id) {
+        if (id == 0) {
+            return netlist.getTopHierCellInst();
+        }
+        EDIFCellInst[] path = new EDIFCellInst[getDepth(id)];
+        for (int i = id, j = path.length - 1; i >= 0; i = parents[i], j--) {
+            path[j] = insts[i];
+        }
+        return EDIFHierCellInst.createRelative(path);
+    }
+
+    /**
+     * Gets a hierarchical cell instance by name.
+     * @param name Full hierarchical name of the cell instance.
+     * @return The hierarchical cell instance or null if not found.
+     */
+    public EDIFHierCellInst getHierCellInst(String name) {
+        int id = getId(name);
+        return id < 0 ? null : getHierCellInst(id);
+    }
+
+    /**
+     * Gets a hierarchical net by name. The name is split at each hierarchy separator (deepest
+     * first) until the prefix is an indexed instance whose cell contains the remaining net name.
+     * @param netName Full hierarchical name of the net.
+     * @return The hierarchical net or null if not found.
+     */
+    public EDIFHierNet getHierNet(String netName) {
+        for (int i = netName.lastIndexOf(EDIFTools.EDIF_HIER_SEP); i >= 0;
+                i = netName.lastIndexOf(EDIFTools.EDIF_HIER_SEP, i - 1)) {
+            int id = getId(netName.substring(0, i));
+            if (id < 0) continue;
+            EDIFNet net = insts[id].getCellType().getNet(netName.substring(i + 1));
+            if (net != null) {
+                return new EDIFHierNet(getHierCellInst(id), net);
+            }
+        }
+        EDIFNet net = insts[0].getCellType().getNet(netName);
+        return net == null ? null : new EDIFHierNet(getHierCellInst(0), net);
+    }
+
+    /**
+     * Gets a hierarchical port instance by name. The name is split at each hierarchy separator
+     * (deepest first) until the prefix is an indexed instance with the remaining port instance.
+     * @param hierPortInstName Full hierarchical name of the port instance.
+     * @return The hierarchical port instance or null if not found.
+     */
+    public EDIFHierPortInst getHierPortInst(String hierPortInstName) {
+        for (int i = hierPortInstName.lastIndexOf(EDIFTools.EDIF_HIER_SEP); i >= 0;
+                i = hierPortInstName.lastIndexOf(EDIFTools.EDIF_HIER_SEP, i - 1)) {
+            int id = getId(hierPortInstName.substring(0, i));
+            if (id <= 0) continue;
+            EDIFPortInst portInst = insts[id].getPortInst(hierPortInstName.substring(i + 1));
+            if (portInst != null) {
+                return new EDIFHierPortInst(getHierCellInst(parents[id]), portInst);
+            }
+        }
+        // Port instances of the top cell instance have no parent
+        EDIFPortInst portInst = insts[0].getPortInst(hierPortInstName);
+        return portInst == null ? null : new EDIFHierPortInst(null, portInst);
+    }
+
+    /**
+     * Gets all hierarchical cell instances whose full name starts with the provided prefix.
+     * @param prefix The name prefix.
+     * @return The matching instances (excluding the top), in lexicographic order of their names.
+     */
+    public List<EDIFHierCellInst> getHierCellInstsWithPrefix(String prefix) {
+        return find(prefix, null);
+    }
+
+    /**
+     * Gets all hierarchical cell instances whose full name matches the wildcard pattern, with the
+     * same semantics as {@link EDIFNetlist#findCellInsts(String)}. Only the names sharing the
+     * literal prefix of the pattern (up to the first '*') are tested.
+     * @param wildcardPattern Search pattern that includes alphanumeric and wildcards (*).
+     * @return The matching instances (excluding the top), in lexicographic order of their names.
+     */
+    public List<EDIFHierCellInst> findCellInsts(String wildcardPattern) {
+        int star = wildcardPattern.indexOf('*');
+        String prefix = star < 0 ? wildcardPattern : wildcardPattern.substring(0, star);
+        Pattern pattern = Pattern.compile(EDIFNetlist.convertWildcardToRegex(wildcardPattern));
+        return find(prefix, pattern);
+    }
+
+    /**
+     * Gets all hierarchical cell instances whose full name matches the regular expression.
+     * @param regex The pattern to match against the full names.
+     * @return The matching instances (excluding the top), in lexicographic order of their names.
+     */
+    public List<EDIFHierCellInst> findCellInsts(Pattern regex) {
+        return find("", regex);
+    }
+
+    private List<EDIFHierCellInst> find(String prefix, Pattern pattern) {
+        List<EDIFHierCellInst> matches = new ArrayList<>();
+        for (int i = lowerBound(prefix); i < sorted.length; i++) {
+            int id = sorted[i];
+            String name = getName(id);
+            if (!name.startsWith(prefix)) {
+                break;
+            }
+            if (id == 0 || (pattern != null && !pattern.matcher(name).matches())) {
+                continue;
+            }
+            matches.add(getHierCellInst(id));
+        }
+        return matches;
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (getName(sorted[mid]).compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -41,6 +41,7 @@ import com.xilinx.rapidwright.util.NoCloseOutputStream;
 import com.xilinx.rapidwright.util.ParallelDCPInput;
 import com.xilinx.rapidwright.util.ParallelDCPOutput;
 import com.xilinx.rapidwright.util.ParallelismTools;
+import com.xilinx.rapidwright.util.StreamingChannelWriter;
 
 /**
  * Keeps track of a set of {@link EDIFCell} objects
@@ -305,6 +306,9 @@ public class EDIFLibrary extends EDIFName {
         visitedList.add(cell);
     }
 
+    /** Number of cells exported per chunk when a library is exported in parallel */
+    private static final int EXPORT_CHUNK_SIZE = 256;
+
     private static final byte[] EXPORT_CONST_LIBRARY_START = "  (Library ".getBytes(StandardCharsets.UTF_8);
     private static final byte[] EXPORT_CONST_TECHNOLOGY = "\n    (edifLevel 0)\n    (technology (numberDefinition ))\n".getBytes(StandardCharsets.UTF_8);
     private static final byte[] EXPORT_CONST_LIBRARY_END = "  )\n".getBytes(StandardCharsets.UTF_8);
@@ -330,13 +334,32 @@ public class EDIFLibrary extends EDIFName {
         exportEDIF(os, cache, false);
     }
 
+    /**
+     * Splits the export of this library into renderers of {@link #EXPORT_CHUNK_SIZE} cells each,
+     * to be used with a {@link StreamingChannelWriter}.
+     * @param cache The legal name cache (must be thread-safe if rendered in parallel).
+     * @param stable If true, cells are exported in a stable order.
+     * @return The renderers in the order their output should be written.
+     */
+    List<StreamingChannelWriter.Renderer> getEDIFExportRenderers(EDIFWriteLegalNameCache<?> cache, boolean stable) {
+        List<EDIFCell> validCellOrder = getValidCellExportOrder(stable);
+        List<StreamingChannelWriter.Renderer> renderers = new ArrayList<>();
+        for (int i = 0; i == 0 || i < validCellOrder.size(); i += EXPORT_CHUNK_SIZE) {
+            final boolean firstChunk = (i == 0);
+            final boolean lastChunk = (i + EXPORT_CHUNK_SIZE >= validCellOrder.size());
+            List<EDIFCell> chunk = validCellOrder.subList(i, lastChunk ? validCellOrder.size() : i + EXPORT_CHUNK_SIZE);
+            renderers.add((os) -> exportEDIF(chunk, os, firstChunk, lastChunk, cache, stable));
+        }
+        return renderers;
+    }
+
     public List<Future<ParallelDCPInput>> exportEDIF(EDIFWriteLegalNameCache<?> cache) throws IOException{
         if (!ParallelismTools.getParallel()) {
             throw new RuntimeException();
         }
 
         List<EDIFCell> validCellOrder = getValidCellExportOrder(false);
-        final int chunkSize = 256;
+        final int chunkSize = EXPORT_CHUNK_SIZE;
 
         List<Future<ParallelDCPInput>> streamFutures = new ArrayList<>();
         for (long i = 0; i < validCellOrder.size(); i += chunkSize) {
@@ -27,10 +27,12 @@ import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -51,7 +53,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -70,6 +74,8 @@ import com.xilinx.rapidwright.util.Pair;
 import com.xilinx.rapidwright.util.ParallelDCPInput;
 import com.xilinx.rapidwright.util.ParallelDCPOutput;
 import com.xilinx.rapidwright.util.ParallelismTools;
+import com.xilinx.rapidwright.util.Params;
+import com.xilinx.rapidwright.util.StreamingChannelWriter;
 
 /**
  * Top level object for a (logical) EDIF netlist.
@@ -90,6 +96,11 @@ public class EDIFNetlist extends EDIFName {
 
     private Map<EDIFHierNet,EDIFHierNet> parentNetMap;
     private Map<String,String> parentNetMapNames;
+    private EDIFParentNetIds parentNetIds;
+    /** Aliases of each parent net, only populated once the parent net map is updated incrementally */
+    private Map<EDIFHierNet, List<EDIFHierNet>> parentNetGroups;
+    /** Edits tracked since the parent net map was last generated or updated */
+    private ParentNetMapChanges parentNetMapChanges;
 
     private Map<EDIFHierNet, List<EDIFHierPortInst>> physicalNetPinMap;
     private List<EDIFHierPortInst> physicalGndPins;
@@ -109,6 +120,13 @@ public class EDIFNetlist extends EDIFName {
 
     private Map<EDIFCell, List<EDIFChange>> modifiedCells = null;
 
+    /**
+     * Number of threads currently decoding lazily loaded cell contents (see
+     * {@link BinaryEDIFReader#readBinaryEDIF(Path, boolean)}), during which additions to cells are
+     * not changes, and are thus neither tracked nor invalidate the hierarchical name index
+     */
+    private final AtomicInteger contentsLoading = new AtomicInteger();
+
     private boolean DEBUG = false;
 
     /**
@@ -404,6 +422,10 @@ public class EDIFNetlist extends EDIFName {
     }
 
     private EDIFHierCellInst topHierCellInstance;
+
+    private volatile EDIFHierNameIndex hierNameIndex;
+
+    private boolean useHierNameIndex = Params.RW_EDIF_HIER_NAME_INDEX;
     public EDIFHierCellInst getTopHierCellInst() {
         if (topHierCellInstance == null) {
             topHierCellInstance = EDIFHierCellInst.createTopInst(getTopCellInst());
@@ -699,6 +721,58 @@ public class EDIFNetlist extends EDIFName {
     public static final byte[] EXPORT_CONST_CLOSE_EDIF = ")\n".getBytes(StandardCharsets.UTF_8);
 
 
+    private void exportEDIFHeader(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        os.write(EXPORT_CONST_EDIF_HEAD);
+        exportEDIFName(os, cache);
+        os.write(EXPORT_CONST_EDIF_VERSION);
+        if (stable) {
+            os.write("1970 01 01 00 00 00".getBytes(StandardCharsets.UTF_8));
+        } else {
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy MM dd HH mm ss");
+            os.write(formatter.format(new Date()).getBytes(StandardCharsets.UTF_8));
+        }
+        os.write(EXPORT_CONST_PROGRAM);
+        for (String comment : getComments()) {
+            os.write(EXPORT_CONST_COMMENT);
+            os.write(comment.getBytes(StandardCharsets.UTF_8));
+            os.write(EXPORT_CONST_QUOTE_CLOSE_NL);
+        }
+        for (Entry<String, EDIFPropertyValue> e : EDIFTools.sortIfStable(metax, stable)) {
+            os.write(EXPORT_CONST_META_X);
+            os.write(e.getKey().getBytes(StandardCharsets.UTF_8));
+            os.write(' ');
+            e.getValue().writeEDIFString(os);
+            os.write(EXPORT_CONST_CLOSE_NL);
+        }
+        os.write(EXPORT_CONST_DOUBLE_CLOSE);
+    }
+
+    private List<EDIFLibrary> getLibrariesToExport(boolean stable) {
+        List<EDIFLibrary> librariesToWrite = new ArrayList<>();
+        librariesToWrite.add(getHDIPrimitivesLibrary());
+        for (EDIFLibrary lib : EDIFTools.sortIfStable(getLibrariesMap().values(), stable)) {
+            if (lib.getName().equals(EDIFTools.EDIF_LIBRARY_HDI_PRIMITIVES_NAME)) continue;
+            librariesToWrite.add(lib);
+        }
+        return librariesToWrite;
+    }
+
+    private void exportEDIFFooter(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        os.write(EXPORT_CONST_DESIGN_START);
+        EDIFDesign design = getDesign();
+        if (design != null) {
+            design.exportEDIFName(os, cache);
+            os.write(EXPORT_CONST_CELLREF);
+            os.write(cache.getLegalEDIFName(design.getTopCell().getName()));
+            os.write(EXPORT_CONST_LIBRARYREF);
+            os.write(cache.getLegalEDIFName(design.getTopCell().getLibrary().getName()));
+            os.write(EXPORT_CONST_CLOSE_REF);
+            design.exportEDIFProperties(os, EXPORT_CONST_PROP_INDENT, cache, stable);
+            os.write(EXPORT_CONST_CLOSE_DESIGN);
+        }
+        os.write(EXPORT_CONST_CLOSE_EDIF);
+    }
+
     public void exportEDIF(OutputStream out, boolean stable) throws IOException {
         try (BufferedOutputStream os = new BufferedOutputStream(out)) {
             final ParallelDCPOutput dos = ParallelismTools.getParallel() ?
@@ -706,36 +780,9 @@ public class EDIFNetlist extends EDIFName {
 
             EDIFWriteLegalNameCache<?> cache = dos!=null ? EDIFWriteLegalNameCache.multiThreaded() : EDIFWriteLegalNameCache.singleThreaded();
 
-            os.write(EXPORT_CONST_EDIF_HEAD);
-            exportEDIFName(os, cache);
-            os.write(EXPORT_CONST_EDIF_VERSION);
-            if (stable) {
-                os.write("1970 01 01 00 00 00".getBytes(StandardCharsets.UTF_8));
-            } else {
-                SimpleDateFormat formatter = new SimpleDateFormat("yyyy MM dd HH mm ss");
-                os.write(formatter.format(new Date()).getBytes(StandardCharsets.UTF_8));
-            }
-            os.write(EXPORT_CONST_PROGRAM);
-            for (String comment : getComments()) {
-                os.write(EXPORT_CONST_COMMENT);
-                os.write(comment.getBytes(StandardCharsets.UTF_8));
-                os.write(EXPORT_CONST_QUOTE_CLOSE_NL);
-            }
-            for (Entry<String, EDIFPropertyValue> e : EDIFTools.sortIfStable(metax, stable)) {
-                os.write(EXPORT_CONST_META_X);
-                os.write(e.getKey().getBytes(StandardCharsets.UTF_8));
-                os.write(' ');
-                e.getValue().writeEDIFString(os);
-                os.write(EXPORT_CONST_CLOSE_NL);
-            }
-            os.write(EXPORT_CONST_DOUBLE_CLOSE);
+            exportEDIFHeader(os, cache, stable);
 
-            List<EDIFLibrary> librariesToWrite = new ArrayList<>();
-            librariesToWrite.add(getHDIPrimitivesLibrary());
-            for (EDIFLibrary lib : EDIFTools.sortIfStable(getLibrariesMap().values(), stable)) {
-                if (lib.getName().equals(EDIFTools.EDIF_LIBRARY_HDI_PRIMITIVES_NAME)) continue;
-                librariesToWrite.add(lib);
-            }
+            List<EDIFLibrary> librariesToWrite = getLibrariesToExport(stable);
 
             if (dos != null) {
                 Deque<Future<ParallelDCPInput>> streamFutures = new ArrayDeque<>();
@@ -759,26 +806,49 @@ public class EDIFNetlist extends EDIFName {
                 }
             }
 
-            os.write(EXPORT_CONST_DESIGN_START);
-            EDIFDesign design = getDesign();
-            if (design != null) {
-                design.exportEDIFName(os, cache);
-                os.write(EXPORT_CONST_CELLREF);
-                os.write(cache.getLegalEDIFName(design.getTopCell().getName()));
-                os.write(EXPORT_CONST_LIBRARYREF);
-                os.write(cache.getLegalEDIFName(design.getTopCell().getLibrary().getName()));
-                os.write(EXPORT_CONST_CLOSE_REF);
-                design.exportEDIFProperties(os, EXPORT_CONST_PROP_INDENT, cache, stable);
-                os.write(EXPORT_CONST_CLOSE_DESIGN);
-            }
-            os.write(EXPORT_CONST_CLOSE_EDIF);
+            exportEDIFFooter(os, cache, stable);
         }
     }
+
+    /**
+     * Exports this netlist as EDIF to the provided channel through a {@link StreamingChannelWriter}.
+     * Library chunks are rendered in parallel (if enabled) into a bounded pool of reusable direct
+     * buffers, which are written in order with gathering writes. Unlike
+     * {@link #exportEDIF(OutputStream, boolean)} with a {@link ParallelDCPOutput}, no chunk is
+     * rendered into an in-memory stream of unbounded size, so memory use does not grow with the
+     * size of the netlist.
+     * @param channel The channel to write to.
+     * @param stable If true, produces the same output for the same netlist (fixed timestamp and
+     * sorted order of libraries, cells and properties).
+     * @throws IOException If writing fails.
+     */
+    public void exportEDIF(FileChannel channel, boolean stable) throws IOException {
+        EDIFWriteLegalNameCache<?> cache = ParallelismTools.getParallel() ?
+                EDIFWriteLegalNameCache.multiThreaded() : EDIFWriteLegalNameCache.singleThreaded();
+        List<StreamingChannelWriter.Renderer> renderers = new ArrayList<>();
+        renderers.add((os) -> exportEDIFHeader(os, cache, stable));
+        for (EDIFLibrary lib : getLibrariesToExport(stable)) {
+            renderers.addAll(lib.getEDIFExportRenderers(cache, stable));
+        }
+        renderers.add((os) -> exportEDIFFooter(os, cache, stable));
+        new StreamingChannelWriter(channel).write(renderers);
+    }
+
     public void exportEDIF(OutputStream out) throws IOException {
         exportEDIF(out, false);
     }
 
     public void exportEDIF(Path fileName, boolean stable) {
+        if (ParallelismTools.getParallel() && !Params.RW_DISABLE_EDIF_STREAMING_EXPORT) {
+            try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                exportEDIF(channel, stable);
+            } catch (IOException e) {
+                MessageGenerator.briefError("ERROR: Failed to export EDIF file " + fileName);
+                e.printStackTrace();
+            }
+            return;
+        }
         try (OutputStream out = Files.newOutputStream(fileName)) {
             exportEDIF(out, stable);
         } catch (IOException e) {
@@ -834,6 +904,9 @@ public class EDIFNetlist extends EDIFName {
      * @return The port instance of interest or null if none could be found.
      */
     public EDIFHierPortInst getHierPortInstFromName(String hierPortInstName) {
+        if (useHierNameIndex) {
+            return getHierNameIndex().getHierPortInst(hierPortInstName);
+        }
         return getHierObject(
                 hierPortInstName,
                 EDIFCellInst::getPortInst,
@@ -957,6 +1030,9 @@ public class EDIFNetlist extends EDIFName {
      * @return Hierarchical cell instance reference or null if named instance could not be found
      */
     public EDIFHierCellInst getHierCellInstFromName(String name) {
+        if (useHierNameIndex) {
+            return getHierNameIndex().getHierCellInst(name);
+        }
         final Pair<List<EDIFCellInst>, String> hierObject = getHierObject(name);
         //Incomplete match?
         if (hierObject.getSecond() != null) {
@@ -972,6 +1048,9 @@ public class EDIFNetlist extends EDIFName {
      * @return The absolute net with hierarchical name, or null if none could be found.
      */
     public EDIFHierNet getHierNetFromName(String netName) {
+        if (useHierNameIndex) {
+            return getHierNameIndex().getHierNet(netName);
+        }
         return getHierObject(
                 netName,
                 (eci, n) -> eci.getCellType().getNet(n),
@@ -1028,12 +1107,62 @@ public class EDIFNetlist extends EDIFName {
      * Searches all EDIFCellInst objects to find those with matching names
      * against the wildcard pattern.
      * @param wildcardPattern Search pattern that includes alphanumeric and wildcards (*).
-     * @return The list of all matching EDIFHierCellInst
+     * @return The list of all matching EDIFHierCellInst (in lexicographic order of their names
+     * when the hierarchical name index is in use, see {@link #setUseHierNameIndex(boolean)}).
      */
     public List<EDIFHierCellInst> findCellInsts(String wildcardPattern) {
+        if (useHierNameIndex) {
+            return getHierNameIndex().findCellInsts(wildcardPattern);
+        }
         return getAllDescendants("", wildcardPattern, false);
     }
 
+    /**
+     * Enables the use of a prebuilt {@link EDIFHierNameIndex} by {@link #getHierCellInstFromName(String)},
+     * {@link #getHierNetFromName(String)}, {@link #getHierPortInstFromName(String)} and
+     * {@link #findCellInsts(String)}. The index is built (in parallel, if enabled) on first use and
+     * is discarded whenever a cell instance is added to or removed from a cell of this netlist, so
+     * it pays off for bulk lookups between edits. Other edits to the hierarchy that are not
+     * reported through {@link #trackChange(EDIFCell, EDIFChangeType, String)}, such as renaming a
+     * cell instance or changing its cell type, require a call to {@link #resetHierNameIndex()}.
+     * Defaults to the value of {@link Params#RW_EDIF_HIER_NAME_INDEX}.
+     * @param useHierNameIndex True to use the index for name lookups, false to traverse the
+     * hierarchy on every lookup.
+     */
+    public void setUseHierNameIndex(boolean useHierNameIndex) {
+        this.useHierNameIndex = useHierNameIndex;
+        if (!useHierNameIndex) {
+            hierNameIndex = null;
+        }
+    }
+
+    /**
+     * @return True if name lookups use the hierarchical name index, see {@link #setUseHierNameIndex(boolean)}.
+     */
+    public boolean isUsingHierNameIndex() {
+        return useHierNameIndex;
+    }
+
+    /**
+     * Gets the hierarchical name index of this netlist, building it if necessary.
+     * @return The up to date hierarchical name index.
+     */
+    public EDIFHierNameIndex getHierNameIndex() {
+        EDIFHierNameIndex index = hierNameIndex;
+        if (index == null || index.getCellInst(0) != getTopCellInst()) {
+            index = new EDIFHierNameIndex(this);
+            hierNameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Discards the hierarchical name index so that it is rebuilt on its next use.
+     */
+    public void resetHierNameIndex() {
+        hierNameIndex = null;
+    }
+
     /**
      * Searches all lower levels of hierarchy to find all leaf descendants.  It returns a
      * list of all leaf cells that fall under the hierarchy of the provided instance name.
@@ -1067,7 +1196,7 @@ public class EDIFNetlist extends EDIFName {
         return leafCells;
     }
 
-    private String convertWildcardToRegex(String wildcardPattern) {
+    static String convertWildcardToRegex(String wildcardPattern) {
         if (wildcardPattern == null) return null;
         StringBuilder sb = new StringBuilder();
         for (int i=0; i < wildcardPattern.length(); i++) {
@@ -1174,77 +1303,95 @@ public class EDIFNetlist extends EDIFName {
             physicalGndPins = new ArrayList<>();
             physicalVccPins = new ArrayList<>();
         }
-        ArrayList<EDIFHierPortInst> leafCellPins = new ArrayList<>();
-        List<EDIFHierNet> aliases = new ArrayList<>();
+        NetAliasTrace trace = traceNetAliases(initialNet, true);
+        if (trace.parentNet != null) {
+            switch (identifyNetType(trace.source)) {
+                case GND:
+                    physicalGndPins.addAll(trace.leafCellPins);
+                    break;
+                case VCC:
+                    physicalVccPins.addAll(trace.leafCellPins);
+                    break;
+            }
+            physicalNetPinMap.put(trace.parentNet, trace.leafCellPins);
+        }
+        return trace.aliases;
+    }
+
+    /**
+     * Result of a single alias traversal, see {@link #traceNetAliases(EDIFHierNet, boolean)}.
+     */
+    private static class NetAliasTrace {
+        private final List<EDIFHierNet> aliases = new ArrayList<>();
+        private final ArrayList<EDIFHierPortInst> leafCellPins = new ArrayList<>();
+        private EDIFHierPortInst source;
+        private EDIFHierNet parentNet;
+    }
+
+    /**
+     * Walks all nets electrically equivalent to the provided net without modifying any state of
+     * this netlist, so that it can safely be called from multiple threads at once. Hierarchical
+     * objects are only created for nets that are visited and for leaf cell pins that are
+     * reported, not for every port instance that is inspected.
+     * @param initialNet Full hierarchical net to use as a starting point in the search.
+     * @param requireSource If true, throw if the (non-empty) net has no source.
+     * @return The aliases, leaf cell pins and source found for the net.
+     */
+    private NetAliasTrace traceNetAliases(EDIFHierNet initialNet, boolean requireSource) {
+        NetAliasTrace trace = new NetAliasTrace();
         Queue<EDIFHierNet> queue = new ArrayDeque<>();
         queue.add(initialNet);
         HashSet<EDIFHierNet> visited = new HashSet<>();
 
-        EDIFHierPortInst source = null;
-        EDIFHierNet parentNet = null;
         while (!queue.isEmpty()) {
             EDIFHierNet net = queue.poll();
             if (!visited.add(net)) {
                 continue;
             }
-            aliases.add(net);
+            trace.aliases.add(net);
+            EDIFHierCellInst hierInst = net.getHierarchicalInst();
             for (EDIFPortInst relP : net.getNet().getPortInsts()) {
-                EDIFHierPortInst p = new EDIFHierPortInst(net.getHierarchicalInst(), relP);
-
-                boolean isCellPin = relP.getCellInst() != null && relP.getCellInst().getCellType().isLeafCellOrBlackBox();
+                EDIFCellInst cellInst = relP.getCellInst();
+                boolean isCellPin = cellInst != null && cellInst.getCellType().isLeafCellOrBlackBox();
+                EDIFHierPortInst p = null;
                 if (isCellPin) {
-                    leafCellPins.add(p);
+                    p = new EDIFHierPortInst(hierInst, relP);
+                    trace.leafCellPins.add(p);
                 }
 
-
-                boolean isToplevelInput = p.getHierarchicalInst().isTopLevelInst() && relP.getCellInst() == null && p.isInput();
-                if (isToplevelInput || (isCellPin && p.isOutput())) {
-                    if (parentNet != null) {
+                boolean isToplevelInput = cellInst == null && hierInst.isTopLevelInst() && relP.isInput();
+                if (isToplevelInput || (isCellPin && relP.isOutput())) {
+                    if (trace.parentNet != null) {
                         throw new RuntimeException("Multiple sources!");
                     }
-                    source = p;
-                    parentNet = net;
+                    trace.source = p != null ? p : new EDIFHierPortInst(hierInst, relP);
+                    trace.parentNet = net;
                 }
 
-
-                if (p.getPortInst().getCellInst() == null) {
+                if (cellInst == null) {
                     // Moving up in hierarchy
-                    if (!p.getHierarchicalInst().isTopLevelInst()) {
-                        final EDIFHierPortInst upPort = p.getPortInParent();
+                    if (!hierInst.isTopLevelInst()) {
+                        final EDIFPortInst upPort = hierInst.getInst().getPortInst(relP.getPortInstNameFromPort());
                         if (upPort != null && upPort.getNet() != null) {
-                            queue.add(upPort.getHierarchicalNet());
+                            queue.add(new EDIFHierNet(hierInst.getParent(), upPort.getNet()));
                         }
                     }
                 } else {
                     // Moving down in hierarchy
-                    EDIFHierNet otherNet = p.getInternalNet();
+                    EDIFNet otherNet = relP.getInternalNet();
                     if (otherNet == null) {
                         // Looks unconnected
                         continue;
                     }
-                    queue.add(otherNet);
+                    queue.add(new EDIFHierNet(hierInst.getChild(cellInst), otherNet));
                 }
             }
         }
 
-
-        if (parentNet != null) {
-            switch (identifyNetType(source)) {
-                case GND:
-                    physicalGndPins.addAll(leafCellPins);
-                    break;
-                case VCC:
-                    physicalVccPins.addAll(leafCellPins);
-                    break;
-            }
-            physicalNetPinMap.put(parentNet, leafCellPins);
-        } else if (initialNet.getNet().getPortInsts().size() == 0) {
-            return aliases;
-        } else {
+        if (requireSource && trace.parentNet == null && initialNet.getNet().getPortInsts().size() != 0) {
             throw new RuntimeException("ERROR: Couldn't identify parent net, no output pins (or top level output port) found.");
         }
-
-        return aliases;
+        return trace;
     }
 
     /**
@@ -1254,7 +1401,8 @@ public class EDIFNetlist extends EDIFName {
      * @return The physical/parent net name or null if none could be found.
      */
     public String getParentNetName(String netAlias) {
-        EDIFHierNet parentNet = getParentNetMap().get(getHierNetFromName(netAlias));
+        EDIFHierNet hierNet = getHierNetFromName(netAlias);
+        EDIFHierNet parentNet = (hierNet != null) ? getParentNetMap().get(hierNet) : null;
         return (parentNet != null) ? parentNet.getHierarchicalNetName() : null;
     }
     /**
@@ -1275,6 +1423,8 @@ public class EDIFNetlist extends EDIFName {
     public Map<EDIFHierNet,EDIFHierNet> getParentNetMap() {
         if (parentNetMap == null) {
             generateParentNetMap();
+        } else if (parentNetMapChanges != null) {
+            updateParentNetMap();
         }
         return parentNetMap;
     }
@@ -1288,11 +1438,19 @@ public class EDIFNetlist extends EDIFName {
      * @return the map
      */
     public Map<String, String> getParentNetMapNames() {
+        Map<EDIFHierNet, EDIFHierNet> map = getParentNetMap();
         if (parentNetMapNames == null) {
-            parentNetMapNames = getParentNetMap().entrySet().stream().collect(Collectors.toMap(
-                n->n.getKey().getHierarchicalNetName(),
-                n->n.getValue().getHierarchicalNetName()
-            ));
+            if (ParallelismTools.getParallel() && map.size() >= PARALLEL_PARENT_NET_MAP_THRESHOLD) {
+                parentNetMapNames = map.entrySet().parallelStream().collect(Collectors.toConcurrentMap(
+                    n->n.getKey().getHierarchicalNetName(),
+                    n->n.getValue().getHierarchicalNetName()
+                ));
+            } else {
+                parentNetMapNames = map.entrySet().stream().collect(Collectors.toMap(
+                    n->n.getKey().getHierarchicalNetName(),
+                    n->n.getValue().getHierarchicalNetName()
+                ));
+            }
         }
         return parentNetMapNames;
     }
@@ -1304,39 +1462,40 @@ public class EDIFNetlist extends EDIFName {
     public void resetParentNetMap() {
         parentNetMap = null;
         parentNetMapNames = null;
+        parentNetIds = null;
+        parentNetGroups = null;
+        parentNetMapChanges = null;
         physicalNetPinMap = null;
         physicalGndPins = null;
         physicalVccPins = null;
     }
 
-    private void generateParentNetMap() {
-        long start = 0;
-        if (DEBUG) {
-            start = System.currentTimeMillis();
-        }
-        if (parentNetMap == null) {
-            parentNetMap = new HashMap<>();
-        }
-        if (physicalNetPinMap == null) {
-            physicalNetPinMap = new HashMap<>();
-            physicalGndPins = new ArrayList<>();
-            physicalVccPins = new ArrayList<>();
-        }
+    /**
+     * Minimum number of parent nets before {@link #generateParentNetMap()} splits the alias
+     * traversal across worker threads.
+     */
+    private static final int PARALLEL_PARENT_NET_MAP_THRESHOLD = 1 << 12;
+
+    /**
+     * Gathers the source pin of every parent net: top-level inputs and outputs of leaf cells.
+     * @return The list of driving pins in hierarchical traversal order.
+     */
+    private List<EDIFHierPortInst> getParentNetDrivers() {
         EDIFCell c = getTopCell();
         EDIFHierCellInst topCellInst = getTopHierCellInst();
-        Queue<EDIFHierPortInst> queue = new LinkedList<>();
+        List<EDIFHierPortInst> drivers = new ArrayList<>();
         // All parent nets are either top-level inputs or outputs of leaf cells
         // Here we gather all top-level inputs
         for (EDIFNet n : c.getNets()) {
             for (EDIFPortInst p : n.getPortInsts()) {
                 if (p.isTopLevelPort() && p.isInput()) {
-                    queue.add(new EDIFHierPortInst(topCellInst, p));
+                    drivers.add(new EDIFHierPortInst(topCellInst, p));
                 }
             }
         }
         // Here we search for all leaf cell insts
-        Queue<EDIFHierCellInst> instQueue = new LinkedList<>();
-        instQueue.add(getTopHierCellInst());
+        Queue<EDIFHierCellInst> instQueue = new ArrayDeque<>();
+        instQueue.add(topCellInst);
         while (!instQueue.isEmpty()) {
             EDIFHierCellInst currInst = instQueue.poll();
             for (EDIFCellInst eci : currInst.getInst().getCellType().getCellInsts()) {
@@ -1344,7 +1503,7 @@ public class EDIFNetlist extends EDIFName {
                 if (eci.getCellType().getCellInsts().size() == 0 && eci.getCellType().getNets().size() == 0) {
                     for (EDIFPortInst portInst : eci.getPortInsts()) {
                         if (portInst.isOutput() && portInst.getNet() != null) {
-                            queue.add(new EDIFHierPortInst(currInst, portInst));
+                            drivers.add(new EDIFHierPortInst(currInst, portInst));
                         }
                     }
                 } else {
@@ -1352,12 +1511,32 @@ public class EDIFNetlist extends EDIFName {
                 }
             }
         }
+        return drivers;
+    }
 
-        for (EDIFHierPortInst pr : queue) {
-            assert(pr.getNet() != null);
-            EDIFHierNet parentNetName = pr.getHierarchicalNet();
-            for (EDIFHierNet alias : getNetAliases(parentNetName)) {
-                parentNetMap.put(alias, parentNetName);
+    private void generateParentNetMap() {
+        long start = 0;
+        if (DEBUG) {
+            start = System.currentTimeMillis();
+        }
+        List<EDIFHierPortInst> drivers = getParentNetDrivers();
+        if (ParallelismTools.getParallel() && drivers.size() >= PARALLEL_PARENT_NET_MAP_THRESHOLD) {
+            generateParentNetMapParallel(drivers);
+        } else {
+            if (parentNetMap == null) {
+                parentNetMap = new HashMap<>();
+            }
+            if (physicalNetPinMap == null) {
+                physicalNetPinMap = new HashMap<>();
+                physicalGndPins = new ArrayList<>();
+                physicalVccPins = new ArrayList<>();
+            }
+            for (EDIFHierPortInst pr : drivers) {
+                assert(pr.getNet() != null);
+                EDIFHierNet parentNetName = pr.getHierarchicalNet();
+                for (EDIFHierNet alias : getNetAliases(parentNetName)) {
+                    parentNetMap.put(alias, parentNetName);
+                }
             }
         }
         if (DEBUG) {
@@ -1366,6 +1545,385 @@ public class EDIFNetlist extends EDIFName {
         }
     }
 
+    /**
+     * Parallel version of the alias traversal in {@link #generateParentNetMap()}. The drivers are
+     * split into contiguous chunks, each of which is traced by a separate worker that writes
+     * directly into concurrent maps. Static pins are collected per chunk and appended in chunk
+     * order so that {@link #getPhysicalGndPins()} and {@link #getPhysicalVccPins()} list their pins
+     * in the same order as the sequential implementation.
+     * @param drivers Source pins of all parent nets.
+     */
+    private void generateParentNetMapParallel(List<EDIFHierPortInst> drivers) {
+        int numChunks = Math.min(drivers.size(), ParallelismTools.maxParallelism() * 4);
+        int chunkSize = (drivers.size() + numChunks - 1) / numChunks;
+        List<List<EDIFHierPortInst>> chunks = new ArrayList<>(numChunks);
+        for (int i = 0; i < drivers.size(); i += chunkSize) {
+            chunks.add(drivers.subList(i, Math.min(drivers.size(), i + chunkSize)));
+        }
+
+        Map<EDIFHierNet, EDIFHierNet> parentNets = new ConcurrentHashMap<>(drivers.size() * 2);
+        Map<EDIFHierNet, List<EDIFHierPortInst>> pinMap = new ConcurrentHashMap<>(drivers.size());
+        List<Future<Pair<List<EDIFHierPortInst>, List<EDIFHierPortInst>>>> futures =
+                ParallelismTools.invokeAll(chunks, chunk -> {
+            List<EDIFHierPortInst> gndPins = new ArrayList<>();
+            List<EDIFHierPortInst> vccPins = new ArrayList<>();
+            for (EDIFHierPortInst pr : chunk) {
+                EDIFHierNet parentNetName = pr.getHierarchicalNet();
+                NetAliasTrace trace = traceNetAliases(parentNetName, true);
+                for (EDIFHierNet alias : trace.aliases) {
+                    parentNets.put(alias, parentNetName);
+                }
+                if (trace.parentNet == null) {
+                    continue;
+                }
+                switch (identifyNetType(trace.source)) {
+                    case GND:
+                        gndPins.addAll(trace.leafCellPins);
+                        break;
+                    case VCC:
+                        vccPins.addAll(trace.leafCellPins);
+                        break;
+                }
+                pinMap.put(trace.parentNet, trace.leafCellPins);
+            }
+            return new Pair<>(gndPins, vccPins);
+        });
+
+        List<EDIFHierPortInst> gndPins = new ArrayList<>();
+        List<EDIFHierPortInst> vccPins = new ArrayList<>();
+        for (Future<Pair<List<EDIFHierPortInst>, List<EDIFHierPortInst>>> future : futures) {
+            Pair<List<EDIFHierPortInst>, List<EDIFHierPortInst>> staticPins = ParallelismTools.get(future);
+            gndPins.addAll(staticPins.getFirst());
+            vccPins.addAll(staticPins.getSecond());
+        }
+
+        // Entries from earlier calls to getNetAliases() are kept unless this traversal replaced them
+        if (parentNetMap != null) {
+            parentNetMap.forEach(parentNets::putIfAbsent);
+        }
+        // Hand out plain HashMaps, as the serial path does, so null lookups remain legal
+        parentNetMap = new HashMap<>(parentNets);
+        if (physicalNetPinMap != null) {
+            physicalNetPinMap.forEach(pinMap::putIfAbsent);
+            gndPins.addAll(0, physicalGndPins);
+            vccPins.addAll(0, physicalVccPins);
+        }
+        physicalNetPinMap = new HashMap<>(pinMap);
+        physicalGndPins = gndPins;
+        physicalVccPins = vccPins;
+    }
+
+    /**
+     * Edits to the netlist that are pending to be applied to the parent net map. Objects that are
+     * removed are captured when the change is tracked (before they are detached from their cell),
+     * everything else is resolved by name when the changes are applied.
+     */
+    private static class ParentNetMapChanges {
+        /** Cells with any tracked change */
+        private final Set<EDIFCell> cells = new HashSet<>();
+        /** Cells for which all nets need to be revisited (e.g. after a port change) */
+        private final Set<EDIFCell> allNets = new HashSet<>();
+        private final Map<EDIFCell, Set<String>> netNames = new HashMap<>();
+        private final Map<EDIFCell, Set<EDIFNet>> removedNets = new HashMap<>();
+        private final Map<EDIFCell, Set<String>> addedInsts = new HashMap<>();
+        private final Map<EDIFCell, Set<EDIFCellInst>> removedInsts = new HashMap<>();
+    }
+
+    private void recordParentNetMapChange(EDIFCell cell, EDIFChange change) {
+        if (parentNetMapChanges == null) {
+            parentNetMapChanges = new ParentNetMapChanges();
+        }
+        ParentNetMapChanges pending = parentNetMapChanges;
+        pending.cells.add(cell);
+        switch (change.getType()) {
+            case NET_ADD:
+                pending.netNames.computeIfAbsent(cell, k -> new HashSet<>()).add(change.getName());
+                break;
+            case NET_REMOVE:
+                EDIFNet net = cell.getNet(change.getName());
+                if (net != null) {
+                    pending.removedNets.computeIfAbsent(cell, k -> new HashSet<>()).add(net);
+                }
+                break;
+            case PORT_INST_ADD:
+            case PORT_INST_REMOVE:
+                if (change instanceof EDIFChangeNet) {
+                    String netName = ((EDIFChangeNet) change).getNetName();
+                    pending.netNames.computeIfAbsent(cell, k -> new HashSet<>()).add(netName);
+                } else {
+                    pending.allNets.add(cell);
+                }
+                break;
+            case CELL_INST_ADD:
+                pending.addedInsts.computeIfAbsent(cell, k -> new HashSet<>()).add(change.getName());
+                break;
+            case CELL_INST_REMOVE:
+                EDIFCellInst inst = cell.getCellInst(change.getName());
+                if (inst != null) {
+                    pending.removedInsts.computeIfAbsent(cell, k -> new HashSet<>()).add(inst);
+                    for (EDIFPortInst portInst : inst.getPortInsts()) {
+                        if (portInst.getNet() != null) {
+                            pending.netNames.computeIfAbsent(cell, k -> new HashSet<>())
+                                    .add(portInst.getNet().getName());
+                        }
+                    }
+                }
+                break;
+            default:
+                pending.allNets.add(cell);
+                break;
+        }
+    }
+
+    /**
+     * Finds all hierarchical instances of the provided cells in this netlist.
+     * @param cells The cells to look for.
+     * @return Map of each cell to its hierarchical instances (cells not instantiated are absent).
+     */
+    private Map<EDIFCell, List<EDIFHierCellInst>> getHierCellInsts(Set<EDIFCell> cells) {
+        Map<EDIFCell, List<EDIFHierCellInst>> hierInsts = new HashMap<>();
+        EDIFHierCellInst topInst = getTopHierCellInst();
+        if (cells.contains(topInst.getCellType())) {
+            hierInsts.computeIfAbsent(topInst.getCellType(), k -> new ArrayList<>()).add(topInst);
+            if (cells.size() == 1) {
+                // The top cell is never instantiated elsewhere, no need to walk the hierarchy
+                return hierInsts;
+            }
+        }
+        Queue<EDIFHierCellInst> queue = new ArrayDeque<>();
+        queue.add(topInst);
+        while (!queue.isEmpty()) {
+            EDIFHierCellInst curr = queue.poll();
+            for (EDIFCellInst eci : curr.getCellType().getCellInsts()) {
+                EDIFCell type = eci.getCellType();
+                boolean isTarget = cells.contains(type);
+                if (!isTarget && type.isLeafCellOrBlackBox()) {
+                    continue;
+                }
+                EDIFHierCellInst child = curr.getChild(eci);
+                if (isTarget) {
+                    hierInsts.computeIfAbsent(type, k -> new ArrayList<>()).add(child);
+                }
+                if (!type.isLeafCellOrBlackBox()) {
+                    queue.add(child);
+                }
+            }
+        }
+        return hierInsts;
+    }
+
+    private static void addSubtreeNets(EDIFHierCellInst root, Collection<EDIFHierNet> nets) {
+        Queue<EDIFHierCellInst> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            EDIFHierCellInst curr = queue.poll();
+            EDIFCell cell = curr.getCellType();
+            if (cell.isLeafCellOrBlackBox()) {
+                continue;
+            }
+            for (EDIFNet net : cell.getNets()) {
+                nets.add(new EDIFHierNet(curr, net));
+            }
+            for (EDIFCellInst eci : cell.getCellInsts()) {
+                queue.add(curr.getChild(eci));
+            }
+        }
+    }
+
+    /**
+     * Checks that the hierarchical net is still present in the netlist, i.e. every instance along
+     * its path and the net itself have not been removed from their parent cells.
+     */
+    private static boolean isHierNetValid(EDIFHierNet hierNet) {
+        List<EDIFCellInst> path = hierNet.getHierarchicalInst().getFullHierarchy();
+        for (int i = 1; i < path.size(); i++) {
+            EDIFCellInst inst = path.get(i);
+            EDIFCell parent = path.get(i - 1).getCellType();
+            if (inst.getParentCell() != parent || parent.getCellInst(inst.getName()) != inst) {
+                return false;
+            }
+        }
+        EDIFNet net = hierNet.getNet();
+        EDIFCell cell = hierNet.getHierarchicalInst().getCellType();
+        return net.getParentCell() == cell && cell.getNet(net.getName()) == net;
+    }
+
+    private static boolean isStaticNetPins(List<EDIFHierPortInst> pins) {
+        for (EDIFHierPortInst pin : pins) {
+            if (pin.isOutput() && identifyNetType(pin) != NetType.WIRE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the netlist edits recorded through change tracking (see
+     * {@link #setTrackCellChanges(boolean)}) to the existing parent net map. Only the alias groups
+     * that contain a net touched by an edit are removed and traced again, instead of regenerating
+     * the maps for the whole netlist as after {@link #resetParentNetMap()}.
+     */
+    private void updateParentNetMap() {
+        ParentNetMapChanges pending = parentNetMapChanges;
+        parentNetMapChanges = null;
+        if (parentNetGroups == null) {
+            parentNetGroups = new HashMap<>();
+            for (Entry<EDIFHierNet, EDIFHierNet> e : parentNetMap.entrySet()) {
+                parentNetGroups.computeIfAbsent(e.getValue(), k -> new ArrayList<>()).add(e.getKey());
+            }
+        }
+
+        // Collect all hierarchical nets that could have been affected by the edits
+        List<EDIFHierNet> touched = new ArrayList<>();
+        Map<EDIFCell, List<EDIFHierCellInst>> hierInsts = getHierCellInsts(pending.cells);
+        for (Entry<EDIFCell, List<EDIFHierCellInst>> e : hierInsts.entrySet()) {
+            EDIFCell cell = e.getKey();
+            List<EDIFNet> nets = new ArrayList<>();
+            if (pending.allNets.contains(cell)) {
+                nets.addAll(cell.getNets());
+            } else {
+                for (String netName : pending.netNames.getOrDefault(cell, Collections.emptySet())) {
+                    EDIFNet net = cell.getNet(netName);
+                    if (net != null) {
+                        nets.add(net);
+                    }
+                }
+            }
+            nets.addAll(pending.removedNets.getOrDefault(cell, Collections.emptySet()));
+            List<EDIFCellInst> subtrees = new ArrayList<>(pending.removedInsts.getOrDefault(cell, Collections.emptySet()));
+            for (String instName : pending.addedInsts.getOrDefault(cell, Collections.emptySet())) {
+                EDIFCellInst inst = cell.getCellInst(instName);
+                if (inst == null) {
+                    continue;
+                }
+                subtrees.add(inst);
+                for (EDIFPortInst portInst : inst.getPortInsts()) {
+                    if (portInst.getNet() != null) {
+                        nets.add(portInst.getNet());
+                    }
+                }
+            }
+            for (EDIFHierCellInst hierInst : e.getValue()) {
+                for (EDIFNet net : nets) {
+                    touched.add(new EDIFHierNet(hierInst, net));
+                }
+                for (EDIFCellInst inst : subtrees) {
+                    addSubtreeNets(hierInst.getChild(inst), touched);
+                }
+            }
+        }
+
+        // Remove the alias groups of all touched nets, keeping their aliases as seeds to trace again
+        List<EDIFHierNet> seeds = new ArrayList<>();
+        Set<EDIFHierPortInst> removedStaticPins = new HashSet<>();
+        for (EDIFHierNet net : touched) {
+            EDIFHierNet parentNet = parentNetMap.get(net);
+            if (parentNet == null) {
+                seeds.add(net);
+            } else {
+                removeParentNetGroup(parentNet, seeds, removedStaticPins);
+            }
+        }
+        boolean staticPinsChanged = false;
+
+        // Trace the groups of all seeds that are still part of the netlist
+        Set<EDIFHierNet> visited = new HashSet<>();
+        for (int i = 0; i < seeds.size(); i++) {
+            EDIFHierNet seed = seeds.get(i);
+            if (visited.contains(seed) || parentNetMap.containsKey(seed) || !isHierNetValid(seed)) {
+                continue;
+            }
+            NetAliasTrace trace = traceNetAliases(seed, false);
+            visited.addAll(trace.aliases);
+            if (trace.parentNet == null) {
+                // Undriven, not part of the parent net map (same as a full generation)
+                continue;
+            }
+            EDIFHierNet parentNet = trace.parentNet;
+            // The trace may have absorbed existing groups that were not touched (e.g. when a net is
+            // connected to a static net); remove those first, tracing any leftover aliases again
+            removeParentNetGroup(parentNet, seeds, removedStaticPins);
+            for (EDIFHierNet alias : trace.aliases) {
+                EDIFHierNet oldParentNet = parentNetMap.get(alias);
+                if (oldParentNet != null) {
+                    removeParentNetGroup(oldParentNet, seeds, removedStaticPins);
+                }
+            }
+            for (EDIFHierNet alias : trace.aliases) {
+                parentNetMap.put(alias, parentNet);
+                if (parentNetMapNames != null) {
+                    parentNetMapNames.put(alias.getHierarchicalNetName(), parentNet.getHierarchicalNetName());
+                }
+            }
+            parentNetGroups.put(parentNet, trace.aliases);
+            physicalNetPinMap.put(parentNet, trace.leafCellPins);
+            staticPinsChanged |= identifyNetType(trace.source) != NetType.WIRE;
+        }
+        if (staticPinsChanged || !removedStaticPins.isEmpty()) {
+            rebuildStaticPins();
+        }
+        parentNetIds = null;
+    }
+
+    /**
+     * Rebuilds {@link #getPhysicalGndPins()} and {@link #getPhysicalVccPins()} from the static
+     * groups in {@link #getPhysicalNetPinMap()}, in the same (driver) order as a full generation.
+     */
+    private void rebuildStaticPins() {
+        List<EDIFHierPortInst> gndPins = new ArrayList<>();
+        List<EDIFHierPortInst> vccPins = new ArrayList<>();
+        for (EDIFHierPortInst driver : getParentNetDrivers()) {
+            NetType type = identifyNetType(driver);
+            if (type == NetType.WIRE) {
+                continue;
+            }
+            List<EDIFHierPortInst> pins = physicalNetPinMap.get(driver.getHierarchicalNet());
+            if (pins == null) {
+                continue;
+            }
+            if (type == NetType.GND) {
+                gndPins.addAll(pins);
+            } else {
+                vccPins.addAll(pins);
+            }
+        }
+        physicalGndPins = gndPins;
+        physicalVccPins = vccPins;
+    }
+
+    private void removeParentNetGroup(EDIFHierNet parentNet, List<EDIFHierNet> seeds,
+                                      Set<EDIFHierPortInst> removedStaticPins) {
+        List<EDIFHierNet> aliases = parentNetGroups.remove(parentNet);
+        if (aliases == null) {
+            return;
+        }
+        for (EDIFHierNet alias : aliases) {
+            parentNetMap.remove(alias);
+            if (parentNetMapNames != null) {
+                parentNetMapNames.remove(alias.getHierarchicalNetName());
+            }
+            seeds.add(alias);
+        }
+        List<EDIFHierPortInst> pins = physicalNetPinMap.remove(parentNet);
+        if (pins != null && isStaticNetPins(pins)) {
+            removedStaticPins.addAll(pins);
+        }
+    }
+
+    /**
+     * Gets a compact, integer based encoding of {@link #getParentNetMap()}. Each parent net is
+     * assigned a dense id, which allows callers to key their own data structures by array index
+     * rather than by {@link EDIFHierNet}. The encoding is regenerated after
+     * {@link #resetParentNetMap()}.
+     * @return The parent net ids of this netlist.
+     */
+    public EDIFParentNetIds getParentNetIds() {
+        if (parentNetIds == null) {
+            parentNetIds = new EDIFParentNetIds(getParentNetMap());
+        }
+        return parentNetIds;
+    }
+
     /**
      * Traverses the netlist and produces a list of all primitive leaf cell instances.
      * @return A list of all primitive leaf cell instances.
@@ -1396,6 +1954,8 @@ public class EDIFNetlist extends EDIFName {
     public Map<EDIFHierNet, List<EDIFHierPortInst>> getPhysicalNetPinMap() {
         if (physicalNetPinMap == null) {
             generateParentNetMap();
+        } else if (parentNetMapChanges != null) {
+            updateParentNetMap();
         }
         return physicalNetPinMap;
     }
@@ -1409,6 +1969,8 @@ public class EDIFNetlist extends EDIFName {
     public List<EDIFHierPortInst> getPhysicalVccPins() {
         if (physicalNetPinMap == null) {
             generateParentNetMap();
+        } else if (parentNetMapChanges != null) {
+            updateParentNetMap();
         }
         return physicalVccPins;
     }
@@ -1420,6 +1982,8 @@ public class EDIFNetlist extends EDIFName {
     public List<EDIFHierPortInst> getPhysicalGndPins() {
         if (physicalNetPinMap == null) {
             generateParentNetMap();
+        } else if (parentNetMapChanges != null) {
+            updateParentNetMap();
         }
         return physicalGndPins;
     }
@@ -1433,7 +1997,7 @@ public class EDIFNetlist extends EDIFName {
      * @return all pins
      */
     public List<EDIFHierPortInst> getPhysicalPins(EDIFHierNet parentNet) {
-        return getPhysicalNetPinMap().get(parentNet);
+        return parentNet == null ? null : getPhysicalNetPinMap().get(parentNet);
     }
 
 
@@ -1473,7 +2037,7 @@ public class EDIFNetlist extends EDIFName {
                 return physicalVccPins;
             default:
                 final EDIFHierNet hierNet = getHierNetFromName(net.getName());
-                return getPhysicalNetPinMap().get(hierNet);
+                return getPhysicalPins(hierNet);
         }
     }
 
@@ -1807,6 +2371,18 @@ public class EDIFNetlist extends EDIFName {
         return BinaryEDIFReader.readBinaryEDIF(path);
     }
 
+    /**
+     * Reads a binary EDIF file, optionally deferring the decoding of cell instances and nets
+     * until they are first accessed.
+     * @param path The binary EDIF file
+     * @param lazy If true, only loads libraries, cells and ports eagerly
+     * @return The netlist
+     * @see BinaryEDIFReader#readBinaryEDIF(Path, boolean)
+     */
+    public static EDIFNetlist readBinaryEDIF(Path path, boolean lazy) {
+        return BinaryEDIFReader.readBinaryEDIF(path, lazy);
+    }
+
     public static EDIFNetlist readBinaryEDIF(String fileName) {
         return BinaryEDIFReader.readBinaryEDIF(fileName);
     }
@@ -1843,14 +2419,39 @@ public class EDIFNetlist extends EDIFName {
         this.trackCellChanges = trackCellChanges;
     }
 
+    /**
+     * Marks the start of decoding lazily loaded cell contents, which must be followed by
+     * {@link #endLoadingContents()}.
+     */
+    void beginLoadingContents() {
+        contentsLoading.incrementAndGet();
+    }
+
+    void endLoadingContents() {
+        contentsLoading.decrementAndGet();
+    }
+
     public void trackChange(EDIFCell cell, EDIFChangeType type, String objectName) {
+        if (contentsLoading.get() > 0) {
+            return;
+        }
+        if (hierNameIndex != null
+                && (type == EDIFChangeType.CELL_INST_ADD || type == EDIFChangeType.CELL_INST_REMOVE)) {
+            hierNameIndex = null;
+        }
         if (isTrackingCellChanges()) {
             addTrackingChange(cell, new EDIFChange(type, objectName));
         }
     }
 
     public void addTrackingChange(EDIFCell cell, EDIFChange change) {
+        if (contentsLoading.get() > 0) {
+            return;
+        }
         getModifiedCells().computeIfAbsent(cell, l -> new ArrayList<>()).add(change);
+        if (parentNetMap != null) {
+            recordParentNetMapChange(cell, change);
+        }
     }
 
     public Map<EDIFCell, List<EDIFChange>> getModifiedCells() {
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.edif;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact encoding of an {@link EDIFNetlist}'s parent net map (see
+ * {@link EDIFNetlist#getParentNetMap()}). Each parent net is assigned a dense integer id in the
+ * range [0, {@link #size()}), and every net alias maps to the id of its parent net. Aliases are
+ * stored in an open-addressed table of parallel arrays so that no boxed values or map entries are
+ * allocated per alias. Ids are only valid for the netlist state this object was created from.
+ */
+public class EDIFParentNetIds {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Parent net for each id */
+    private final EDIFHierNet[] parentNets;
+    /** Number of parent nets */
+    private int size;
+    /** Open-addressed alias keys */
+    private final EDIFHierNet[] keys;
+    /** Parent net id for the alias stored at the same index in {@link #keys} */
+    private final int[] values;
+    /** Number of aliases */
+    private int aliasCount;
+
+    /**
+     * Creates the encoding from an existing alias to parent net map.
+     * @param parentNetMap Map of every net alias to its parent net.
+     */
+    public EDIFParentNetIds(Map<EDIFHierNet, EDIFHierNet> parentNetMap) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (parentNetMap.size() / LOAD_FACTOR)) - 1) << 1;
+        keys = new EDIFHierNet[capacity];
+        values = new int[capacity];
+        parentNets = new EDIFHierNet[parentNetMap.size()];
+        // Parent nets are aliases of themselves, so assign their ids first
+        for (Map.Entry<EDIFHierNet, EDIFHierNet> e : parentNetMap.entrySet()) {
+            if (e.getKey().equals(e.getValue())) {
+                put(e.getKey(), getOrCreateId(e.getValue()));
+            }
+        }
+        for (Map.Entry<EDIFHierNet, EDIFHierNet> e : parentNetMap.entrySet()) {
+            if (!e.getKey().equals(e.getValue())) {
+                put(e.getKey(), getOrCreateId(e.getValue()));
+            }
+        }
+    }
+
+    private int getOrCreateId(EDIFHierNet parentNet) {
+        int id = getId(parentNet);
+        if (id < 0) {
+            id = size++;
+            parentNets[id] = parentNet;
+            put(parentNet, id);
+        }
+        return id;
+    }
+
+    private int slot(EDIFHierNet net) {
+        int h = net.hashCode();
+        h ^= (h >>> 16);
+        int mask = keys.length - 1;
+        int i = h & mask;
+        while (keys[i] != null && !keys[i].equals(net)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void put(EDIFHierNet alias, int id) {
+        int i = slot(alias);
+        if (keys[i] == null) {
+            keys[i] = alias;
+            aliasCount++;
+        }
+        values[i] = id;
+    }
+
+    /**
+     * Gets the id of the parent net of the provided net alias.
+     * @param alias The net alias.
+     * @return The parent net id, or -1 if the alias is unknown.
+     */
+    public int getId(EDIFHierNet alias) {
+        if (alias == null) return -1;
+        int i = slot(alias);
+        return keys[i] == null ? -1 : values[i];
+    }
+
+    /**
+     * Gets the parent net with the provided id.
+     * @param id A parent net id as returned by {@link #getId(EDIFHierNet)}.
+     * @return The parent net.
+     */
+    public EDIFHierNet getParentNet(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Parent net id " + id + " out of range [0," + size + ")");
+        }
+        return parentNets[id];
+    }
+
+    /**
+     * Gets the parent net of the provided net alias.
+     * @param alias The net alias.
+     * @return The parent net, or null if the alias is unknown.
+     */
+    public EDIFHierNet getParentNet(EDIFHierNet alias) {
+        int id = getId(alias);
+        return id < 0 ? null : parentNets[id];
+    }
+
+    /**
+     * @return The number of distinct parent nets (one more than the largest id).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The number of net aliases encoded, including the parent nets themselves.
+     */
+    public int getAliasCount() {
+        return aliasCount;
+    }
+
+    /**
+     * @return A copy of the parent nets indexed by their id.
+     */
+    public EDIFHierNet[] getParentNets() {
+        return Arrays.copyOf(parentNets, size);
+    }
+}
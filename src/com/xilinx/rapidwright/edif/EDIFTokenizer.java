@@ -117,6 +117,25 @@ public class EDIFTokenizer implements AutoCloseable {
         this(fileName, in, uniquifier, DEFAULT_MAX_TOKEN_LENGTH);
     }
 
+    /**
+     * Constructor for subclasses that do not read from an InputStream and therefore need neither the stream
+     * nor the ring buffer.
+     * @param fileName the file being tokenized
+     * @param uniquifier pool to deduplicate long lived tokens with
+     * @param maxTokenLength maximum token length, must be a power of two
+     */
+    protected EDIFTokenizer(Path fileName, StringPool uniquifier, int maxTokenLength) {
+        this.fileName = fileName;
+        this.in = null;
+        this.uniquifier = uniquifier;
+        this.maxTokenLength = maxTokenLength;
+        if ((maxTokenLength & (maxTokenLength-1)) != 0) {
+            throw new IllegalStateException("max token length must be a power of two but is "+maxTokenLength);
+        }
+        bufferAddressMask = maxTokenLength*2-1;
+        this.buffer = null;
+    }
+
 
     /**
      * Read two separate locations from a buffer, concatenating them into a single string.
@@ -229,7 +248,7 @@ public class EDIFTokenizer implements AutoCloseable {
         return res;
     }
 
-    private static final boolean[] ENDS_TOKEN = makeTokenEnderTable();
+    static final boolean[] ENDS_TOKEN = makeTokenEnderTable();
 
 
     /**
@@ -237,7 +256,7 @@ public class EDIFTokenizer implements AutoCloseable {
      *
      * This is FASTER than endsTokenSwitch! Hooray for jump tables!
      */
-    private static boolean endsTokenOpt(char c) {
+    static boolean endsTokenOpt(char c) {
         return ENDS_TOKEN[c];
     }
 
@@ -56,6 +56,7 @@ import com.xilinx.rapidwright.design.PinType;
 import com.xilinx.rapidwright.design.Unisim;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.Params;
 import com.xilinx.rapidwright.util.Pair;
 
 
@@ -904,7 +905,7 @@ public class EDIFTools {
             if (Files.exists(bedif) && FileTools.isFileNewer(bedif, edifFileName)) {
                 EDIFNetlist netlist = null;
                 try {
-                    netlist = BinaryEDIFReader.readBinaryEDIF(bedif);
+                    netlist = BinaryEDIFReader.readBinaryEDIF(bedif, Params.RW_LAZY_EDIF_BINARY_CACHE);
                     return netlist;
                 } catch (Exception e) {
                     System.out.println("WARNING: Unable to read Binary EDIF: " + bedif.toString()
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.edif;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xilinx.rapidwright.util.StringPool;
+
+/**
+ * Tokenize an uncompressed EDIF file by scanning memory mapped windows of the file in place. In contrast to
+ * {@link EDIFTokenizer}, no data is copied into an intermediate ring buffer and the common EDIF keywords are returned
+ * as constant strings, so that strings only get created for identifiers and values that are actually kept.
+ * Note that the last window stays mapped after {@link #close()} until it is garbage collected, which on Windows
+ * prevents the file from being deleted or overwritten; {@link ParallelEDIFParser} therefore only uses this tokenizer
+ * if {@link com.xilinx.rapidwright.util.Params#RW_ENABLE_EDIF_MMAP} is set.
+ */
+public class MappedEDIFTokenizer extends EDIFTokenizer {
+
+    /** Default size of a single mapped window of the file */
+    public static final int DEFAULT_MAP_WINDOW_SIZE = 1 << 28;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    /** File offset of the first byte in the current window */
+    private long windowStart;
+    /** Current position inside the window */
+    private int pos;
+    /** Number of valid bytes in the window */
+    private int limit;
+
+    private byte[] scratch = new byte[256];
+
+    private static final String[] KEYWORDS = {
+            "edif", "edifversion", "edifVersion", "ediflevel", "edifLevel", "keywordmap", "keywordMap",
+            "keywordlevel", "keywordLevel", "status", "written", "timestamp", "timeStamp", "program", "version",
+            "comment", "metax", "library", "external", "technology", "numberdefinition", "numberDefinition",
+            "cell", "celltype", "cellType", "GENERIC", "view", "viewtype", "viewType", "netlist", "NETLIST",
+            "interface", "port", "direction", "INPUT", "OUTPUT", "INOUT", "array", "rename", "contents", "instance",
+            "viewref", "viewRef", "cellref", "cellRef", "libraryref", "libraryRef", "property", "string", "integer",
+            "boolean", "true", "false", "net", "joined", "portref", "portRef", "member", "instanceref", "instanceRef",
+            "design", "owner",
+    };
+
+    /** Keyword bytes and strings, indexed by keyword length */
+    private static final byte[][][] KEYWORD_BYTES;
+    private static final String[][] KEYWORD_STRINGS;
+
+    static {
+        int maxLength = 0;
+        for (String keyword : KEYWORDS) {
+            maxLength = Math.max(maxLength, keyword.length());
+        }
+        List<List<String>> byLength = new ArrayList<>();
+        for (int i = 0; i <= maxLength; i++) {
+            byLength.add(new ArrayList<>());
+        }
+        for (String keyword : KEYWORDS) {
+            byLength.get(keyword.length()).add(keyword);
+        }
+        KEYWORD_BYTES = new byte[maxLength + 1][][];
+        KEYWORD_STRINGS = new String[maxLength + 1][];
+        for (int i = 0; i <= maxLength; i++) {
+            List<String> keywords = byLength.get(i);
+            KEYWORD_STRINGS[i] = keywords.toArray(new String[0]);
+            KEYWORD_BYTES[i] = new byte[keywords.size()][];
+            for (int j = 0; j < keywords.size(); j++) {
+                KEYWORD_BYTES[i][j] = keywords.get(j).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    MappedEDIFTokenizer(Path fileName, StringPool uniquifier, int maxTokenLength, int windowSize) throws IOException {
+        super(fileName, uniquifier, maxTokenLength);
+        // A window must always be able to hold the quote detection range after skipping
+        this.windowSize = Math.max(windowSize, maxTokenLength * 4);
+        this.channel = FileChannel.open(fileName, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        map(0);
+    }
+
+    public MappedEDIFTokenizer(Path fileName, StringPool uniquifier, int maxTokenLength) throws IOException {
+        this(fileName, uniquifier, maxTokenLength, DEFAULT_MAP_WINDOW_SIZE);
+    }
+
+    public MappedEDIFTokenizer(Path fileName, StringPool uniquifier) throws IOException {
+        this(fileName, uniquifier, DEFAULT_MAX_TOKEN_LENGTH);
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        pos = 0;
+        limit = (int) Math.min(windowSize, fileSize - start);
+        window = limit == 0 ? null : channel.map(FileChannel.MapMode.READ_ONLY, start, limit);
+    }
+
+    private boolean isLastWindow() {
+        return windowStart + limit >= fileSize;
+    }
+
+    /**
+     * Make sure that at least one max token length of data is available in the current window, unless the window
+     * already extends to the end of the file.
+     */
+    private void ensureWindow() throws IOException {
+        if (limit - pos < maxTokenLength && !isLastWindow()) {
+            map(windowStart + pos);
+        }
+    }
+
+    private boolean matchesKeyword(byte[] keyword, int start) {
+        for (int i = 0; i < keyword.length; i++) {
+            if (window.get(start + i) != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getKeyword(int start, int length) {
+        if (length >= KEYWORD_BYTES.length) {
+            return null;
+        }
+        byte[][] candidates = KEYWORD_BYTES[length];
+        for (int i = 0; i < candidates.length; i++) {
+            if (matchesKeyword(candidates[i], start)) {
+                return KEYWORD_STRINGS[length][i];
+            }
+        }
+        return null;
+    }
+
+    private String makeToken(int start, int end, boolean isShortLived) {
+        int length = end - start;
+        if (isShortLived) {
+            String keyword = getKeyword(start, length);
+            if (keyword != null) {
+                return keyword;
+            }
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.position(start);
+        window.get(scratch, 0, length);
+        String token = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        if (!isShortLived) {
+            token = uniquifier.uniquifyName(token);
+        }
+        return token;
+    }
+
+    private TokenTooLongException tokenTooLong(int start) {
+        String failingToken = new String(copyBytes(start, Math.min(limit, start + 150)), StandardCharsets.UTF_8);
+        return new TokenTooLongException("ERROR: String buffer overflow on byte offset " +
+                (windowStart + start) + " parsing token starting with "+ failingToken +"...\n\t Please revisit why this EDIF token "
+                + "is so long or increase the buffer in " + this.getClass().getCanonicalName());
+    }
+
+    private byte[] copyBytes(int start, int end) {
+        byte[] copy = new byte[end - start];
+        window.position(start);
+        window.get(copy);
+        return copy;
+    }
+
+    /**
+     * Starting quote is expected to have already been consumed. Searching for closing quote and return everything
+     * between.
+     */
+    private String getQuotedToken(boolean isShortLived) {
+        int start = pos;
+        int end = Math.min(limit, start + maxTokenLength);
+        int i = start;
+        while (i < end && window.get(i) != '"') {
+            i++;
+        }
+        if (i == end) {
+            if (end == limit && isLastWindow()) {
+                throw EDIFParseException.unexpectedEOF();
+            }
+            throw tokenTooLong(start - 1);
+        }
+        String token = makeToken(start, i, isShortLived);
+        pos = i + 1;
+        return token;
+    }
+
+    private String getUnquotedToken(boolean isShortLived) {
+        int start = pos;
+        int end = Math.min(limit, start + maxTokenLength);
+        int i = start + 1;
+        //Same as in EDIFTokenizer, this is the hottest loop of the parser
+        while (i < end && !ENDS_TOKEN[window.get(i) & 0xff]) {
+            i++;
+        }
+        if (i == end) {
+            if (end != limit || !isLastWindow()) {
+                throw tokenTooLong(start);
+            }
+        } else if (window.get(i) == '"') {
+            throw new EDIFParseException("Cannot have quote inside of token!");
+        }
+        String token = makeToken(start, i, isShortLived);
+        pos = i;
+        return token;
+    }
+
+    @Override
+    public EDIFToken getOptionalNextToken(boolean isShortLived) {
+        String tokenText = getOptionalNextTokenString(isShortLived);
+        if (tokenText == null) {
+            return null;
+        }
+        return new EDIFToken(tokenText, getByteOffset());
+    }
+
+    @Override
+    public String getOptionalNextTokenString(boolean isShortLived) {
+        try {
+            while (true) {
+                ensureWindow();
+                if (pos >= limit) {
+                    //EOF
+                    return null;
+                }
+                switch (window.get(pos)) {
+                    case 0:
+                        //Treated as EOF, same as in EDIFTokenizer
+                        return null;
+                    case '"':
+                        pos++;
+                        return getQuotedToken(isShortLived);
+                    case '(':
+                        pos++;
+                        return "(";
+                    case ')':
+                        pos++;
+                        return ")";
+                    case ' ':
+                    case '\n':
+                    case '\r':
+                    case '\t':
+                        pos++;
+                        break;
+                    default:
+                        return getUnquotedToken(isShortLived);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("ERROR: IOException while reading EDIF file: "
+                    + getFileName(), e);
+        }
+    }
+
+    /**
+     * During advancing, we may have ended up in a quoted string. Compare the amount of token ending characters inside
+     * and outside of quotes to determine this case. The higher ratio is probably outside. Mirrors the heuristic of
+     * {@link EDIFTokenizer} so that both tokenizers pick the same token boundaries.
+     * @return True if we succeeded, false if reached EOF
+     */
+    private boolean advanceToEndOfQuote() {
+        int range = maxTokenLength * 2 - 1;
+        if (limit - pos < range) {
+            //Hit EOF
+            pos = limit;
+            return false;
+        }
+
+        boolean inQuote = false;
+        int totalInQuote = 0;
+        int tokenEndersInQuote = 0;
+        int totalOutsideQuote = 0;
+        int tokenEndersOutsideQuote = 0;
+        int firstQuoteOffset = -1;
+        for (int i = pos; i < pos + range; i++) {
+            int ch = window.get(i);
+            if (ch == 0) {
+                throw new IllegalStateException("unexpected end of file marker");
+            }
+            if (ch == '"') {
+                inQuote = !inQuote;
+                if (firstQuoteOffset == -1) {
+                    firstQuoteOffset = i;
+                }
+            } else {
+                boolean isTokenEnder = ENDS_TOKEN[ch & 0xff];
+                if (inQuote) {
+                    totalInQuote++;
+                    if (isTokenEnder) {
+                        tokenEndersInQuote++;
+                    }
+                } else {
+                    totalOutsideQuote++;
+                    if (isTokenEnder) {
+                        tokenEndersOutsideQuote++;
+                    }
+                }
+            }
+        }
+
+        //Never saw any Quotes?
+        if (firstQuoteOffset == -1) {
+            return true;
+        }
+
+        float enderRatioInside = (float) tokenEndersInQuote / totalInQuote;
+        float enderRatioOutside = (float) tokenEndersOutsideQuote / totalOutsideQuote;
+
+        if (totalOutsideQuote == 0 || enderRatioInside > enderRatioOutside) {
+            pos = firstQuoteOffset + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Skip ahead by some offset.
+     * After skipping, this method tries to advance to the next token boundary. This is an educated guess that needs
+     * to be verified once the thread that reads the preceding part of the file catches up to this one.
+     * @param i offset to advance by
+     */
+    @Override
+    public void skip(long i) {
+        if (i == 0) {
+            return;
+        }
+        try {
+            map(Math.min(getByteOffset() + i, fileSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!advanceToEndOfQuote()) {
+            return;
+        }
+        int ch;
+        while (pos < limit && (ch = window.get(pos)) != 0 && !ENDS_TOKEN[ch & 0xff]) {
+            pos++;
+        }
+    }
+
+    @Override
+    public long getByteOffset() {
+        return windowStart + pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
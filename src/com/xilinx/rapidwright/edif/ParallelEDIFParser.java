@@ -41,6 +41,7 @@ import java.util.stream.Collectors;
 import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.GZIPSeekIndex;
 import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Params;
 import com.xilinx.rapidwright.util.StringPool;
@@ -58,6 +59,11 @@ public class ParallelEDIFParser implements AutoCloseable{
     protected final InputStreamSupplier inputStreamSupplier;
     protected final int maxTokenLength;
     protected StringPool uniquifier = StringPool.concurrentPool();
+    /** Whether workers tokenize a memory mapping of the file instead of reading from the InputStreamSupplier */
+    private boolean useMappedTokenizer = false;
+    /** Whether to use a seek index to start workers of a gzipped file close to their offsets */
+    private boolean useSeekIndex = false;
+    private GZIPSeekIndex seekIndex = null;
 
     protected final EDIFReadLegalNameCache cache;
 
@@ -85,6 +91,9 @@ public class ParallelEDIFParser implements AutoCloseable{
     public ParallelEDIFParser(Path p, long fileSize) {
         this(p, fileSize, InputStreamSupplier.fromPath(p,
                 p.toString().endsWith(".gz") && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK));
+        useMappedTokenizer = !p.toString().endsWith(".gz") && Params.RW_ENABLE_EDIF_MMAP;
+        useSeekIndex = p.toString().endsWith(".gz") && !Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK
+                && Params.RW_ENABLE_GZIP_SEEK_INDEX;
     }
 
     public ParallelEDIFParser(Path p) throws IOException {
@@ -92,6 +101,13 @@ public class ParallelEDIFParser implements AutoCloseable{
     }
 
     protected ParallelEDIFParserWorker makeWorker(long offset) throws IOException {
+        if (useMappedTokenizer) {
+            EDIFTokenizer tokenizer = new MappedEDIFTokenizer(fileName, uniquifier, maxTokenLength);
+            return new ParallelEDIFParserWorker(tokenizer, offset, cache);
+        }
+        if (seekIndex != null) {
+            return new ParallelEDIFParserWorker(fileName, seekIndex.getInputStream(), offset, uniquifier, maxTokenLength, cache);
+        }
         return new ParallelEDIFParserWorker(fileName, inputStreamSupplier.get(), offset, uniquifier, maxTokenLength, cache);
     }
 
@@ -106,8 +122,17 @@ public class ParallelEDIFParser implements AutoCloseable{
     protected void initializeWorkers() throws IOException {
         workers.clear();
         boolean isGzipped = fileName.toString().endsWith(".gz");
-        int threads = calcThreads(fileSize, maxThreads, isGzipped);
-        long offsetPerThread = (isGzipped ? (fileSize * EDIF_GZIP_COMPRESSION_RATIO) : fileSize)
+        long size = fileSize;
+        if (useSeekIndex && seekIndex == null && calcThreads(fileSize, maxThreads, isGzipped) > 1) {
+            seekIndex = GZIPSeekIndex.getOrCreate(fileName);
+        }
+        if (seekIndex != null) {
+            // The index knows the exact uncompressed size, no need to estimate it
+            size = seekIndex.getUncompressedSize();
+            isGzipped = false;
+        }
+        int threads = calcThreads(size, maxThreads, isGzipped);
+        long offsetPerThread = (isGzipped ? (size * EDIF_GZIP_COMPRESSION_RATIO) : size)
                 / threads;
         for (int i=0;i<threads;i++) {
             ParallelEDIFParserWorker worker = makeWorker(i*offsetPerThread);
@@ -71,6 +71,12 @@ public class ParallelEDIFParserWorker extends AbstractEDIFParserWorker implement
         this.cache = cache;
     }
 
+    public ParallelEDIFParserWorker(EDIFTokenizer tokenizer, long offset, EDIFReadLegalNameCache cache) {
+        super(tokenizer, cache);
+        this.offset = offset;
+        this.cache = cache;
+    }
+
     public boolean isFirstParser() {
         return offset == 0;
     }
@@ -247,7 +253,7 @@ public class ParallelEDIFParserWorker extends AbstractEDIFParserWorker implement
 
     @Override
     public void close() throws IOException {
-        in.close();
+        tokenizer.close();
     }
 
     @Override
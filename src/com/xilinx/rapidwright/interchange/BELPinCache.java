@@ -27,8 +27,10 @@ import com.xilinx.rapidwright.device.BEL;
 import com.xilinx.rapidwright.device.BELPin;
 import com.xilinx.rapidwright.device.SiteTypeEnum;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class for caching BELPin lookups, given a SiteInst object, and string
@@ -80,6 +82,26 @@ public class BELPinCache {
         this.strings = strings;
     }
 
+    /**
+     * Create a new BELPinCache that should be only used by a single thread.
+     * @param strings String list used to resolve string indices.
+     * @return a non thread safe BELPinCache
+     */
+    public static BELPinCache singleThreaded(List<String> strings) {
+        return new BELPinCache(new HashMap<>(), strings);
+    }
+
+    /**
+     * Create a new BELPinCache that can be shared between threads. Lookups for
+     * the same key are computed at most once.
+     * @param strings String list used to resolve string indices; must not be
+     * modified while the cache is in use.
+     * @return a thread safe BELPinCache
+     */
+    public static BELPinCache multiThreaded(List<String> strings) {
+        return new BELPinCache(new ConcurrentHashMap<>(), strings);
+    }
+
     public BELPin getBELPin(SiteInst siteInst, int belStringIdx, int pinStringIdx) {
         Key key = new Key(siteInst, belStringIdx, pinStringIdx);
         return map.computeIfAbsent(key, (k) -> {
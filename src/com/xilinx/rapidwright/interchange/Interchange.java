@@ -27,6 +27,7 @@ import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.capnproto.MessageBuilder;
 import org.capnproto.MessageReader;
 import org.capnproto.ReaderOptions;
@@ -110,11 +111,26 @@ public class Interchange {
     private static String WRITE_PHYSICAL_NETLIST = "WRITE_PHYSICAL_NETLIST";
     private static String READ_LOGICAL_NETLIST = "READ_LOGICAL_NETLIST";
     private static String READ_PHYSICAL_NETLIST = "READ_PHYSICAL_NETLIST";
+    private static String WRITE_LOGICAL_NETLIST_SERIAL = "WRITE_LOGICAL_NETLIST_SERIAL";
+    private static String WRITE_PHYSICAL_NETLIST_SERIAL = "WRITE_PHYSICAL_NETLIST_SERIAL";
 
+    /**
+     * Reads a DCP, writes it out as Interchange files, reads those back and writes a DCP again,
+     * reporting the runtime and memory usage of each step. When
+     * {@link ParallelismTools#getParallel()} is set, the Interchange files are also written a
+     * second time single-threaded, and the speedup of the parallel writers is reported.
+     * @param dcpPath The DCP to benchmark.
+     * @param edifPath Optional EDIF for the DCP, or null.
+     * @param workingPath Directory in which to write output files, or null for the DCP's.
+     * @return Path of the DCP written from the Interchange files.
+     * @throws IOException
+     */
     public static Path benchmarkDCPvsInterchange(Path dcpPath,
                                                  Path edifPath,
                                                  Path workingPath) throws IOException {
-        String title = dcpPath + " IS_PACKED=" + IS_PACKED + " IS_GZIPPED=" + IS_GZIPPED;
+        boolean parallel = ParallelismTools.getParallel();
+        String title = dcpPath + " IS_PACKED=" + IS_PACKED + " IS_GZIPPED=" + IS_GZIPPED
+                + " PARALLEL=" + parallel;
         CodePerfTracker t = new CodePerfTracker(title);
         t.useGCToTrackMemory(true);
         t.start(READ_DCP);
@@ -137,6 +153,19 @@ public class Interchange {
         String physNetlistFileName = physNetlistPath.toString();
         PhysNetlistWriter.writePhysNetlist(design, physNetlistFileName);
         t.stop();
+        if (parallel) {
+            // Write the same files again on a single thread to measure the parallel speedup
+            ParallelismTools.setParallel(false);
+            try {
+                t.start(WRITE_LOGICAL_NETLIST_SERIAL);
+                LogNetlistWriter.writeLogNetlist(design.getNetlist(), logNetlistFileName);
+                t.stop().start(WRITE_PHYSICAL_NETLIST_SERIAL);
+                PhysNetlistWriter.writePhysNetlist(design, physNetlistFileName);
+                t.stop();
+            } finally {
+                ParallelismTools.setParallel(true);
+            }
+        }
         design = null;
         System.gc();
         t.start(READ_LOGICAL_NETLIST);
@@ -169,11 +198,25 @@ public class Interchange {
                 + printFileSize(" LOGICAL_NETLIST", logNetlistFileName) + " "
                 + printFileSize("PHYSICAL_NETLIST", physNetlistFileName) + " "
         );
+        if (parallel) {
+            printSpeedup(" LOGICAL_NETLIST", t, WRITE_LOGICAL_NETLIST_SERIAL, WRITE_LOGICAL_NETLIST);
+            printSpeedup("PHYSICAL_NETLIST", t, WRITE_PHYSICAL_NETLIST_SERIAL, WRITE_PHYSICAL_NETLIST);
+        }
 
         return Paths.get(dcpOutputFileName);
     }
 
 
+    private static void printSpeedup(String title, CodePerfTracker t, String serialSegment,
+                                     String parallelSegment) {
+        Long serial = t.getRuntime(serialSegment);
+        Long parallel = t.getRuntime(parallelSegment);
+        if (serial == null || parallel == null || parallel == 0) {
+            return;
+        }
+        System.out.printf(title + "_WRITE_SPEEDUP: %10.3fx\n", (double) serial / parallel);
+    }
+
     private static double printFileSize(String title, String fileName) {
         double fileSize = FileTools.getFileSize(fileName)/(1024.0*1024.0);
         System.out.printf(title + "_FILE_SIZE: %10.3fMBs\n", fileSize);
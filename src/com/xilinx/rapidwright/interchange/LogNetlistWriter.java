@@ -43,6 +43,7 @@ import com.xilinx.rapidwright.interchange.LogicalNetlist.Netlist.Port;
 import com.xilinx.rapidwright.interchange.LogicalNetlist.Netlist.PortInstance;
 import com.xilinx.rapidwright.interchange.LogicalNetlist.Netlist.PropertyMap;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.capnproto.MessageBuilder;
 import org.capnproto.PrimitiveList;
 import org.capnproto.StructList;
@@ -51,10 +52,14 @@ import org.capnproto.TextList;
 import org.capnproto.Void;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 public class LogNetlistWriter {
@@ -63,6 +68,15 @@ public class LogNetlistWriter {
     public static final String DEVICE_PRIMITIVES_LIB = "primitives";
     public static final String DEVICE_MACROS_LIB = "macros";
 
+    /**
+     * Minimum number of nets or cell instances before they are encoded in parallel (when
+     * {@link ParallelismTools#getParallel()} is set).
+     */
+    private static final int PARALLEL_WRITE_THRESHOLD = 1 << 12;
+
+    /** Number of nets or cell instances encoded by each parallel task. */
+    private static final int PARALLEL_WRITE_CHUNK_SIZE = 1 << 12;
+
     LogNetlistWriter() {
         this(null, null);
     }
@@ -139,6 +153,25 @@ public class LogNetlistWriter {
         }
     }
 
+    /**
+     * Enumerates the strings that {@link #populatePropertyMap(Supplier, EDIFPropertyObject)}
+     * would, in the same order, without writing anything.
+     * @param strings The enumerator to receive the strings.
+     * @param obj The EDIF object that has a property map.
+     */
+    private static void enumeratePropertyMap(StringEnumerator strings, EDIFPropertyObject obj) {
+        for (Entry<String, EDIFPropertyValue> e : obj.getPropertiesMap().entrySet()) {
+            strings.getIndex(e.getKey());
+            switch (e.getValue().getType()) {
+            case BOOLEAN:
+            case INTEGER:
+                break;
+            default:
+                strings.getIndex(e.getValue().getValue());
+            }
+        }
+    }
+
     /**
      * Gets the possibly-renamed name for a library
      * @param name The library name to map
@@ -230,6 +263,18 @@ public class LogNetlistWriter {
     protected void writeRangeCellsToNetlistBuilder(Netlist.Builder netlist, int start, int end) {
         StructList.Builder<Cell.Builder> cellsList = netlist.initCellList(end - start + 1);
 
+        List<EncodedRange> encodedNets = null;
+        if (ParallelismTools.getParallel()) {
+            List<EDIFNet> allNets = new ArrayList<>();
+            for (int i = start; i <= end; i++) {
+                allNets.addAll(allCells.get(i).getNets());
+            }
+            if (allNets.size() >= PARALLEL_WRITE_THRESHOLD) {
+                encodedNets = encodeParallel(allNets, this::encodeNets);
+            }
+        }
+
+        int netIdx = 0;
         for (int i = start; i <= end; i++) {
             EDIFCell cell = allCells.get(i);
 
@@ -247,6 +292,12 @@ public class LogNetlistWriter {
             j = 0;
             for (EDIFNet net : cell.getNets()) {
                 Net.Builder netBuilder = nets.get(j);
+                if (encodedNets != null) {
+                    writeEncodedNet(netBuilder, net, encodedNets, netIdx);
+                    netIdx++;
+                    j++;
+                    continue;
+                }
                 netBuilder.setName(allStrings.getIndex(net.getName()));
                 populatePropertyMap(netBuilder::getPropMap, net);
                 StructList.Builder<PortInstance.Builder> portInsts = netBuilder
@@ -270,6 +321,103 @@ public class LogNetlistWriter {
         }
     }
 
+    /**
+     * A range of nets or cell instances encoded by a worker thread. Strings are enumerated into
+     * an enumerator local to the range, in the same order as a single-threaded write would
+     * enumerate them into {@link #allStrings}, so that merging the ranges in order reproduces the
+     * same string indices.
+     */
+    private static class EncodedRange {
+        private final StringEnumerator strings = new StringEnumerator();
+        /** Integers encoded for each object of the range, referring to local string indices */
+        private final int[][] data;
+        /** Index in {@link #allStrings} of each local string, set once merged */
+        private int[] remap;
+
+        private EncodedRange(int size) {
+            data = new int[size][];
+        }
+    }
+
+    private interface RangeEncoder<T> {
+        void encode(T obj, EncodedRange range, int idx);
+    }
+
+    /**
+     * Encodes consecutive ranges of objects in parallel, then merges the strings of each range
+     * into {@link #allStrings} in range order.
+     * Cap'n Proto builders allocate from a single message arena that is not thread safe, so only
+     * this encoding -- string enumeration and index lookups -- is done by worker threads. The
+     * caller writes the encoded ranges into the message on its own thread.
+     * @param objs The objects to encode.
+     * @param encoder Encodes one object; must only enumerate strings into the range's enumerator.
+     * @return The encoded ranges, each of {@link #PARALLEL_WRITE_CHUNK_SIZE} objects except for
+     * the last.
+     */
+    private <T> List<EncodedRange> encodeParallel(List<T> objs, RangeEncoder<T> encoder) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < objs.size(); i += PARALLEL_WRITE_CHUNK_SIZE) {
+            starts.add(i);
+        }
+        List<Future<EncodedRange>> futures = ParallelismTools.invokeAll(starts, (rangeStart) -> {
+            int rangeEnd = Math.min(objs.size(), rangeStart + PARALLEL_WRITE_CHUNK_SIZE);
+            EncodedRange range = new EncodedRange(rangeEnd - rangeStart);
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                encoder.encode(objs.get(i), range, i - rangeStart);
+            }
+            return range;
+        });
+        List<EncodedRange> ranges = new ArrayList<>(futures.size());
+        for (Future<EncodedRange> future : futures) {
+            EncodedRange range = ParallelismTools.get(future);
+            range.remap = allStrings.getIndices(range.strings);
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    /**
+     * Encodes a net as its local name index followed by a (port, instance or -1, bus index or -1)
+     * triple for each of its port instances.
+     */
+    private void encodeNets(EDIFNet net, EncodedRange range, int idx) {
+        int nameIdx = range.strings.getIndex(net.getName());
+        enumeratePropertyMap(range.strings, net);
+        Collection<EDIFPortInst> portInsts = net.getPortInsts();
+        int[] data = new int[1 + portInsts.size() * 3];
+        data[0] = nameIdx;
+        int k = 1;
+        for (EDIFPortInst portInst : portInsts) {
+            data[k++] = allPorts.maybeGetIndex(portInst.getPort());
+            data[k++] = portInst.getCellInst() != null ? allInsts.maybeGetIndex(portInst.getCellInst()) : -1;
+            data[k++] = portInst.getPort().isBus() ? portInst.getIndex() : -1;
+        }
+        range.data[idx] = data;
+    }
+
+    private void writeEncodedNet(Net.Builder netBuilder, EDIFNet net, List<EncodedRange> ranges,
+                                 int netIdx) {
+        EncodedRange range = ranges.get(netIdx / PARALLEL_WRITE_CHUNK_SIZE);
+        int[] data = range.data[netIdx % PARALLEL_WRITE_CHUNK_SIZE];
+        netBuilder.setName(range.remap[data[0]]);
+        // All strings have already been enumerated, in order
+        populatePropertyMap(netBuilder::getPropMap, net);
+        StructList.Builder<PortInstance.Builder> portInsts = netBuilder
+                .initPortInsts((data.length - 1) / 3);
+        for (int k = 1, p = 0; k < data.length; k += 3, p++) {
+            PortInstance.Builder piBuilder = portInsts.get(p);
+            piBuilder.setPort(data[k]);
+            if (data[k + 1] != -1) {
+                piBuilder.setInst(data[k + 1]);
+            } else {
+                piBuilder.setExtPort(Void.VOID);
+            }
+            if (data[k + 2] != -1) {
+                piBuilder.initBusIdx().setIdx(data[k + 2]);
+            }
+        }
+    }
+
     protected void writeAllPortsToNetlistBuilder(Netlist.Builder netlist) {
         int i = 0;
         StructList.Builder<Port.Builder> portsList = netlist.initPortList(allPorts.size());
@@ -291,6 +439,20 @@ public class LogNetlistWriter {
 
     protected void writeAllInstsToNetlistBuilder(Netlist.Builder netlist) {
         StructList.Builder<CellInstance.Builder> cellInstsList = netlist.initInstList(allInsts.size());
+        if (ParallelismTools.getParallel() && allInsts.size() >= PARALLEL_WRITE_THRESHOLD) {
+            List<EncodedRange> ranges = encodeParallel(allInsts, this::encodeInst);
+            for (int i = 0; i < allInsts.size(); i++) {
+                EncodedRange range = ranges.get(i / PARALLEL_WRITE_CHUNK_SIZE);
+                int[] data = range.data[i % PARALLEL_WRITE_CHUNK_SIZE];
+                CellInstance.Builder ciBuilder = cellInstsList.get(i);
+                ciBuilder.setName(range.remap[data[0]]);
+                // All strings have already been enumerated, in order
+                populatePropertyMap(ciBuilder::getPropMap, allInsts.get(i));
+                ciBuilder.setCell(data[1]);
+                ciBuilder.setView(range.remap[data[2]]);
+            }
+            return;
+        }
         for (int i = 0; i < allInsts.size(); i++) {
             EDIFCellInst inst = allInsts.get(i);
             CellInstance.Builder ciBuilder = cellInstsList.get(i);
@@ -301,6 +463,16 @@ public class LogNetlistWriter {
         }
     }
 
+    /**
+     * Encodes a cell instance as its local name index, cell index and local view name index.
+     */
+    private void encodeInst(EDIFCellInst inst, EncodedRange range, int idx) {
+        int nameIdx = range.strings.getIndex(inst.getName());
+        enumeratePropertyMap(range.strings, inst);
+        int viewIdx = range.strings.getIndex(inst.getViewref().getName());
+        range.data[idx] = new int[] {nameIdx, allCells.maybeGetIndex(inst.getCellType()), viewIdx};
+    }
+
     protected void writeAllStringsToNetlistBuilder(Netlist.Builder netlist) {
         int stringCount = allStrings.size();
         TextList.Builder strList = netlist.initStrList(stringCount);
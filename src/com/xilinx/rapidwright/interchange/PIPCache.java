@@ -26,8 +26,10 @@ import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.Tile;
 import com.xilinx.rapidwright.device.TileTypeEnum;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class for caching PIP lookups, given a Tile object, and string
@@ -79,6 +81,26 @@ public class PIPCache {
         this.strings = strings;
     }
 
+    /**
+     * Create a new PIPCache that should be only used by a single thread.
+     * @param strings String list used to resolve string indices.
+     * @return a non thread safe PIPCache
+     */
+    public static PIPCache singleThreaded(List<String> strings) {
+        return new PIPCache(new HashMap<>(), strings);
+    }
+
+    /**
+     * Create a new PIPCache that can be shared between threads. Lookups for
+     * the same key are computed at most once.
+     * @param strings String list used to resolve string indices; must not be
+     * modified while the cache is in use.
+     * @return a thread safe PIPCache
+     */
+    public static PIPCache multiThreaded(List<String> strings) {
+        return new PIPCache(new ConcurrentHashMap<>(), strings);
+    }
+
     private Integer getWireIndex(Tile tile, int wireStringIdx) {
         String wireName = strings.get(wireStringIdx);
         return tile.getWireIndex(wireName);
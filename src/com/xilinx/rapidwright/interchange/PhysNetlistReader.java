@@ -65,6 +65,7 @@ import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranc
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranch.RouteSegment;
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.SiteInstance;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.capnproto.MessageReader;
 import org.capnproto.PrimitiveList;
 import org.capnproto.ReaderOptions;
@@ -82,6 +83,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 public class PhysNetlistReader {
@@ -112,6 +115,12 @@ public class PhysNetlistReader {
      */
     public static boolean CHECK_AND_CREATE_LOGICAL_CELL_IF_NOT_PRESENT = true;
 
+    /**
+     * Minimum number of placements or nets before they are decoded in parallel (when
+     * {@link ParallelismTools#getParallel()} is set). Smaller designs are not worth the overhead.
+     */
+    private static final int PARALLEL_READ_THRESHOLD = 1 << 10;
+
     protected final Design design;
     protected Device device;
 
@@ -230,19 +239,24 @@ public class PhysNetlistReader {
         int placementCount = placements.size();
         EDIFNetlist netlist = design.getNetlist();
         EDIFLibrary macroPrims = Design.getMacroPrimitives(device.getSeries());
+        PlacementInfo[] decoded = null;
+        if (ParallelismTools.getParallel() && placementCount >= PARALLEL_READ_THRESHOLD) {
+            decoded = decodePlacementsParallel(placements, physCells, netlist);
+        }
         Set<Integer> otherBELLocs = new HashSet<>();
         for (int i=0; i < placementCount; i++) {
-            CellPlacement.Reader placement = placements.get(i);
-            String cellName = strings.get(placement.getCellName());
-            SiteInst siteInst = getSiteInst(placement.getSite());
-            assert(siteInst != null);
-            String belName = strings.get(placement.getBel());
-            PhysCellType physType = physCells.get(placement.getCellName());
+            PlacementInfo info = decoded != null ? decoded[i]
+                    : decodePlacement(placements.get(i), physCells, netlist);
+            CellPlacement.Reader placement = info.placement;
+            String cellName = info.cellName;
+            SiteInst siteInst = info.siteInst;
+            String belName = info.belName;
+            PhysCellType physType = info.physType;
             if (physType == PhysCellType.LOCKED) {
                 siteInst.setSiteLocked(true);
                 Cell c = siteInst.getCell(belName);
                 if (c == null) {
-                    BEL bel = siteInst.getBEL(belName);
+                    BEL bel = info.bel;
                     c = new Cell(PhysNetlistWriter.LOCKED, bel);
                     c.setBELFixed(placement.getIsBelFixed());
                     c.setNullBEL(bel == null);
@@ -252,21 +266,21 @@ public class PhysNetlistReader {
 
                 // c Alternative Blocked Site Type // TODO
             } else if (physType == PhysCellType.PORT) {
-                Cell portCell = new Cell(cellName,siteInst.getBEL(belName));
+                Cell portCell = new Cell(cellName, info.bel);
                 portCell.setType(PhysNetlistWriter.PORT);
                 siteInst.addCell(portCell);
                 portCell.setBELFixed(placement.getIsBelFixed());
                 portCell.setSiteFixed(placement.getIsSiteFixed());
             } else {
                 assert(physType == null);
-                String cellType = strings.get(placement.getType());
+                String cellType = info.cellType;
 
                 if (CHECK_AND_CREATE_LOGICAL_CELL_IF_NOT_PRESENT) {
                     if (netlist == null) {
                         throw new RuntimeException("No EDIFNetlist supplied");
                     }
 
-                    EDIFCellInst cellInst = netlist.getCellInstFromHierName(cellName);
+                    EDIFCellInst cellInst = info.cellInst;
                     if (cellInst == null) {
                         Optional<Unisim> maybeUnisim = Enums.getIfPresent(Unisim.class, cellType);
                         Unisim unisim = maybeUnisim.isPresent() ? maybeUnisim.get() : null;
@@ -287,7 +301,7 @@ public class PhysNetlistReader {
                             + "leaf cells: " + cellType +".");
                 }
 
-                BEL bel = siteInst.getBEL(belName);
+                BEL bel = info.bel;
                 if (bel == null) {
                     String siteName = strings.get(placement.getSite());
                     throw new RuntimeException(
@@ -414,6 +428,79 @@ public class PhysNetlistReader {
         }
     }
 
+    /**
+     * Fields of a {@link CellPlacement} that can be resolved without reference to any other
+     * placement, so that they may be looked up ahead of time by worker threads.
+     */
+    private static class PlacementInfo {
+        private CellPlacement.Reader placement;
+        private String cellName;
+        private SiteInst siteInst;
+        private String belName;
+        private BEL bel;
+        private PhysCellType physType;
+        private String cellType;
+        private EDIFCellInst cellInst;
+    }
+
+    private PlacementInfo decodePlacement(CellPlacement.Reader placement,
+                                          Map<Integer, PhysCellType> physCells,
+                                          EDIFNetlist netlist) {
+        PlacementInfo info = new PlacementInfo();
+        info.placement = placement;
+        info.cellName = strings.get(placement.getCellName());
+        info.siteInst = getSiteInst(placement.getSite());
+        assert(info.siteInst != null);
+        info.belName = strings.get(placement.getBel());
+        info.bel = info.siteInst.getBEL(info.belName);
+        info.physType = physCells.get(placement.getCellName());
+        if (info.physType == null) {
+            info.cellType = strings.get(placement.getType());
+            if (CHECK_AND_CREATE_LOGICAL_CELL_IF_NOT_PRESENT && netlist != null) {
+                // Cells created for missing instances are not attached to the netlist, so
+                // this lookup does not depend on the placements that came before it
+                info.cellInst = netlist.getCellInstFromHierName(info.cellName);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Resolves the names, SiteInsts, BELs and logical cell instances of all placements using
+     * {@link ParallelismTools} workers, each of which handles a contiguous range of placements.
+     * This is read-only with respect to the design; the cells themselves are created afterwards
+     * on the calling thread in the original placement order.
+     */
+    private PlacementInfo[] decodePlacementsParallel(StructList.Reader<CellPlacement.Reader> placements,
+                                                     Map<Integer, PhysCellType> physCells,
+                                                     EDIFNetlist netlist) {
+        PlacementInfo[] decoded = new PlacementInfo[placements.size()];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int[] range : getChunkRanges(decoded.length)) {
+            futures.add(ParallelismTools.submit(() -> {
+                for (int i = range[0]; i < range[1]; i++) {
+                    decoded[i] = decodePlacement(placements.get(i), physCells, netlist);
+                }
+            }));
+        }
+        ParallelismTools.join(futures);
+        return decoded;
+    }
+
+    /**
+     * Splits [0, count) into contiguous ranges, a few per available thread so that uneven ranges
+     * still balance out.
+     */
+    private static List<int[]> getChunkRanges(int count) {
+        int numChunks = Math.max(1, Math.min(count, ParallelismTools.maxParallelism() * 4));
+        int chunkSize = (count + numChunks - 1) / numChunks;
+        List<int[]> ranges = new ArrayList<>(numChunks);
+        for (int i = 0; i < count; i += chunkSize) {
+            ranges.add(new int[] {i, Math.min(count, i + chunkSize)});
+        }
+        return ranges;
+    }
+
     private static NetType getNetType(PhysNet.Reader netReader, String netName) {
         switch(netReader.getType()) {
             case GND:
@@ -447,14 +534,22 @@ public class PhysNetlistReader {
     }
 
     private void readRouting(PhysNetlist.Reader physNetlist) {
-        tiles = new HashMap<>();
-        pipCache = new PIPCache(new HashMap<>(), strings);
-        belPinCache = new BELPinCache(new HashMap<>(), strings);
-
         StructList.Reader<PhysNetlist.PhysNet.Reader> nets = physNetlist.getPhysNets();
 
-        // For single-threaded read, add net to design object immediately
-        readRouting(nets, design::addNet);
+        if (ParallelismTools.getParallel() && nets.size() >= PARALLEL_READ_THRESHOLD) {
+            tiles = new ConcurrentHashMap<>();
+            pipCache = PIPCache.multiThreaded(strings);
+            belPinCache = BELPinCache.multiThreaded(strings);
+
+            readRoutingParallel(nets);
+        } else {
+            tiles = new HashMap<>();
+            pipCache = PIPCache.singleThreaded(strings);
+            belPinCache = BELPinCache.singleThreaded(strings);
+
+            // For single-threaded read, add net to design object immediately
+            readRouting(nets, design::addNet);
+        }
 
         tiles = null;
         pipCache = null;
@@ -466,52 +561,110 @@ public class PhysNetlistReader {
         Set<Wire> stubWires = new HashSet<>();
         for (int i=0; i < netCount; i++) {
             PhysNet.Reader netReader = nets.get(i);
-            String netName = strings.get(netReader.getName());
-            Net net = new Net(netName);
-            net.setDesign(design);
-            net.setType(getNetType(netReader, netName));
+            Net net = createNet(netReader);
             addNetToDesign.accept(net);
 
-            // Stub Nodes
-            if (netReader.hasStubNodes()) {
-                StructList.Reader<PhysNode.Reader> stubNodes = netReader.getStubNodes();
-                int stubNodeCount = stubNodes.size();
-                for (int j = 0; j < stubNodeCount; j++) {
-                    PhysNode.Reader stubNodeReader = stubNodes.get(j);
-                    Tile tile = getTile(stubNodeReader.getTile());
-                    Integer wireIdx = getWireIndex(tile, stubNodeReader.getWire());
-                    Wire wire = new Wire(tile, wireIdx);
-                    boolean added = stubWires.add(wire);
-                    assert (added);
-                }
+            readNetRouting(netReader, net, stubWires, Runnable::run);
+        }
+    }
+
+    /**
+     * Parallel version of {@link #readRouting(StructList.Reader, Consumer)}. Nets are split into
+     * contiguous ranges, and each {@link ParallelismTools} worker creates the nets of its range
+     * and adds their PIPs, which only touch the net itself. Updates to shared objects -- adding
+     * the net to the design, intra-site routing, site PIPs, routethru cells and site pins -- are
+     * recorded instead, and replayed on the calling thread in the original net order once all
+     * workers have finished. The resulting design is therefore identical to the one built by a
+     * single-threaded read.
+     * Note that {@link #getSiteInst(int)} and {@link #getBELPin(SiteInst, int, int)} are called
+     * from worker threads, while all other protected hooks are called from the calling thread.
+     * @param nets The physical nets to read.
+     */
+    protected void readRoutingParallel(StructList.Reader<PhysNet.Reader> nets) {
+        List<int[]> ranges = getChunkRanges(nets.size());
+        List<Future<List<Runnable>>> futures = ParallelismTools.invokeAll(ranges, (range) -> {
+            List<Runnable> updates = new ArrayList<>();
+            Set<Wire> stubWires = new HashSet<>();
+            for (int i = range[0]; i < range[1]; i++) {
+                PhysNet.Reader netReader = nets.get(i);
+                Net net = createNet(netReader);
+                updates.add(() -> design.addNet(net));
+
+                readNetRouting(netReader, net, stubWires, updates::add);
             }
+            return updates;
+        });
 
-            // Sources
-            if (netReader.hasSources()) {
-                StructList.Reader<RouteBranch.Reader> routeSrcs = netReader.getSources();
-                int routeSrcsCount = routeSrcs.size();
-                for (int j = 0; j < routeSrcsCount; j++) {
-                    RouteBranch.Reader branchReader = routeSrcs.get(j);
-                    readRouteBranch(stubWires, branchReader, net, null);
-                }
+        // Wait for all workers to finish before replaying any updates, since replaying may add
+        // (dummy) SiteInsts to siteInsts which workers read from concurrently
+        List<List<Runnable>> allUpdates = new ArrayList<>(futures.size());
+        for (Future<List<Runnable>> future : futures) {
+            allUpdates.add(ParallelismTools.get(future));
+        }
+        for (List<Runnable> updates : allUpdates) {
+            for (Runnable update : updates) {
+                update.run();
             }
-            // Stubs
-            if (netReader.hasStubs()) {
-                StructList.Reader<RouteBranch.Reader> routeStubs = netReader.getStubs();
-                int routeStubsCount = routeStubs.size();
-                for (int j=0; j < routeStubsCount; j++) {
-                    RouteBranch.Reader branchReader = routeStubs.get(j);
-                    readRouteBranch(stubWires, branchReader, net, null);
-                }
+        }
+    }
+
+    private Net createNet(PhysNet.Reader netReader) {
+        String netName = strings.get(netReader.getName());
+        Net net = new Net(netName);
+        net.setDesign(design);
+        net.setType(getNetType(netReader, netName));
+        return net;
+    }
+
+    /**
+     * Reads the routing of a single net.
+     * @param netReader The physical net to read.
+     * @param net The net to receive the routing.
+     * @param stubWires Scratch set for stub nodes, left empty on return.
+     * @param siteUpdates Receives each update to a SiteInst (or the set of SiteInsts) implied by
+     * the routing, in order. Passing Runnable::run applies them immediately.
+     */
+    private void readNetRouting(PhysNet.Reader netReader, Net net, Set<Wire> stubWires,
+                                Consumer<Runnable> siteUpdates) {
+        // Stub Nodes
+        if (netReader.hasStubNodes()) {
+            StructList.Reader<PhysNode.Reader> stubNodes = netReader.getStubNodes();
+            int stubNodeCount = stubNodes.size();
+            for (int j = 0; j < stubNodeCount; j++) {
+                PhysNode.Reader stubNodeReader = stubNodes.get(j);
+                Tile tile = getTile(stubNodeReader.getTile());
+                Integer wireIdx = getWireIndex(tile, stubNodeReader.getWire());
+                Wire wire = new Wire(tile, wireIdx);
+                boolean added = stubWires.add(wire);
+                assert (added);
             }
+        }
 
-            // Stub nodes that don't belong on a PIP
-            for (Wire wire : stubWires) {
-                PIP pip = new PIP(wire.getTile(), wire.getWireIndex(), PIP.NULL_END_WIRE_IDX);
-                net.addPIP(pip);
+        // Sources
+        if (netReader.hasSources()) {
+            StructList.Reader<RouteBranch.Reader> routeSrcs = netReader.getSources();
+            int routeSrcsCount = routeSrcs.size();
+            for (int j = 0; j < routeSrcsCount; j++) {
+                RouteBranch.Reader branchReader = routeSrcs.get(j);
+                readRouteBranch(stubWires, branchReader, net, null, siteUpdates);
+            }
+        }
+        // Stubs
+        if (netReader.hasStubs()) {
+            StructList.Reader<RouteBranch.Reader> routeStubs = netReader.getStubs();
+            int routeStubsCount = routeStubs.size();
+            for (int j=0; j < routeStubsCount; j++) {
+                RouteBranch.Reader branchReader = routeStubs.get(j);
+                readRouteBranch(stubWires, branchReader, net, null, siteUpdates);
             }
-            stubWires.clear();
         }
+
+        // Stub nodes that don't belong on a PIP
+        for (Wire wire : stubWires) {
+            PIP pip = new PIP(wire.getTile(), wire.getWireIndex(), PIP.NULL_END_WIRE_IDX);
+            net.addPIP(pip);
+        }
+        stubWires.clear();
     }
 
     protected void addBELPinToSiteInst(BELPin belPin, SiteInst siteInst, Net net) {
@@ -540,7 +693,8 @@ public class PhysNetlistReader {
     private void readRouteBranch(Set<Wire> stubWires,
                                  RouteBranch.Reader branchReader,
                                  Net net,
-                                 BELPin routeThruLutInput) {
+                                 BELPin routeThruLutInput,
+                                 Consumer<Runnable> siteUpdates) {
         RouteBranch.RouteSegment.Reader segment = branchReader.getRouteSegment();
         StructList.Reader<RouteBranch.Reader> branches = null;
         int branchesCount;
@@ -585,35 +739,8 @@ public class PhysNetlistReader {
                             // ... and it routed through a LUT along the way
                             if (routeThruLutInput != null) {
                                 // Check that a routethru cell exists
-
-                                String belPinName = belPin.getName();
-
-                                Cell belCell = siteInst.getCell(bel);
-                                Cell routeThruCell = siteInst.getCell(routeThruLutInput.getBEL());
-                                if (routeThruCell == null) {
-                                    // Routethru cell does not exist, create one
-
-                                    // Make sure nothing placed there already
-                                    if (siteInst.getCell(routeThruLutInput.getBEL()) != null) {
-                                        throw new RuntimeException("Routethru inferred for " + siteInst.getSiteName() + "/" + routeThruLutInput.getBELName()
-                                                + " but it is already occupied");
-                                    }
-
-                                    routeThruCell = new Cell(belCell.getName(), routeThruLutInput.getBEL());
-                                    routeThruCell.setRoutethru(true);
-                                    routeThruCell.setType(belCell.getType());
-                                    routeThruCell.setSiteInst(siteInst);
-                                    addCellToSiteInst(routeThruCell);
-                                    routeThruCell.addPinMapping(routeThruLutInput.getName(), belCell.getLogicalPinMapping(belPinName));
-                                }
-
-                                String physicalPin = routeThruLutInput.getName();
-                                String logicalPin = belCell.getLogicalPinMapping(belPinName);
-                                if (routeThruCell.getSiteInst() != siteInst ||
-                                        !routeThruCell.isRoutethru() ||
-                                        !routeThruCell.getLogicalPinMapping(physicalPin).equals(logicalPin)) {
-                                    throw new RuntimeException("Invalid routethru cell: " + routeThruCell);
-                                }
+                                BELPin lutInput = routeThruLutInput;
+                                siteUpdates.accept(() -> checkRoutethruCell(siteInst, belPin, lutInput));
                             }
                         } else {
                             assert (routeThruLutInput == null);
@@ -625,7 +752,7 @@ public class PhysNetlistReader {
                     assert(!belPin.isInput());
 
                     // Only output BEL pins affect intra-site routing
-                    addBELPinToSiteInst(belPin, siteInst, net);
+                    siteUpdates.accept(() -> addBELPinToSiteInst(belPin, siteInst, net));
                 }
                 break;
             }
@@ -633,27 +760,17 @@ public class PhysNetlistReader {
                 PhysSitePIP.Reader spReader = segment.getSitePIP();
                 SiteInst siteInst = getPlacedSiteInst(spReader.getSite());
                 BELPin belPin = getBELPin(siteInst, spReader.getBel(), spReader.getPin());
-                SitePIP sitePIP = siteInst.getSitePIP(belPin);
-                addSitePIPToSiteInst(sitePIP, siteInst);
+                siteUpdates.accept(() -> {
+                    SitePIP sitePIP = siteInst.getSitePIP(belPin);
+                    addSitePIPToSiteInst(sitePIP, siteInst);
+                });
                 break;
             }
             case SITE_PIN: {
                 PhysSitePin.Reader spReader = segment.getSitePin();
-                SiteInst siteInst = siteInsts.computeIfAbsent(spReader.getSite(), (k) -> {
-                    Site site = device.getSite(strings.get(k));
-                    if (!net.isStaticNet()) {
-                        throw new RuntimeException("ERROR: SiteInst for Site " + site.getName() + " not found.");
-                    }
-                    // Create a dummy TIEOFF SiteInst
-                    String name = SiteInst.STATIC_SOURCE + "_" + site.getName();
-                    SiteInst si = new SiteInst(name, site.getSiteTypeEnum());
-                    si.place(site);
-                    // Ensure it is not attached to the design
-                    assert(si.getDesign() == null);
-                    return si;
-                });
-
-                createSitePin(spReader.getPin(), siteInst, net);
+                int siteIdx = spReader.getSite();
+                int pinIdx = spReader.getPin();
+                siteUpdates.accept(() -> createSitePin(pinIdx, getSitePinSiteInst(siteIdx, net), net));
                 assert(routeThruLutInput == null);
                 break;
             }
@@ -664,11 +781,63 @@ public class PhysNetlistReader {
 
         for (int j=0; j < branchesCount; j++) {
             RouteBranch.Reader bReader = branches.get(j);
-            readRouteBranch(stubWires, bReader, net, routeThruLutInput);
+            readRouteBranch(stubWires, bReader, net, routeThruLutInput, siteUpdates);
         }
 
     }
 
+    /**
+     * Checks that a routethru cell exists on the LUT input where a route branch entered the LUT
+     * before terminating on another pin of the same LUT, creating one if necessary.
+     */
+    private void checkRoutethruCell(SiteInst siteInst, BELPin belPin, BELPin lutInput) {
+        BEL bel = belPin.getBEL();
+        String belPinName = belPin.getName();
+
+        Cell belCell = siteInst.getCell(bel);
+        Cell routeThruCell = siteInst.getCell(lutInput.getBEL());
+        if (routeThruCell == null) {
+            // Routethru cell does not exist, create one
+
+            // Make sure nothing placed there already
+            if (siteInst.getCell(lutInput.getBEL()) != null) {
+                throw new RuntimeException("Routethru inferred for " + siteInst.getSiteName() + "/" + lutInput.getBELName()
+                        + " but it is already occupied");
+            }
+
+            routeThruCell = new Cell(belCell.getName(), lutInput.getBEL());
+            routeThruCell.setRoutethru(true);
+            routeThruCell.setType(belCell.getType());
+            routeThruCell.setSiteInst(siteInst);
+            addCellToSiteInst(routeThruCell);
+            routeThruCell.addPinMapping(lutInput.getName(), belCell.getLogicalPinMapping(belPinName));
+        }
+
+        String physicalPin = lutInput.getName();
+        String logicalPin = belCell.getLogicalPinMapping(belPinName);
+        if (routeThruCell.getSiteInst() != siteInst ||
+                !routeThruCell.isRoutethru() ||
+                !routeThruCell.getLogicalPinMapping(physicalPin).equals(logicalPin)) {
+            throw new RuntimeException("Invalid routethru cell: " + routeThruCell);
+        }
+    }
+
+    private SiteInst getSitePinSiteInst(int siteStringIdx, Net net) {
+        return siteInsts.computeIfAbsent(siteStringIdx, (k) -> {
+            Site site = device.getSite(strings.get(k));
+            if (!net.isStaticNet()) {
+                throw new RuntimeException("ERROR: SiteInst for Site " + site.getName() + " not found.");
+            }
+            // Create a dummy TIEOFF SiteInst
+            String name = SiteInst.STATIC_SOURCE + "_" + site.getName();
+            SiteInst si = new SiteInst(name, site.getSiteTypeEnum());
+            si.place(site);
+            // Ensure it is not attached to the design
+            assert(si.getDesign() == null);
+            return si;
+        });
+    }
+
     protected void readDesignProperties(PhysNetlist.Reader physNetlist) {
         StructList.Reader<Property.Reader> props = physNetlist.getProperties();
         int propCount = props.size();
@@ -55,6 +55,7 @@ import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranc
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.SiteInstance;
 import com.xilinx.rapidwright.interchange.RouteBranchNode.RouteSegmentType;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.capnproto.MessageBuilder;
 import org.capnproto.PrimitiveList;
 import org.capnproto.StructList;
@@ -63,14 +64,17 @@ import org.capnproto.Text;
 import org.capnproto.TextList;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.concurrent.Future;
 
 public class PhysNetlistWriter {
 
@@ -94,6 +98,15 @@ public class PhysNetlistWriter {
     public static final String LOCKED = "<LOCKED>";
     public static final String PORT = "<PORT>";
 
+    /**
+     * Minimum number of nets before their routing is extracted in parallel (when
+     * {@link ParallelismTools#getParallel()} is set).
+     */
+    private static final int PARALLEL_WRITE_THRESHOLD = 1 << 10;
+
+    /** Number of nets whose routing is extracted by each parallel task. */
+    private static final int PARALLEL_WRITE_CHUNK_SIZE = 256;
+
 
     protected static void writeSiteInsts(PhysNetlist.Builder physNetlist, Design design,
                                          StringEnumerator strings) {
@@ -231,7 +244,46 @@ public class PhysNetlistWriter {
         int physNetCount = design.getNets().size();
         Builder<PhysNet.Builder> nets = physNetlist.initPhysNets(physNetCount);
         Net[] keys = design.getNets().toArray(new Net[design.getNets().size()]);
-        writePhysNetsRange(nets, keys, design, strings, 0, keys.length - 1);
+        if (ParallelismTools.getParallel() && keys.length >= PARALLEL_WRITE_THRESHOLD) {
+            writePhysNetsParallel(nets, keys, strings);
+        } else {
+            writePhysNetsRange(nets, keys, design, strings, 0, keys.length - 1);
+        }
+    }
+
+    /**
+     * Parallel version of {@link #writePhysNetsRange(Builder, Net[], Design, StringEnumerator,
+     * int, int)}. Workers extract the intra-site routing of consecutive chunks of nets and connect
+     * it into route branch trees, which is where most of the runtime is spent. Cap'n Proto
+     * builders allocate from a single message arena that is not thread safe, so the trees are
+     * serialized on the calling thread, in net order, as each chunk completes. This also keeps the
+     * string enumeration, and thus the file, identical to that of a single-threaded write. Only
+     * a bounded window of chunks is in flight at once to limit the number of trees held in memory.
+     */
+    private static void writePhysNetsParallel(Builder<PhysNet.Builder> nets, Net[] keys,
+                                              StringEnumerator strings) {
+        int maxChunksInFlight = ParallelismTools.maxParallelism() * 2;
+        Deque<Future<NetRouting[]>> chunks = new ArrayDeque<>();
+        int nextStart = 0;
+        int i = 0;
+        while (i < keys.length) {
+            while (nextStart < keys.length && chunks.size() < maxChunksInFlight) {
+                final int start = nextStart;
+                final int end = Math.min(keys.length, start + PARALLEL_WRITE_CHUNK_SIZE);
+                chunks.addLast(ParallelismTools.submit(() -> {
+                    NetRouting[] routings = new NetRouting[end - start];
+                    for (int j = start; j < end; j++) {
+                        routings[j - start] = getNetRouting(keys[j]);
+                    }
+                    return routings;
+                }));
+                nextStart = end;
+            }
+            for (NetRouting routing : ParallelismTools.get(chunks.removeFirst())) {
+                writeNet(keys[i], routing, nets.get(i), strings);
+                i++;
+            }
+        }
     }
 
    protected static void writePhysNetsRange(Builder<PhysNet.Builder> nets, Net[] keys,
@@ -283,19 +335,27 @@ public class PhysNetlistWriter {
         }
     }
 
+    /**
+     * Routing of a single net, extracted from the design ready for serialization.
+     */
+    private static class NetRouting {
+        /** Route branch trees starting at a source, or null if no routing graph was built */
+        private List<RouteBranchNode> sources;
+        /** Route branch trees that are not reachable from a source */
+        private List<RouteBranchNode> stubs;
+        /** PIPs ending at a stub node */
+        private List<PIP> stubPIPs;
+    }
+
     private static void buildNet(Net net, PhysNet.Builder physNet, StringEnumerator strings) {
-        physNet.setName(strings.getIndex(net.getName()));
-        switch (net.getType()) {
-        case GND:
-            physNet.setType(PhysNetlist.NetType.GND);
-            break;
-        case VCC:
-            physNet.setType(PhysNetlist.NetType.VCC);
-            break;
-        default:
-            physNet.setType(PhysNetlist.NetType.SIGNAL);
-        }
+        writeNet(net, getNetRouting(net), physNet, strings);
+    }
 
+    /**
+     * Extracts the routing of a net, including its intra-site routing, without modifying the
+     * design or enumerating any strings. Safe to call concurrently for different nets.
+     */
+    private static NetRouting getNetRouting(Net net) {
         // We need to traverse the net inside sites to fully populate routing spec
         List<RouteBranchNode> routingSources = new ArrayList<>();
         List<PIP> stubPIPs = new ArrayList<>();
@@ -318,8 +378,28 @@ public class PhysNetlistWriter {
             extractIntraSiteRouting(net, routingSources, siteInst);
         }
 
-        populateRouting(routingSources, physNet, strings);
+        NetRouting routing = connectRouting(routingSources);
+        routing.stubPIPs = stubPIPs;
+        return routing;
+    }
+
+    private static void writeNet(Net net, NetRouting routing, PhysNet.Builder physNet,
+                                 StringEnumerator strings) {
+        physNet.setName(strings.getIndex(net.getName()));
+        switch (net.getType()) {
+        case GND:
+            physNet.setType(PhysNetlist.NetType.GND);
+            break;
+        case VCC:
+            physNet.setType(PhysNetlist.NetType.VCC);
+            break;
+        default:
+            physNet.setType(PhysNetlist.NetType.SIGNAL);
+        }
+
+        populateRouting(routing, physNet, strings);
 
+        List<PIP> stubPIPs = routing.stubPIPs;
         if (stubPIPs.size() > 0) {
             StructList.Builder<PhysNode.Builder> physNodes = physNet.initStubNodes(stubPIPs.size());
             for (int j = 0; j < stubPIPs.size(); j++) {
@@ -427,9 +507,7 @@ public class PhysNetlistWriter {
         }
     }
 
-    private static void populateRouting(List<RouteBranchNode> routingBranches,
-                                        PhysNet.Builder physNet, StringEnumerator strings) {
-
+    private static NetRouting connectRouting(List<RouteBranchNode> routingBranches) {
         List<RouteBranchNode> sources;
         List<RouteBranchNode> stubs;
 
@@ -487,6 +565,17 @@ public class PhysNetlistWriter {
             stubs = routingBranches;
         }
 
+        NetRouting routing = new NetRouting();
+        routing.sources = sources;
+        routing.stubs = stubs;
+        return routing;
+    }
+
+    private static void populateRouting(NetRouting routing, PhysNet.Builder physNet,
+                                        StringEnumerator strings) {
+        List<RouteBranchNode> sources = routing.sources;
+        List<RouteBranchNode> stubs = routing.stubs;
+
         //if (strings.get(physNet.getName()).equals("")) debugPrintRouteBranchNodes(sources, "");
 
         // Serialize...
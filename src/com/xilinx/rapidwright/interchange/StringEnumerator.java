@@ -25,6 +25,7 @@ package com.xilinx.rapidwright.interchange;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class StringEnumerator extends ArrayList<String> {
@@ -61,6 +62,22 @@ public class StringEnumerator extends ArrayList<String> {
         getIndex(obj);
     }
 
+    /**
+     * Gets the index of each of the given strings, enumerating any that are not yet present in
+     * the order given. Enumerating separate ranges of objects into their own StringEnumerator
+     * (e.g. one per thread) and then combining them in range order with this method assigns the
+     * same indices as enumerating all objects on a single thread.
+     * @param objs The strings to look up.
+     * @return The index of each string, in the same order as objs.
+     */
+    public int[] getIndices(List<String> objs) {
+        int[] indices = new int[objs.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = getIndex(objs.get(i));
+        }
+        return indices;
+    }
+
     public void update(String obj, int index) {
         set(index, obj);
         map.put(obj, index);
@@ -84,6 +84,13 @@ public class Connection implements Comparable<Connection>{
     private boolean crossSLR;
     /** List of nodes assigned to a connection to form the path for generating PIPs */
     private List<Node> nodes;
+    /** Search effort statistics, accumulated over all attempts to route a connection */
+    private int timesRouted;
+    private long nodesPopped;
+    private long nodesPushed;
+    private short timesEnlarged;
+    /** true to indicate that the last search of a connection stalled, and its bounding box should be enlarged */
+    private boolean stalled;
 
     public Connection(int id, SitePinInst source, SitePinInst sink, NetWrapper netWrapper) {
         this.id = id;
@@ -413,6 +420,42 @@ public class Connection implements Comparable<Connection>{
         yMaxBB += verticalIncrement;
         xMinBB = xMinBB < 0? -1:xMinBB;
         yMinBB = yMinBB < 0? -1:yMinBB;
+        timesEnlarged++;
+    }
+
+    /**
+     * Records the effort of one attempt to route this connection.
+     * @param nodesPopped Number of nodes popped from the queue during this attempt.
+     * @param nodesPushed Number of nodes pushed onto the queue during this attempt.
+     */
+    public void addSearchEffort(int nodesPopped, long nodesPushed) {
+        timesRouted++;
+        this.nodesPopped += nodesPopped;
+        this.nodesPushed += nodesPushed;
+    }
+
+    public int getTimesRouted() {
+        return timesRouted;
+    }
+
+    public long getNodesPopped() {
+        return nodesPopped;
+    }
+
+    public long getNodesPushed() {
+        return nodesPushed;
+    }
+
+    public short getTimesEnlarged() {
+        return timesEnlarged;
+    }
+
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    public void setStalled(boolean stalled) {
+        this.stalled = stalled;
     }
 
     @Override
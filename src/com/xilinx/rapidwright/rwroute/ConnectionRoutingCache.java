@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.util.FileTools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of the routing paths of connections that persists across runs of {@link RWRoute} on the
+ * same, or a nearly identical, design. Each path is keyed by the site pins of its connection's source
+ * and sink, and is stored as the sequence of nodes (identified by tile and wire index) from the
+ * connection's source rnode to its sink rnode. Paths are loaded from, and saved to, a compact
+ * Zstandard-compressed binary file. Saving replaces the cache contents with the paths of the current run.
+ * It is the responsibility of the router to check that a cached path is still legal before using it.
+ */
+public class ConnectionRoutingCache {
+    /** Identifies a cache file ("CRCH") */
+    private static final int MAGIC = 0x43524348;
+    /** Must be incremented when the file layout changes */
+    private static final int VERSION = 1;
+
+    private final String fileName;
+    private final Device device;
+    /** Tiles referenced by cached paths, which may contain null for tiles no longer found on the device */
+    private final List<Tile> tiles;
+    private final Map<Tile, Integer> tileToIndex;
+    /** Map of connection keys to paths, with each node encoded as its tile index and wire index */
+    private final Map<String, int[]> paths;
+
+    private ConnectionRoutingCache(String fileName, Device device) {
+        this.fileName = fileName;
+        this.device = device;
+        tiles = new ArrayList<>();
+        tileToIndex = new HashMap<>();
+        paths = new HashMap<>();
+    }
+
+    /**
+     * Loads the cache file with the given name, if it exists and targets the given device.
+     * @param fileName Name of the cache file.
+     * @param device The device being routed.
+     * @return A cache instance, which is empty if no valid cache file was found.
+     */
+    public static ConnectionRoutingCache load(String fileName, Device device) {
+        ConnectionRoutingCache cache = new ConnectionRoutingCache(fileName, device);
+        if (!Files.exists(Paths.get(fileName))) {
+            return cache;
+        }
+        try (Input input = FileTools.getKryoZstdInputStream(fileName)) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readString().equals(device.getName())) {
+                System.err.println("WARNING: Ignoring invalid or outdated connection routing cache " + fileName);
+                return cache;
+            }
+            int numTiles = input.readInt(true);
+            for (int i = 0; i < numTiles; i++) {
+                Tile tile = device.getTile(input.readString());
+                cache.tiles.add(tile);
+                if (tile != null) {
+                    cache.tileToIndex.put(tile, i);
+                }
+            }
+            int numPaths = input.readInt(true);
+            for (int i = 0; i < numPaths; i++) {
+                String key = input.readString();
+                int[] path = input.readInts(input.readInt(true), true);
+                cache.paths.put(key, path);
+            }
+        } catch (KryoException e) {
+            System.err.println("WARNING: Unable to read connection routing cache " + fileName + ": " + e.getMessage());
+            cache.tiles.clear();
+            cache.tileToIndex.clear();
+            cache.paths.clear();
+        }
+        return cache;
+    }
+
+    private static String getKey(Connection connection) {
+        SitePinInst source = connection.getSource();
+        SitePinInst sink = connection.getSink();
+        return source.getSiteName() + "/" + source.getName() + " " + sink.getSiteName() + "/" + sink.getName();
+    }
+
+    /**
+     * Gets the cached path of the given connection.
+     * @param connection The connection in question.
+     * @return The list of nodes from the connection's source rnode to its sink rnode, or null if
+     * no path was cached or if any of its nodes no longer exist.
+     */
+    public List<Node> get(Connection connection) {
+        int[] path = paths.get(getKey(connection));
+        if (path == null) {
+            return null;
+        }
+        List<Node> nodes = new ArrayList<>(path.length / 2);
+        for (int i = 0; i < path.length; i += 2) {
+            Tile tile = tiles.get(path[i]);
+            Node node = (tile != null) ? Node.getNode(tile, path[i + 1]) : null;
+            if (node == null) {
+                return null;
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private void put(Connection connection) {
+        List<RouteNode> rnodes = connection.getRnodes();
+        if (rnodes.isEmpty()) {
+            return;
+        }
+        int[] path = new int[rnodes.size() * 2];
+        int j = 0;
+        // Connection rnodes are ordered from sink to source
+        for (int i = rnodes.size() - 1; i >= 0; i--) {
+            Node node = rnodes.get(i).getNode();
+            Tile tile = node.getTile();
+            Integer tileIndex = tileToIndex.get(tile);
+            if (tileIndex == null) {
+                tileIndex = tiles.size();
+                tiles.add(tile);
+                tileToIndex.put(tile, tileIndex);
+            }
+            path[j++] = tileIndex;
+            path[j++] = node.getWire();
+        }
+        paths.put(getKey(connection), path);
+    }
+
+    /**
+     * Gets the number of cached paths.
+     * @return Number of cached paths.
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * Replaces all cached paths with the current routing of the given connections, so that paths of
+     * connections that no longer exist are evicted, and writes them to the cache file atomically.
+     * @param connections The connections of the current run; only those with a routed sink are cached.
+     */
+    public void save(Collection<Connection> connections) {
+        paths.clear();
+        tiles.clear();
+        tileToIndex.clear();
+        for (Connection connection : connections) {
+            if (connection.getSink().isRouted()) {
+                put(connection);
+            }
+        }
+
+        Path path = Paths.get(fileName);
+        Path tmpPath = null;
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            tmpPath = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+            try (Output output = FileTools.getKryoZstdOutputStream(tmpPath.toString())) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeString(device.getName());
+                output.writeInt(tiles.size(), true);
+                for (Tile tile : tiles) {
+                    output.writeString(tile.getName());
+                }
+                output.writeInt(paths.size(), true);
+                for (Map.Entry<String, int[]> e : paths.entrySet()) {
+                    output.writeString(e.getKey());
+                    int[] nodes = e.getValue();
+                    output.writeInt(nodes.length, true);
+                    output.writeInts(nodes, 0, nodes.length, true);
+                }
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmpPath = null;
+        } catch (IOException | KryoException e) {
+            System.err.println("WARNING: Unable to write connection routing cache " + fileName + ": " + e.getMessage());
+        } finally {
+            if (tmpPath != null) {
+                tmpPath.toFile().delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+/**
+ * Encapsulates the state that {@link RWRoute} uses while routing one connection at a time.
+ * Each thread that routes connections concurrently must use its own instance.
+ */
+public class ConnectionState {
+    /** The queue to store candidate nodes to route a connection */
+    protected final RouteNodeHeap queue;
+    /** Identifier used to mark the rnodes visited while routing the current connection */
+    protected int visitedId;
+    /** Number of connections routed using this state since its counters were last cleared */
+    protected int connectionsRouted;
+    /** Number of nodes pushed/popped from the queue since its counters were last cleared */
+    protected long nodesPushed;
+    protected long nodesPopped;
+
+    public ConnectionState() {
+        queue = new RouteNodeHeap();
+    }
+
+    /**
+     * Sets the identifier of the last connection routed, such that the next connection
+     * routed with this state will use (visitedId + 1) to mark visited rnodes.
+     * @param visitedId Identifier of the last connection routed.
+     */
+    public void setVisitedId(int visitedId) {
+        this.visitedId = visitedId;
+    }
+
+    /**
+     * Gets the identifier of the connection currently being routed.
+     * @return Identifier used to mark visited rnodes.
+     */
+    public int getVisitedId() {
+        return visitedId;
+    }
+
+    /**
+     * Clears all statistics counters (but not the visited identifier).
+     */
+    public void clearCounters() {
+        connectionsRouted = 0;
+        nodesPushed = 0;
+        nodesPopped = 0;
+    }
+}
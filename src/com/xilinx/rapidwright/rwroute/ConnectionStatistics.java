@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+/**
+ * Summarizes the search effort spent on routing each {@link Connection} as a histogram, where
+ * connections are binned by the total number of nodes popped across all their routing attempts, in
+ * power-of-two bins. For each bin, the number of connections, the total nodes popped and pushed, the
+ * total number of routing attempts and the total number of bounding box enlargements are reported.
+ */
+public class ConnectionStatistics {
+
+    /** Number of bins: bin i counts connections with [2^(i-1), 2^i) nodes popped, bin 0 those with none */
+    private static final int NUM_BINS = Long.SIZE + 1;
+
+    private final long[] connections = new long[NUM_BINS];
+    private final long[] nodesPopped = new long[NUM_BINS];
+    private final long[] nodesPushed = new long[NUM_BINS];
+    private final long[] timesRouted = new long[NUM_BINS];
+    private final long[] timesEnlarged = new long[NUM_BINS];
+    private int maxBin = -1;
+
+    public ConnectionStatistics(Collection<Connection> connections) {
+        for (Connection connection : connections) {
+            add(connection);
+        }
+    }
+
+    private void add(Connection connection) {
+        long popped = connection.getNodesPopped();
+        int bin = Long.SIZE - Long.numberOfLeadingZeros(popped);
+        connections[bin]++;
+        nodesPopped[bin] += popped;
+        nodesPushed[bin] += connection.getNodesPushed();
+        timesRouted[bin] += connection.getTimesRouted();
+        timesEnlarged[bin] += connection.getTimesEnlarged();
+        maxBin = Math.max(maxBin, bin);
+    }
+
+    private static long getBinMin(int bin) {
+        return bin == 0 ? 0 : 1L << (bin - 1);
+    }
+
+    private static long getBinMax(int bin) {
+        return bin == 0 ? 0 : (bin == Long.SIZE ? Long.MAX_VALUE : (1L << bin) - 1);
+    }
+
+    /**
+     * Writes this histogram as CSV, with one row per bin up to the highest non-empty bin.
+     * @param writer The writer to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeCSV(BufferedWriter writer) throws IOException {
+        writer.write("min_nodes_popped,max_nodes_popped,connections,nodes_popped,nodes_pushed,times_routed,times_enlarged");
+        writer.newLine();
+        for (int bin = 0; bin <= maxBin; bin++) {
+            writer.write(getBinMin(bin) + "," + getBinMax(bin) + "," + connections[bin] + "," + nodesPopped[bin] + ","
+                    + nodesPushed[bin] + "," + timesRouted[bin] + "," + timesEnlarged[bin]);
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Writes this histogram as a JSON object containing an array with one object per bin up to the
+     * highest non-empty bin.
+     * @param writer The writer to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeJSON(BufferedWriter writer) throws IOException {
+        writer.write("{");
+        writer.newLine();
+        writer.write("  \"histogram\": [");
+        for (int bin = 0; bin <= maxBin; bin++) {
+            writer.write(bin == 0 ? "" : ",");
+            writer.newLine();
+            writer.write("    {\"min_nodes_popped\": " + getBinMin(bin) + ", \"max_nodes_popped\": " + getBinMax(bin)
+                    + ", \"connections\": " + connections[bin] + ", \"nodes_popped\": " + nodesPopped[bin]
+                    + ", \"nodes_pushed\": " + nodesPushed[bin] + ", \"times_routed\": " + timesRouted[bin]
+                    + ", \"times_enlarged\": " + timesEnlarged[bin] + "}");
+        }
+        writer.newLine();
+        writer.write("  ]");
+        writer.newLine();
+        writer.write("}");
+        writer.newLine();
+    }
+
+    /**
+     * Writes the histogram of the given connections' search effort to a file, as JSON if the file
+     * name ends with ".json" and as CSV otherwise.
+     * @param connections The connections to summarize.
+     * @param fileName Name of the file to write. A failure to write it is reported as a warning
+     *                 so that it does not abort the caller.
+     */
+    public static void write(Collection<Connection> connections, String fileName) {
+        ConnectionStatistics statistics = new ConnectionStatistics(connections);
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(fileName))) {
+            if (fileName.endsWith(".json")) {
+                statistics.writeJSON(writer);
+            } else {
+                statistics.writeCSV(writer);
+            }
+        } catch (IOException e) {
+            System.err.println("WARNING: Unable to write connection statistics to " + fileName + ": " + e.getMessage());
+        }
+    }
+}
@@ -42,16 +42,20 @@ import com.xilinx.rapidwright.placer.blockplacer.SmallestEnclosingCircle;
 import com.xilinx.rapidwright.router.RouteNode;
 import com.xilinx.rapidwright.router.RouteThruHelper;
 import com.xilinx.rapidwright.router.UltraScaleClockRouting;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
@@ -325,89 +329,66 @@ public class GlobalSignalRouting {
         return device.getClockRegion(center.y, center.x);
     }
 
+    /**
+     * Minimum number of unrouted sinks before the sinks of a static net are partitioned so that
+     * they can be routed in parallel.
+     */
+    private static final int PARALLEL_STATIC_ROUTING_THRESHOLD = 1 << 10;
+
     /**
      * Routes a static net (GND or VCC).
+     * If there are enough sinks, these are partitioned by clock region and each partition is
+     * routed concurrently when {@link ParallelismTools#getParallel()} is set, see
+     * {@link #routeStaticSinksParallel(NetType, List, Function, Design, RouteThruHelper, Set)}.
+     * The result does not depend on whether partitions are routed concurrently.
      * @param currNet The current static net to be routed.
      * @param getNodeState Lambda to get a node's status (available, unavailable, already in-use).
+     * This may be called concurrently when routing in parallel.
      * @param design The {@link Design} instance to use.
      * @param routeThruHelper The {@link RouteThruHelper} instance to use.
      */
     public static void routeStaticNet(Net currNet,
                                       Function<Node,NodeStatus> getNodeState,
                                       Design design, RouteThruHelper routeThruHelper) {
+        routeStaticNet(currNet, getNodeState, design, routeThruHelper, PARALLEL_STATIC_ROUTING_THRESHOLD);
+    }
+
+    /**
+     * Routes a static net (GND or VCC), partitioning its sinks if there are at least the given number.
+     * @see #routeStaticNet(Net, Function, Design, RouteThruHelper)
+     */
+    static void routeStaticNet(Net currNet,
+                               Function<Node,NodeStatus> getNodeState,
+                               Design design, RouteThruHelper routeThruHelper,
+                               int partitionThreshold) {
         NetType netType = currNet.getType();
         Set<PIP> netPIPs = new HashSet<>(currNet.getPIPs());
-        Queue<LightweightRouteNode> q = new LinkedList<>();
-        Set<LightweightRouteNode> visitedRoutingNodes = new HashSet<>();
-        Set<LightweightRouteNode> usedRoutingNodes = new HashSet<>();
-        Map<Node, LightweightRouteNode> createdRoutingNodes = new HashMap<>();
-
-        boolean debug = false;
-        if (debug) {
-            System.out.println("Net: " + currNet.getName());
-        }
 
+        List<SitePinInst> sinks = new ArrayList<>();
         for (SitePinInst sink : currNet.getPins()) {
             if (sink.isRouted()) continue;
             if (sink.isOutPin()) continue;
-            int watchdog = 10000;
-            if (debug) {
-                System.out.println("SINK: TILE = " + sink.getTile().getName() + " NODE = " + sink.getConnectedNode().toString());
-            }
-            q.clear();
-            visitedRoutingNodes.clear();
-            List<Node> pathNodes = new ArrayList<>();
-            Node node = sink.getConnectedNode();
-            if (debug) System.out.println(node);
-            LightweightRouteNode sinkRNode = RouterHelper.createRoutingNode(node, createdRoutingNodes);
-            sinkRNode.setPrev(null);
-            q.add(sinkRNode);
-            boolean success = false;
-            while (!q.isEmpty()) {
-                LightweightRouteNode routingNode = q.poll();
-                visitedRoutingNodes.add(routingNode);
-                if (debug) System.out.println("DEQUEUE:" + routingNode);
-                if (debug) System.out.println(", PREV = " + routingNode.getPrev() == null ? " null" : routingNode.getPrev());
-                if (success = isThisOurStaticSource(design, routingNode, netType, usedRoutingNodes)) {
-                    //trace back for a complete path
-                    if (debug) {
-                        System.out.println("SINK: TILE = " + sink.getTile().getName() + " NODE = " + sink.getConnectedNode().toString());
-                        System.out.println("SOURCE " + routingNode.toString() + " found");
-                    }
-                    while (routingNode != null) {
-                        usedRoutingNodes.add(routingNode);// use routed RNodes as the source
-                        pathNodes.add(routingNode.getNode());
+            sinks.add(sink);
+        }
 
-                        if (debug) System.out.println("  " + routingNode.toString());
-                        routingNode = routingNode.getPrev();
-                    }
-                    netPIPs.addAll(RouterHelper.getPIPsFromNodes(pathNodes));
-                    if (debug) {
-                        for (Node pathNode:pathNodes) {
-                            System.out.println(pathNode.toString());
-                        }
-                    }
-                    break;
-                }
-                if (debug) {
-                    System.out.println("KEEP LOOKING FOR A SOURCE...");
-                }
-                for (Node uphillNode : routingNode.getNode().getAllUphillNodes()) {
-                    if (routeThruHelper.isRouteThru(uphillNode, routingNode.getNode())) continue;
-                    LightweightRouteNode nParent = RouterHelper.createRoutingNode(uphillNode, createdRoutingNodes);
-                    if (!pruneNode(nParent, getNodeState, visitedRoutingNodes, usedRoutingNodes)) {
-                        nParent.setPrev(routingNode);
-                        q.add(nParent);
-                    }
-                }
-                watchdog--;
-                if (watchdog < 0) {
-                    break;
-                }
+        List<SitePinInst> remainingSinks = sinks;
+        StaticSourceSearch search = new StaticSourceSearch(netType, getNodeState, design, routeThruHelper);
+        if (sinks.size() >= partitionThreshold) {
+            Set<Node> usedNodes = new HashSet<>();
+            remainingSinks = routeStaticSinksParallel(netType, sinks, getNodeState, design,
+                    routeThruHelper, netPIPs, usedNodes);
+            // Sinks that could not be routed concurrently may connect to any accepted routing
+            for (Node node : usedNodes) {
+                search.markUsed(node);
             }
-            if (!success) {
+        }
+
+        for (SitePinInst sink : remainingSinks) {
+            List<Node> pathNodes = search.route(sink.getConnectedNode());
+            if (pathNodes == null) {
                 System.err.println("ERROR: Failed to route " + currNet.getName() + " pin " + sink);
             } else {
+                netPIPs.addAll(RouterHelper.getPIPsFromNodes(pathNodes));
                 sink.setRouted(true);
             }
         }
@@ -416,54 +397,226 @@ public class GlobalSignalRouting {
     }
 
     /**
-     * Checks if a {@link LightweightRouteNode} instance that represents a {@link Node} object should be pruned.
-     * @param routingNode The RoutingNode in question.
-     * @param getNodeStatus Lambda for indicating the status of a Node: available, in-use (preserved
-     *                      for same net as we're routing), or unavailable (preserved for other net).
-     * @param visitedRoutingNodes RoutingNode instances that have been visited.
-     * @return true, if the RoutingNode instance should not be considered as an available resource.
+     * Routes the sinks of a static net concurrently. Sinks are partitioned by clock region, and
+     * each partition is routed in order by its own {@link StaticSourceSearch}, which lets later
+     * sinks join the routing found for earlier sinks of the same partition.
+     * Since partitions do not see each other's routing, two of them may drive the same node from
+     * different upstream nodes. Such conflicts are resolved by accepting paths partition by
+     * partition and sink by sink, in order: a path is rejected if it disagrees with an
+     * already-accepted driver of any of its nodes, or if it joins routing that was itself
+     * rejected. The outcome therefore does not depend on thread timing.
+     * @param netType The type of static net being routed.
+     * @param sinks The sinks to route.
+     * @param getNodeState Lambda to get a node's status; called concurrently.
+     * @param design The {@link Design} instance to use.
+     * @param routeThruHelper The {@link RouteThruHelper} instance to use.
+     * @param netPIPs Receives the PIPs of all accepted paths.
+     * @param usedNodes Receives the nodes of all accepted paths.
+     * @return The sinks whose paths were rejected or could not be found, in order. These still
+     * need routing.
      */
-    private static boolean pruneNode(LightweightRouteNode routingNode,
-                                     Function<Node,NodeStatus> getNodeStatus,
-                                     Set<LightweightRouteNode> visitedRoutingNodes,
-                                     Set<LightweightRouteNode> usedRoutingNodes) {
-        Node node = routingNode.getNode();
-        IntentCode ic = node.getTile().getWireIntentCode(node.getWire());
-        switch(ic) {
-            case NODE_GLOBAL_VDISTR:
-            case NODE_GLOBAL_HROUTE:
-            case NODE_GLOBAL_HDISTR:
-            case NODE_HLONG:
-            case NODE_VLONG:
-            case NODE_GLOBAL_VROUTE:
-            case NODE_GLOBAL_LEAF:
-            case NODE_GLOBAL_BUFG:
-                return true;
-            default:
+    private static List<SitePinInst> routeStaticSinksParallel(NetType netType,
+                                                              List<SitePinInst> sinks,
+                                                              Function<Node,NodeStatus> getNodeState,
+                                                              Design design,
+                                                              RouteThruHelper routeThruHelper,
+                                                              Set<PIP> netPIPs,
+                                                              Set<Node> usedNodes) {
+        // LinkedHashMap keeps partitions in order of their first sink
+        Map<ClockRegion, List<SitePinInst>> partitions = new LinkedHashMap<>();
+        for (SitePinInst sink : sinks) {
+            partitions.computeIfAbsent(sink.getTile().getClockRegion(), (k) -> new ArrayList<>()).add(sink);
         }
-        NodeStatus status = getNodeStatus.apply(node);
-        if (status == NodeStatus.UNAVAILABLE) {
-            return true;
+
+        List<Future<List<List<Node>>>> futures = ParallelismTools.invokeAll(partitions.values(), (partition) -> {
+            StaticSourceSearch search = new StaticSourceSearch(netType, getNodeState, design, routeThruHelper);
+            List<List<Node>> paths = new ArrayList<>(partition.size());
+            for (SitePinInst sink : partition) {
+                paths.add(search.route(sink.getConnectedNode()));
+            }
+            return paths;
+        });
+
+        // Upstream node of each accepted node, or null if the node is where a path started
+        Map<Node, Node> drivers = new HashMap<>();
+        List<SitePinInst> remainingSinks = new ArrayList<>();
+        Iterator<List<SitePinInst>> partitionIt = partitions.values().iterator();
+        for (Future<List<List<Node>>> future : futures) {
+            List<SitePinInst> partition = partitionIt.next();
+            List<List<Node>> paths = ParallelismTools.get(future);
+            for (int i = 0; i < partition.size(); i++) {
+                List<Node> pathNodes = paths.get(i);
+                if (pathNodes == null || !isStaticPathAcceptable(pathNodes, drivers, netType, getNodeState, design)) {
+                    remainingSinks.add(partition.get(i));
+                    continue;
+                }
+                Node upstream = null;
+                for (Node node : pathNodes) {
+                    drivers.putIfAbsent(node, upstream);
+                    upstream = node;
+                }
+                netPIPs.addAll(RouterHelper.getPIPsFromNodes(pathNodes));
+                partition.get(i).setRouted(true);
+            }
         }
-        if (status == NodeStatus.INUSE) {
-            assert(!visitedRoutingNodes.contains(routingNode));
-            usedRoutingNodes.add(routingNode);
+        usedNodes.addAll(drivers.keySet());
+        return remainingSinks;
+    }
+
+    private static boolean isStaticPathAcceptable(List<Node> pathNodes, Map<Node, Node> drivers,
+                                                  NetType netType,
+                                                  Function<Node,NodeStatus> getNodeState,
+                                                  Design design) {
+        // The path must start at a static source, at existing routing of this net, or at
+        // accepted routing
+        Node start = pathNodes.get(0);
+        if (!drivers.containsKey(start) && getNodeState.apply(start) != NodeStatus.INUSE &&
+                !isNodeUsableStaticSource(start, netType, design)) {
             return false;
         }
-        return visitedRoutingNodes.contains(routingNode);
+        // ... and must not drive an accepted node differently
+        for (int i = 1; i < pathNodes.size(); i++) {
+            Node node = pathNodes.get(i);
+            if (drivers.containsKey(node) && !pathNodes.get(i - 1).equals(drivers.get(node))) {
+                return false;
+            }
+        }
+        return true;
     }
+
     /**
-     * Determines if the given {@link LightweightRouteNode} instance that represents a {@link Node} instance can serve as our sink.
-     * @param routingNode The {@link LightweightRouteNode} instance in question.
-     * @param type The net type to designate the static source type.
-     * @param usedRoutingNodes The used RoutingNode instances by of the given net type representing the VCC or GND net.
-     * @return true if this sources is usable, false otherwise.
+     * Backward breadth-first search from a sink of a static net to the closest usable static
+     * source, or to routing already found for an earlier sink. Nodes are numbered as they are
+     * first seen, through per-tile arrays indexed by wire, so that the search state is kept in
+     * primitive arrays and a bitset rather than in hash maps and sets keyed by node.
      */
-    private static boolean isThisOurStaticSource(Design design, LightweightRouteNode routingNode, NetType type, Set<LightweightRouteNode> usedRoutingNodes) {
-        if (usedRoutingNodes != null && usedRoutingNodes.contains(routingNode))
-            return true;
-        Node node = routingNode.getNode();
-        return isNodeUsableStaticSource(node, type, design);
+    private static class StaticSourceSearch {
+        /** Maximum number of nodes expanded for each sink */
+        private static final int WATCHDOG = 10000;
+
+        private final NetType netType;
+        private final Function<Node,NodeStatus> getNodeState;
+        private final Design design;
+        private final RouteThruHelper routeThruHelper;
+
+        /** Id of each node plus one, or 0 if not yet numbered, by tile and base wire index */
+        private final Map<Tile, int[]> nodeIds = new HashMap<>();
+        private final List<Node> nodes = new ArrayList<>();
+        /** Id of the node downhill of each node, towards the sink, or -1 */
+        private int[] prev = new int[1024];
+        /** A node has been visited by the current search if its entry equals searchId */
+        private int[] visited = new int[1024];
+        private int searchId = 0;
+        /** Nodes used by routed paths, or by existing routing of this net */
+        private final BitSet used = new BitSet();
+        private int[] queue = new int[1024];
+
+        StaticSourceSearch(NetType netType, Function<Node,NodeStatus> getNodeState, Design design,
+                           RouteThruHelper routeThruHelper) {
+            this.netType = netType;
+            this.getNodeState = getNodeState;
+            this.design = design;
+            this.routeThruHelper = routeThruHelper;
+        }
+
+        private int getId(Node node) {
+            // Assumes that tile/wireIndex describes the base wire on the node
+            int[] ids = nodeIds.computeIfAbsent(node.getTile(), (t) -> new int[t.getWireCount()]);
+            int wire = node.getWire();
+            int id = ids[wire] - 1;
+            if (id < 0) {
+                id = nodes.size();
+                ids[wire] = id + 1;
+                nodes.add(node);
+                if (id == prev.length) {
+                    prev = Arrays.copyOf(prev, id * 2);
+                    visited = Arrays.copyOf(visited, id * 2);
+                }
+            }
+            return id;
+        }
+
+        void markUsed(Node node) {
+            used.set(getId(node));
+        }
+
+        /**
+         * Searches for a path to the given sink node.
+         * @param sinkNode The node to route to.
+         * @return Nodes of the path, from the source end to the sink node, or null if no path was
+         * found.
+         */
+        List<Node> route(Node sinkNode) {
+            searchId++;
+            int head = 0;
+            int tail = 0;
+            int sinkId = getId(sinkNode);
+            prev[sinkId] = -1;
+            queue[tail++] = sinkId;
+            int watchdog = WATCHDOG;
+            while (head < tail) {
+                int id = queue[head++];
+                visited[id] = searchId;
+                Node node = nodes.get(id);
+                if (used.get(id) || isNodeUsableStaticSource(node, netType, design)) {
+                    // Trace back for a complete path, which later sinks may then use as a source
+                    List<Node> pathNodes = new ArrayList<>();
+                    for (int i = id; i != -1; i = prev[i]) {
+                        used.set(i);
+                        pathNodes.add(nodes.get(i));
+                    }
+                    return pathNodes;
+                }
+                for (Node uphillNode : node.getAllUphillNodes()) {
+                    if (routeThruHelper.isRouteThru(uphillNode, node)) continue;
+                    int uphillId = getId(uphillNode);
+                    if (!pruneNode(uphillId)) {
+                        prev[uphillId] = id;
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+                        queue[tail++] = uphillId;
+                    }
+                }
+                watchdog--;
+                if (watchdog < 0) {
+                    break;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Checks if a node should be pruned from the search.
+         * @param id Id of the node in question.
+         * @return true, if the node should not be considered as an available resource.
+         */
+        private boolean pruneNode(int id) {
+            Node node = nodes.get(id);
+            IntentCode ic = node.getTile().getWireIntentCode(node.getWire());
+            switch(ic) {
+                case NODE_GLOBAL_VDISTR:
+                case NODE_GLOBAL_HROUTE:
+                case NODE_GLOBAL_HDISTR:
+                case NODE_HLONG:
+                case NODE_VLONG:
+                case NODE_GLOBAL_VROUTE:
+                case NODE_GLOBAL_LEAF:
+                case NODE_GLOBAL_BUFG:
+                    return true;
+                default:
+            }
+            NodeStatus status = getNodeState.apply(node);
+            if (status == NodeStatus.UNAVAILABLE) {
+                return true;
+            }
+            if (status == NodeStatus.INUSE) {
+                assert(visited[id] != searchId);
+                used.set(id);
+                return false;
+            }
+            return visited[id] == searchId;
+        }
     }
 
     /**
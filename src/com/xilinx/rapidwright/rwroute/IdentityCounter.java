@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A compact multiset that counts occurrences of objects compared by identity, and that is
+ * optimized for holding only a handful of distinct keys. Keys and counts are stored in small
+ * parallel arrays that are searched linearly, with no boxing of counts; only once more than
+ * {@link #MAX_ARRAY_SIZE} distinct keys are present is an {@link IdentityHashMap} used instead.
+ * Null keys are supported.
+ * @param <K> Type of the keys being counted.
+ */
+final class IdentityCounter<K> {
+    /** Maximum number of distinct keys held in arrays before switching to a map */
+    static final int MAX_ARRAY_SIZE = 8;
+
+    private Object[] keys;
+    private int[] counts;
+    private int size;
+    private Map<K, Integer> map;
+
+    IdentityCounter() {
+        keys = new Object[2];
+        counts = new int[2];
+        size = 0;
+        map = null;
+    }
+
+    /**
+     * Gets the number of distinct keys with a non-zero count.
+     * @return The number of distinct keys.
+     */
+    int size() {
+        return (map != null) ? map.size() : size;
+    }
+
+    /**
+     * Gets the count of a key.
+     * @param key The key in question.
+     * @return The count of the key, or 0 if absent.
+     */
+    int get(K key) {
+        if (map != null) {
+            return map.getOrDefault(key, 0);
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Increments the count of a key, adding it if absent.
+     * @param key The key to be incremented.
+     */
+    void increment(K key) {
+        if (map != null) {
+            map.merge(key, 1, Integer::sum);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                counts[i]++;
+                return;
+            }
+        }
+        if (size == MAX_ARRAY_SIZE) {
+            Map<K, Integer> newMap = new IdentityHashMap<>();
+            putAllInto(newMap);
+            map = newMap;
+            keys = null;
+            counts = null;
+            size = 0;
+            map.put(key, 1);
+            return;
+        }
+        if (size == keys.length) {
+            int newLength = Math.min(size << 1, MAX_ARRAY_SIZE);
+            Object[] newKeys = new Object[newLength];
+            int[] newCounts = new int[newLength];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(counts, 0, newCounts, 0, size);
+            keys = newKeys;
+            counts = newCounts;
+        }
+        keys[size] = key;
+        counts[size] = 1;
+        size++;
+    }
+
+    /**
+     * Decrements the count of a key that must be present, removing it once its count reaches zero.
+     * @param key The key to be decremented.
+     */
+    void decrement(K key) {
+        if (map != null) {
+            Integer count = map.get(key);
+            if (count == null) {
+                throw new RuntimeException("ERROR: Key not present: " + key);
+            }
+            if (count == 1) {
+                map.remove(key);
+            } else {
+                map.put(key, count - 1);
+            }
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                if (--counts[i] == 0) {
+                    size--;
+                    keys[i] = keys[size];
+                    counts[i] = counts[size];
+                    keys[size] = null;
+                }
+                return;
+            }
+        }
+        throw new RuntimeException("ERROR: Key not present: " + key);
+    }
+
+    /**
+     * Adds all keys and their counts to the given map.
+     * @param dest The map to which entries are added.
+     */
+    @SuppressWarnings("unchecked")
+    void putAllInto(Map<K, Integer> dest) {
+        if (map != null) {
+            dest.putAll(map);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            dest.put((K) keys[i], counts[i]);
+        }
+    }
+}
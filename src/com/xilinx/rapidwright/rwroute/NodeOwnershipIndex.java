@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dense index recording which {@link Net} owns each routing {@link Node} of a design.
+ * Ownership is stored as one int array per tile (indexed by the node's base wire) holding a
+ * dense net identifier, so that claiming, releasing and querying a node is O(1) and does not
+ * allocate once the tile's array exists.
+ * Writes are serialized by a fixed set of lock stripes selected by tile, allowing many threads to
+ * populate the index concurrently (e.g. one per net); reads are not synchronized and are expected
+ * to happen after all concurrent writers have been joined.
+ */
+public class NodeOwnershipIndex {
+
+    /** Net identifier stored for nodes that are not owned */
+    private static final int NO_NET = 0;
+
+    /** Number of lock stripes, must be a power of two */
+    private static final int NUM_STRIPES = 64;
+
+    /** Map of tiles to the identifier of the net owning each of its base wires */
+    private final Map<Tile, int[]> ownersMap;
+
+    /** Number of nodes currently owned */
+    private final AtomicInteger size;
+
+    /** Locks guarding writes to the arrays in ownersMap, selected by tile */
+    private final Object[] stripes;
+
+    /** Map of nets to their dense identifier */
+    private final Map<Net, Integer> netToId;
+
+    /** Nets indexed by identifier; element 0 corresponds to NO_NET */
+    private volatile Net[] idToNet;
+    private int numNets;
+
+    public NodeOwnershipIndex() {
+        ownersMap = new ConcurrentHashMap<>();
+        size = new AtomicInteger();
+        stripes = new Object[NUM_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        netToId = new ConcurrentHashMap<>();
+        idToNet = new Net[64];
+        numNets = 1;
+    }
+
+    /**
+     * Gets the dense identifier of the given net, assigning a new one if this net has not been
+     * seen by this index before.
+     * @param net The net.
+     * @return A non-zero identifier unique to this net within this index.
+     */
+    public int getNetId(Net net) {
+        Integer id = netToId.get(net);
+        if (id != null) {
+            return id;
+        }
+        synchronized (netToId) {
+            id = netToId.get(net);
+            if (id != null) {
+                return id;
+            }
+            Net[] nets = idToNet;
+            if (numNets == nets.length) {
+                nets = Arrays.copyOf(nets, nets.length * 2);
+            }
+            nets[numNets] = net;
+            // Publish the updated table before the identifier can be observed by any other thread
+            idToNet = nets;
+            netToId.put(net, numNets);
+            return numNets++;
+        }
+    }
+
+    private Object getStripe(Tile tile) {
+        return stripes[tile.getUniqueAddress() & (NUM_STRIPES - 1)];
+    }
+
+    /**
+     * Claims the given node for the given net, unless it is already owned by another net.
+     * @param node The node to claim.
+     * @param net The net claiming the node.
+     * @return The net that already owned this node (which may be the given net), or null if this
+     * node was unowned and is now owned by the given net.
+     */
+    public Net claim(Node node, Net net) {
+        return claim(node, getNetId(net));
+    }
+
+    /**
+     * Claims the given node for the net with the given identifier, unless it is already owned.
+     * Avoids the identifier lookup of {@link #claim(Node, Net)} when claiming many nodes for the
+     * same net.
+     * @param node The node to claim.
+     * @param netId Identifier of the claiming net, as returned by {@link #getNetId(Net)}.
+     * @return The net that already owned this node, or null if it is now owned by the given net.
+     */
+    public Net claim(Node node, int netId) {
+        // Assumes that tile/wireIndex describes the base wire on the node
+        Tile tile = node.getTile();
+        int wireIndex = node.getWire();
+        int[] owners = ownersMap.computeIfAbsent(tile, (t) -> new int[t.getWireCount()]);
+        int oldNetId;
+        synchronized (getStripe(tile)) {
+            oldNetId = owners[wireIndex];
+            // Do not clobber the old value
+            if (oldNetId == NO_NET) {
+                owners[wireIndex] = netId;
+            }
+        }
+        if (oldNetId == NO_NET) {
+            size.incrementAndGet();
+            return null;
+        }
+        return idToNet[oldNetId];
+    }
+
+    /**
+     * Releases ownership of the given node, regardless of which net owns it.
+     * @param node The node to release.
+     * @return True if the node was owned prior to this call.
+     */
+    public boolean release(Node node) {
+        // Assumes that tile/wireIndex describes the base wire on its node
+        Tile tile = node.getTile();
+        int[] owners = ownersMap.get(tile);
+        if (owners == null) {
+            return false;
+        }
+        int wireIndex = node.getWire();
+        synchronized (getStripe(tile)) {
+            if (owners[wireIndex] == NO_NET) {
+                return false;
+            }
+            owners[wireIndex] = NO_NET;
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Releases ownership of the given node only if it is owned by the given net.
+     * @param node The node to release.
+     * @param net The net expected to own the node.
+     * @return True if the node was owned by the given net prior to this call.
+     */
+    public boolean release(Node node, Net net) {
+        Integer netId = netToId.get(net);
+        if (netId == null) {
+            return false;
+        }
+        Tile tile = node.getTile();
+        int[] owners = ownersMap.get(tile);
+        if (owners == null) {
+            return false;
+        }
+        int wireIndex = node.getWire();
+        synchronized (getStripe(tile)) {
+            if (owners[wireIndex] != netId) {
+                return false;
+            }
+            owners[wireIndex] = NO_NET;
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Checks whether the given node is owned by any net.
+     * @param node The node to query.
+     * @return True if the node is owned.
+     */
+    public boolean isOwned(Node node) {
+        int[] owners = ownersMap.get(node.getTile());
+        return owners != null && owners[node.getWire()] != NO_NET;
+    }
+
+    /**
+     * Gets the net owning the given node.
+     * @param node The node to query.
+     * @return The owning net, or null if the node is not owned.
+     */
+    public Net getOwner(Node node) {
+        // Assumes that tile/wireIndex describes the base wire on its node
+        int[] owners = ownersMap.get(node.getTile());
+        if (owners == null) {
+            return null;
+        }
+        int netId = owners[node.getWire()];
+        return netId != NO_NET ? idToNet[netId] : null;
+    }
+
+    /**
+     * Gets the number of nodes currently owned.
+     * @return Number of owned nodes.
+     */
+    public int size() {
+        return size.get();
+    }
+}
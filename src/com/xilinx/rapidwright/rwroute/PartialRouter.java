@@ -131,7 +131,7 @@ public class PartialRouter extends RWRoute {
             return false;
 
         // If end node has been visited already
-        if (endRnode.isVisited(connectionsRouted)) {
+        if (endRnode.isVisited(connectionState.getVisitedId())) {
             // Visited possibly from a different arc uphill of end, or possibly from
             // the same start -> end arc during prepareRouteConnection()
             return false;
@@ -154,6 +154,13 @@ public class PartialRouter extends RWRoute {
         return false;
     }
 
+    @Override
+    protected boolean isParallelRouting() {
+        // isPartOfExistingRoute() inspects the visited identifier of the connection being routed
+        // on the current thread, which is only available when routing serially
+        return false;
+    }
+
     @Override
     protected RouteNodeGraph createRouteNodeGraph() {
         if (config.isTimingDriven()) {
@@ -641,15 +648,22 @@ public class PartialRouter extends RWRoute {
             pinsToRoute = getUnroutedPins(design);
         }
 
-        return routeDesign(design, new RWRouteConfig(new String[] {
+        return routeDesign(design, createNonTimingDrivenConfig(), pinsToRoute, softPreserve);
+    }
+
+    /**
+     * Creates the {@link RWRouteConfig} used for partial non-timing-driven routing.
+     * @return A new configuration instance.
+     */
+    static RWRouteConfig createNonTimingDrivenConfig() {
+        return new RWRouteConfig(new String[] {
                 "--fixBoundingBox",
                 // use U-turn nodes and no masking of nodes cross RCLK
                 // Pros: maximum routability
                 // Con: might result in delay optimism and a slight increase in runtime
                 "--useUTurnNodes",
                 "--nonTimingDriven",
-                "--verbose"}),
-                pinsToRoute, softPreserve);
+                "--verbose"});
     }
 
     /**
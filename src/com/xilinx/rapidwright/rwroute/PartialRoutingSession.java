@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.NetType;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.router.RouteThruHelper;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A long-lived partial routing session for applying a sequence of small routing changes (e.g.
+ * engineering change orders) to the same {@link Design}.
+ * Compared to calling {@link PartialRouter#routeDesignPartialNonTimingDriven(Design, Collection, boolean)}
+ * for each change, this session keeps the {@link RouteThruHelper} tables and the index of preserved
+ * nodes warm between calls, and only updates the preserved state of those nets affected by each change.
+ * The routing resource graph and its congestion history are not kept: each call creates rnodes
+ * afresh, as a {@link PartialRouter} does.
+ * As with {@link PartialRouter}, the design is expected to have been preprocessed with
+ * {@link RWRoute#preprocess(Design)} ahead of creating a session.
+ * The routing of the design is expected to only be modified through this session; nets whose
+ * routing is modified externally must be passed to {@link #releaseNet(Net)} before, and to
+ * {@link #preserveNet(Net)} after, such a modification.
+ */
+public class PartialRoutingSession {
+
+    private final Design design;
+
+    private final RWRouteConfig config;
+
+    private final boolean softPreserve;
+
+    /** Route-thru tables of the device, reused by every call */
+    private final RouteThruHelper routethruHelper;
+
+    /** Index of nodes used by the existing routing of the design, kept up to date by every call */
+    private final NodeOwnershipIndex preservedIndex;
+
+    /**
+     * A {@link PartialRouter} that uses the warm state of its session and only preserves nets
+     * affected by the current change.
+     */
+    private class SessionRouter extends PartialRouter {
+        private final Set<Net> dirtyNets;
+
+        SessionRouter(Collection<SitePinInst> pinsToRoute, Set<Net> dirtyNets) {
+            super(PartialRoutingSession.this.design, PartialRoutingSession.this.config, pinsToRoute,
+                    PartialRoutingSession.this.softPreserve);
+            this.dirtyNets = dirtyNets;
+        }
+
+        @Override
+        protected RouteNodeGraph createRouteNodeGraph() {
+            RouteNodeGraph graph = super.createRouteNodeGraph();
+            graph.setPreservedIndex(preservedIndex);
+            return graph;
+        }
+
+        @Override
+        protected RouteThruHelper createRouteThruHelper() {
+            return routethruHelper;
+        }
+
+        @Override
+        protected void preserveNet(Net net, boolean async) {
+            // Nets unaffected by the current change are already present in the preserved index
+            if (dirtyNets.contains(net)) {
+                super.preserveNet(net, async);
+            }
+        }
+
+        Collection<Net> getRoutedNets() {
+            return nets != null ? nets.keySet() : Collections.emptySet();
+        }
+    }
+
+    /**
+     * Creates a session that routes using the same configuration as
+     * {@link PartialRouter#routeDesignPartialNonTimingDriven(Design, Collection, boolean)}, without
+     * soft preserve.
+     * @param design The {@link Design} instance to be routed.
+     */
+    public PartialRoutingSession(Design design) {
+        this(design, PartialRouter.createNonTimingDrivenConfig(), false);
+    }
+
+    /**
+     * Creates a session, preserving all nodes used by the existing routing of the design.
+     * @param design The {@link Design} instance to be routed.
+     * @param config The configuration used by every call to {@link #route(Collection, Collection)}.
+     * @param softPreserve Allow routed nets to be unrouted and subsequently rerouted in order to improve routability.
+     */
+    public PartialRoutingSession(Design design, RWRouteConfig config, boolean softPreserve) {
+        this.design = design;
+        this.config = config;
+        this.softPreserve = softPreserve;
+        routethruHelper = new RouteThruHelper(design.getDevice());
+        preservedIndex = new NodeOwnershipIndex();
+
+        List<Net> netsToPreserve = design.getNets().stream()
+                .filter(PartialRoutingSession::isPreservedByRouter)
+                .collect(Collectors.toList());
+        ParallelismTools.invokeAllRunnable(netsToPreserve, (net) -> RouteNodeGraph.preserve(preservedIndex, net));
+    }
+
+    /**
+     * Checks whether {@link PartialRouter} would preserve the routing of the given net when it is
+     * not being routed.
+     * @param net The net in question.
+     * @return True if the net's routing is preserved.
+     */
+    private static boolean isPreservedByRouter(Net net) {
+        if (net.hasPIPs()) {
+            return true;
+        }
+        if (!net.getType().equals(NetType.WIRE) || net.isClockNet() || net.isStaticNet()) {
+            return false;
+        }
+        return !RouterHelper.isRoutableNetWithSourceSinks(net) &&
+                (RouterHelper.isDriverLessOrLoadLessNet(net) || RouterHelper.isInternallyRoutedNet(net));
+    }
+
+    /**
+     * Removes all nodes owned by the given net from this session's preserved state.
+     * @param net The net whose routing is about to be modified or removed.
+     */
+    public void releaseNet(Net net) {
+        for (SitePinInst pin : net.getPins()) {
+            preservedIndex.release(pin.getConnectedNode(), net);
+        }
+        for (PIP pip : net.getPIPs()) {
+            preservedIndex.release(pip.getStartNode(), net);
+            preservedIndex.release(pip.getEndNode(), net);
+        }
+    }
+
+    /**
+     * Adds all nodes used by the given net to this session's preserved state.
+     * @param net The net whose routing has been modified.
+     */
+    public void preserveNet(Net net) {
+        if (isPreservedByRouter(net)) {
+            RouteNodeGraph.preserve(preservedIndex, net);
+        }
+    }
+
+    /**
+     * Unroutes, and then routes, the given pins while preserving all other existing routing.
+     * @param pinsToUnroute Pins whose routing is to be removed first. May be empty.
+     * @param pinsToRoute Pins to be routed, which may include pins from pinsToUnroute.
+     * @return A map from each net whose routing may have changed to its updated list of PIPs.
+     */
+    public Map<Net, List<PIP>> route(Collection<SitePinInst> pinsToUnroute, Collection<SitePinInst> pinsToRoute) {
+        Map<Net, List<SitePinInst>> netToUnroutePins = pinsToUnroute.stream()
+                .collect(Collectors.groupingBy(SitePinInst::getNet, LinkedHashMap::new, Collectors.toList()));
+        Set<Net> dirtyNets = new LinkedHashSet<>(netToUnroutePins.keySet());
+        for (SitePinInst spi : pinsToRoute) {
+            dirtyNets.add(spi.getNet());
+        }
+
+        // Affected nets are released in their entirety and preserved again once routed
+        for (Net net : dirtyNets) {
+            releaseNet(net);
+        }
+        SessionRouter router = null;
+        try {
+            for (Map.Entry<Net, List<SitePinInst>> e : netToUnroutePins.entrySet()) {
+                DesignTools.unroutePins(e.getKey(), e.getValue());
+            }
+
+            router = new SessionRouter(pinsToRoute, dirtyNets);
+            RWRoute.routeDesign(design, router);
+        } finally {
+            // Nets that were unpreserved by the router (e.g. due to soft preserve) have also been
+            // removed from, and must be added back to, the preserved index. This is also done if
+            // routing failed, so that the index keeps matching whatever routing the design has.
+            if (router != null) {
+                dirtyNets.addAll(router.getRoutedNets());
+            }
+            for (Net net : dirtyNets) {
+                preserveNet(net);
+            }
+        }
+
+        Map<Net, List<PIP>> updatedPIPs = new LinkedHashMap<>();
+        for (Net net : dirtyNets) {
+            updatedPIPs.put(net, new ArrayList<>(net.getPIPs()));
+        }
+        return updatedPIPs;
+    }
+
+    /**
+     * Gets the index of nodes used by the existing routing of this session's design.
+     * @return The preserved node index.
+     */
+    public NodeOwnershipIndex getPreservedIndex() {
+        return preservedIndex;
+    }
+
+    public Design getDesign() {
+        return design;
+    }
+}
@@ -36,7 +36,6 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -62,6 +61,7 @@ import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 import com.xilinx.rapidwright.timing.delayestimator.InterconnectInfo;
 import com.xilinx.rapidwright.util.MessageGenerator;
 import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.RuntimeTracker;
 import com.xilinx.rapidwright.util.RuntimeTrackerTree;
 import com.xilinx.rapidwright.util.Utils;
@@ -124,10 +124,16 @@ public class RWRoute{
     private Set<RouteNode> overUsedRnodes;
     /** Class encapsulating the routing resource graph */
     protected RouteNodeGraph routingGraph;
+    /** Routing paths of connections from a previous run, or null if not used */
+    private ConnectionRoutingCache connectionRoutingCache;
+    /** The number of connections routed using cached paths */
+    private int numRoutingHintsApplied;
     /** Count of rnodes created in the current routing iteration */
     protected long rnodesCreatedThisIteration;
-    /** The queue to store candidate nodes to route a connection */
-    private PriorityQueue<RouteNode> queue;
+    /** The state used to route connections serially */
+    protected ConnectionState connectionState;
+    /** The identifier last used to mark rnodes as visited */
+    private int lastVisitedId;
 
     /** Total wirelength of the routed design */
     private int totalWL;
@@ -145,6 +151,10 @@ public class RWRoute{
     private long nodesPushed;
     private long nodesPopped;
 
+    /** Dimensions (in tiles) of the grid cells that connections are partitioned into for parallel routing */
+    private static final int PARALLEL_PARTITION_WIDTH = 32;
+    private static final int PARALLEL_PARTITION_HEIGHT = 60;
+
     /** The maximum criticality constraint of connection */
     private static final float MAX_CRITICALITY = 0.99f;
     /** The minimum criticality of connections that should be re-routed, updated after each iteration */
@@ -204,13 +214,26 @@ public class RWRoute{
         minRerouteCriticality = config.getMinRerouteCriticality();
         criticalConnections = new ArrayList<>();
 
-        queue = new PriorityQueue<>();
+        connectionState = new ConnectionState();
         routingGraph = createRouteNodeGraph();
+        if (config.isOffHeapRouteNodeStore()) {
+            routingGraph.setRouteNodeStore(RouteNodeStore.create(true));
+        }
+        if (config.isRouteNodeInfoCache()) {
+            routingGraph.setRouteNodeInfoCache(RouteNodeInfoCache.load(design.getDevice()));
+        }
+        if (config.isDelayLookupTable() && routingGraph instanceof RouteNodeGraphTimingDriven) {
+            ((RouteNodeGraphTimingDriven) routingGraph).getDelayEstimator()
+                    .setDelayLookupTableFileName(DelayEstimatorBase.getDelayLookupTableFileName(design.getDevice()));
+        }
+        if (config.getConnectionRoutingCache() != null) {
+            connectionRoutingCache = ConnectionRoutingCache.load(config.getConnectionRoutingCache(), design.getDevice());
+        }
         if (config.isTimingDriven()) {
             nodesDelays = new HashMap<>();
         }
         rnodesCreatedThisIteration = 0;
-        routethruHelper = new RouteThruHelper(design.getDevice());
+        routethruHelper = createRouteThruHelper();
         presentCongestionFactor = config.getInitialPresentCongestionFactor();
 
         routerTimer.createRuntimeTracker("determine route targets", "Initialization").start();
@@ -227,6 +250,7 @@ public class RWRoute{
 
         sortedIndirectConnections = new ArrayList<>(indirectConnections.size());
         connectionsRouted = 0;
+        lastVisitedId = 0;
         connectionsRoutedIteration = 0;
         nodesPushed = 0;
         nodesPopped = 0;
@@ -257,6 +281,10 @@ public class RWRoute{
         }
     }
 
+    protected RouteThruHelper createRouteThruHelper() {
+        return new RouteThruHelper(design.getDevice());
+    }
+
     protected Collection<Net> getTimingNets() {
         return indirectConnections.stream().map((c) -> c.getNetWrapper().getNet()).collect(Collectors.toSet());
     }
@@ -629,7 +657,7 @@ public class RWRoute{
      */
     private void initializeRouting() {
         routingGraph.initialize();
-        queue.clear();
+        connectionState.queue.clear();
         routeIteration = 1;
         historicalCongestionFactor = config.getHistoricalCongestionFactor();
         presentCongestionFactor = config.getInitialPresentCongestionFactor();
@@ -688,6 +716,20 @@ public class RWRoute{
 
         // Prints routing statistics, e.g. total wirelength, runtime and timing report
         printRoutingStatistics();
+
+        RouteNodeInfoCache nodeInfoCache = routingGraph.getRouteNodeInfoCache();
+        if (nodeInfoCache != null) {
+            nodeInfoCache.save();
+        }
+        if (config.isDelayLookupTable() && routingGraph instanceof RouteNodeGraphTimingDriven) {
+            ((RouteNodeGraphTimingDriven) routingGraph).getDelayEstimator().saveDelayLookupTable();
+        }
+        if (config.getConnectionStatistics() != null) {
+            ConnectionStatistics.write(indirectConnections, config.getConnectionStatistics());
+        }
+        if (connectionRoutingCache != null) {
+            connectionRoutingCache.save(indirectConnections);
+        }
     }
 
     /**
@@ -746,6 +788,9 @@ public class RWRoute{
     public void routeIndirectConnections() {
         sortConnections();
         initializeRouting();
+        if (connectionRoutingCache != null) {
+            applyRoutingHints();
+        }
         long lastIterationRnodeCount = 0;
         long lastIterationRnodeTime = 0;
 
@@ -755,10 +800,10 @@ public class RWRoute{
             if (config.isTimingDriven()) {
                 setRerouteCriticality();
             }
-            for (Connection connection : sortedIndirectConnections) {
-                if (shouldRoute(connection)) {
-                    routeConnection(connection);
-                }
+            if (isParallelRouting()) {
+                routeIndirectConnectionsParallel();
+            } else {
+                routeConnectionsSerially(sortedIndirectConnections);
             }
 
             updateCostFactors();
@@ -775,6 +820,13 @@ public class RWRoute{
             for (Connection connection : getCongestedConnections()) {
                 needsResorting = handleCongestedConnection(connection) || needsResorting;
             }
+            if (config.isAdaptiveBoundingBox()) {
+                for (Connection connection : sortedIndirectConnections) {
+                    if (connection.isStalled()) {
+                        handleStalledConnection(connection);
+                    }
+                }
+            }
             if (needsResorting) {
                 sortConnections();
             }
@@ -810,6 +862,203 @@ public class RWRoute{
         }
     }
 
+    /**
+     * Uses the paths cached by a previous run as the initial routing of those connections that are
+     * not yet routed, so that the first routing iteration only needs to route the remainder.
+     */
+    private void applyRoutingHints() {
+        int numApplied = 0;
+        List<RouteNode> path = new ArrayList<>();
+        for (Connection connection : sortedIndirectConnections) {
+            if (connection.getSink().isRouted()) {
+                continue;
+            }
+            List<Node> nodes = connectionRoutingCache.get(connection);
+            if (nodes == null || !isLegalRoutingHint(connection, nodes, path)) {
+                continue;
+            }
+            connection.resetRoute();
+            // Connection rnodes are ordered from sink to source
+            for (int i = path.size() - 1; i >= 0; i--) {
+                connection.addRnode(path.get(i));
+            }
+            connection.getSink().setRouted(true);
+            updateUsersAndPresentCongestionCost(connection);
+            if (config.isTimingDriven()) connection.updateRouteDelay();
+            numApplied++;
+        }
+        numRoutingHintsApplied = numApplied;
+        System.out.println("INFO: Routed " + numApplied + " of " + sortedIndirectConnections.size() +
+                " connections using cached routing hints");
+    }
+
+    /**
+     * Gets the number of connections whose initial routing was taken from the {@link ConnectionRoutingCache}.
+     * @return Number of cached paths that were legal and applied, or 0 if no cache is used.
+     */
+    public int getNumRoutingHintsApplied() {
+        return numRoutingHintsApplied;
+    }
+
+    /**
+     * Checks if a cached path is still legal for a connection: it must start at the connection's source rnode
+     * and end at its sink rnode, every arc must exist in the routing resource graph (which excludes preserved
+     * nodes), every rnode must be accessible within the connection's current bounding box, and no rnode may
+     * become overused.
+     * @param connection The connection in question.
+     * @param nodes The cached path, from source to sink.
+     * @param path Populated with the rnodes of the path, from source to sink, if legal.
+     * @return true, if the path can be used as the routing of the connection.
+     */
+    private boolean isLegalRoutingHint(Connection connection, List<Node> nodes, List<RouteNode> path) {
+        path.clear();
+        RouteNode rnode = connection.getSourceRnode();
+        if (nodes.size() < 2 || !rnode.getNode().equals(nodes.get(0))) {
+            return false;
+        }
+        NetWrapper netWrapper = connection.getNetWrapper();
+        path.add(rnode);
+        for (int i = 1; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            RouteNode child = null;
+            for (RouteNode c : rnode.getChildren()) {
+                if (c.getNode().equals(node)) {
+                    child = c;
+                    break;
+                }
+            }
+            if (child == null || !isAccessible(child, connection) || child.willOverUse(netWrapper)) {
+                return false;
+            }
+            boolean isLast = (i == nodes.size() - 1);
+            if (isLast != (child == connection.getSinkRnode())) {
+                return false;
+            }
+            if (!isLast && child.getType() == RouteNodeType.PINFEED_I) {
+                return false;
+            }
+            path.add(child);
+            rnode = child;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if indirect connections are to be routed in parallel. Connections are then partitioned
+     * as described in {@link #routeIndirectConnectionsParallel()}; partitions are only routed by
+     * multiple threads if {@link ParallelismTools#getParallel()} is true, but the result is the same
+     * either way.
+     * @return true, if parallel routing is enabled and bounding boxes are used to partition connections.
+     */
+    protected boolean isParallelRouting() {
+        return config.isParallelRouting() && config.isUseBoundingBox();
+    }
+
+    /**
+     * Routes the given connections one at a time, in order, on the current thread.
+     * @param connections The connections to be routed, if {@link #shouldRoute(Connection)} allows.
+     */
+    protected void routeConnectionsSerially(List<Connection> connections) {
+        connectionState.setVisitedId(lastVisitedId);
+        for (Connection connection : connections) {
+            if (shouldRoute(connection)) {
+                routeConnection(connectionState, connection);
+            }
+        }
+        lastVisitedId = connectionState.getVisitedId();
+        addConnectionStateCounters(connectionState);
+    }
+
+    /**
+     * Routes indirect connections with multiple threads. The device is divided into a grid of
+     * clock-region-sized cells and every connection whose bounding box is contained within a
+     * single cell is assigned to that cell. Cells are then processed in four phases such that
+     * no two cells in the same phase are adjacent: since a connection can only explore the rnodes
+     * within its bounding box (and their immediate children), connections from different cells
+     * of the same phase never visit the same rnode. This allows all cells of a phase to be routed
+     * concurrently without any synchronization of rnode occupancy or congestion costs, and with
+     * results independent of thread scheduling.
+     * Connections that cross SLRs or are not contained within a single cell are routed serially,
+     * ahead of the parallel phases. Congestion is then negotiated across iterations exactly as in
+     * the serial case.
+     */
+    private void routeIndirectConnectionsParallel() {
+        List<Connection> serialConnections = new ArrayList<>();
+        List<Map<Integer, List<Connection>>> phases = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            phases.add(new HashMap<>());
+        }
+        for (Connection connection : sortedIndirectConnections) {
+            if (connection.isCrossSLR()) {
+                serialConnections.add(connection);
+                continue;
+            }
+            int cellXMin = Math.max(connection.getXMinBB(), 0) / PARALLEL_PARTITION_WIDTH;
+            int cellXMax = Math.max(connection.getXMaxBB(), 0) / PARALLEL_PARTITION_WIDTH;
+            int cellYMin = Math.max(connection.getYMinBB(), 0) / PARALLEL_PARTITION_HEIGHT;
+            int cellYMax = Math.max(connection.getYMaxBB(), 0) / PARALLEL_PARTITION_HEIGHT;
+            if (cellXMin != cellXMax || cellYMin != cellYMax) {
+                serialConnections.add(connection);
+                continue;
+            }
+            int phase = (cellXMin & 1) | ((cellYMin & 1) << 1);
+            // Key cells by their (x,y) index; iteration order below is made deterministic by sorting
+            int cellKey = (cellYMin << 16) | cellXMin;
+            phases.get(phase).computeIfAbsent(cellKey, (k) -> new ArrayList<>()).add(connection);
+        }
+
+        routeConnectionsSerially(serialConnections);
+
+        // Rnodes marked as targets by other threads must not be cleared by RouteNodeGraph.resetExpansion()
+        routingGraph.setRecordTargets(false);
+        try {
+            for (Map<Integer, List<Connection>> cells : phases) {
+                if (cells.isEmpty()) {
+                    continue;
+                }
+                List<Integer> cellKeys = new ArrayList<>(cells.keySet());
+                Collections.sort(cellKeys);
+                List<Pair<ConnectionState, List<Connection>>> tasks = new ArrayList<>(cellKeys.size());
+                for (Integer cellKey : cellKeys) {
+                    List<Connection> cellConnections = cells.get(cellKey);
+                    ConnectionState state = new ConnectionState();
+                    // Give each cell a distinct range of identifiers for marking visited rnodes
+                    state.setVisitedId(lastVisitedId);
+                    lastVisitedId += cellConnections.size();
+                    tasks.add(new Pair<>(state, cellConnections));
+                }
+
+                ParallelismTools.invokeAllRunnable(tasks, (task) -> {
+                    ConnectionState state = task.getFirst();
+                    for (Connection connection : task.getSecond()) {
+                        if (shouldRoute(connection)) {
+                            routeConnection(state, connection);
+                        }
+                    }
+                });
+
+                for (Pair<ConnectionState, List<Connection>> task : tasks) {
+                    addConnectionStateCounters(task.getFirst());
+                }
+            }
+        } finally {
+            routingGraph.setRecordTargets(true);
+        }
+    }
+
+    /**
+     * Adds the statistics counters of a {@link ConnectionState} instance to the router's totals,
+     * and clears them.
+     * @param state The state whose counters are to be accumulated.
+     */
+    private void addConnectionStateCounters(ConnectionState state) {
+        connectionsRouted += state.connectionsRouted;
+        connectionsRoutedIteration += state.connectionsRouted;
+        nodesPushed += state.nodesPushed;
+        nodesPopped += state.nodesPopped;
+        state.clearCounters();
+    }
+
     /**
      * Gets unrouted connections.
      * @return A list of unrouted connections.
@@ -1113,7 +1362,7 @@ public class RWRoute{
     }
 
     /**
-     * Builds the driversCounts map of each {@link RouteNode} instance that is used by a net.
+     * Builds the driver counts of each {@link RouteNode} instance that is used by a net.
      * @param netWrapper A NetWrapper instance that represents a net.
      */
     private void buildDriverCountsOfRnodes(NetWrapper netWrapper) {
@@ -1216,9 +1465,10 @@ public class RWRoute{
 
     /**
      * Routes a connection.
+     * @param state The state to use for routing this connection.
      * @param connection The connection to route.
      */
-    protected void routeConnection(Connection connection) {
+    protected void routeConnection(ConnectionState state, Connection connection) {
         float rnodeCostWeight = 1 - connection.getCriticality();
         float shareWeight = (float) (Math.pow(rnodeCostWeight, config.getShareExponent()));
         float rnodeWLWeight = rnodeCostWeight * oneMinusWlWeight;
@@ -1226,9 +1476,10 @@ public class RWRoute{
         float dlyWeight = connection.getCriticality() * oneMinusTimingWeight / 100f;
         float estDlyWeight = connection.getCriticality() * timingWeight;
 
-        prepareRouteConnection(connection, shareWeight, rnodeCostWeight,
+        prepareRouteConnection(state, connection, shareWeight, rnodeCostWeight,
                 rnodeWLWeight, estWlWeight, dlyWeight, estDlyWeight);
 
+        RouteNodeHeap queue = state.queue;
         int nodesPoppedThisConnection = 0;
         RouteNode rnode;
         while ((rnode = queue.poll()) != null) {
@@ -1236,11 +1487,18 @@ public class RWRoute{
             if (rnode.isTarget()) {
                 break;
             }
-            exploreAndExpand(rnode, connection, shareWeight, rnodeCostWeight,
+            exploreAndExpand(state, rnode, connection, shareWeight, rnodeCostWeight,
                     rnodeWLWeight, estWlWeight, dlyWeight, estDlyWeight);
         }
-        nodesPushed += nodesPoppedThisConnection + queue.size();
-        nodesPopped += nodesPoppedThisConnection;
+        long nodesPushedThisConnection = nodesPoppedThisConnection + queue.size();
+        state.nodesPushed += nodesPushedThisConnection;
+        state.nodesPopped += nodesPoppedThisConnection;
+        connection.addSearchEffort(nodesPoppedThisConnection, nodesPushedThisConnection);
+        if (config.isAdaptiveBoundingBox() &&
+                nodesPoppedThisConnection > config.getAdaptiveStallLimit() * connection.getHpwl()) {
+            // Enlarged once this iteration completes, since parallel routing relies on bounding boxes not changing
+            connection.setStalled(true);
+        }
 
         if (rnode != null) {
             queue.clear();
@@ -1255,7 +1513,11 @@ public class RWRoute{
             assert(!connection.getSink().isRouted());
         }
 
-        routingGraph.resetExpansion();
+        if (routingGraph.isRecordTargets()) {
+            routingGraph.resetExpansion();
+        } else {
+            connection.setTarget(false);
+        }
     }
 
     /**
@@ -1263,19 +1525,33 @@ public class RWRoute{
      * @param connection The failed connection.
      */
     protected boolean handleUnroutableConnection(Connection connection) {
-        if (config.isEnlargeBoundingBox()) {
+        if (config.isEnlargeBoundingBox() || config.isAdaptiveBoundingBox()) {
             connection.enlargeBoundingBox(config.getExtensionXIncrement(), config.getExtensionYIncrement());
         }
         return routeIteration == 1 && swapOutputPin(connection);
     }
 
     protected boolean handleCongestedConnection(Connection connection) {
-        if (config.isEnlargeBoundingBox()) {
+        if (config.isEnlargeBoundingBox() && !config.isAdaptiveBoundingBox()) {
             connection.enlargeBoundingBox(config.getExtensionXIncrement(), config.getExtensionYIncrement());
         }
         return false;
     }
 
+    /**
+     * Enlarges the bounding box of a connection whose last search stalled, when bounding boxes are enlarged
+     * adaptively.
+     * @param connection The stalled connection.
+     */
+    protected void handleStalledConnection(Connection connection) {
+        connection.setStalled(false);
+        if (!connection.getSink().isRouted()) {
+            // Already enlarged by handleUnroutableConnection()
+            return;
+        }
+        connection.enlargeBoundingBox(config.getExtensionXIncrement(), config.getExtensionYIncrement());
+    }
+
     /**
      * Swaps the output pin of a connection, if its net has an alternative output pin.
      * @param connection The connection in question.
@@ -1387,6 +1663,7 @@ public class RWRoute{
     /**
      * Explores children (downhill rnodes) of a rnode for routing a connection and pushes the child into the queue,
      * if it is the target or is an accessible routing resource.
+     * @param state The state used for routing this connection.
      * @param rnode The rnode popped out from the queue.
      * @param connection The connection that is being routed.
      * @param shareWeight The criticality-aware share weight for a new sharing factor.
@@ -1396,37 +1673,40 @@ public class RWRoute{
      * @param rnodeDelayWeight The weight of childRnode's exact delay.
      * @param rnodeEstDlyWeight The weight of estimated delay to the target.
      */
-    private void exploreAndExpand(RouteNode rnode, Connection connection, float shareWeight, float rnodeCostWeight,
+    private void exploreAndExpand(ConnectionState state, RouteNode rnode, Connection connection, float shareWeight, float rnodeCostWeight,
                                   float rnodeLengthWeight, float rnodeEstWlWeight,
                                   float rnodeDelayWeight, float rnodeEstDlyWeight) {
+        final RouteNodeHeap queue = state.queue;
+        final int visitedId = state.visitedId;
         boolean longParent = config.isTimingDriven() && DelayEstimatorBase.isLong(rnode.getNode());
         for (RouteNode childRNode:rnode.getChildren()) {
             // Targets that are visited more than once must be overused
-            assert(!childRNode.isTarget() || !childRNode.isVisited(connectionsRouted) || childRNode.willOverUse(connection.getNetWrapper()));
+            assert(!childRNode.isTarget() || !childRNode.isVisited(visitedId) || childRNode.willOverUse(connection.getNetWrapper()));
 
             // If childRnode is preserved, then it must be preserved for the current net we're routing
             Net preservedNet;
             assert((preservedNet = routingGraph.getPreservedNet(childRNode.getNode())) == null ||
                     preservedNet == connection.getNetWrapper().getNet());
 
-            if (childRNode.isVisited(connectionsRouted)) {
-                // Node must be in queue already.
-
-                // Note: it is possible this is a cheaper path to childRNode; however, because the
-                // PriorityQueue class does not support (efficiently) reducing the cost of nodes
-                // already in the queue, this opportunity is discarded
-                continue;
-            }
-
-            if (childRNode.isTarget()) {
-                // Despite the limitation above, on encountering a target only terminate immediately
+            if (childRNode.isVisited(visitedId)) {
+                // Node has either been expanded already, or is still in the queue.
+                // In the latter case, this may be a cheaper path to childRNode in which case its cost
+                // is reduced in-place by evaluateCostAndPush(); since it has not been expanded yet,
+                // no other rnode can have it as its prev. Targets are not reconsidered since any
+                // target visited more than once must be overused.
+                if (childRNode.isTarget() || !queue.contains(childRNode)) {
+                    continue;
+                }
+                // Accessibility and type checks were passed when it was first pushed
+            } else if (childRNode.isTarget()) {
+                // On encountering a target only terminate immediately
                 // by clearing the queue if childRnode is the one and only sink on this connection,
                 // otherwise terminate if this target will not be overused since we may find that
                 // the alternate sink is less congested
                 if ((childRNode == connection.getSinkRnode() && connection.getAltSinkRnode() == null) ||
                         !childRNode.willOverUse(connection.getNetWrapper())) {
-                    assert(!childRNode.isVisited(connectionsRouted));
-                    nodesPushed += queue.size();
+                    assert(!childRNode.isVisited(visitedId));
+                    state.nodesPushed += queue.size();
                     queue.clear();
                 }
             } else {
@@ -1464,7 +1744,7 @@ public class RWRoute{
                 }
             }
 
-            evaluateCostAndPush(rnode, longParent, childRNode, connection, shareWeight, rnodeCostWeight,
+            evaluateCostAndPush(state, rnode, longParent, childRNode, connection, shareWeight, rnodeCostWeight,
                     rnodeLengthWeight, rnodeEstWlWeight, rnodeDelayWeight, rnodeEstDlyWeight);
             if (childRNode.isTarget() && queue.size() == 1) {
                 // Target is uncongested and the only thing in the (previously cleared) queue, abandon immediately
@@ -1485,6 +1765,7 @@ public class RWRoute{
 
     /**
      * Evaluates the cost of a child of a rnode and pushes the child into the queue after cost evaluation.
+     * @param state The state used for routing this connection.
      * @param rnode The parent rnode of the child in question.
      * @param longParent A boolean value to indicate if the parent is a Long node
      * @param childRnode The child rnode in question.
@@ -1496,7 +1777,7 @@ public class RWRoute{
      * @param rnodeDelayWeight The weight of childRnode's exact delay.
      * @param rnodeEstDlyWeight The weight of estimated delay from childRnode to the target.
      */
-    protected void evaluateCostAndPush(RouteNode rnode, boolean longParent, RouteNode childRnode, Connection connection, float sharingWeight, float rnodeCostWeight,
+    protected void evaluateCostAndPush(ConnectionState state, RouteNode rnode, boolean longParent, RouteNode childRnode, Connection connection, float sharingWeight, float rnodeCostWeight,
                                        float rnodeLengthWeight, float rnodeEstWlWeight,
                                        float rnodeDelayWeight, float rnodeEstDlyWeight) {
         int countSourceUses = childRnode.countConnectionsOfUser(connection.getNetWrapper());
@@ -1504,6 +1785,7 @@ public class RWRoute{
 
         // Set the prev pointer, as RouteNode.getEndTileYCoordinate() and
         // RouteNode.getSLRIndex() require this
+        RouteNode childPrev = childRnode.getPrev();
         childRnode.setPrev(rnode);
 
         float newPartialPathCost = rnode.getUpstreamPathCost() + rnodeCostWeight * getNodeCost(childRnode, connection, countSourceUses, sharingFactor)
@@ -1562,7 +1844,12 @@ public class RWRoute{
         if (config.isTimingDriven()) {
             newTotalPathCost += rnodeEstDlyWeight * (deltaX * 0.32 + deltaY * 0.16);
         }
-        push(childRnode, newPartialPathCost, newTotalPathCost);
+        if (childRnode.isVisited(state.visitedId) && newTotalPathCost >= childRnode.getLowerBoundTotalPathCost()) {
+            // Already in the queue with a path that is no more expensive, so restore its prev pointer
+            childRnode.setPrev(childPrev);
+            return;
+        }
+        push(state, childRnode, newPartialPathCost, newTotalPathCost);
     }
 
     /**
@@ -1597,19 +1884,25 @@ public class RWRoute{
     }
 
     /**
-     * Sets the costs of a rnode and pushes it to the queue.
+     * Sets the costs of a rnode and pushes it to the queue, or if it is already in the queue then
+     * reduces its cost in-place.
+     * @param state The state used for routing this connection.
      * @param childRnode A child rnode.
      * @param newPartialPathCost The upstream path cost from childRnode to the source.
      * @param newTotalPathCost Total path cost of childRnode.
      */
-    protected void push(RouteNode childRnode, float newPartialPathCost, float newTotalPathCost) {
+    protected void push(ConnectionState state, RouteNode childRnode, float newPartialPathCost, float newTotalPathCost) {
         assert(childRnode.getPrev() != null || childRnode.getType() == RouteNodeType.PINFEED_O);
         childRnode.setLowerBoundTotalPathCost(newTotalPathCost);
         childRnode.setUpstreamPathCost(newPartialPathCost);
+        if (childRnode.isVisited(state.visitedId)) {
+            state.queue.decreaseKey(childRnode);
+            return;
+        }
         // Use the number-of-connections-routed-so-far as the identifier for whether a rnode
         // has been visited by this connection before
-        childRnode.setVisited(connectionsRouted);
-        queue.add(childRnode);
+        childRnode.setVisited(state.visitedId);
+        state.queue.add(childRnode);
     }
 
     /**
@@ -1617,6 +1910,7 @@ public class RWRoute{
      * known-uncongested downstream-from-source routing segments acquired from prior
      * iterations, as well as marking known-uncongested upstream-from-sink segments
      * as targets.
+     * @param state The state to use for routing this connection.
      * @param connectionToRoute The target connection to be routed.
      * @param shareWeight The criticality-aware share weight for a new sharing factor.
      * @param rnodeCostWeight The cost weight of the childRnode
@@ -1625,15 +1919,15 @@ public class RWRoute{
      * @param rnodeDelayWeight The weight of childRnode's exact delay.
      * @param rnodeEstDlyWeight The weight of estimated delay to the target.
      */
-    protected void prepareRouteConnection(Connection connectionToRoute, float shareWeight, float rnodeCostWeight,
+    protected void prepareRouteConnection(ConnectionState state, Connection connectionToRoute, float shareWeight, float rnodeCostWeight,
                                           float rnodeLengthWeight, float rnodeEstWlWeight,
                                           float rnodeDelayWeight, float rnodeEstDlyWeight) {
         // Rips up the connection
         ripUp(connectionToRoute);
 
-        connectionsRouted++;
-        connectionsRoutedIteration++;
-        assert(queue.isEmpty());
+        state.visitedId++;
+        state.connectionsRouted++;
+        assert(state.queue.isEmpty());
 
         // Sets the sink rnode(s) of the connection as the target(s)
         connectionToRoute.setTarget(true);
@@ -1641,7 +1935,7 @@ public class RWRoute{
         // Adds the source rnode to the queue
         RouteNode sourceRnode = connectionToRoute.getSourceRnode();
         assert(sourceRnode.getPrev() == null);
-        push(sourceRnode, 0, 0);
+        push(state, sourceRnode, 0, 0);
     }
 
     /**
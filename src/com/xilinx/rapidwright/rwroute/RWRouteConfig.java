@@ -46,6 +46,10 @@ public class RWRouteConfig {
     private short extensionYIncrement;
     /** Incremental extension of the bounding box in the horizontal direction to the left and right */
     private short extensionXIncrement;
+    /** Only enlarge the bounding box of a connection when its search fails or stalls */
+    private boolean adaptiveBoundingBox;
+    /** Number of nodes popped per tile of a connection's half-perimeter wirelength above which its search is considered stalled */
+    private short adaptiveStallLimit;
     /** Wirelength-driven weighting factor */
     private float wirelengthWeight;
     /** Timing-driven weighting factor */
@@ -84,6 +88,18 @@ public class RWRouteConfig {
     private boolean verbose;
     /** true to display connection span statistics */
     private boolean printConnectionSpan;
+    /** true to route spatially independent connections with multiple threads */
+    private boolean parallelRouting;
+    /** true to store the costs and search state of rnodes outside of the Java heap */
+    private boolean offHeapRouteNodeStore;
+    /** true to load and update a persistent per-device cache of routing resource information */
+    private boolean routeNodeInfoCache;
+    /** true to load and update a persistent per-device node delay lookup table when timing-driven */
+    private boolean delayLookupTable;
+    /** File name of the cache of connection routing hints to load and update, or null if not used */
+    private String connectionRoutingCache;
+    /** File name to write the histogram of per-connection search effort to, or null if not written */
+    private String connectionStatistics;
 
     /** Constructs a Configuration Object */
     public RWRouteConfig(String[] arguments) {
@@ -94,6 +110,8 @@ public class RWRouteConfig {
         enlargeBoundingBox = false;
         extensionYIncrement = 2;
         extensionXIncrement = 1;
+        adaptiveBoundingBox = false;
+        adaptiveStallLimit = 100;
         wirelengthWeight = 0.8f;
         timingWeight = 0.35f;
         timingMultiplier = 1f;
@@ -112,6 +130,12 @@ public class RWRouteConfig {
         useUTurnNodes = false;
         verbose = false;
         printConnectionSpan = false;
+        parallelRouting = false;
+        offHeapRouteNodeStore = false;
+        routeNodeInfoCache = false;
+        delayLookupTable = false;
+        connectionRoutingCache = null;
+        connectionStatistics = null;
         if (arguments != null) {
             parseArguments(arguments);
         }
@@ -145,6 +169,12 @@ public class RWRouteConfig {
             case "--extensionXIncrement":
                 setExtensionXIncrement(Short.parseShort(arguments[++i]));
                 break;
+            case "--adaptiveBoundingBox":
+                setAdaptiveBoundingBox(true);
+                break;
+            case "--adaptiveStallLimit":
+                setAdaptiveStallLimit(Short.parseShort(arguments[++i]));
+                break;
             case "--wirelengthWeight":
                 setWirelengthWeight(Float.parseFloat(arguments[++i]));
                 break;
@@ -208,6 +238,24 @@ public class RWRouteConfig {
             case "--printConnectionSpan":
                 setPrintConnectionSpan(true);
                 break;
+            case "--parallelRouting":
+                setParallelRouting(true);
+                break;
+            case "--offHeapRouteNodeStore":
+                setOffHeapRouteNodeStore(true);
+                break;
+            case "--routeNodeInfoCache":
+                setRouteNodeInfoCache(true);
+                break;
+            case "--delayLookupTable":
+                setDelayLookupTable(true);
+                break;
+            case "--connectionRoutingCache":
+                setConnectionRoutingCache(arguments[++i]);
+                break;
+            case "--connectionStatistics":
+                setConnectionStatistics(arguments[++i]);
+                break;
             default:
                 throw new IllegalArgumentException("ERROR: RWRoute argument '" + arg + "' not recognized.");
             }
@@ -312,6 +360,46 @@ public class RWRouteConfig {
         this.enlargeBoundingBox = enlargeBoundingBox;
     }
 
+    /**
+     * Checks if the bounding boxes of connections are enlarged adaptively.
+     * If true, the bounding box of a connection is enlarged by the extension X and Y increments only when
+     * it could not be routed, or when its search stalled (see {@link #getAdaptiveStallLimit()}), but not
+     * when it is merely congested. This takes precedence over {@link #isEnlargeBoundingBox()}.
+     * Default: false. Can be modified by adding "--adaptiveBoundingBox" to the arguments.
+     * @return true, if bounding boxes of connections are enlarged adaptively.
+     */
+    public boolean isAdaptiveBoundingBox() {
+        return adaptiveBoundingBox;
+    }
+
+    /**
+     * Sets adaptiveBoundingBox.
+     * Default: false. Can be modified by adding "--adaptiveBoundingBox" to the arguments.
+     * @param adaptiveBoundingBox true to only enlarge bounding boxes of connections whose search fails or stalls.
+     */
+    public void setAdaptiveBoundingBox(boolean adaptiveBoundingBox) {
+        this.adaptiveBoundingBox = adaptiveBoundingBox;
+    }
+
+    /**
+     * Gets the number of nodes that may be popped per tile of a connection's half-perimeter wirelength
+     * before its search is considered stalled, when bounding boxes are enlarged adaptively.
+     * Default: 100. Can be modified by using "--adaptiveStallLimit" option, e.g. "--adaptiveStallLimit 200".
+     * @return The number of nodes popped per tile above which a search is considered stalled.
+     */
+    public short getAdaptiveStallLimit() {
+        return adaptiveStallLimit;
+    }
+
+    /**
+     * Sets adaptiveStallLimit.
+     * Default: 100. Can be modified by using "--adaptiveStallLimit" option, e.g. "--adaptiveStallLimit 200".
+     * @param adaptiveStallLimit The number of nodes popped per tile above which a search is considered stalled.
+     */
+    public void setAdaptiveStallLimit(short adaptiveStallLimit) {
+        this.adaptiveStallLimit = adaptiveStallLimit;
+    }
+
     /**
      * Gets the extension increment that connections' bounding boxes should be enlarged by vertically.
      * Default: 2. Can be modified by using "--extensionYIncrement" option, e.g. "--extensionYIncrement 3".
@@ -761,6 +849,131 @@ public class RWRouteConfig {
         this.verbose = verbose;
     }
 
+    /**
+     * Checks if connections are routed with multiple threads.
+     * If true, connections whose bounding boxes fall within the same clock-region-sized area of the device
+     * are routed together, with non-adjacent areas routed concurrently. Requires bounding boxes to be used.
+     * Routing results are independent of the number of threads used, but runtime statistics of the
+     * routing graph are approximate.
+     * Default: false. Can be modified by adding "--parallelRouting" to the arguments.
+     * @return true, if parallel routing is enabled.
+     */
+    public boolean isParallelRouting() {
+        return parallelRouting;
+    }
+
+    /**
+     * Sets parallelRouting.
+     * If true, connections whose bounding boxes fall within the same clock-region-sized area of the device
+     * are routed together, with non-adjacent areas routed concurrently. Requires bounding boxes to be used.
+     * Default: false. Can be modified by adding "--parallelRouting" to the arguments.
+     * @param parallelRouting true to route connections with multiple threads.
+     */
+    public void setParallelRouting(boolean parallelRouting) {
+        this.parallelRouting = parallelRouting;
+    }
+
+    /**
+     * Checks if the costs and search state of rnodes are stored outside of the Java heap.
+     * Doing so reduces heap usage and garbage collection overhead for very large devices,
+     * but requires sufficient direct memory (see -XX:MaxDirectMemorySize).
+     * Default: false. Can be modified by adding "--offHeapRouteNodeStore" to the arguments.
+     * @return true, if an off-heap {@link RouteNodeStore} is used.
+     */
+    public boolean isOffHeapRouteNodeStore() {
+        return offHeapRouteNodeStore;
+    }
+
+    /**
+     * Sets offHeapRouteNodeStore.
+     * Default: false. Can be modified by adding "--offHeapRouteNodeStore" to the arguments.
+     * @param offHeapRouteNodeStore true to store the costs and search state of rnodes outside of the Java heap.
+     */
+    public void setOffHeapRouteNodeStore(boolean offHeapRouteNodeStore) {
+        this.offHeapRouteNodeStore = offHeapRouteNodeStore;
+    }
+
+    /**
+     * Checks if a persistent cache of routing resource information is used.
+     * If true, the information of rnodes is read from a cache file stored alongside
+     * the device files, and the cache file is updated with any new rnodes at the end of routing.
+     * Default: false. Can be modified by adding "--routeNodeInfoCache" to the arguments.
+     * @return true, if a {@link RouteNodeInfoCache} is used.
+     */
+    public boolean isRouteNodeInfoCache() {
+        return routeNodeInfoCache;
+    }
+
+    /**
+     * Sets routeNodeInfoCache.
+     * Default: false. Can be modified by adding "--routeNodeInfoCache" to the arguments.
+     * @param routeNodeInfoCache true to use a persistent cache of routing resource information.
+     */
+    public void setRouteNodeInfoCache(boolean routeNodeInfoCache) {
+        this.routeNodeInfoCache = routeNodeInfoCache;
+    }
+
+    /**
+     * Checks if a persistent node delay lookup table is used when routing timing-driven.
+     * If true, the delay classes of nodes are read from a file stored alongside the device files
+     * (see {@code DelayEstimatorBase.getDelayLookupTableFileName(Device)}), and the file is updated
+     * with any new entries at the end of routing.
+     * Default: false. Can be modified by adding "--delayLookupTable" to the arguments.
+     * @return true, if a persistent delay lookup table is used.
+     */
+    public boolean isDelayLookupTable() {
+        return delayLookupTable;
+    }
+
+    /**
+     * Sets delayLookupTable.
+     * Default: false. Can be modified by adding "--delayLookupTable" to the arguments.
+     * @param delayLookupTable true to use a persistent node delay lookup table.
+     */
+    public void setDelayLookupTable(boolean delayLookupTable) {
+        this.delayLookupTable = delayLookupTable;
+    }
+
+    /**
+     * Gets the file name of the cache of connection routing hints.
+     * If not null, the routing paths of connections saved by a previous run are read from this file and,
+     * if still legal, used as the initial routing of those connections; the file is then updated with
+     * the routing of all connections at the end of routing.
+     * Default: null. Can be modified by using "--connectionRoutingCache" option, e.g. "--connectionRoutingCache hints.dat".
+     * @return The cache file name, or null if no {@link ConnectionRoutingCache} is used.
+     */
+    public String getConnectionRoutingCache() {
+        return connectionRoutingCache;
+    }
+
+    /**
+     * Sets the file name of the cache of connection routing hints.
+     * Default: null. Can be modified by using "--connectionRoutingCache" option, e.g. "--connectionRoutingCache hints.dat".
+     * @param connectionRoutingCache The cache file name, or null to not use a {@link ConnectionRoutingCache}.
+     */
+    public void setConnectionRoutingCache(String connectionRoutingCache) {
+        this.connectionRoutingCache = connectionRoutingCache;
+    }
+
+    /**
+     * Gets the file name to write the histogram of per-connection search effort to at the end of routing.
+     * The histogram is written as JSON if the file name ends with ".json", and as CSV otherwise.
+     * Default: null. Can be modified by using "--connectionStatistics" option, e.g. "--connectionStatistics stats.csv".
+     * @return The statistics file name, or null if no statistics are written.
+     */
+    public String getConnectionStatistics() {
+        return connectionStatistics;
+    }
+
+    /**
+     * Sets the file name to write the histogram of per-connection search effort to.
+     * Default: null. Can be modified by using "--connectionStatistics" option, e.g. "--connectionStatistics stats.csv".
+     * @param connectionStatistics The statistics file name, or null to not write statistics.
+     */
+    public void setConnectionStatistics(String connectionStatistics) {
+        this.connectionStatistics = connectionStatistics;
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
@@ -771,7 +984,12 @@ public class RWRouteConfig {
         if (isUseBoundingBox()) {
             s.append(MessageGenerator.formatString("Bounding box extension X: ", boundingBoxExtensionX));
             s.append(MessageGenerator.formatString("Bounding box extension Y: ", boundingBoxExtensionY));
-            if (isEnlargeBoundingBox()) {
+            if (isAdaptiveBoundingBox()) {
+                s.append(MessageGenerator.formatString("Adaptive bounding box: ", isAdaptiveBoundingBox()));
+                s.append(MessageGenerator.formatString("Adaptive stall limit: ", adaptiveStallLimit));
+                s.append(MessageGenerator.formatString("Extension X increment: ", extensionXIncrement));
+                s.append(MessageGenerator.formatString("Extension Y increment: ", extensionYIncrement));
+            } else if (isEnlargeBoundingBox()) {
                 s.append(MessageGenerator.formatString("Enlarge bounding box: ", isEnlargeBoundingBox()));
                 s.append(MessageGenerator.formatString("Extension X increment: ", extensionXIncrement));
                 s.append(MessageGenerator.formatString("Extension Y increment: ", extensionYIncrement));
@@ -795,6 +1013,13 @@ public class RWRouteConfig {
         s.append(MessageGenerator.formatString("Initial present congestion factor: ", initialPresentCongestionFactor));
         s.append(MessageGenerator.formatString("Present congestion multiplier: ", presentCongestionMultiplier));
         s.append(MessageGenerator.formatString("Historical congestion factor ", historicalCongestionFactor));
+        s.append(MessageGenerator.formatString("Parallel routing: ", parallelRouting));
+        s.append(MessageGenerator.formatString("Off-heap rnode store: ", offHeapRouteNodeStore));
+        s.append(MessageGenerator.formatString("Rnode info cache: ", routeNodeInfoCache));
+        s.append(MessageGenerator.formatString("Delay lookup table: ", delayLookupTable));
+        if (connectionRoutingCache != null) {
+            s.append(MessageGenerator.formatString("Connection routing cache: ", connectionRoutingCache));
+        }
 
         return s.toString();
     }
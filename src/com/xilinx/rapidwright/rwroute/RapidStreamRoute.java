@@ -36,13 +36,13 @@ import com.xilinx.rapidwright.util.CountUpDownLatch;
 import com.xilinx.rapidwright.util.ParallelismTools;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Customized {@link PartialRouter} for the RapidStream use case.
@@ -101,20 +101,19 @@ public class RapidStreamRoute extends PartialRouter {
      * @return A Collection of conflicted nets.
      */
     private static Collection<Net> unrouteConflictedNets(Design design, String anchorNameKeyword) {
-        final Map<Node, Collection<Net>> nodeToNet = new ConcurrentHashMap<>();
+        final NodeOwnershipIndex nodeOwners = new NodeOwnershipIndex();
+        // Conflicts are expected to be rare, so only these (and not every node) are recorded
+        final Queue<Conflict> conflicts = new ConcurrentLinkedQueue<>();
         final CountUpDownLatch netsOutstanding = new CountUpDownLatch();
         for (Net net : design.getNets()) {
             netsOutstanding.countUp();
             ParallelismTools.submit(() -> {
                 try {
+                    int netId = nodeOwners.getNetId(net);
                     for (Node node : RouterHelper.getNodesOfNet(net)) {
-                        final Collection<Net> nets = nodeToNet.computeIfAbsent(node, (n) -> new ArrayList<>(1));
-                        synchronized(nets) {
-                            if (!nets.contains(net)) {
-                                // Assume at most two nets (thus ArrayList.contains() will be negligible)
-                                assert(nets.size() < 2);
-                                nets.add(net);
-                            }
+                        Net owner = nodeOwners.claim(node, netId);
+                        if (owner != null && owner != net) {
+                            conflicts.add(new Conflict(node, owner, net));
                         }
                     }
                 } finally {
@@ -125,16 +124,10 @@ public class RapidStreamRoute extends PartialRouter {
         netsOutstanding.await();
 
         Set<Net> conflictNets = new HashSet<>();
-        for (Map.Entry<Node,Collection<Net>> e : nodeToNet.entrySet()) {
-            Collection<Net> nets = e.getValue();
-            if (nets.size() == 1)
-                continue;
-            // Assume at most 2 nets are conflicted
-            assert(nets.size() == 2);
-            Iterator<Net> it = nets.iterator();
-            Node node = e.getKey();
-            Net net0 = it.next();
-            Net net1 = it.next();
+        for (Conflict conflict : conflicts) {
+            Node node = conflict.node;
+            Net net0 = conflict.net0;
+            Net net1 = conflict.net1;
             if (net0.getSource() != null && net1.getSource() != null) {
                 boolean generateWarning = conflictNets.size() < 5;
                 EDIFNet logicalNet0 = net0.getLogicalNet();
@@ -147,7 +140,7 @@ public class RapidStreamRoute extends PartialRouter {
                     if (generateWarning) generateConflictInfo(node, net0, net1);
                 }
 
-                for (Net net : nets) {
+                for (Net net : Arrays.asList(net0, net1)) {
                     if (net.hasPIPs() && isTargetConflictNetToRoute(net, anchorNameKeyword)) {
                         conflictNets.add(net);
                         net.unroute();
@@ -158,6 +151,21 @@ public class RapidStreamRoute extends PartialRouter {
         return conflictNets;
     }
 
+    /**
+     * A node claimed by two different nets.
+     */
+    private static class Conflict {
+        final Node node;
+        final Net net0;
+        final Net net1;
+
+        Conflict(Node node, Net net0, Net net1) {
+            this.node = node;
+            this.net0 = net0;
+            this.net1 = net1;
+        }
+    }
+
     public static Design routeDesignRapidStream(Design design) {
         return routeDesignRapidStream(design, "q0_reg");
     }
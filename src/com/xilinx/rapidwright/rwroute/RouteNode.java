@@ -64,50 +64,57 @@ abstract public class RouteNode implements Comparable<RouteNode> {
     private boolean isTarget;
     /** Byte for the use as general purpose flags */
     private byte flags;
-    /** The children (downhill rnodes) of this rnode */
-    protected RouteNode[] children;
-
-    /** Present congestion cost */
-    private float presentCongestionCost;
-    /** Historical congestion cost */
-    private float historicalCongestionCost;
-    /** Upstream path cost */
-    private float upstreamPathCost;
-    /** Lower bound of the total path cost */
-    private float lowerBoundTotalPathCost;
-    /** A variable indicating which id this rnode was last visited by during the expansion */
-    private int visited;
+    /**
+     * The children (downhill rnodes) of this rnode. Volatile since, when routing in parallel, they may
+     * be created by one thread and read by another.
+     */
+    protected volatile RouteNode[] children;
+
+    /**
+     * The store holding the congestion costs, path costs, visited identifier and heap index of this rnode
+     * (see {@link RouteNodeStore})
+     */
+    private final RouteNodeStore store;
+    /** The dense identifier of this rnode within its {@link RouteNodeGraph}, used to index into the store */
+    private final int id;
     /** A variable that stores the parent of a rnode during expansion to facilitate tracing back */
     private RouteNode prev;
     /**
-     * A map that records users of a rnode based on all routed connections.
+     * Records the users of a rnode based on all routed connections.
      * Each user is a {@link NetWrapper} instance that corresponds to a {@link Net} instance.
      * It is often the case that multiple connections of the user are using a same rnode.
      * We count the number of connections from the net.
      * The number is used for the sharing mechanism of RWRoute.
+     * Since the vast majority of rnodes have at most one user, the first user and its count are
+     * stored inline (user0 is only valid when user0Count is non-zero) and all other users are
+     * counted in otherUsers, which is only allocated when needed.
      */
-    private Map<NetWrapper, Integer> usersConnectionCounts;
+    private NetWrapper user0;
+    private int user0Count;
+    private IdentityCounter<NetWrapper> otherUsers;
     /**
-     * A map that records all the driver rnodes of a rnode based on all routed connections.
+     * Records all the driver rnodes of a rnode based on all routed connections.
      * It is possible that a rnode are driven by different rnodes after routing of all connections of a net.
      * We count the drivers of a rnode to facilitate the route fixer at the end of routing.
+     * As with users, the first driver is stored inline.
      */
-    private Map<RouteNode, Integer> driversCounts;
+    private RouteNode driver0;
+    private int driver0Count;
+    private IdentityCounter<RouteNode> otherDrivers;
 
-    protected RouteNode(Node node, RouteNodeType type) {
+    protected RouteNode(Node node, RouteNodeType type, RouteNodeInfo nodeInfo, RouteNodeStore store, int id) {
         this.node = node;
-        RouteNodeInfo nodeInfo = RouteNodeInfo.get(node);
+        this.store = store;
+        this.id = id;
+        store.initialize(id);
         this.type = (type == RouteNodeType.WIRE) ? nodeInfo.type : type;
         endTileXCoordinate = nodeInfo.endTileXCoordinate;
         endTileYCoordinate = nodeInfo.endTileYCoordinate;
         length = nodeInfo.length;
         children = null;
         setBaseCost();
-        presentCongestionCost = initialPresentCongestionCost;
-        historicalCongestionCost = initialHistoricalCongestionCost;
-        usersConnectionCounts = null;
-        driversCounts = null;
-        visited = 0;
+        assert(user0Count == 0 && otherUsers == null);
+        assert(driver0Count == 0 && otherDrivers == null);
         assert(prev == null);
         assert(!isTarget);
         flags = 0;
@@ -116,16 +123,25 @@ abstract public class RouteNode implements Comparable<RouteNode> {
     @Override
     public int compareTo(RouteNode that) {
         // Do not use Float.compare() since it also compares NaN, which we'll assume is unreachable
-        // return Float.compare(this.lowerBoundTotalPathCost, that.lowerBoundTotalPathCost);
-        return (int) Math.signum(this.lowerBoundTotalPathCost - that.lowerBoundTotalPathCost);
+        // return Float.compare(this.getLowerBoundTotalPathCost(), that.getLowerBoundTotalPathCost());
+        float thisCost = getLowerBoundTotalPathCost();
+        float thatCost = that.getLowerBoundTotalPathCost();
+        if (thisCost < thatCost) {
+            return -1;
+        }
+        return (thisCost > thatCost) ? 1 : 0;
     }
 
     abstract protected RouteNode getOrCreate(Node node, RouteNodeType type);
 
+    /**
+     * Creates the children of this rnode, if not already created.
+     * @param setChildrenTimer Timer to be charged with the time taken, or null to not time it.
+     */
     protected void setChildren(RuntimeTracker setChildrenTimer) {
         if (children != null)
             return;
-        setChildrenTimer.start();
+        if (setChildrenTimer != null) setChildrenTimer.start();
         List<Node> allDownHillNodes = node.getAllDownhillNodes();
         List<RouteNode> childrenList = new ArrayList<>(allDownHillNodes.size());
         for (Node downhill: allDownHillNodes) {
@@ -143,7 +159,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
         } else {
             children = EMPTY_ARRAY;
         }
-        setChildrenTimer.stop();
+        if (setChildrenTimer != null) setChildrenTimer.stop();
     }
 
     private void setBaseCost() {
@@ -312,6 +328,14 @@ abstract public class RouteNode implements Comparable<RouteNode> {
         return endTileXCoordinate > connection.getXMinBB() && endTileXCoordinate < connection.getXMaxBB() && endTileYCoordinate > connection.getYMinBB() && endTileYCoordinate < connection.getYMaxBB();
     }
 
+    /**
+     * Gets the dense identifier of a RouteNode Object, unique within its {@link RouteNodeGraph}.
+     * @return The identifier of a RouteNode Object.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Gets the associated Node of a RouteNode Object.
      * @return The associated Node of a RouteNode Object.
@@ -399,6 +423,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return A list of RouteNode Objects.
      */
     public RouteNode[] getChildren() {
+        RouteNode[] children = this.children;
         return children != null ? children : EMPTY_ARRAY;
     }
 
@@ -422,7 +447,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param totalPathCost The cost value to be set.
      */
     public void setLowerBoundTotalPathCost(float totalPathCost) {
-        lowerBoundTotalPathCost = totalPathCost;
+        store.setLowerBoundTotalPathCost(id, totalPathCost);
     }
 
     /**
@@ -430,7 +455,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param newPartialPathCost The new value to be set.
      */
     public void setUpstreamPathCost(float newPartialPathCost) {
-        this.upstreamPathCost = newPartialPathCost;
+        store.setUpstreamPathCost(id, newPartialPathCost);
     }
 
     /**
@@ -438,7 +463,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The lower bound total path cost.
      */
     public float getLowerBoundTotalPathCost() {
-        return lowerBoundTotalPathCost;
+        return store.getLowerBoundTotalPathCost(id);
     }
 
     /**
@@ -446,7 +471,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The upstream path cost.
      */
     public float getUpstreamPathCost() {
-        return upstreamPathCost;
+        return store.getUpstreamPathCost(id);
     }
 
     /**
@@ -454,10 +479,21 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * Each user is a {@link NetWrapper} instance representing a {@link Net} instance.
      * It is often the case that multiple connections of a net are using a same rnode.
      * So we count connections of each user to facilitate the sharing mechanism of RWRoute.
+     * Note that the returned map is a newly created snapshot and is intended for reporting only.
      * @return A map between users, i.e., {@link NetWrapper} instances representing by {@link Net} instances,
-     *  and numbers of connections from different users.
+     *  and numbers of connections from different users, or null if there are no users.
      */
     public Map<NetWrapper, Integer> getUsersConnectionCounts() {
+        if (uniqueUserCount() == 0) {
+            return null;
+        }
+        Map<NetWrapper, Integer> usersConnectionCounts = new IdentityHashMap<>();
+        if (user0Count > 0) {
+            usersConnectionCounts.put(user0, user0Count);
+        }
+        if (otherUsers != null) {
+            otherUsers.putAllInto(usersConnectionCounts);
+        }
         return usersConnectionCounts;
     }
 
@@ -469,10 +505,20 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param user The user net in question.
      */
     public void incrementUser(NetWrapper user) {
-        if (usersConnectionCounts == null) {
-            usersConnectionCounts = new IdentityHashMap<>();
+        if (user0Count > 0) {
+            if (user0 == user) {
+                user0Count++;
+                return;
+            }
+        } else if (otherUsers == null || otherUsers.get(user) == 0) {
+            user0 = user;
+            user0Count = 1;
+            return;
+        }
+        if (otherUsers == null) {
+            otherUsers = new IdentityCounter<>();
         }
-        usersConnectionCounts.merge(user, 1, Integer::sum);
+        otherUsers.increment(user);
     }
 
     /**
@@ -480,10 +526,11 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The number of unique {@link NetWrapper} instances in the user map, i.e, the key set size of the user map.
      */
     public int uniqueUserCount() {
-        if (usersConnectionCounts == null) {
-            return 0;
+        int count = (user0Count > 0) ? 1 : 0;
+        if (otherUsers != null) {
+            count += otherUsers.size();
         }
-        return usersConnectionCounts.size();
+        return count;
     }
 
     /**
@@ -494,7 +541,16 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param user The user to be decremented from the user map.
      */
     public void decrementUser(NetWrapper user) {
-        usersConnectionCounts.compute(user, (k,v) -> (v == 1) ? null : v - 1);
+        if (user0Count > 0 && user0 == user) {
+            if (--user0Count == 0) {
+                user0 = null;
+            }
+            return;
+        }
+        otherUsers.decrement(user);
+        if (otherUsers.size() == 0) {
+            otherUsers = null;
+        }
     }
 
     /**
@@ -503,10 +559,13 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The total number of connections of the user.
      */
     public int countConnectionsOfUser(NetWrapper user) {
-        if (usersConnectionCounts == null) {
+        if (user0Count > 0 && user0 == user) {
+            return user0Count;
+        }
+        if (otherUsers == null) {
             return 0;
         }
-        return usersConnectionCounts.getOrDefault(user, 0);
+        return otherUsers.get(user);
     }
 
     /**
@@ -514,10 +573,11 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The number of unique drivers of a rnode, i.e., the key set size of the driver map
      */
     public int uniqueDriverCount() {
-        if (driversCounts == null) {
-            return 0;
+        int count = (driver0Count > 0) ? 1 : 0;
+        if (otherDrivers != null) {
+            count += otherDrivers.size();
         }
-        return driversCounts.size();
+        return count;
     }
 
     /**
@@ -525,10 +585,20 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param parent The driver to be added.
      */
     public void incrementDriver(RouteNode parent) {
-        if (driversCounts == null) {
-            driversCounts = new IdentityHashMap<>();
+        if (driver0Count > 0) {
+            if (driver0 == parent) {
+                driver0Count++;
+                return;
+            }
+        } else if (otherDrivers == null || otherDrivers.get(parent) == 0) {
+            driver0 = parent;
+            driver0Count = 1;
+            return;
+        }
+        if (otherDrivers == null) {
+            otherDrivers = new IdentityCounter<>();
         }
-        driversCounts.merge(parent, 1, Integer::sum);
+        otherDrivers.increment(parent);
     }
 
     /**
@@ -536,7 +606,16 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param parent The driver that should have its count reduced by 1.
      */
     public void decrementDriver(RouteNode parent) {
-        driversCounts.compute(parent, (k,v) -> (v == 1) ? null : v - 1);
+        if (driver0Count > 0 && driver0 == parent) {
+            if (--driver0Count == 0) {
+                driver0 = null;
+            }
+            return;
+        }
+        otherDrivers.decrement(parent);
+        if (otherDrivers.size() == 0) {
+            otherDrivers = null;
+        }
     }
 
     /**
@@ -576,7 +655,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The present congestion of a RouteNode Object.
      */
     public float getPresentCongestionCost() {
-        return presentCongestionCost;
+        return store.getPresentCongestionCost(id);
     }
 
     /**
@@ -584,7 +663,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param presentCongestionCost The present congestion cost to be set.
      */
     public void setPresentCongestionCost(float presentCongestionCost) {
-        this.presentCongestionCost = presentCongestionCost;
+        store.setPresentCongestionCost(id, presentCongestionCost);
     }
 
     /**
@@ -592,7 +671,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @return The historical congestion cost of a RouteNode Object.
      */
     public float getHistoricalCongestionCost() {
-        return historicalCongestionCost;
+        return store.getHistoricalCongestionCost(id);
     }
 
     /**
@@ -600,7 +679,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      * @param historicalCongestionCost The historical congestion cost to be set.
      */
     public void setHistoricalCongestionCost(float historicalCongestionCost) {
-        this.historicalCongestionCost = historicalCongestionCost;
+        store.setHistoricalCongestionCost(id, historicalCongestionCost);
     }
 
     /**
@@ -619,7 +698,7 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      */
     public boolean isVisited(int id) {
         assert(id > 0);
-        return visited == id;
+        return store.getVisited(this.id) == id;
     }
 
     /**
@@ -628,7 +707,23 @@ abstract public class RouteNode implements Comparable<RouteNode> {
      */
     public void setVisited(int id) {
         assert(id > 0);
-        visited = id;
+        store.setVisited(this.id, id);
+    }
+
+    /**
+     * Gets the position of this rnode inside the {@link RouteNodeHeap} it is a member of.
+     * @return The heap index, or {@link RouteNodeHeap#NOT_IN_HEAP} if not in a heap.
+     */
+    int getHeapIndex() {
+        return store.getHeapIndex(id);
+    }
+
+    /**
+     * Sets the position of this rnode inside a {@link RouteNodeHeap}.
+     * @param heapIndex The heap index, or {@link RouteNodeHeap#NOT_IN_HEAP}.
+     */
+    void setHeapIndex(int heapIndex) {
+        store.setHeapIndex(id, heapIndex);
     }
 
     /**
@@ -41,7 +41,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -49,6 +48,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Encapsulation of RWRoute's routing resource graph.
@@ -58,14 +58,23 @@ public class RouteNodeGraph {
     /**
      * A map of nodes to created rnodes
      */
-    protected final Map<Tile, RouteNode[]> nodesMap;
-    private int nodesMapSize;
+    protected final Map<Tile, AtomicReferenceArray<RouteNode>> nodesMap;
+    /** Locks striped by tile, guarding the creation of rnodes when connections are routed concurrently */
+    private final Object[] createLocks;
+    private static final int NUM_CREATE_LOCKS = 64;
+    /** Number of rnodes created, which is also the next dense identifier to be assigned */
+    private final AtomicInteger nodesMapSize;
+
+    /** Storage for the costs and search state of all rnodes in this graph */
+    private RouteNodeStore store;
+
+    /** Optional persistent cache of {@link RouteNodeInfo} objects, or null if not used */
+    private RouteNodeInfoCache nodeInfoCache;
 
     /**
-     * A map of preserved nodes to their nets
+     * An index of preserved nodes to their nets
      */
-    private final Map<Tile, Net[]> preservedMap;
-    private final AtomicInteger preservedMapSize;
+    private NodeOwnershipIndex preservedIndex;
 
     /**
      * A synchronization object tracking the number of outstanding calls to
@@ -78,6 +87,11 @@ public class RouteNodeGraph {
      */
     protected final Collection<RouteNode> targets;
 
+    /**
+     * Flag indicating whether rnodes marked as targets are to be recorded for {@link #resetExpansion()}
+     */
+    private boolean recordTargets;
+
     protected final RuntimeTracker setChildrenTimer;
 
     public static final short SUPER_LONG_LINE_LENGTH_IN_TILES = 60;
@@ -89,7 +103,8 @@ public class RouteNodeGraph {
 
     protected class RouteNodeImpl extends RouteNode {
         protected RouteNodeImpl(Node node, RouteNodeType type) {
-            super(node, type);
+            super(node, type, RouteNodeGraph.this.getRouteNodeInfo(node), RouteNodeGraph.this.store,
+                    RouteNodeGraph.this.nodesMapSize.getAndIncrement());
         }
 
         @Override
@@ -116,14 +131,17 @@ public class RouteNodeGraph {
         public void setTarget(boolean isTarget) {
             if (isTarget) {
                 assert(!isTarget());
-                targets.add(this);
+                if (recordTargets) {
+                    targets.add(this);
+                }
             }
             super.setTarget(isTarget);
         }
 
         @Override
         public RouteNode[] getChildren() {
-            setChildren(setChildrenTimer);
+            // The timer is not thread-safe, so is only used while routing serially
+            setChildren(recordTargets ? setChildrenTimer : null);
             return super.getChildren();
         }
 
@@ -134,12 +152,17 @@ public class RouteNodeGraph {
     }
 
     public RouteNodeGraph(RuntimeTracker setChildrenTimer, Design design) {
-        nodesMap = new HashMap<>();
-        nodesMapSize = 0;
-        preservedMap = new ConcurrentHashMap<>();
-        preservedMapSize = new AtomicInteger();
+        nodesMap = new ConcurrentHashMap<>();
+        nodesMapSize = new AtomicInteger();
+        createLocks = new Object[NUM_CREATE_LOCKS];
+        for (int i = 0; i < NUM_CREATE_LOCKS; i++) {
+            createLocks[i] = new Object();
+        }
+        store = RouteNodeStore.create(false);
+        preservedIndex = new NodeOwnershipIndex();
         asyncPreserveOutstanding = new CountUpDownLatch();
         targets = new ArrayList<>();
+        recordTargets = true;
         this.setChildrenTimer = setChildrenTimer;
 
         Device device = design.getDevice();
@@ -206,32 +229,26 @@ public class RouteNodeGraph {
     }
 
     protected Net preserve(Node node, Net net) {
-        Net oldNet = preserve(node.getTile(), node.getWire(), net);
-        if (oldNet == null) {
-            preservedMapSize.incrementAndGet();
-        }
-        return oldNet;
+        return preservedIndex.claim(node, net);
     }
 
-    private Net preserve(Tile tile, int wireIndex, Net net) {
-        // Assumes that tile/wireIndex describes the base wire on the node
-        // No need to synchronize access to 'nets' since collisions are not expected
-        Net[] nets = preservedMap.computeIfAbsent(tile, (t) -> new Net[t.getWireCount()]);
-        Net oldNet = nets[wireIndex];
-        // Do not clobber the old value
-        if (oldNet == null) {
-            nets[wireIndex] = net;
-        }
-        return oldNet;
+    public void preserve(Net net) {
+        preserve(preservedIndex, net);
     }
 
-    public void preserve(Net net) {
+    /**
+     * Claims all nodes used by the given net in the given index, as done when preserving a net.
+     * @param index The index to claim nodes in.
+     * @param net The net to be preserved.
+     */
+    static void preserve(NodeOwnershipIndex index, Net net) {
         List<SitePinInst> pins = net.getPins();
         SitePinInst sourcePin = net.getSource();
         assert (sourcePin == null || pins.contains(sourcePin));
         SitePinInst altSourcePin = net.getAlternateSource();
         assert (altSourcePin == null || pins.contains(altSourcePin));
         boolean drivenByHierPort = DesignTools.isNetDrivenByHierPort(net);
+        int netId = index.getNetId(net);
         for (SitePinInst pin : net.getPins()) {
             // Do not preserve if pin is not routed unless it's a hier port in which
             // case do so otherwise Vivado will recognize it as a conflict.
@@ -240,12 +257,12 @@ public class RouteNodeGraph {
                 continue;
             }
 
-            preserve(pin.getConnectedNode(), net);
+            index.claim(pin.getConnectedNode(), netId);
         }
 
         for (PIP pip : net.getPIPs()) {
-            preserve(pip.getStartNode(), net);
-            preserve(pip.getEndNode(), net);
+            index.claim(pip.getStartNode(), netId);
+            index.claim(pip.getEndNode(), netId);
         }
     }
 
@@ -268,27 +285,32 @@ public class RouteNodeGraph {
     }
 
     public boolean unpreserve(Node node) {
-        boolean unpreserved = unpreserve(node.getTile(), node.getWire());
-        if (unpreserved) {
-            preservedMapSize.decrementAndGet();
-        }
-        return unpreserved;
+        return preservedIndex.release(node);
     }
 
-    private boolean unpreserve(Tile tile, int wireIndex) {
-        // Assumes that tile/wireIndex describes the base wire on its node
-        Net[] nets = preservedMap.get(tile);
-        if (nets == null || nets[wireIndex] == null)
-            return false;
-        nets[wireIndex] = null;
-        return true;
+    public boolean isPreserved(Node node) {
+        return preservedIndex.isOwned(node);
     }
 
-    public boolean isPreserved(Node node) {
-        Tile tile = node.getTile();
-        int wireIndex = node.getWire();
-        Net[] nets = preservedMap.get(tile);
-        return nets != null && nets[wireIndex] != null;
+    /**
+     * Gets the index of preserved nodes to their nets, which may be shared with other
+     * consumers that need to query node ownership.
+     * @return The preserved node index.
+     */
+    public NodeOwnershipIndex getPreservedIndex() {
+        return preservedIndex;
+    }
+
+    /**
+     * Sets the index of preserved nodes to their nets, e.g. to reuse one that has been kept up to
+     * date across multiple routing runs on the same design.
+     * @param preservedIndex The preserved node index to use.
+     */
+    public void setPreservedIndex(NodeOwnershipIndex preservedIndex) {
+        if (nodesMapSize.get() != 0) {
+            throw new RuntimeException("ERROR: Cannot change preserved node index after rnodes have been created");
+        }
+        this.preservedIndex = preservedIndex;
     }
 
     private static final Set<TileTypeEnum> allowedTileEnums;
@@ -314,13 +336,7 @@ public class RouteNodeGraph {
     }
 
     public Net getPreservedNet(Node node) {
-        return getPreservedNet(node.getTile(), node.getWire());
-    }
-
-    private Net getPreservedNet(Tile tile, int wireIndex) {
-        // Assumes that tile/wireIndex describes the base wire on its node
-        Net[] nets = preservedMap.get(tile);
-        return nets != null ? nets[wireIndex] : null;
+        return preservedIndex.getOwner(node);
     }
 
     public RouteNode getNode(Node node) {
@@ -331,14 +347,14 @@ public class RouteNodeGraph {
 
     private RouteNode getNode(Tile tile, int wireIndex) {
         // Assumes that tile/wireIndex describes the base wire on its node
-        RouteNode[] rnodes = nodesMap.get(tile);
-        return rnodes != null ? rnodes[wireIndex] : null;
+        AtomicReferenceArray<RouteNode> rnodes = nodesMap.get(tile);
+        return rnodes != null ? rnodes.get(wireIndex) : null;
     }
 
     public Iterable<RouteNode> getRnodes() {
         return new Iterable<RouteNode>() {
-            final Iterator<Map.Entry<Tile, RouteNode[]>> it = nodesMap.entrySet().iterator();
-            RouteNode[] curr = it.hasNext() ? it.next().getValue() : null;
+            final Iterator<Map.Entry<Tile, AtomicReferenceArray<RouteNode>>> it = nodesMap.entrySet().iterator();
+            AtomicReferenceArray<RouteNode> curr = it.hasNext() ? it.next().getValue() : null;
             int index = 0;
 
             @Override
@@ -350,8 +366,8 @@ public class RouteNodeGraph {
                             return false;
                         }
                         while(true) {
-                            while (index < curr.length) {
-                                if (curr[index] != null) {
+                            while (index < curr.length()) {
+                                if (curr.get(index) != null) {
                                     return true;
                                 }
                                 index++;
@@ -368,35 +384,99 @@ public class RouteNodeGraph {
                     @Override
                     public RouteNode next() {
                         hasNext();
-                        assert(curr[index] != null);
-                        return curr[index++];
+                        assert(curr.get(index) != null);
+                        return curr.get(index++);
                     }
                 };
             }
         };
     }
 
+    /**
+     * Sets the store used to hold the costs and search state of rnodes. This must be called before
+     * any rnodes have been created.
+     * @param store The store to use.
+     */
+    public void setRouteNodeStore(RouteNodeStore store) {
+        if (nodesMapSize.get() != 0) {
+            throw new RuntimeException("ERROR: Cannot change RouteNodeStore after rnodes have been created");
+        }
+        this.store = store;
+    }
+
+    public RouteNodeStore getRouteNodeStore() {
+        return store;
+    }
+
+    /**
+     * Sets the persistent cache from which the {@link RouteNodeInfo} of new rnodes are looked up.
+     * @param nodeInfoCache The cache to use, or null to always compute RouteNodeInfo objects.
+     */
+    public void setRouteNodeInfoCache(RouteNodeInfoCache nodeInfoCache) {
+        this.nodeInfoCache = nodeInfoCache;
+    }
+
+    public RouteNodeInfoCache getRouteNodeInfoCache() {
+        return nodeInfoCache;
+    }
+
+    protected RouteNodeInfo getRouteNodeInfo(Node node) {
+        return (nodeInfoCache != null) ? nodeInfoCache.get(node) : RouteNodeInfo.get(node);
+    }
+
     public int numNodes() {
-        return nodesMapSize;
+        return nodesMapSize.get();
     }
 
     protected RouteNode create(Node node, RouteNodeType type) {
         return new RouteNodeImpl(node, type);
     }
 
+    /**
+     * Gets the rnode of the given node, creating it if it does not exist yet. Safe to call from
+     * multiple threads: each node is only ever created once, so that no rnode identifiers are wasted.
+     * @param node The node in question.
+     * @param type The type of the rnode, if it needs to be created.
+     * @return The rnode of the node.
+     */
     public RouteNode getOrCreate(Node node, RouteNodeType type) {
         Tile tile = node.getTile();
         int wireIndex = node.getWire();
-        RouteNode[] rnodes = nodesMap.computeIfAbsent(tile, (t) -> new RouteNode[t.getWireCount()]);
-        RouteNode rnode = rnodes[wireIndex];
-        if (rnode == null) {
-            rnode = create(node, type);
-            rnodes[wireIndex] = rnode;
-            nodesMapSize++;
+        AtomicReferenceArray<RouteNode> rnodes = nodesMap.computeIfAbsent(tile,
+                (t) -> new AtomicReferenceArray<>(t.getWireCount()));
+        RouteNode rnode = rnodes.get(wireIndex);
+        if (rnode != null) {
+            return rnode;
+        }
+        synchronized (createLocks[(tile.hashCode() & 0x7fffffff) % NUM_CREATE_LOCKS]) {
+            rnode = rnodes.get(wireIndex);
+            if (rnode == null) {
+                rnode = create(node, type);
+                rnodes.set(wireIndex, rnode);
+            }
         }
         return rnode;
     }
 
+    /**
+     * Sets whether rnodes marked as targets are to be recorded, so that they can be cleared by
+     * {@link #resetExpansion()}. Recording must be disabled when connections are being routed
+     * concurrently, in which case each connection is responsible for clearing its own targets.
+     * @param recordTargets True to record targets.
+     */
+    public void setRecordTargets(boolean recordTargets) {
+        assert(targets.isEmpty());
+        this.recordTargets = recordTargets;
+    }
+
+    /**
+     * Checks whether rnodes marked as targets are being recorded.
+     * @return True if targets are recorded.
+     */
+    public boolean isRecordTargets() {
+        return recordTargets;
+    }
+
     /**
      * Resets the expansion history.
      */
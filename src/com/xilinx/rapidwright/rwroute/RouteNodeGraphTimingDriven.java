@@ -93,6 +93,10 @@ public class RouteNodeGraphTimingDriven extends RouteNodeGraph {
     private final Set<Integer> excludeAboveRclk;
     private final Set<Integer> excludeBelowRclk;
 
+    public DelayEstimatorBase getDelayEstimator() {
+        return delayEstimator;
+    }
+
     protected class RouteNodeImpl extends RouteNodeGraph.RouteNodeImpl {
 
         /** The delay of this rnode computed based on the timing model */
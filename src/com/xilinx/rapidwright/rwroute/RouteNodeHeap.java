@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of {@link RouteNode} objects ordered by their lower bound total path cost.
+ * Unlike {@link java.util.PriorityQueue}, the position of each rnode inside the heap is stored
+ * within the rnode itself, which allows the cost of an rnode already in the heap to be reduced
+ * (decrease-key) in logarithmic time, and the presence of an rnode to be checked in constant time.
+ * An rnode can only be a member of one heap at any given time.
+ */
+public class RouteNodeHeap {
+    /** Heap index of an rnode that is not in any heap */
+    public static final int NOT_IN_HEAP = -1;
+
+    private RouteNode[] heap;
+    private int size;
+
+    public RouteNodeHeap() {
+        this(1024);
+    }
+
+    public RouteNodeHeap(int initialCapacity) {
+        heap = new RouteNode[Math.max(initialCapacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of rnodes in the heap.
+     * @return The number of rnodes in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     * @return True if the heap contains no rnodes.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if an rnode is currently in this heap.
+     * @param rnode The rnode in question.
+     * @return True if the rnode is in this heap.
+     */
+    public boolean contains(RouteNode rnode) {
+        int index = rnode.getHeapIndex();
+        return index != NOT_IN_HEAP && index < size && heap[index] == rnode;
+    }
+
+    /**
+     * Adds an rnode, which must not already be in the heap, using its current lower bound total path cost.
+     * @param rnode The rnode to be added.
+     */
+    public void add(RouteNode rnode) {
+        assert(rnode.getHeapIndex() == NOT_IN_HEAP);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        siftUp(rnode, size++);
+    }
+
+    /**
+     * Restores the heap order after the lower bound total path cost of an rnode already
+     * in the heap has been reduced.
+     * @param rnode The rnode whose cost was reduced.
+     */
+    public void decreaseKey(RouteNode rnode) {
+        assert(contains(rnode));
+        siftUp(rnode, rnode.getHeapIndex());
+    }
+
+    /**
+     * Gets the rnode with the lowest cost without removing it.
+     * @return The rnode with the lowest cost, or null if the heap is empty.
+     */
+    public RouteNode peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Removes and returns the rnode with the lowest cost.
+     * @return The rnode with the lowest cost, or null if the heap is empty.
+     */
+    public RouteNode poll() {
+        if (size == 0) {
+            return null;
+        }
+        RouteNode head = heap[0];
+        head.setHeapIndex(NOT_IN_HEAP);
+        RouteNode last = heap[--size];
+        heap[size] = null;
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return head;
+    }
+
+    /**
+     * Removes all rnodes from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].setHeapIndex(NOT_IN_HEAP);
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    private void siftUp(RouteNode rnode, int index) {
+        final float cost = rnode.getLowerBoundTotalPathCost();
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            RouteNode parent = heap[parentIndex];
+            if (cost >= parent.getLowerBoundTotalPathCost()) {
+                break;
+            }
+            heap[index] = parent;
+            parent.setHeapIndex(index);
+            index = parentIndex;
+        }
+        heap[index] = rnode;
+        rnode.setHeapIndex(index);
+    }
+
+    private void siftDown(RouteNode rnode, int index) {
+        final float cost = rnode.getLowerBoundTotalPathCost();
+        final int half = size >>> 1;
+        while (index < half) {
+            int childIndex = (index << 1) + 1;
+            RouteNode child = heap[childIndex];
+            float childCost = child.getLowerBoundTotalPathCost();
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size) {
+                RouteNode right = heap[rightIndex];
+                float rightCost = right.getLowerBoundTotalPathCost();
+                if (rightCost < childCost) {
+                    childIndex = rightIndex;
+                    child = right;
+                    childCost = rightCost;
+                }
+            }
+            if (cost <= childCost) {
+                break;
+            }
+            heap[index] = child;
+            child.setHeapIndex(index);
+            index = childIndex;
+        }
+        heap[index] = rnode;
+        rnode.setHeapIndex(index);
+    }
+}
@@ -35,7 +35,7 @@ public class RouteNodeInfo {
     public final short endTileYCoordinate;
     public final short length;
 
-    private RouteNodeInfo(RouteNodeType type,
+    RouteNodeInfo(RouteNodeType type,
                           short endTileXCoordinate,
                           short endTileYCoordinate,
                           short length) {
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PartNameTools;
+import com.xilinx.rapidwright.util.FileTools;
+
+/**
+ * A persistent, per-device cache of {@link RouteNodeInfo} objects that is shared across runs.
+ * Computing a RouteNodeInfo requires walking all wires of a {@link Node}, and is a significant
+ * portion of the time taken to (lazily) build the routing resource graph. This cache stores the
+ * results in a file alongside the device's "_db_cache.dat" file, laid out as an open-addressed
+ * hash table that is read with a single bulk read and probed in-place, thus requiring no parsing
+ * when loaded. The file is deliberately not memory-mapped, since a mapping keeps the file open
+ * (and, on Windows, prevents it from being replaced) until the buffer is garbage collected.
+ * Nodes that are not found in the cache are computed as usual and remembered, so that
+ * {@link #save()} can write an updated cache file for subsequent runs targeting the same device.
+ * The file is replaced atomically, so concurrent runs can safely share the same cache file
+ * (though entries added by all but the last writer may be lost).
+ */
+public class RouteNodeInfoCache {
+    /** Identifies a cache file ("RNIC") */
+    private static final int MAGIC = 0x524E4943;
+    /** Must be incremented when the file layout, or RouteNodeType or RouteNodeInfo, change */
+    private static final int VERSION = 1;
+    /** Header contains the magic, version, capacity and number of entries */
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    /** Each entry contains a long key, and the info's type (byte, padded to a short), X, Y and length (shorts) */
+    private static final int ENTRY_BYTES = Long.BYTES + 4 * Short.BYTES;
+    /** Largest table capacity that can be held in a single buffer */
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final long EMPTY_KEY = -1L;
+    private static final RouteNodeType[] TYPES = RouteNodeType.values();
+
+    private final String fileName;
+    /** Table loaded from the cache file, or null if no valid cache file existed */
+    private final ByteBuffer table;
+    private final int capacity;
+    private final int size;
+    /** Entries computed during this run that were not present in the loaded table */
+    private final Map<Long, RouteNodeInfo> misses;
+
+    private RouteNodeInfoCache(String fileName, ByteBuffer table, int capacity, int size) {
+        this.fileName = fileName;
+        this.table = table;
+        this.capacity = capacity;
+        this.size = size;
+        this.misses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the name of the cache file for the given device.
+     * @param device The device in question.
+     * @return The cache file name.
+     */
+    public static String getCacheFileName(Device device) {
+        return FileTools.getRapidWrightResourceFileName(
+                FileTools.getDeviceRouteNodeCache(PartNameTools.getPart(device.getName())));
+    }
+
+    /**
+     * Loads the cache file for the given device, if it exists.
+     * @param device The device in question.
+     * @return A cache instance, which is empty if no valid cache file was found.
+     */
+    public static RouteNodeInfoCache load(Device device) {
+        return load(getCacheFileName(device));
+    }
+
+    /**
+     * Loads the given cache file, if it exists.
+     * @param fileName Name of the cache file, which is also the file written by {@link #save()}.
+     * @return A cache instance, which is empty if no valid cache file was found.
+     */
+    static RouteNodeInfoCache load(String fileName) {
+        if (fileName != null && new File(fileName).exists()) {
+            try (FileChannel fc = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+                long fileSize = fc.size();
+                if (fileSize > HEADER_BYTES + (long) MAX_CAPACITY * ENTRY_BYTES) {
+                    throw new IOException("file is too large");
+                }
+                ByteBuffer buffer = ByteBuffer.allocateDirect((int) fileSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                while (buffer.hasRemaining()) {
+                    if (fc.read(buffer) < 0) {
+                        throw new IOException("unexpected end of file");
+                    }
+                }
+                if (buffer.capacity() >= HEADER_BYTES && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+                    int capacity = buffer.getInt(8);
+                    int size = buffer.getInt(12);
+                    if (Integer.bitCount(capacity) == 1 &&
+                            buffer.capacity() == HEADER_BYTES + (long) capacity * ENTRY_BYTES) {
+                        return new RouteNodeInfoCache(fileName, buffer, capacity, size);
+                    }
+                }
+                System.err.println("WARNING: Ignoring invalid or outdated rnode cache file " + fileName);
+            } catch (IOException e) {
+                System.err.println("WARNING: Unable to read rnode cache file " + fileName + ": " + e.getMessage());
+            }
+        }
+        return new RouteNodeInfoCache(fileName, null, 0, 0);
+    }
+
+    private static long getKey(Node node) {
+        return (((long) node.getTile().getUniqueAddress()) << 32) | (node.getWire() & 0xffffffffL);
+    }
+
+    private static int hash(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private RouteNodeInfo lookup(long key) {
+        if (table == null) {
+            return null;
+        }
+        int mask = capacity - 1;
+        for (int i = hash(key, mask); ; i = (i + 1) & mask) {
+            int offset = HEADER_BYTES + i * ENTRY_BYTES;
+            long k = table.getLong(offset);
+            if (k == EMPTY_KEY) {
+                return null;
+            }
+            if (k == key) {
+                return new RouteNodeInfo(TYPES[table.getShort(offset + 8)],
+                        table.getShort(offset + 10),
+                        table.getShort(offset + 12),
+                        table.getShort(offset + 14));
+            }
+        }
+    }
+
+    /**
+     * Gets the {@link RouteNodeInfo} of a node, from the cache if present, otherwise computing
+     * it (and remembering it for {@link #save()}).
+     * This method is thread-safe.
+     * @param node The node in question.
+     * @return The RouteNodeInfo of the node.
+     */
+    public RouteNodeInfo get(Node node) {
+        long key = getKey(node);
+        RouteNodeInfo info = lookup(key);
+        if (info == null) {
+            info = RouteNodeInfo.get(node);
+            misses.put(key, info);
+        }
+        return info;
+    }
+
+    /**
+     * Gets the number of nodes that were computed since this cache was loaded.
+     * @return The number of nodes not present in the cache file.
+     */
+    public int getNumMisses() {
+        return misses.size();
+    }
+
+    /**
+     * Writes all entries from the loaded cache file, as well as all entries computed since, to a new
+     * cache file that atomically replaces the existing one. Nothing is written if no new entries were computed.
+     */
+    public void save() {
+        if (misses.isEmpty() || fileName == null) {
+            return;
+        }
+        int total = size + misses.size();
+        int newCapacity = Math.max(1024, Integer.highestOneBit(Math.max(total, 1)) << 2);
+        if (newCapacity > MAX_CAPACITY) {
+            System.err.println("WARNING: Too many rnodes to update cache file " + fileName);
+            return;
+        }
+        Path path = Paths.get(fileName).toAbsolutePath();
+        Path tmpPath = null;
+        try {
+            FileTools.makeDirs(path.getParent().toString());
+            tmpPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            int fileSize = HEADER_BYTES + newCapacity * ENTRY_BYTES;
+            // Built in memory and written out, rather than mapped, so that no mapping of the
+            // temporary file remains to prevent it from being moved below
+            ByteBuffer out = ByteBuffer.allocateDirect(fileSize);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            try (FileChannel fc = FileChannel.open(tmpPath, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                out.putInt(0, MAGIC);
+                out.putInt(4, VERSION);
+                out.putInt(8, newCapacity);
+                out.putInt(12, total);
+                for (int i = 0; i < newCapacity; i++) {
+                    out.putLong(HEADER_BYTES + i * ENTRY_BYTES, EMPTY_KEY);
+                }
+                int mask = newCapacity - 1;
+                if (table != null) {
+                    for (int i = 0; i < capacity; i++) {
+                        int offset = HEADER_BYTES + i * ENTRY_BYTES;
+                        long key = table.getLong(offset);
+                        if (key == EMPTY_KEY) {
+                            continue;
+                        }
+                        int newOffset = findEmpty(out, key, mask);
+                        out.putLong(newOffset, key);
+                        out.putLong(newOffset + 8, table.getLong(offset + 8));
+                    }
+                }
+                for (Map.Entry<Long, RouteNodeInfo> e : misses.entrySet()) {
+                    long key = e.getKey();
+                    RouteNodeInfo info = e.getValue();
+                    int newOffset = findEmpty(out, key, mask);
+                    out.putLong(newOffset, key);
+                    out.putShort(newOffset + 8, (short) info.type.ordinal());
+                    out.putShort(newOffset + 10, info.endTileXCoordinate);
+                    out.putShort(newOffset + 12, info.endTileYCoordinate);
+                    out.putShort(newOffset + 14, info.length);
+                }
+                while (out.hasRemaining()) {
+                    fc.write(out);
+                }
+                fc.force(true);
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("INFO: Wrote " + total + " rnodes to cache file " + fileName);
+        } catch (IOException e) {
+            System.err.println("WARNING: Unable to write rnode cache file " + fileName + ": " + e.getMessage());
+            if (tmpPath != null) {
+                new File(tmpPath.toString()).delete();
+            }
+        }
+    }
+
+    private static int findEmpty(ByteBuffer buffer, long key, int mask) {
+        for (int i = hash(key, mask); ; i = (i + 1) & mask) {
+            int offset = HEADER_BYTES + i * ENTRY_BYTES;
+            long k = buffer.getLong(offset);
+            if (k == EMPTY_KEY) {
+                return offset;
+            }
+            assert(k != key);
+        }
+    }
+}
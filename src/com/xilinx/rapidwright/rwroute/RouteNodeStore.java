@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Stores the mutable cost and search state of all {@link RouteNode} instances belonging to
+ * a {@link RouteNodeGraph} in a structure-of-arrays layout, indexed by the dense identifier
+ * assigned to each rnode upon creation (see {@link RouteNode#getId()}).
+ * Compared to storing these values as fields of each rnode, this reduces the size of each
+ * rnode object and the amount of memory that the garbage collector needs to trace.
+ * Storage is allocated in fixed-size chunks so that it can grow without copying.
+ * Two implementations are provided: one backed by primitive arrays on the Java heap (the default)
+ * and one backed by direct {@link ByteBuffer}s that live outside of the Java heap.
+ */
+public abstract class RouteNodeStore {
+    protected static final int CHUNK_BITS = 16;
+    protected static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    protected static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    protected static final int MAX_CHUNKS = 1 << (Integer.SIZE - 1 - CHUNK_BITS);
+
+    /**
+     * Creates a new, empty store.
+     * @param offHeap True to allocate storage outside of the Java heap.
+     * @return The newly created store.
+     */
+    public static RouteNodeStore create(boolean offHeap) {
+        return offHeap ? new OffHeap() : new OnHeap();
+    }
+
+    /**
+     * Initializes the entry for a newly created rnode, allocating storage if necessary.
+     * This method may be called concurrently from multiple threads.
+     * @param id Identifier of the newly created rnode.
+     */
+    public synchronized void initialize(int id) {
+        int chunk = id >>> CHUNK_BITS;
+        if (chunk >= MAX_CHUNKS) {
+            throw new RuntimeException("ERROR: Exceeded maximum number of rnodes");
+        }
+        if (!isChunkAllocated(chunk)) {
+            allocateChunk(chunk);
+        }
+        setPresentCongestionCost(id, RouteNode.initialPresentCongestionCost);
+        setHistoricalCongestionCost(id, RouteNode.initialHistoricalCongestionCost);
+        setUpstreamPathCost(id, 0);
+        setLowerBoundTotalPathCost(id, 0);
+        setVisited(id, 0);
+        setHeapIndex(id, RouteNodeHeap.NOT_IN_HEAP);
+    }
+
+    protected abstract boolean isChunkAllocated(int chunk);
+
+    protected abstract void allocateChunk(int chunk);
+
+    public abstract float getPresentCongestionCost(int id);
+
+    public abstract void setPresentCongestionCost(int id, float cost);
+
+    public abstract float getHistoricalCongestionCost(int id);
+
+    public abstract void setHistoricalCongestionCost(int id, float cost);
+
+    public abstract float getUpstreamPathCost(int id);
+
+    public abstract void setUpstreamPathCost(int id, float cost);
+
+    public abstract float getLowerBoundTotalPathCost(int id);
+
+    public abstract void setLowerBoundTotalPathCost(int id, float cost);
+
+    public abstract int getVisited(int id);
+
+    public abstract void setVisited(int id, int visited);
+
+    public abstract int getHeapIndex(int id);
+
+    public abstract void setHeapIndex(int id, int heapIndex);
+
+    /**
+     * Stores rnode state in primitive arrays on the Java heap.
+     */
+    public static class OnHeap extends RouteNodeStore {
+        private final float[][] presentCongestionCost = new float[MAX_CHUNKS][];
+        private final float[][] historicalCongestionCost = new float[MAX_CHUNKS][];
+        private final float[][] upstreamPathCost = new float[MAX_CHUNKS][];
+        private final float[][] lowerBoundTotalPathCost = new float[MAX_CHUNKS][];
+        private final int[][] visited = new int[MAX_CHUNKS][];
+        private final int[][] heapIndex = new int[MAX_CHUNKS][];
+
+        @Override
+        protected boolean isChunkAllocated(int chunk) {
+            return visited[chunk] != null;
+        }
+
+        @Override
+        protected void allocateChunk(int chunk) {
+            presentCongestionCost[chunk] = new float[CHUNK_SIZE];
+            historicalCongestionCost[chunk] = new float[CHUNK_SIZE];
+            upstreamPathCost[chunk] = new float[CHUNK_SIZE];
+            lowerBoundTotalPathCost[chunk] = new float[CHUNK_SIZE];
+            heapIndex[chunk] = new int[CHUNK_SIZE];
+            visited[chunk] = new int[CHUNK_SIZE];
+        }
+
+        @Override
+        public float getPresentCongestionCost(int id) {
+            return presentCongestionCost[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setPresentCongestionCost(int id, float cost) {
+            presentCongestionCost[id >>> CHUNK_BITS][id & CHUNK_MASK] = cost;
+        }
+
+        @Override
+        public float getHistoricalCongestionCost(int id) {
+            return historicalCongestionCost[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setHistoricalCongestionCost(int id, float cost) {
+            historicalCongestionCost[id >>> CHUNK_BITS][id & CHUNK_MASK] = cost;
+        }
+
+        @Override
+        public float getUpstreamPathCost(int id) {
+            return upstreamPathCost[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setUpstreamPathCost(int id, float cost) {
+            upstreamPathCost[id >>> CHUNK_BITS][id & CHUNK_MASK] = cost;
+        }
+
+        @Override
+        public float getLowerBoundTotalPathCost(int id) {
+            return lowerBoundTotalPathCost[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setLowerBoundTotalPathCost(int id, float cost) {
+            lowerBoundTotalPathCost[id >>> CHUNK_BITS][id & CHUNK_MASK] = cost;
+        }
+
+        @Override
+        public int getVisited(int id) {
+            return visited[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setVisited(int id, int visited) {
+            this.visited[id >>> CHUNK_BITS][id & CHUNK_MASK] = visited;
+        }
+
+        @Override
+        public int getHeapIndex(int id) {
+            return heapIndex[id >>> CHUNK_BITS][id & CHUNK_MASK];
+        }
+
+        @Override
+        public void setHeapIndex(int id, int heapIndex) {
+            this.heapIndex[id >>> CHUNK_BITS][id & CHUNK_MASK] = heapIndex;
+        }
+    }
+
+    /**
+     * Stores rnode state in direct buffers outside of the Java heap. The amount of memory
+     * available is bounded by the JVM's -XX:MaxDirectMemorySize setting (which defaults to the
+     * maximum heap size), and is released once this store becomes unreachable.
+     */
+    public static class OffHeap extends RouteNodeStore {
+        private final FloatBuffer[] presentCongestionCost = new FloatBuffer[MAX_CHUNKS];
+        private final FloatBuffer[] historicalCongestionCost = new FloatBuffer[MAX_CHUNKS];
+        private final FloatBuffer[] upstreamPathCost = new FloatBuffer[MAX_CHUNKS];
+        private final FloatBuffer[] lowerBoundTotalPathCost = new FloatBuffer[MAX_CHUNKS];
+        private final IntBuffer[] visited = new IntBuffer[MAX_CHUNKS];
+        private final IntBuffer[] heapIndex = new IntBuffer[MAX_CHUNKS];
+
+        private static ByteBuffer allocate() {
+            return ByteBuffer.allocateDirect(CHUNK_SIZE * Integer.BYTES).order(ByteOrder.nativeOrder());
+        }
+
+        @Override
+        protected boolean isChunkAllocated(int chunk) {
+            return visited[chunk] != null;
+        }
+
+        @Override
+        protected void allocateChunk(int chunk) {
+            presentCongestionCost[chunk] = allocate().asFloatBuffer();
+            historicalCongestionCost[chunk] = allocate().asFloatBuffer();
+            upstreamPathCost[chunk] = allocate().asFloatBuffer();
+            lowerBoundTotalPathCost[chunk] = allocate().asFloatBuffer();
+            heapIndex[chunk] = allocate().asIntBuffer();
+            visited[chunk] = allocate().asIntBuffer();
+        }
+
+        @Override
+        public float getPresentCongestionCost(int id) {
+            return presentCongestionCost[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setPresentCongestionCost(int id, float cost) {
+            presentCongestionCost[id >>> CHUNK_BITS].put(id & CHUNK_MASK, cost);
+        }
+
+        @Override
+        public float getHistoricalCongestionCost(int id) {
+            return historicalCongestionCost[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setHistoricalCongestionCost(int id, float cost) {
+            historicalCongestionCost[id >>> CHUNK_BITS].put(id & CHUNK_MASK, cost);
+        }
+
+        @Override
+        public float getUpstreamPathCost(int id) {
+            return upstreamPathCost[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setUpstreamPathCost(int id, float cost) {
+            upstreamPathCost[id >>> CHUNK_BITS].put(id & CHUNK_MASK, cost);
+        }
+
+        @Override
+        public float getLowerBoundTotalPathCost(int id) {
+            return lowerBoundTotalPathCost[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setLowerBoundTotalPathCost(int id, float cost) {
+            lowerBoundTotalPathCost[id >>> CHUNK_BITS].put(id & CHUNK_MASK, cost);
+        }
+
+        @Override
+        public int getVisited(int id) {
+            return visited[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setVisited(int id, int visited) {
+            this.visited[id >>> CHUNK_BITS].put(id & CHUNK_MASK, visited);
+        }
+
+        @Override
+        public int getHeapIndex(int id) {
+            return heapIndex[id >>> CHUNK_BITS].get(id & CHUNK_MASK);
+        }
+
+        @Override
+        public void setHeapIndex(int id, int heapIndex) {
+            this.heapIndex[id >>> CHUNK_BITS].put(id & CHUNK_MASK, heapIndex);
+        }
+    }
+}
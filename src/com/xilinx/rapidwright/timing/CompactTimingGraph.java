@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.timing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * A compressed sparse row (CSR) form of a {@link TimingGraph} on which arrival and required
+ * times are propagated. Vertices are identified by their index in topological order and edges by
+ * their index in the out-edge array, so that propagation walks primitive arrays rather than the
+ * hash-based adjacency of the JGraphT graph. Computed times are written back to the
+ * {@link TimingVertex} objects so that queries on them remain valid.
+ * <p>
+ * Vertices are also bucketed by level, the length of the longest path reaching them, so that every
+ * edge goes from a lower to a higher level. Full computations process one level at a time, with
+ * the vertices of large levels split across threads using {@link ParallelismTools}. Since each
+ * vertex only reads values from other levels, results do not depend on the number of threads.
+ * Incremental updates, which usually touch few vertices, run on the calling thread.
+ */
+public class CompactTimingGraph {
+
+    /** Vertices, in topological order */
+    private final TimingVertex[] vertices;
+    /** Edges, grouped by source vertex */
+    private final TimingEdge[] edges;
+    private final int[] edgeSrc;
+    private final int[] edgeDst;
+    private final float[] edgeDelay;
+    /** Out-edges of vertex v are edges outStart[v] to outStart[v+1]-1 */
+    private final int[] outStart;
+    /** In-edges of vertex v are inEdges[inStart[v]] to inEdges[inStart[v+1]-1], by ascending source */
+    private final int[] inStart;
+    private final int[] inEdges;
+    private final float[] arrival;
+    private final float[] required;
+    /** The incoming edge leading to the maximum arrival time of each vertex, -1 if none */
+    private final int[] prevEdge;
+    /** Index of the super sink vertex, -1 if there is none */
+    private final int superSink;
+    /** Vertices of level l are levelVertices[levelStart[l]] to levelVertices[levelStart[l+1]-1] */
+    private final int[] levelStart;
+    private final int[] levelVertices;
+
+    /** Levels with fewer vertices than this are processed on the calling thread */
+    static final int MIN_PARALLEL_LEVEL_SIZE = 1 << 12;
+    /** Minimum number of vertices processed by each parallel task */
+    private static final int MIN_PARALLEL_TASK_SIZE = 1 << 10;
+
+    /** Edges whose delay changed since arrival and required times were last brought up to date */
+    private final Queue<TimingEdge> dirtyEdges = new ConcurrentLinkedQueue<>();
+    /** Flags whether stored times can be updated incrementally from dirtyEdges */
+    private boolean timingValid;
+    /** The requirement used when required times were last computed */
+    private float lastRequirement;
+    /** Vertices pending an incremental update */
+    private final BitSet pending = new BitSet();
+
+    /**
+     * Creates the compact form of a timing graph. Each vertex is assigned its topological index and
+     * each edge its index in this graph.
+     * @param graph The timing graph.
+     * @param orderedVertices All vertices of the graph, in topological order.
+     */
+    public CompactTimingGraph(TimingGraph graph, List<TimingVertex> orderedVertices) {
+        int numVertices = orderedVertices.size();
+        int numEdges = graph.edgeSet().size();
+        vertices = orderedVertices.toArray(new TimingVertex[numVertices]);
+        edges = new TimingEdge[numEdges];
+        edgeSrc = new int[numEdges];
+        edgeDst = new int[numEdges];
+        edgeDelay = new float[numEdges];
+        outStart = new int[numVertices + 1];
+        inStart = new int[numVertices + 1];
+        inEdges = new int[numEdges];
+        arrival = new float[numVertices];
+        required = new float[numVertices];
+        prevEdge = new int[numVertices];
+        Arrays.fill(prevEdge, -1);
+
+        for (int v = 0; v < numVertices; v++) {
+            vertices[v].setTopologicalIndex(v);
+        }
+        int e = 0;
+        for (int v = 0; v < numVertices; v++) {
+            outStart[v] = e;
+            for (TimingEdge edge : graph.outgoingEdgesOf(vertices[v])) {
+                edges[e] = edge;
+                edge.setIndex(e);
+                edgeSrc[e] = v;
+                edgeDst[e] = graph.getEdgeTarget(edge).getTopologicalIndex();
+                edgeDelay[e] = edge.getDelay();
+                inStart[edgeDst[e] + 1]++;
+                e++;
+            }
+        }
+        outStart[numVertices] = e;
+        for (int v = 0; v < numVertices; v++) {
+            inStart[v + 1] += inStart[v];
+        }
+        // Edges are grouped by ascending source, so each vertex's in-edges are too
+        int[] next = Arrays.copyOf(inStart, numVertices);
+        for (e = 0; e < numEdges; e++) {
+            inEdges[next[edgeDst[e]]++] = e;
+        }
+        superSink = graph.superSink == null ? -1 : graph.superSink.getTopologicalIndex();
+
+        int[] level = new int[numVertices];
+        int numLevels = 0;
+        for (int v = 0; v < numVertices; v++) {
+            int l = 0;
+            for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+                l = Math.max(l, level[edgeSrc[inEdges[i]]] + 1);
+            }
+            level[v] = l;
+            numLevels = Math.max(numLevels, l + 1);
+        }
+        levelStart = new int[numLevels + 1];
+        for (int v = 0; v < numVertices; v++) {
+            levelStart[level[v] + 1]++;
+        }
+        for (int l = 0; l < numLevels; l++) {
+            levelStart[l + 1] += levelStart[l];
+        }
+        levelVertices = new int[numVertices];
+        next = Arrays.copyOf(levelStart, numLevels);
+        for (int v = 0; v < numVertices; v++) {
+            levelVertices[next[level[v]]++] = v;
+        }
+    }
+
+    public int getNumLevels() {
+        return levelStart.length - 1;
+    }
+
+    public int getNumVertices() {
+        return vertices.length;
+    }
+
+    public int getNumEdges() {
+        return edges.length;
+    }
+
+    /**
+     * Checks if a vertex belongs to this graph.
+     * @param v The vertex.
+     * @return True if the vertex is in this graph.
+     */
+    public boolean contains(TimingVertex v) {
+        int index = v.getTopologicalIndex();
+        return index >= 0 && index < vertices.length && vertices[index] == v;
+    }
+
+    /**
+     * Copies the current delay of a timing edge into this graph. If timing is valid and the delay
+     * changed, the edge is recorded for the next incremental update. Safe to call from multiple
+     * threads for distinct edges.
+     * @param edge The timing edge.
+     */
+    public void updateEdgeDelay(TimingEdge edge) {
+        int e = edge.getIndex();
+        if (e < 0 || e >= edges.length || edges[e] != edge) return;
+        float delay = edge.getDelay();
+        if (edgeDelay[e] == delay) return;
+        edgeDelay[e] = delay;
+        if (timingValid) {
+            dirtyEdges.add(edge);
+        }
+    }
+
+    /**
+     * Checks if the stored arrival and required times are the result of a complete computation
+     * that has since only been invalidated by edge delay changes.
+     * @return True if timing can be updated incrementally.
+     */
+    public boolean isTimingValid() {
+        return timingValid;
+    }
+
+    /**
+     * Discards incremental state, so that the next update computes all times.
+     */
+    public void invalidateTiming() {
+        timingValid = false;
+        dirtyEdges.clear();
+    }
+
+    /**
+     * Computes the arrival time of every vertex in topological order.
+     */
+    public void computeArrivalTimes() {
+        forEachVertexByLevel(false, (v) -> {
+            updateArrivalTime(v);
+            writeBackArrivalTime(v);
+        });
+    }
+
+    /**
+     * Computes the required time of every vertex in reverse topological order. Vertices without
+     * fan-out other than the super sink are given a required time of {@link Short#MAX_VALUE}.
+     * Arrival times must have been computed.
+     * @param requirement The required time at the super sink.
+     */
+    public void computeRequiredTimes(float requirement) {
+        forEachVertexByLevel(true, (v) -> {
+            updateRequiredTime(v, requirement);
+            vertices[v].setRequiredTime(required[v]);
+        });
+    }
+
+    /**
+     * Applies a task to every vertex, one level at a time. Vertices within a level may be
+     * processed concurrently, so the task must only write state belonging to its vertex.
+     * @param reverse True to visit levels from the last to the first.
+     * @param task The task, given the vertex index.
+     */
+    private void forEachVertexByLevel(boolean reverse, IntConsumer task) {
+        boolean parallel = ParallelismTools.getParallel();
+        int numLevels = getNumLevels();
+        for (int i = 0; i < numLevels; i++) {
+            int l = reverse ? numLevels - 1 - i : i;
+            int start = levelStart[l];
+            int end = levelStart[l + 1];
+            if (!parallel || end - start < MIN_PARALLEL_LEVEL_SIZE) {
+                for (int j = start; j < end; j++) {
+                    task.accept(levelVertices[j]);
+                }
+                continue;
+            }
+            int taskSize = Math.max(MIN_PARALLEL_TASK_SIZE,
+                    (end - start + ParallelismTools.maxParallelism() - 1) / ParallelismTools.maxParallelism());
+            List<Runnable> tasks = new ArrayList<>();
+            for (int from = start; from < end; from += taskSize) {
+                final int taskStart = from;
+                final int taskEnd = Math.min(from + taskSize, end);
+                tasks.add(() -> {
+                    for (int j = taskStart; j < taskEnd; j++) {
+                        task.accept(levelVertices[j]);
+                    }
+                });
+            }
+            ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        }
+    }
+
+    /**
+     * Updates the arrival time of vertices affected by edge delay changes since the last update,
+     * visiting only the fan-out cones of those edges in topological order. Propagation stops at
+     * any vertex whose arrival time is unchanged. Computes all arrival times if timing is not valid.
+     */
+    public void updateArrivalTimes() {
+        if (!timingValid) {
+            computeArrivalTimes();
+            return;
+        }
+        pending.clear();
+        for (TimingEdge edge : dirtyEdges) {
+            pending.set(edgeDst[edge.getIndex()]);
+        }
+        for (int v = pending.nextSetBit(0); v >= 0; v = pending.nextSetBit(v + 1)) {
+            boolean changed = updateArrivalTime(v);
+            writeBackArrivalTime(v);
+            if (!changed) continue;
+            for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                pending.set(edgeDst[e]);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * Updates the required time of vertices affected by edge delay changes since the last update,
+     * visiting only the fan-in cones of those edges in reverse topological order. A different
+     * requirement than last time changes the required time of every vertex that reaches the super
+     * sink, in which case all required times are recomputed. Arrival times must be up to date.
+     * Afterwards, timing is valid for incremental updates.
+     * @param requirement The required time at the super sink.
+     */
+    public void updateRequiredTimes(float requirement) {
+        if (!timingValid || requirement != lastRequirement) {
+            computeRequiredTimes(requirement);
+        } else {
+            pending.clear();
+            for (TimingEdge edge : dirtyEdges) {
+                pending.set(edgeSrc[edge.getIndex()]);
+            }
+            for (int v = pending.previousSetBit(vertices.length - 1); v >= 0; v = pending.previousSetBit(v - 1)) {
+                if (!updateRequiredTime(v, requirement)) continue;
+                vertices[v].setRequiredTime(required[v]);
+                for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+                    pending.set(edgeSrc[inEdges[i]]);
+                }
+            }
+            pending.clear();
+        }
+        dirtyEdges.clear();
+        lastRequirement = requirement;
+        timingValid = true;
+    }
+
+    /**
+     * Recomputes the arrival time of a vertex from its fan-in. Ties go to the earliest source in
+     * topological order.
+     * @return True if the arrival time changed.
+     */
+    private boolean updateArrivalTime(int v) {
+        float max = 0;
+        int prev = -1;
+        for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+            int e = inEdges[i];
+            float a = arrival[edgeSrc[e]] + edgeDelay[e];
+            if (prev == -1 || a > max) {
+                max = a;
+                prev = e;
+            }
+        }
+        prevEdge[v] = prev;
+        if (arrival[v] == max) return false;
+        arrival[v] = max;
+        return true;
+    }
+
+    private void writeBackArrivalTime(int v) {
+        int prev = prevEdge[v];
+        vertices[v].setArrivalTime(arrival[v]);
+        vertices[v].setPrev(prev == -1 ? null : vertices[edgeSrc[prev]]);
+    }
+
+    /**
+     * Recomputes the required time of a vertex from its fan-out.
+     * @return True if the required time changed.
+     */
+    private boolean updateRequiredTime(int v, float requirement) {
+        float min;
+        if (outStart[v] == outStart[v + 1]) {
+            // NOTE: there are dangling timing vertices not connected to super sink
+            min = (v == superSink) ? requirement : Short.MAX_VALUE;
+        } else {
+            min = Float.MAX_VALUE;
+            for (int e = outStart[v]; e < outStart[v + 1]; e++) {
+                min = Float.min(min, required[edgeDst[e]] - edgeDelay[e]);
+            }
+        }
+        if (required[v] == min) return false;
+        required[v] = min;
+        return true;
+    }
+
+    /**
+     * Gets the edges of the critical path ending at the given vertex, following the incoming edge
+     * with the maximum arrival time from the last arrival time computation.
+     * @param sink The last vertex of the path.
+     * @return The edges of the path, in order from its start.
+     */
+    public List<TimingEdge> getCriticalTimingEdgesInOrder(TimingVertex sink) {
+        List<TimingEdge> path = new ArrayList<>();
+        for (int e = prevEdge[sink.getTopologicalIndex()]; e != -1; e = prevEdge[edgeSrc[e]]) {
+            path.add(edges[e]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
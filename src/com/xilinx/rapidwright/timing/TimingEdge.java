@@ -55,6 +55,8 @@ public class TimingEdge extends DefaultEdge {
      * because intra-site delay does not change during routing and needs to be stored separately
      */
     private float intraSiteDelay = 0.0f;
+    /** Index of this edge in the {@link CompactTimingGraph} of its TimingGraph, -1 if none */
+    private int index = -1;
 
     private SitePinInst first;
     private SitePinInst second;
@@ -271,20 +273,39 @@ public class TimingEdge extends DefaultEdge {
 
     public void setRouteDelay(float routeDelay) {
         this.netDelay = this.intraSiteDelay + routeDelay;
-        this.delay = logicDelay + this.netDelay;
+        updateDelay(logicDelay + this.netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
         else
             System.err.println("timing graph does not contain timing edge");
     }
 
+    /**
+     * Sets the total delay and passes it on to the compact form of the TimingGraph.
+     * @param delay Total delay in picoseconds.
+     */
+    private void updateDelay(float delay) {
+        this.delay = delay;
+        if (timingGraph != null) {
+            timingGraph.updateTimingEdgeDelay(this);
+        }
+    }
+
+    protected int getIndex() {
+        return index;
+    }
+
+    protected void setIndex(int index) {
+        this.index = index;
+    }
+
     /**
      * Sets the net-related component of the delay in ps for this edge.
      * @param netDelay Net delay in picoseconds.
      */
     public void setNetDelay(float netDelay) {
         this.netDelay = netDelay;
-        this.delay = logicDelay + netDelay;
+        updateDelay(logicDelay + netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
     }
@@ -295,7 +316,7 @@ public class TimingEdge extends DefaultEdge {
      */
     public void setLogicDelay(float logicDelay) {
         this.logicDelay = logicDelay;
-        this.delay = logicDelay+netDelay;
+        updateDelay(logicDelay + netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
     }
@@ -68,6 +68,9 @@ import org.jgrapht.traverse.TopologicalOrderIterator;
 /**
  * A TimingGraph is an acyclic weighted-directed graph representing logic delays and physical net 
  * delays based on analyzing the circuits within {@link Design} objects.
+ * The JGraphT graph is used while building and by path-based queries and debug output such as
+ * {@link #generateGraphvizDotVisualization(String)}, while arrival and required times are
+ * propagated on its {@link CompactTimingGraph}.
  */
 public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, TimingEdge> {
 
@@ -95,6 +98,8 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
     private Map<EDIFHierPortInst, SitePinInst> edifHPortMap = new HashMap<>();
     private List<TimingVertex> orderedTimingVertices = new ArrayList<>();
     private List<TimingVertex> reversedOrderedTimingVertices = new ArrayList<>();
+    /** The compact form of this graph on which timing is propagated, null until ordered */
+    private CompactTimingGraph compactGraph;
     private ClkRouteTiming clkRouteTiming = null;
     private RuntimeTrackerTree routerTimer;
     
@@ -260,32 +265,47 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
     }
     
     /**
-     * Creates and Sets the lists of ordered TimingVertices
+     * Creates and Sets the lists of ordered TimingVertices, and the {@link CompactTimingGraph}
+     * that follows the same order.
      */
     public void setOrderedTimingVertexLists() {
+        orderedTimingVertices.clear();
         TopologicalOrderIterator<TimingVertex, TimingEdge> orderIterator = new TopologicalOrderIterator<>(this);
         while (orderIterator.hasNext()) {
             TimingVertex v = orderIterator.next();
             orderedTimingVertices.add(v);
         }
         reversedOrderedTimingVertices = getReversedOrder();
+        compactGraph = new CompactTimingGraph(this, orderedTimingVertices);
     }
-    
+
     /**
-     * Computes/recomputes the arrival time stored at each vertex of the graph using TopologicalOrderIterator
+     * Drops the topological order and compact form of this graph after its structure changed, so
+     * that they will be recomputed.
      */
-    public void computeArrivalTimesTopologicalOrder() {
-        if (orderedTimingVertices.isEmpty()) {
+    private void invalidateTopologicalOrder() {
+        orderedTimingVertices.clear();
+        reversedOrderedTimingVertices.clear();
+        compactGraph = null;
+    }
+
+    /**
+     * Gets the compact form of this graph on which arrival and required times are propagated,
+     * creating it if the graph has not been ordered since it last changed.
+     * @return The compact timing graph.
+     */
+    public CompactTimingGraph getCompactTimingGraph() {
+        if (compactGraph == null) {
             setOrderedTimingVertexLists();
         }
-        for (TimingVertex v : orderedTimingVertices) {
-            Set<TimingEdge> outgoings = outgoingEdgesOf(v);
-            if (inDegreeOf(v) == 0) v.setArrivalTime(0);
-            for (TimingEdge e : outgoings) {
-                float arrival = e.getSrc().getArrivalTime() + e.getDelay();
-                e.getDst().setMaxArrivalTime(arrival, v);
-            }
-        }
+        return compactGraph;
+    }
+
+    /**
+     * Computes/recomputes the arrival time stored at each vertex of the graph in topological order
+     */
+    public void computeArrivalTimesTopologicalOrder() {
+        getCompactTimingGraph().computeArrivalTimes();
     }
 
     /**
@@ -306,28 +326,12 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
     }
     
     /**
-     * Set the required time of each timing vertex in the graph
+     * Set the required time of each timing vertex in the graph, replacing any previous values.
+     * Arrival times must have been computed.
      * @param requirement, the required time of the design
      */
     public void setTimingRequirementTopologicalOrder(float requirement) {
-        if (reversedOrderedTimingVertices.isEmpty()) {
-            reversedOrderedTimingVertices = getReversedOrder();
-        }
-        for (TimingVertex v : reversedOrderedTimingVertices) {
-            Set<TimingEdge> incomings = incomingEdgesOf(v);
-            if (outDegreeOf(v) == 0) {
-                if (v.equals(superSink)) {
-                    v.setMinRequiredTime(requirement);
-                } else {
-                    v.setMinRequiredTime(Short.MAX_VALUE);//NOTE: there are dangling timing vertices not connected to super sink
-                }
-            }
-            
-            for (TimingEdge e : incomings) {
-                float remainingRequiredTime = e.getDst().getRequiredTime() - e.getDelay();
-                e.getSrc().setMinRequiredTime(remainingRequiredTime);
-            }
-        }
+        getCompactTimingGraph().computeRequiredTimes(requirement);
     }
     
     /**
@@ -339,8 +343,56 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
             v.resetRequiredTime();
             v.setPrev(null);
         }
+        if (compactGraph != null) {
+            compactGraph.invalidateTiming();
+        }
     }
-    
+
+    /**
+     * Checks if the arrival and required times stored at each vertex are the result of a complete
+     * computation that has since only been invalidated by edge delay changes, such that
+     * {@link #updateArrivalTimesIncremental()} and {@link #updateRequiredTimesIncremental(float)}
+     * can bring them up to date.
+     * @return True if timing can be updated incrementally, false if a full computation is needed.
+     */
+    public boolean isIncrementalTimingValid() {
+        return compactGraph != null && compactGraph.isTimingValid();
+    }
+
+    /**
+     * Passes a changed timing edge delay on to the compact form of this graph, where it is
+     * recorded for the next incremental update. Safe to call from multiple threads.
+     * @param e The timing edge whose delay changed.
+     */
+    protected void updateTimingEdgeDelay(TimingEdge e) {
+        CompactTimingGraph compactGraph = this.compactGraph;
+        if (compactGraph != null) {
+            compactGraph.updateEdgeDelay(e);
+        }
+    }
+
+    /**
+     * Updates the arrival time of vertices affected by edge delay changes since the last update,
+     * visiting only the fan-out cones of those edges. If incremental timing is not valid, all
+     * arrival times are computed.
+     * @see CompactTimingGraph#updateArrivalTimes()
+     */
+    public void updateArrivalTimesIncremental() {
+        getCompactTimingGraph().updateArrivalTimes();
+    }
+
+    /**
+     * Updates the required time of vertices affected by edge delay changes since the last update,
+     * visiting only the fan-in cones of those edges. A different requirement than last time
+     * changes every required time upstream of the super sink, so all are recomputed then.
+     * Arrival times must be up to date.
+     * @param requirement The required time at the super sink.
+     * @see CompactTimingGraph#updateRequiredTimes(float)
+     */
+    public void updateRequiredTimesIncremental(float requirement) {
+        getCompactTimingGraph().updateRequiredTimes(requirement);
+    }
+
     /**
      * Get the maximum delay, i.e., the maximum arrival time, and corresponding timing path sink of the design
      */
@@ -362,6 +414,9 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
      * @return A list of timing edges consisting of the critical path
      */
     public List<TimingEdge> getCriticalTimingEdgesInOrder(TimingVertex maxV) {
+        if (compactGraph != null && compactGraph.contains(maxV)) {
+            return compactGraph.getCriticalTimingEdgesInOrder(maxV);
+        }
         List<TimingEdge> criticalTimingEdges = new ArrayList<>();
         TimingVertex timingVertex = maxV;
         
@@ -509,6 +564,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
             if (!containsEdge(e)) {
                 result &= safeAddEdge(e.getSrc(), e.getDst(), e);
                 setEdgeWeight(e, e.getDelay());
+                invalidateTopologicalOrder();
             }
         }
         return result;
@@ -531,6 +587,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
             for ( TimingEdge e : edges) {
                 removeEdge(e);
             }
+            invalidateTopologicalOrder();
             result = true;
         }
         if (result)
@@ -1775,7 +1832,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
         }
 
         // Clear the topological order so that it will be recomputed
-        orderedTimingVertices.clear();
+        invalidateTopologicalOrder();
         return 1;
     }
     
@@ -146,13 +146,14 @@ public class TimingManager {
     }
     
     /**
-     * Calculates and returns the maximum arrival time and the associated TimingVertex
+     * Calculates and returns the maximum arrival time and the associated TimingVertex.
+     * After the first call, only the timing of vertices affected by timing edges whose delay has
+     * changed since the previous call is recomputed.
      */
     public Pair<Float,TimingVertex> calculateArrivalRequiredTimes() {
         Pair<Float, TimingVertex> maxs;
 
-        timingGraph.resetRequiredAndArrivalTime();
-        timingGraph.computeArrivalTimesTopologicalOrder();
+        timingGraph.updateArrivalTimesIncremental();
 
         maxs = timingGraph.getMaxDelay();
         float maxArrival = maxs.getFirst();
@@ -163,10 +164,19 @@ public class TimingManager {
         // If timingRequirement > maxArrival, setting it to maxArrival would mean that
         // minimum slack is zero leading to unnecessary router effort.
         float normalizedRequired = Float.max(maxArrival, timingRequirement);
-        timingGraph.setTimingRequirementTopologicalOrder(normalizedRequired);
+        timingGraph.updateRequiredTimesIncremental(normalizedRequired);
         
         return maxs;
     }
+
+    /**
+     * Gets the worst slack of the design against its timing requirement, as of the last call to
+     * {@link #calculateArrivalRequiredTimes()}. This does not traverse the TimingGraph.
+     * @return The worst slack in picoseconds.
+     */
+    public float getWorstSlack() {
+        return timingRequirement - timingGraph.getMaxDelay().getFirst();
+    }
     
     /**
      * Sets critical path delay pessimism factors.
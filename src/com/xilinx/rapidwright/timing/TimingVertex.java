@@ -37,6 +37,9 @@ public class TimingVertex {
     private boolean printed;
     /** The parent TimingVertex that leads to the maximum arrival time of this one*/
     private TimingVertex prev;
+    /** Position of this vertex in the topological order of its TimingGraph, which is also its
+     * index in the {@link CompactTimingGraph}, -1 if not ordered */
+    private int topologicalIndex = -1;
 
     /**
      * Creates a vertex for insertion into the TimingGraph.
@@ -125,7 +128,7 @@ public class TimingVertex {
         } else {
             //System.out.println("Setting required time for "+this+" to:"+requiredTime);
         }
-        slack = requiredTime - arrivalTime;
+        slack = (arrivalTime == null) ? null : requiredTime - arrivalTime;
     }
 
     public void setMinRequiredTime(float requiredTime) {
@@ -296,4 +299,12 @@ public class TimingVertex {
     public void setPrev(TimingVertex prev) {
         this.prev = prev;
     }
+
+    protected int getTopologicalIndex() {
+        return topologicalIndex;
+    }
+
+    protected void setTopologicalIndex(int topologicalIndex) {
+        this.topologicalIndex = topologicalIndex;
+    }
 }
@@ -24,23 +24,36 @@
 
 package com.xilinx.rapidwright.timing.delayestimator;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static java.lang.Math.max;
 
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.IntentCode;
 import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PartNameTools;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.SiteTypeEnum;
 import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.device.TileTypeEnum;
 import com.xilinx.rapidwright.timing.GroupDelayType;
 import com.xilinx.rapidwright.timing.TimingModel;
+import com.xilinx.rapidwright.util.FileTools;
 
 
 /**
@@ -70,6 +83,30 @@ public class DelayEstimatorBase<T extends InterconnectInfo> implements java.io.S
     protected transient Device device;
     protected boolean useUTurnNodes;
 
+    // Delays are looked up through two memoized tables instead of being derived from wire names.
+    // The delay class of a wire only depends on its tile type and wire index, while its delay also
+    // depends on the INT tile coordinate of the node. If a file is set with
+    // setDelayLookupTableFileName(), the class table is loaded from it on first use and saved to it
+    // with saveDelayLookupTable().
+    private static final InterconnectInfo.NodeGroupType[] NODE_GROUP_TYPES = InterconnectInfo.NodeGroupType.values();
+    private static final InterconnectInfo.Direction[] DIRECTIONS = InterconnectInfo.Direction.values();
+    private static final int DELAY_LUT_MAGIC = 0x444C5554;
+    private static final int DELAY_LUT_VERSION = 3;
+    /**
+     * Delay class of the base wire of exit nodes, by tile type ordinal and wire index. 0 means not
+     * yet computed, a positive value c identifies node group type and direction c-1 (see
+     * {@link #getNodeGroupDelays(int)}), and a negative value c is the fixed delay -c-1 of a CLE_IN wire.
+     * Entries of a row are only written while holding that row's lock, so that the row can be saved
+     * while other threads are still estimating delays.
+     */
+    private transient short[][] delayClasses;
+    private transient volatile boolean delayClassesLoaded;
+    private transient volatile boolean delayClassesModified;
+    /** File from which delay classes are loaded and to which they are saved, null if not persisted */
+    private transient String delayLookupTableFileName;
+    /** Delays of each node group type and direction, indexed by the begin INT tile coordinate */
+    private transient AtomicReferenceArray<short[]> nodeGroupDelays;
+
 
     /**
      * Constructor from a device.
@@ -127,14 +164,230 @@ public class DelayEstimatorBase<T extends InterconnectInfo> implements java.io.S
      * @return delay in ps
      */
     public short getDelayOf(Node exitNode) {
+        Tile tile = exitNode.getTile();
+        int wire = exitNode.getWire();
+        short[] classes = getDelayClasses(tile);
+        short delayClass = classes[wire];
+        if (delayClass == 0) {
+            delayClass = computeDelayClass(exitNode);
+            synchronized (classes) {
+                classes[wire] = delayClass;
+            }
+            delayClassesModified = true;
+        }
+        if (delayClass < 0) {
+            return (short) (-delayClass - 1);
+        }
+
+        int nodeGroupClass = delayClass - 1;
+        T.NodeGroupType ng = NODE_GROUP_TYPES[nodeGroupClass / DIRECTIONS.length];
+        short x = (short) tile.getTileXCoordinate();
+        short y = (short) tile.getTileYCoordinate();
+        short begin = ng.orientation() == T.Orientation.HORIZONTAL ? x : y;
+        short[] delays = getNodeGroupDelays(nodeGroupClass);
+        if (begin >= 0 && begin < delays.length) {
+            return delays[begin];
+        }
+        TermInfo termInfo = new TermInfo(x, y, DIRECTIONS[nodeGroupClass % DIRECTIONS.length], ng);
+        return calcNodeGroupDelay(termInfo.ng, termInfo.begin(), termInfo.end());
+    }
+
+    /**
+     * Computes the delay class of an exit node's base wire, see {@link #delayClasses}.
+     */
+    private short computeDelayClass(Node exitNode) {
         TermInfo termInfo = getTermInfo(exitNode);
 
         // Don't put this in calcTimingGroupDelay because it is called many times to estimate delay.
         if (termInfo.ng == T.NodeGroupType.CLE_IN) {
-            return inputSitePinDelay.getOrDefault(exitNode.getWireName(), (short) 0);
+            short delay = inputSitePinDelay.getOrDefault(exitNode.getWireName(), (short) 0);
+            return (short) (-delay - 1);
         }
+        return (short) (termInfo.ng.ordinal() * DIRECTIONS.length + termInfo.direction.ordinal() + 1);
+    }
 
-        return calcNodeGroupDelay(termInfo.ng, termInfo.begin(), termInfo.end());
+    private short[] getDelayClasses(Tile tile) {
+        if (!delayClassesLoaded) {
+            loadDelayLookupTable();
+        }
+        int tileType = tile.getTileTypeEnum().ordinal();
+        short[] classes = delayClasses[tileType];
+        if (classes == null) {
+            classes = createDelayClasses(tileType, tile.getWireCount());
+        }
+        return classes;
+    }
+
+    private synchronized short[] createDelayClasses(int tileType, int wireCount) {
+        if (delayClasses[tileType] == null) {
+            delayClasses[tileType] = new short[wireCount];
+        }
+        return delayClasses[tileType];
+    }
+
+    /**
+     * Gets the delays of a node group type and direction for every begin coordinate in range.
+     * @param nodeGroupClass The node group type ordinal times the number of directions plus the
+     * direction ordinal.
+     * @return Delays indexed by the begin INT tile coordinate.
+     */
+    private short[] getNodeGroupDelays(int nodeGroupClass) {
+        if (nodeGroupDelays == null) {
+            synchronized (this) {
+                if (nodeGroupDelays == null) {
+                    nodeGroupDelays = new AtomicReferenceArray<>(NODE_GROUP_TYPES.length * DIRECTIONS.length);
+                }
+            }
+        }
+        short[] delays = nodeGroupDelays.get(nodeGroupClass);
+        if (delays == null) {
+            T.NodeGroupType ng = NODE_GROUP_TYPES[nodeGroupClass / DIRECTIONS.length];
+            T.Direction direction = DIRECTIONS[nodeGroupClass % DIRECTIONS.length];
+            boolean horizontal = ng.orientation() == T.Orientation.HORIZONTAL;
+            delays = new short[horizontal ? numCol : numRow];
+            for (short begin = 0; begin < delays.length; begin++) {
+                TermInfo termInfo = horizontal ? new TermInfo(begin, (short) 0, direction, ng)
+                                               : new TermInfo((short) 0, begin, direction, ng);
+                delays[begin] = calcNodeGroupDelay(ng, termInfo.begin(), termInfo.end());
+            }
+            nodeGroupDelays.set(nodeGroupClass, delays);
+        }
+        return delays;
+    }
+
+    /**
+     * Gets the name of the file storing the node delay lookup table of a device.
+     * @param device The device in question.
+     * @return The file name, or null if the RapidWright path is unknown.
+     */
+    public static String getDelayLookupTableFileName(Device device) {
+        return FileTools.getRapidWrightResourceFileName(
+                FileTools.getDeviceDelayLookupTable(PartNameTools.getPart(device.getName())));
+    }
+
+    /**
+     * Sets the file from which the node delay lookup table is loaded, and to which it is saved
+     * (typically {@link #getDelayLookupTableFileName(Device)}). By default, no file is set and the
+     * table is neither loaded nor saved. Must be called before the first delay is estimated.
+     * @param fileName The file name, or null to not persist the table.
+     */
+    public void setDelayLookupTableFileName(String fileName) {
+        delayLookupTableFileName = fileName;
+    }
+
+    /**
+     * Identifies the device database that delay classes were derived from, so that a table saved
+     * against a different version of the device files is not loaded.
+     */
+    private String getDeviceFingerprint() {
+        if (device == null) {
+            return "";
+        }
+        String resourceName = FileTools.getDeviceResourceName(PartNameTools.getPart(device.getName()));
+        // Expected checksum of the device file, plus the size of the file actually present in case
+        // it was not downloaded (see FileTools.overrideDataFileDownload())
+        String md5 = FileTools.getCurrentDataVersion(resourceName);
+        String fileName = FileTools.getRapidWrightResourceFileName(resourceName);
+        long fileSize = (fileName == null) ? -1 : new File(fileName).length();
+        return device.getName() + ":" + (md5 == null ? "" : md5) + ":" + fileSize;
+    }
+
+    private synchronized void loadDelayLookupTable() {
+        if (delayClassesLoaded) {
+            return;
+        }
+        String fileName = delayLookupTableFileName;
+        if (fileName != null && new File(fileName).exists()) {
+            try (Input input = FileTools.getKryoZstdInputStream(fileName)) {
+                delayClasses = readDelayLookupTable(input);
+                if (delayClasses == null) {
+                    System.err.println("WARNING: Ignoring invalid or outdated delay lookup table " + fileName);
+                }
+            } catch (KryoException e) {
+                System.err.println("WARNING: Unable to read delay lookup table " + fileName + ": " + e.getMessage());
+            }
+        }
+        if (delayClasses == null) {
+            delayClasses = new short[TileTypeEnum.values().length][];
+        }
+        delayClassesLoaded = true;
+    }
+
+    private short[][] readDelayLookupTable(Input input) {
+        if (input.readInt() != DELAY_LUT_MAGIC || input.readInt() != DELAY_LUT_VERSION) {
+            return null;
+        }
+        // Delay classes are derived from the node group types of the InterconnectInfo in use
+        if (!input.readString().equals(ictInfo.getClass().getName())) {
+            return null;
+        }
+        if (!input.readString().equals(getDeviceFingerprint())) {
+            return null;
+        }
+        int numTileTypes = input.readInt();
+        // CLE_IN delays are stored in the table
+        if (numTileTypes != TileTypeEnum.values().length || input.readInt() != inputSitePinDelay.hashCode()) {
+            return null;
+        }
+        short[][] classes = new short[numTileTypes][];
+        for (int i = 0; i < numTileTypes; i++) {
+            int length = input.readInt();
+            if (length >= 0) {
+                classes[i] = input.readShorts(length);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Saves the node delay lookup table of this estimator's device to the file set with
+     * {@link #setDelayLookupTableFileName(String)}, so that later instances can load it instead of
+     * deriving delay classes from wire names. Nothing is written if no file is set, or if no new
+     * entries were computed since it was loaded.
+     */
+    public synchronized void saveDelayLookupTable() {
+        if (!delayClassesModified) {
+            return;
+        }
+        String fileName = delayLookupTableFileName;
+        if (fileName == null) {
+            return;
+        }
+        Path path = Paths.get(fileName).toAbsolutePath();
+        Path tmpPath = null;
+        // Cleared ahead of writing, so that entries added meanwhile by other threads are saved next time
+        delayClassesModified = false;
+        try {
+            FileTools.makeDirs(path.getParent().toString());
+            tmpPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (Output output = FileTools.getKryoZstdOutputStream(tmpPath.toString())) {
+                output.writeInt(DELAY_LUT_MAGIC);
+                output.writeInt(DELAY_LUT_VERSION);
+                output.writeString(ictInfo.getClass().getName());
+                output.writeString(getDeviceFingerprint());
+                output.writeInt(delayClasses.length);
+                output.writeInt(inputSitePinDelay.hashCode());
+                for (short[] classes : delayClasses) {
+                    if (classes == null) {
+                        output.writeInt(-1);
+                    } else {
+                        synchronized (classes) {
+                            output.writeInt(classes.length);
+                            output.writeShorts(classes, 0, classes.length);
+                        }
+                    }
+                }
+            }
+            Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmpPath = null;
+        } catch (IOException | KryoException e) {
+            delayClassesModified = true;
+            System.err.println("WARNING: Unable to write delay lookup table " + fileName + ": " + e.getMessage());
+        } finally {
+            if (tmpPath != null) {
+                tmpPath.toFile().delete();
+            }
+        }
     }
 
     /**
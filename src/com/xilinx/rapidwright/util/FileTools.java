@@ -106,6 +106,14 @@ public class FileTools {
     public static final String DEVICE_FILE_SUFFIX = "_db.dat";
     /** Suffix of the device part files */
     public static final String DEVICE_CACHE_FILE_SUFFIX = "_db_cache.dat";
+    /** Suffix of the RWRoute routing resource cache files */
+    public static final String DEVICE_RNODE_CACHE_FILE_SUFFIX = "_rnode_cache.dat";
+    /** Suffix of the node delay lookup table files used by DelayEstimatorBase */
+    public static final String DEVICE_DELAY_LUT_FILE_SUFFIX = "_delay_lut.dat";
+    /** Suffix of the seek index files of gzipped files */
+    public static final String GZIP_SEEK_INDEX_FILE_SUFFIX = ".seekidx";
+    /** Name of the cache folder, within {@link #getExecJarStoragePath()}, where seek indices are kept by default */
+    public static final String GZIP_SEEK_INDEX_FOLDER_NAME = "gzipSeekIndex";
     /** Data folder name */
     public static final String DATA_FOLDER_NAME = "data";
     /** Tcl source folder name */
@@ -1314,6 +1322,14 @@ public class FileTools {
         return getDeviceResourceSuffix(part) + DEVICE_CACHE_FILE_SUFFIX;
     }
 
+    public static String getDeviceRouteNodeCache(Part part) {
+        return getDeviceResourceSuffix(part) + DEVICE_RNODE_CACHE_FILE_SUFFIX;
+    }
+
+    public static String getDeviceDelayLookupTable(Part part) {
+        return getDeviceResourceSuffix(part) + DEVICE_DELAY_LUT_FILE_SUFFIX;
+    }
+
     /**
      * Gets the relative routethru file name for the given device.
      * 
@@ -2145,6 +2161,28 @@ public class FileTools {
         return Paths.get(fileName.substring(0, fileName.length() - 3));
     }
 
+    /**
+     * Gets the name of the seek index file of a gzipped file (see
+     * {@link GZIPSeekIndex}). Index files are kept in
+     * {@link Params#RW_GZIP_SEEK_INDEX_DIR} if set, or else in a cache folder of
+     * {@link #getExecJarStoragePath()}, rather than next to the gzipped file. The
+     * name includes a hash of the gzipped file's absolute path so that files of
+     * the same name in different directories do not share an index.
+     * 
+     * @param gzipFile The gzipped file
+     * @return The path of the seek index file in the cache directory.
+     */
+    public static Path getGZIPSeekIndexFileName(Path gzipFile) {
+        String dir = Params.RW_GZIP_SEEK_INDEX_DIR;
+        if (dir == null) {
+            dir = getExecJarStoragePath() + File.separator + GZIP_SEEK_INDEX_FOLDER_NAME;
+        }
+        Path absolutePath = gzipFile.toAbsolutePath().normalize();
+        String name = absolutePath.getFileName() + "_" + Integer.toHexString(absolutePath.toString().hashCode())
+                + GZIP_SEEK_INDEX_FILE_SUFFIX;
+        return Paths.get(dir, name);
+    }
+
     public static Path replaceDir(Path path, Path newDir) {
         Path fn = path.getFileName();
         return newDir.resolve(fn);
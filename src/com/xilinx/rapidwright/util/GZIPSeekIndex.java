@@ -0,0 +1,666 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.util;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Random access index into a gzipped file, in the style of zlib's zran example. While decompressing the file once,
+ * a checkpoint is recorded at a deflate block boundary every {@link #DEFAULT_SPAN} bytes of uncompressed data. A
+ * checkpoint consists of the uncompressed offset, the compressed offset in bits and the preceding 32KB of
+ * uncompressed data that later blocks may refer back to. Decompression can then start at any checkpoint instead of
+ * at the beginning of the file.
+ *
+ * Since {@link Inflater} cannot report block boundaries, building the index uses a decoder in plain Java. Resuming
+ * at a checkpoint uses {@link Inflater} again, with the dictionary set to the checkpoint window and the compressed
+ * data shifted to start at the checkpoint's bit offset. Only single member gzip files are supported.
+ */
+public class GZIPSeekIndex {
+
+    /** Default distance between checkpoints in uncompressed bytes */
+    public static final int DEFAULT_SPAN = 4 * 1024 * 1024;
+
+    private static final int WINDOW_SIZE = 32768;
+    private static final int SEEK_INDEX_MAGIC = 0x475A4958;
+    private static final int SEEK_INDEX_VERSION = 1;
+
+    private final Path fileName;
+    private final long compressedSize;
+    private final long lastModified;
+    private final long uncompressedSize;
+    private final long[] uncompressedOffsets;
+    private final long[] bitOffsets;
+    private final byte[][] windows;
+
+    private GZIPSeekIndex(Path fileName, long compressedSize, long lastModified, long uncompressedSize,
+                          long[] uncompressedOffsets, long[] bitOffsets, byte[][] windows) {
+        this.fileName = fileName;
+        this.compressedSize = compressedSize;
+        this.lastModified = lastModified;
+        this.uncompressedSize = uncompressedSize;
+        this.uncompressedOffsets = uncompressedOffsets;
+        this.bitOffsets = bitOffsets;
+        this.windows = windows;
+    }
+
+    public Path getFileName() {
+        return fileName;
+    }
+
+    public long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    public int getNumCheckpoints() {
+        return uncompressedOffsets.length;
+    }
+
+    /**
+     * Gets the seek index of a gzipped file. The index is read from its file in the cache directory (see
+     * {@link FileTools#getGZIPSeekIndexFileName(Path)}) if it exists and matches the gzipped file. Otherwise it is
+     * built by decompressing the file once and then saved to that file.
+     * @param gzipFile The gzipped file
+     * @return The seek index, or null if the file could not be indexed.
+     */
+    public static GZIPSeekIndex getOrCreate(Path gzipFile) {
+        Path indexFile = FileTools.getGZIPSeekIndexFileName(gzipFile);
+        long compressedSize;
+        long lastModified;
+        try {
+            compressedSize = Files.size(gzipFile);
+            lastModified = Files.getLastModifiedTime(gzipFile).toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+        if (Files.exists(indexFile)) {
+            try (Input input = FileTools.getKryoZstdInputStream(indexFile.toString())) {
+                GZIPSeekIndex index = read(input, gzipFile);
+                if (index != null && index.compressedSize == compressedSize && index.lastModified == lastModified) {
+                    return index;
+                }
+                System.err.println("WARNING: Ignoring outdated gzip seek index " + indexFile);
+            } catch (KryoException e) {
+                System.err.println("WARNING: Unable to read gzip seek index " + indexFile + ": " + e.getMessage());
+            }
+        }
+        GZIPSeekIndex index;
+        try {
+            index = build(gzipFile, DEFAULT_SPAN);
+        } catch (IOException e) {
+            System.err.println("WARNING: Unable to index gzipped file " + gzipFile + ": " + e.getMessage());
+            return null;
+        }
+        if (index != null) {
+            index.save(indexFile);
+        }
+        return index;
+    }
+
+    private static GZIPSeekIndex read(Input input, Path gzipFile) {
+        if (input.readInt() != SEEK_INDEX_MAGIC || input.readInt() != SEEK_INDEX_VERSION) {
+            return null;
+        }
+        long compressedSize = input.readLong();
+        long lastModified = input.readLong();
+        long uncompressedSize = input.readLong();
+        int count = input.readInt();
+        long[] uncompressedOffsets = input.readLongs(count);
+        long[] bitOffsets = input.readLongs(count);
+        byte[][] windows = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            windows[i] = input.readBytes(input.readInt());
+        }
+        return new GZIPSeekIndex(gzipFile, compressedSize, lastModified, uncompressedSize, uncompressedOffsets,
+                bitOffsets, windows);
+    }
+
+    /**
+     * Saves this index to a file, replacing it atomically.
+     * @param indexFile The file to write to
+     */
+    public void save(Path indexFile) {
+        Path tmpPath = null;
+        try {
+            Path dir = indexFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            tmpPath = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+            try (Output output = FileTools.getKryoZstdOutputStream(tmpPath.toString())) {
+                output.writeInt(SEEK_INDEX_MAGIC);
+                output.writeInt(SEEK_INDEX_VERSION);
+                output.writeLong(compressedSize);
+                output.writeLong(lastModified);
+                output.writeLong(uncompressedSize);
+                output.writeInt(uncompressedOffsets.length);
+                output.writeLongs(uncompressedOffsets, 0, uncompressedOffsets.length);
+                output.writeLongs(bitOffsets, 0, bitOffsets.length);
+                for (byte[] window : windows) {
+                    output.writeInt(window.length);
+                    output.writeBytes(window);
+                }
+            }
+            Files.move(tmpPath, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmpPath = null;
+        } catch (IOException | KryoException e) {
+            System.err.println("WARNING: Unable to write gzip seek index " + indexFile + ": " + e.getMessage());
+        } finally {
+            if (tmpPath != null) {
+                tmpPath.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Builds the seek index of a gzipped file by decompressing it once.
+     * @param gzipFile The gzipped file
+     * @param span Minimum distance between checkpoints in uncompressed bytes
+     * @return The seek index, or null if the file has more than one gzip member.
+     * @throws IOException if the file could not be read or is not a valid gzip file
+     */
+    public static GZIPSeekIndex build(Path gzipFile, int span) throws IOException {
+        long compressedSize = Files.size(gzipFile);
+        long lastModified = Files.getLastModifiedTime(gzipFile).toMillis();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(gzipFile.toFile()), 1 << 20)) {
+            IndexBuilder builder = new IndexBuilder(in, span);
+            if (!builder.run()) {
+                return null;
+            }
+            int count = builder.uncompressedOffsets.size();
+            long[] uncompressedOffsets = new long[count];
+            long[] bitOffsets = new long[count];
+            for (int i = 0; i < count; i++) {
+                uncompressedOffsets[i] = builder.uncompressedOffsets.get(i);
+                bitOffsets[i] = builder.bitOffsets.get(i);
+            }
+            return new GZIPSeekIndex(gzipFile, compressedSize, lastModified, builder.totalOut, uncompressedOffsets,
+                    bitOffsets, builder.windows.toArray(new byte[0][]));
+        }
+    }
+
+    /**
+     * Gets a stream of the uncompressed data. If the first operation on the stream is a skip, decompression starts
+     * at the closest preceding checkpoint.
+     * @return The uncompressed data
+     */
+    public InputStream getInputStream() {
+        return new SeekingInputStream();
+    }
+
+    private int getCheckpoint(long uncompressedOffset) {
+        int lo = 0;
+        int hi = uncompressedOffsets.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (uncompressedOffsets[mid] <= uncompressedOffset) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private class SeekingInputStream extends InputStream {
+        private InputStream in;
+        private Inflater inflater;
+
+        private void start(long offset) throws IOException {
+            int checkpoint = getCheckpoint(offset);
+            long bitOffset = bitOffsets[checkpoint];
+            FileInputStream fis = new FileInputStream(fileName.toFile());
+            fis.getChannel().position(bitOffset >>> 3);
+            InputStream compressed = fis;
+            int shift = (int) (bitOffset & 7);
+            if (shift != 0) {
+                compressed = new BitShiftInputStream(fis, shift);
+            }
+            inflater = new Inflater(true);
+            if (windows[checkpoint].length > 0) {
+                inflater.setDictionary(windows[checkpoint]);
+            }
+            in = new InflaterInputStream(compressed, inflater, 65536);
+            long remaining = offset - uncompressedOffsets[checkpoint];
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    break;
+                }
+                remaining -= skipped;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (in == null) {
+                start(Math.min(n, uncompressedSize));
+                return Math.min(n, uncompressedSize);
+            }
+            return in.skip(n);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (in == null) {
+                start(0);
+            }
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (in == null) {
+                start(0);
+            }
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (in != null) {
+                in.close();
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Presents a compressed stream as if it started the given number of bits into its first byte.
+     */
+    private static class BitShiftInputStream extends InputStream {
+        private final InputStream in;
+        private final int shift;
+        private final byte[] raw = new byte[65536];
+        private final byte[] single = new byte[1];
+        private int prev;
+
+        BitShiftInputStream(InputStream in, int shift) throws IOException {
+            this.in = in;
+            this.shift = shift;
+            this.prev = in.read();
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(single, 0, 1) == -1 ? -1 : (single[0] & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (prev < 0) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            int n = in.read(raw, 0, Math.min(len, raw.length));
+            if (n <= 0) {
+                b[off] = (byte) (prev >>> shift);
+                prev = -1;
+                return 1;
+            }
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) ((prev >>> shift) | (raw[i] << (8 - shift)));
+                prev = raw[i] & 0xff;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51,
+            59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+    private static final int[] LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4,
+            4, 5, 5, 5, 5, 0};
+    private static final int[] DIST_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513,
+            769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+    private static final int[] DIST_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10,
+            11, 11, 12, 12, 13, 13};
+    private static final int[] CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+    /**
+     * Canonical Huffman code as a lookup table indexed by the next maxLength (bit reversed) input bits. Each entry
+     * holds the symbol shifted left by 4 and the code length in the lower 4 bits.
+     */
+    private static class Huffman {
+        final int[] table;
+        final int maxLength;
+
+        Huffman(byte[] lengths, int count) throws ZipException {
+            int[] lengthCounts = new int[16];
+            int max = 0;
+            for (int i = 0; i < count; i++) {
+                lengthCounts[lengths[i]]++;
+                max = Math.max(max, lengths[i]);
+            }
+            maxLength = max;
+            table = new int[1 << max];
+            int[] nextCode = new int[16];
+            int code = 0;
+            lengthCounts[0] = 0;
+            for (int len = 1; len <= 15; len++) {
+                code = (code + lengthCounts[len - 1]) << 1;
+                nextCode[len] = code;
+            }
+            for (int symbol = 0; symbol < count; symbol++) {
+                int len = lengths[symbol];
+                if (len == 0) {
+                    continue;
+                }
+                int c = nextCode[len]++;
+                if (c >= (1 << len)) {
+                    throw new ZipException("over-subscribed Huffman code");
+                }
+                int reversed = Integer.reverse(c) >>> (32 - len);
+                for (int i = reversed; i < table.length; i += 1 << len) {
+                    table[i] = (symbol << 4) | len;
+                }
+            }
+        }
+    }
+
+    private static final Huffman FIXED_LITERALS;
+    private static final Huffman FIXED_DISTANCES;
+
+    static {
+        byte[] lengths = new byte[288];
+        for (int i = 0; i < 288; i++) {
+            lengths[i] = (byte) (i < 144 ? 8 : i < 256 ? 9 : i < 280 ? 7 : 8);
+        }
+        byte[] distLengths = new byte[30];
+        Arrays.fill(distLengths, (byte) 5);
+        try {
+            FIXED_LITERALS = new Huffman(lengths, lengths.length);
+            FIXED_DISTANCES = new Huffman(distLengths, distLengths.length);
+        } catch (ZipException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Decompresses a gzip stream to find the deflate block boundaries and records checkpoints along the way. The
+     * uncompressed data itself is only kept in a window of the last 32KB.
+     */
+    private static class IndexBuilder {
+        private final InputStream in;
+        private final int span;
+        private long bytesRead;
+        private long bitBuffer;
+        private int bitCount;
+
+        private final byte[] window = new byte[WINDOW_SIZE];
+        private long totalOut;
+
+        final List<Long> uncompressedOffsets = new ArrayList<>();
+        final List<Long> bitOffsets = new ArrayList<>();
+        final List<byte[]> windows = new ArrayList<>();
+
+        IndexBuilder(InputStream in, int span) {
+            this.in = in;
+            this.span = span;
+        }
+
+        private int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of gzip file");
+            }
+            bytesRead++;
+            return b;
+        }
+
+        /** Makes at least n bits available, unless the end of the file is reached */
+        private void fillBits(int n) throws IOException {
+            while (bitCount < n) {
+                int b = in.read();
+                if (b < 0) {
+                    return;
+                }
+                bytesRead++;
+                bitBuffer |= (long) b << bitCount;
+                bitCount += 8;
+            }
+        }
+
+        private void dropBits(int n) throws IOException {
+            if (n > bitCount) {
+                throw new EOFException("Unexpected end of gzip file");
+            }
+            bitBuffer >>>= n;
+            bitCount -= n;
+        }
+
+        private int bits(int n) throws IOException {
+            fillBits(n);
+            int value = (int) (bitBuffer & ((1L << n) - 1));
+            dropBits(n);
+            return value;
+        }
+
+        private int decode(Huffman h) throws IOException {
+            fillBits(h.maxLength);
+            int entry = h.table[(int) (bitBuffer & ((1L << h.maxLength) - 1))];
+            int length = entry & 15;
+            if (length == 0) {
+                throw new ZipException("invalid Huffman code");
+            }
+            dropBits(length);
+            return entry >>> 4;
+        }
+
+        private long getBitOffset() {
+            return bytesRead * 8 - bitCount;
+        }
+
+        private void put(byte b) {
+            window[(int) (totalOut & (WINDOW_SIZE - 1))] = b;
+            totalOut++;
+        }
+
+        private void addCheckpoint() {
+            int length = (int) Math.min(WINDOW_SIZE, totalOut);
+            byte[] copy = new byte[length];
+            for (int i = 0; i < length; i++) {
+                copy[i] = window[(int) ((totalOut - length + i) & (WINDOW_SIZE - 1))];
+            }
+            uncompressedOffsets.add(totalOut);
+            bitOffsets.add(getBitOffset());
+            windows.add(copy);
+        }
+
+        private void skipZeroTerminated() throws IOException {
+            while (readByte() != 0) {
+            }
+        }
+
+        private void readHeader() throws IOException {
+            if (readByte() != 0x1f || readByte() != 0x8b) {
+                throw new ZipException("Not in GZIP format");
+            }
+            if (readByte() != 8) {
+                throw new ZipException("Unsupported compression method");
+            }
+            int flags = readByte();
+            for (int i = 0; i < 6; i++) {
+                readByte();
+            }
+            if ((flags & 4) != 0) {
+                int extraLength = readByte() | (readByte() << 8);
+                for (int i = 0; i < extraLength; i++) {
+                    readByte();
+                }
+            }
+            if ((flags & 8) != 0) {
+                skipZeroTerminated();
+            }
+            if ((flags & 16) != 0) {
+                skipZeroTerminated();
+            }
+            if ((flags & 2) != 0) {
+                readByte();
+                readByte();
+            }
+        }
+
+        private void storedBlock() throws IOException {
+            dropBits(bitCount & 7);
+            int length = bits(16);
+            int complement = bits(16);
+            if (length != (~complement & 0xffff)) {
+                throw new ZipException("invalid stored block lengths");
+            }
+            for (int i = 0; i < length; i++) {
+                put((byte) bits(8));
+            }
+        }
+
+        private void dynamicBlock() throws IOException {
+            int numLiterals = bits(5) + 257;
+            int numDistances = bits(5) + 1;
+            int numCodeLengths = bits(4) + 4;
+            byte[] codeLengths = new byte[19];
+            for (int i = 0; i < numCodeLengths; i++) {
+                codeLengths[CODE_LENGTH_ORDER[i]] = (byte) bits(3);
+            }
+            Huffman codeLengthCode = new Huffman(codeLengths, codeLengths.length);
+            byte[] lengths = new byte[numLiterals + numDistances];
+            int i = 0;
+            while (i < lengths.length) {
+                int symbol = decode(codeLengthCode);
+                if (symbol < 16) {
+                    lengths[i++] = (byte) symbol;
+                    continue;
+                }
+                byte value = 0;
+                int repeat;
+                if (symbol == 16) {
+                    if (i == 0) {
+                        throw new ZipException("repeat with no previous length");
+                    }
+                    value = lengths[i - 1];
+                    repeat = 3 + bits(2);
+                } else if (symbol == 17) {
+                    repeat = 3 + bits(3);
+                } else {
+                    repeat = 11 + bits(7);
+                }
+                if (i + repeat > lengths.length) {
+                    throw new ZipException("too many code lengths");
+                }
+                while (repeat-- > 0) {
+                    lengths[i++] = value;
+                }
+            }
+            byte[] distLengths = new byte[numDistances];
+            System.arraycopy(lengths, numLiterals, distLengths, 0, numDistances);
+            codes(new Huffman(lengths, numLiterals), new Huffman(distLengths, numDistances));
+        }
+
+        private void codes(Huffman literals, Huffman distances) throws IOException {
+            while (true) {
+                int symbol = decode(literals);
+                if (symbol < 256) {
+                    put((byte) symbol);
+                } else if (symbol == 256) {
+                    return;
+                } else {
+                    symbol -= 257;
+                    if (symbol >= LENGTH_BASE.length) {
+                        throw new ZipException("invalid length code");
+                    }
+                    int length = LENGTH_BASE[symbol] + bits(LENGTH_EXTRA[symbol]);
+                    int distSymbol = decode(distances);
+                    if (distSymbol >= DIST_BASE.length) {
+                        throw new ZipException("invalid distance code");
+                    }
+                    int distance = DIST_BASE[distSymbol] + bits(DIST_EXTRA[distSymbol]);
+                    if (distance > totalOut) {
+                        throw new ZipException("invalid distance too far back");
+                    }
+                    for (int j = 0; j < length; j++) {
+                        put(window[(int) ((totalOut - distance) & (WINDOW_SIZE - 1))]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return True if the file was indexed, false if it has more than one member
+         */
+        boolean run() throws IOException {
+            readHeader();
+            long lastCheckpoint = 0;
+            addCheckpoint();
+            boolean last;
+            do {
+                if (totalOut - lastCheckpoint >= span) {
+                    addCheckpoint();
+                    lastCheckpoint = totalOut;
+                }
+                last = bits(1) == 1;
+                int type = bits(2);
+                switch (type) {
+                    case 0:
+                        storedBlock();
+                        break;
+                    case 1:
+                        codes(FIXED_LITERALS, FIXED_DISTANCES);
+                        break;
+                    case 2:
+                        dynamicBlock();
+                        break;
+                    default:
+                        throw new ZipException("invalid block type");
+                }
+            } while (!last);
+
+            // Trailer: CRC32 and uncompressed size modulo 2^32
+            dropBits(bitCount & 7);
+            bits(32);
+            long size = bits(16) | ((long) bits(16) << 16);
+            if (size != (totalOut & 0xffffffffL)) {
+                throw new ZipException("uncompressed size mismatch");
+            }
+            fillBits(8);
+            return bitCount == 0;
+        }
+    }
+}
@@ -30,6 +30,18 @@ public class Params {
 
     public static String RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK_NAME = "RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK";
 
+    public static String RW_ENABLE_EDIF_MMAP_NAME = "RW_ENABLE_EDIF_MMAP";
+
+    public static String RW_ENABLE_GZIP_SEEK_INDEX_NAME = "RW_ENABLE_GZIP_SEEK_INDEX";
+
+    public static String RW_GZIP_SEEK_INDEX_DIR_NAME = "RW_GZIP_SEEK_INDEX_DIR";
+
+    public static String RW_LAZY_EDIF_BINARY_CACHE_NAME = "RW_LAZY_EDIF_BINARY_CACHE";
+
+    public static String RW_EDIF_HIER_NAME_INDEX_NAME = "RW_EDIF_HIER_NAME_INDEX";
+
+    public static String RW_DISABLE_EDIF_STREAMING_EXPORT_NAME = "RW_DISABLE_EDIF_STREAMING_EXPORT";
+
     public static String RW_ZSTD_COMPRESSION_LEVEL_NAME = "RW_ZSTD_COMPRESSION_LEVEL";
 
     public static int RW_ZSTD_DEFAULT_COMPRESSION_LEVEL = 3;
@@ -43,6 +55,55 @@ public class Params {
      */
     public static boolean RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK = isParamSet(RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK_NAME);
     
+    /**
+     * Flag to enable memory mapping of uncompressed EDIF files during parallel
+     * parsing, where each parser worker tokenizes its part of the file in place
+     * instead of reading it through an InputStream. This is off by default since
+     * a mapping is only released once garbage collected, and until then (on
+     * Windows) the EDIF file cannot be deleted or overwritten.
+     */
+    public static boolean RW_ENABLE_EDIF_MMAP = isParamSet(RW_ENABLE_EDIF_MMAP_NAME);
+
+    /**
+     * Flag to enable the seek index of gzipped EDIF files (see
+     * {@link GZIPSeekIndex}). When enabled, the index is built and saved to
+     * {@link #RW_GZIP_SEEK_INDEX_DIR} the first time a large gzipped EDIF is
+     * parsed, which lets each parallel parser worker start decompressing close to
+     * its own offset.
+     */
+    public static boolean RW_ENABLE_GZIP_SEEK_INDEX = isParamSet(RW_ENABLE_GZIP_SEEK_INDEX_NAME);
+
+    /**
+     * Directory in which seek indices of gzipped files are saved (see
+     * {@code FileTools.getGZIPSeekIndexFileName(Path)}). If not set, a cache
+     * folder within {@code FileTools.getExecJarStoragePath()} is used.
+     */
+    public static String RW_GZIP_SEEK_INDEX_DIR = getParamValue(RW_GZIP_SEEK_INDEX_DIR_NAME);
+
+    /**
+     * Flag to load binary EDIF cache files (see
+     * {@code EDIFTools.RW_ENABLE_EDIF_BINARY_CACHING}) lazily, where the instances
+     * and nets of each cell are only decoded when first accessed. This reduces
+     * load time and memory for flows that only touch a few cells of a netlist.
+     */
+    public static boolean RW_LAZY_EDIF_BINARY_CACHE = isParamSet(RW_LAZY_EDIF_BINARY_CACHE_NAME);
+
+    /**
+     * Flag to have each EDIFNetlist resolve hierarchical names through a prebuilt
+     * index of all hierarchical cell instances (see
+     * {@code EDIFNetlist.setUseHierNameIndex(boolean)}) instead of descending the
+     * hierarchy on every lookup.
+     */
+    public static boolean RW_EDIF_HIER_NAME_INDEX = isParamSet(RW_EDIF_HIER_NAME_INDEX_NAME);
+
+    /**
+     * Flag to disable the streaming EDIF export (see
+     * {@link StreamingChannelWriter}) used when writing an EDIF file with
+     * parallelism enabled, falling back to rendering each chunk of cells into an
+     * in-memory stream before it is written.
+     */
+    public static boolean RW_DISABLE_EDIF_STREAMING_EXPORT = isParamSet(RW_DISABLE_EDIF_STREAMING_EXPORT_NAME);
+
     /**
      * ZStandard compression effort level to use when compressing files. This can
      * range from -7 to 22, with higher numbers producing a more compact result for
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes the output of a sequence of renderers to a channel, in order, while rendering them in
+ * parallel (see {@link ParallelismTools}). Rendered bytes are stored in a bounded pool of reusable
+ * direct {@link ByteBuffer}s that are handed to the calling thread, which writes them with
+ * gathering writes. Workers block once all buffers are in use (back-pressure), so memory use is
+ * bounded by the pool size rather than by the amount of data being written.
+ *
+ * To guarantee progress, a few buffers are reserved for the renderer whose output is currently
+ * being written, and renderers are claimed strictly in order; the calling thread renders the
+ * current one itself if no worker has claimed it yet.
+ */
+public class StreamingChannelWriter {
+
+    /**
+     * Renders a part of the output into the provided stream.
+     */
+    public interface Renderer {
+        void render(OutputStream os) throws IOException;
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    public static final int DEFAULT_MAX_BUFFERS = 64;
+
+    /** Number of buffers that only the renderer currently being written may use */
+    private static final int RESERVED_BUFFERS = 2;
+
+    /** Marks the end of the output of a renderer */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final GatheringByteChannel channel;
+    private final int bufferSize;
+    private final int maxBuffers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    private int allocated;
+    /** Index of the renderer whose output is currently being written */
+    private int head;
+    private boolean aborted;
+
+    public StreamingChannelWriter(GatheringByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_BUFFERS);
+    }
+
+    /**
+     * @param channel The channel to write to.
+     * @param bufferSize Size in bytes of each pooled buffer.
+     * @param maxBuffers Maximum number of buffers allocated at any time (at least
+     * {@value #RESERVED_BUFFERS} + 1).
+     */
+    public StreamingChannelWriter(GatheringByteChannel channel, int bufferSize, int maxBuffers) {
+        if (maxBuffers <= RESERVED_BUFFERS) {
+            throw new RuntimeException("ERROR: StreamingChannelWriter requires more than "
+                    + RESERVED_BUFFERS + " buffers, got " + maxBuffers);
+        }
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    /**
+     * @return The number of direct buffers allocated so far (never more than the maximum).
+     */
+    public int getAllocatedBufferCount() {
+        lock.lock();
+        try {
+            return allocated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private interface BufferSink {
+        void accept(ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * OutputStream that fills pooled buffers and passes each full buffer to a sink.
+     */
+    private class PooledBufferOutputStream extends OutputStream {
+        private final int index;
+        private final BufferSink sink;
+        private ByteBuffer buffer;
+
+        private PooledBufferOutputStream(int index, BufferSink sink) {
+            this.index = index;
+            this.sink = sink;
+        }
+
+        private void nextBuffer() throws IOException {
+            if (buffer != null) {
+                buffer.flip();
+                ByteBuffer full = buffer;
+                buffer = null;
+                sink.accept(full);
+            }
+            buffer = acquire(index);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (buffer == null || !buffer.hasRemaining()) {
+                nextBuffer();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (buffer == null || !buffer.hasRemaining()) {
+                    nextBuffer();
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                return;
+            }
+            ByteBuffer last = buffer;
+            buffer = null;
+            if (last.position() == 0) {
+                release(last);
+            } else {
+                last.flip();
+                sink.accept(last);
+            }
+        }
+    }
+
+    private ByteBuffer acquire(int index) throws IOException {
+        lock.lock();
+        try {
+            while (true) {
+                if (aborted) {
+                    throw new IOException("Write aborted");
+                }
+                int unused = free.size() + (maxBuffers - allocated);
+                if (unused > (index == head ? 0 : RESERVED_BUFFERS)) {
+                    ByteBuffer buffer = free.poll();
+                    if (buffer == null) {
+                        buffer = ByteBuffer.allocateDirect(bufferSize);
+                        allocated++;
+                    }
+                    buffer.clear();
+                    return buffer;
+                }
+                available.await();
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(ByteBuffer buffer) {
+        lock.lock();
+        try {
+            free.add(buffer);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setHead(int index) {
+        lock.lock();
+        try {
+            head = index;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void abort() {
+        lock.lock();
+        try {
+            aborted = true;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeFully(List<ByteBuffer> buffers) throws IOException {
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        int first = 0;
+        while (first < array.length) {
+            channel.write(array, first, array.length - first);
+            while (first < array.length && !array[first].hasRemaining()) {
+                first++;
+            }
+        }
+        for (ByteBuffer buffer : buffers) {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Renders all renderers and writes their output to the channel in the order provided.
+     * @param renderers The renderers producing the output.
+     * @throws IOException If writing to the channel or any renderer fails.
+     */
+    public void write(List<Renderer> renderers) throws IOException {
+        final int size = renderers.size();
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<BlockingQueue<ByteBuffer>> outputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            outputs.add(new LinkedBlockingQueue<>());
+        }
+        lock.lock();
+        try {
+            aborted = false;
+            head = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        List<Future<?>> workers = new ArrayList<>();
+        if (ParallelismTools.getParallel()) {
+            int numWorkers = Math.min(size, ParallelismTools.maxParallelism() - 1);
+            for (int w = 0; w < numWorkers; w++) {
+                workers.add(ParallelismTools.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < size) {
+                        final BlockingQueue<ByteBuffer> output = outputs.get(index);
+                        try (OutputStream os = new PooledBufferOutputStream(index, output::add)) {
+                            renderers.get(index).render(os);
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            output.add(END);
+                        }
+                    }
+                }));
+            }
+        }
+
+        try {
+            List<ByteBuffer> pending = new ArrayList<>();
+            for (int index = 0; index < size; index++) {
+                setHead(index);
+                if (next.compareAndSet(index, index + 1)) {
+                    // Not claimed by any worker, render it directly to the channel
+                    try (OutputStream os = new PooledBufferOutputStream(index, (b) -> {
+                        pending.add(b);
+                        writeFully(pending);
+                        pending.clear();
+                    })) {
+                        renderers.get(index).render(os);
+                    }
+                    continue;
+                }
+                BlockingQueue<ByteBuffer> output = outputs.get(index);
+                boolean done = false;
+                while (!done) {
+                    ByteBuffer buffer = output.take();
+                    // Gather everything that is already rendered into a single write
+                    while (buffer != null && buffer != END) {
+                        pending.add(buffer);
+                        buffer = output.poll();
+                    }
+                    done = buffer == END;
+                    writeFully(pending);
+                    pending.clear();
+                }
+                Throwable t = failure.get();
+                if (t != null) {
+                    if (t instanceof IOException) throw (IOException) t;
+                    if (t instanceof RuntimeException) throw (RuntimeException) t;
+                    throw new RuntimeException(t);
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } finally {
+            // Stop any workers still rendering (only the case if something failed)
+            next.set(size);
+            abort();
+            for (Future<?> worker : workers) {
+                ParallelismTools.get(worker);
+            }
+            // Return buffers of any output that was not written back to the pool
+            for (BlockingQueue<ByteBuffer> output : outputs) {
+                for (ByteBuffer buffer : output) {
+                    if (buffer != END) {
+                        release(buffer);
+                    }
+                }
+            }
+            lock.lock();
+            try {
+                aborted = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.edif;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.StringPool;
+
+/**
+ * Microbenchmarks for reading EDIF netlists and building their derived data structures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BenchmarkEDIF {
+
+    @Param({"picoblaze_ooc_X10Y235.dcp", "bnn.dcp"})
+    public String dcp;
+
+    private Path tempDir;
+    private Path edifPath;
+    private Path binaryEdifPath;
+    private EDIFNetlist netlist;
+
+    @Setup
+    public void setup() throws IOException {
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath(dcp));
+        netlist = design.getNetlist();
+        tempDir = Files.createTempDirectory("BenchmarkEDIF");
+        edifPath = tempDir.resolve("netlist.edf");
+        netlist.exportEDIF(edifPath);
+        binaryEdifPath = tempDir.resolve("netlist.bedf");
+        BinaryEDIFWriter.writeBinaryEDIF(binaryEdifPath, netlist);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileTools.deleteFolder(tempDir.toString());
+    }
+
+    @Benchmark
+    public void tokenizeEDIF(Blackhole bh) throws IOException {
+        try (EDIFTokenizer tokenizer = new EDIFTokenizer(edifPath,
+                new BufferedInputStream(Files.newInputStream(edifPath)), StringPool.singleThreadedPool())) {
+            String token;
+            while ((token = tokenizer.getOptionalNextTokenString(false)) != null) {
+                bh.consume(token);
+            }
+        }
+    }
+
+    /**
+     * Exercises {@link BinaryEDIFReader#readEDIFCell}, which is invoked for every cell in the file.
+     */
+    @Benchmark
+    public EDIFNetlist readBinaryEDIF() {
+        return BinaryEDIFReader.readBinaryEDIF(binaryEdifPath);
+    }
+
+    @Benchmark
+    public int generateParentNetMap() {
+        netlist.resetParentNetMap();
+        return netlist.getParentNetMap().size();
+    }
+}
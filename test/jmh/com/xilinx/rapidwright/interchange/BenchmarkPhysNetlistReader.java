@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.interchange;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.edif.BinaryEDIFReader;
+import com.xilinx.rapidwright.edif.BinaryEDIFWriter;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.FileTools;
+
+/**
+ * Microbenchmarks for reading FPGA Interchange Format physical netlists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BenchmarkPhysNetlistReader {
+
+    @Param({"picoblaze_ooc_X10Y235.dcp", "bnn.dcp"})
+    public String dcp;
+
+    private Path tempDir;
+    private Path physNetlistPath;
+    private Path binaryEdifPath;
+    /** Fresh copy of the logical netlist for each invocation, since reading attaches it to a new design */
+    private EDIFNetlist netlist;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath(dcp));
+        tempDir = Files.createTempDirectory("BenchmarkPhysNetlistReader");
+        physNetlistPath = tempDir.resolve("design.phys");
+        PhysNetlistWriter.writePhysNetlist(design, physNetlistPath.toString());
+        binaryEdifPath = tempDir.resolve("design.bedf");
+        BinaryEDIFWriter.writeBinaryEDIF(binaryEdifPath, design.getNetlist());
+    }
+
+    @Setup(Level.Invocation)
+    public void readNetlist() {
+        netlist = BinaryEDIFReader.readBinaryEDIF(binaryEdifPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileTools.deleteFolder(tempDir.toString());
+    }
+
+    @Benchmark
+    public Design readPhysNetlist() throws IOException {
+        return PhysNetlistReader.readPhysNetlist(physNetlistPath.toString(), netlist);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+/**
+ * Microbenchmarks for the inner loop of {@link RWRoute}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BenchmarkRWRoute {
+
+    /** Number of connections from which (parent, child) rnode pairs are sampled */
+    private static final int NUM_CONNECTIONS = 256;
+
+    /** Number of other nets using each sampled child rnode when {@link #sharedRnodes} is set */
+    private static final int NUM_OTHER_USERS = 2;
+
+    /** Whether rnode state is kept in a {@link RouteNodeStore.OffHeap} rather than on the Java heap */
+    @Param({"false", "true"})
+    public boolean offHeapRouteNodeStore;
+
+    /**
+     * Whether every sampled child rnode is already used by its own connection's net and by other
+     * nets, so that user tracking is exercised beyond its inline slot
+     */
+    @Param({"false", "true"})
+    public boolean sharedRnodes;
+
+    private RWRoute router;
+    private ConnectionState state;
+    private List<Connection> connections;
+    private List<RouteNode> parents;
+    private List<RouteNode> children;
+    private float rnodeLengthWeight;
+    private float rnodeEstWlWeight;
+
+    @Setup
+    public void setup() {
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath("bnn.dcp"));
+        RWRouteConfig config = new RWRouteConfig(offHeapRouteNodeStore
+                ? new String[] {"--nonTimingDriven", "--offHeapRouteNodeStore"}
+                : new String[] {"--nonTimingDriven"});
+        router = new RWRoute(design, config);
+        router.preprocess();
+        router.initialize();
+        state = new ConnectionState();
+        state.setVisitedId(Integer.MAX_VALUE / 2);
+
+        // Non-timing-driven, so all connections have zero criticality and thus rnodeCostWeight == 1
+        rnodeLengthWeight = 1 - config.getWirelengthWeight();
+        rnodeEstWlWeight = config.getWirelengthWeight();
+
+        // Sample the children (and grandchildren) of each connection's source rnode
+        connections = new ArrayList<>();
+        parents = new ArrayList<>();
+        children = new ArrayList<>();
+        List<Connection> indirectConnections = router.indirectConnections;
+        for (int i = 0; i < Math.min(NUM_CONNECTIONS, indirectConnections.size()); i++) {
+            Connection connection = indirectConnections.get(i);
+            RouteNode source = connection.getSourceRnode();
+            for (RouteNode child : source.getChildren()) {
+                connections.add(connection);
+                parents.add(source);
+                children.add(child);
+                for (RouteNode grandchild : child.getChildren()) {
+                    connections.add(connection);
+                    parents.add(child);
+                    children.add(grandchild);
+                }
+            }
+        }
+
+        if (sharedRnodes) {
+            for (int i = 0; i < children.size(); i++) {
+                RouteNode child = children.get(i);
+                if (child.getOccupancy() > 0) {
+                    // Already populated via another sampled (parent, child) pair
+                    continue;
+                }
+                child.incrementUser(connections.get(i).getNetWrapper());
+                for (int j = 1; j <= NUM_OTHER_USERS; j++) {
+                    child.incrementUser(indirectConnections.get((i + j) % indirectConnections.size()).getNetWrapper());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void evaluateCostAndPush(Blackhole bh) {
+        // Start afresh so that every rnode is unvisited
+        state.visitedId++;
+        for (int i = 0; i < children.size(); i++) {
+            router.evaluateCostAndPush(state, parents.get(i), false, children.get(i), connections.get(i),
+                    1f, 1f, rnodeLengthWeight, rnodeEstWlWeight, 0f, 0f);
+        }
+        bh.consume(state.queue.poll());
+        state.queue.clear();
+    }
+}
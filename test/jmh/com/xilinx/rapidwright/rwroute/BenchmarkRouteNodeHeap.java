@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.xilinx.rapidwright.device.Node;
+
+/**
+ * Compares {@link RouteNodeHeap} against the {@link PriorityQueue} that {@link RWRoute} used
+ * previously, by running the same best-first expansion over the same synthetic rnode graph
+ * through each. As in RWRoute, the {@link PriorityQueue} path ignores any cheaper path found to
+ * an rnode that is already queued, whereas the {@link RouteNodeHeap} path reduces its cost in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BenchmarkRouteNodeHeap {
+
+    /** Number of children of each rnode in the synthetic graph */
+    private static final int FANOUT = 4;
+
+    /** Number of rnodes in the synthetic graph, all of which are reachable from the first */
+    @Param({"10000", "1000000"})
+    public int numRnodes;
+
+    /** Minimal rnode that is not backed by a device node, for exercising the queue alone */
+    private static class BenchmarkRouteNode extends RouteNode {
+        BenchmarkRouteNode(RouteNodeStore store, int id) {
+            super(null, RouteNodeType.PINFEED_I, new RouteNodeInfo(RouteNodeType.PINFEED_I, (short) 0, (short) 0, (short) 0),
+                    store, id);
+        }
+
+        @Override
+        protected RouteNode getOrCreate(Node node, RouteNodeType type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean mustInclude(Node parent, Node child) {
+            return false;
+        }
+
+        @Override
+        public boolean isPreserved(Node node) {
+            return false;
+        }
+
+        @Override
+        public boolean isExcluded(Node parent, Node child) {
+            return false;
+        }
+
+        @Override
+        public int getSLRIndex() {
+            return 0;
+        }
+    }
+
+    private RouteNode[] rnodes;
+    /** Indices into {@link #rnodes} of the children of each rnode */
+    private int[][] children;
+    /** Cost of the edge to each child of each rnode */
+    private float[][] edgeCosts;
+    private int visitedId;
+    private PriorityQueue<RouteNode> priorityQueue;
+    private RouteNodeHeap routeNodeHeap;
+
+    @Setup
+    public void setup() {
+        RouteNodeStore store = RouteNodeStore.create(false);
+        rnodes = new RouteNode[numRnodes];
+        for (int i = 0; i < numRnodes; i++) {
+            rnodes[i] = new BenchmarkRouteNode(store, i);
+        }
+
+        Random random = new Random(0);
+        children = new int[numRnodes][FANOUT];
+        edgeCosts = new float[numRnodes][FANOUT];
+        for (int i = 0; i < numRnodes; i++) {
+            // First child chains every rnode so that the whole graph is reachable
+            children[i][0] = (i + 1) % numRnodes;
+            edgeCosts[i][0] = 1 + random.nextFloat();
+            for (int j = 1; j < FANOUT; j++) {
+                children[i][j] = random.nextInt(numRnodes);
+                edgeCosts[i][j] = 1 + random.nextFloat();
+            }
+        }
+
+        priorityQueue = new PriorityQueue<>();
+        routeNodeHeap = new RouteNodeHeap();
+    }
+
+    private RouteNode startExpansion() {
+        // Start afresh so that every rnode is unvisited
+        visitedId++;
+        RouteNode source = rnodes[0];
+        source.setVisited(visitedId);
+        source.setUpstreamPathCost(0);
+        source.setLowerBoundTotalPathCost(0);
+        return source;
+    }
+
+    @Benchmark
+    public float priorityQueue() {
+        PriorityQueue<RouteNode> queue = priorityQueue;
+        queue.add(startExpansion());
+        float cost = 0;
+        RouteNode rnode;
+        while ((rnode = queue.poll()) != null) {
+            cost = rnode.getUpstreamPathCost();
+            int[] rnodeChildren = children[rnode.getId()];
+            float[] rnodeEdgeCosts = edgeCosts[rnode.getId()];
+            for (int j = 0; j < FANOUT; j++) {
+                RouteNode child = rnodes[rnodeChildren[j]];
+                if (child.isVisited(visitedId)) {
+                    // Expanded, or queued with a cost that cannot be reduced
+                    continue;
+                }
+                float childCost = cost + rnodeEdgeCosts[j];
+                child.setVisited(visitedId);
+                child.setUpstreamPathCost(childCost);
+                child.setLowerBoundTotalPathCost(childCost);
+                queue.add(child);
+            }
+        }
+        return cost;
+    }
+
+    @Benchmark
+    public float routeNodeHeap() {
+        RouteNodeHeap queue = routeNodeHeap;
+        queue.add(startExpansion());
+        float cost = 0;
+        RouteNode rnode;
+        while ((rnode = queue.poll()) != null) {
+            cost = rnode.getUpstreamPathCost();
+            int[] rnodeChildren = children[rnode.getId()];
+            float[] rnodeEdgeCosts = edgeCosts[rnode.getId()];
+            for (int j = 0; j < FANOUT; j++) {
+                RouteNode child = rnodes[rnodeChildren[j]];
+                float childCost = cost + rnodeEdgeCosts[j];
+                if (child.isVisited(visitedId)) {
+                    if (!queue.contains(child) || childCost >= child.getLowerBoundTotalPathCost()) {
+                        continue;
+                    }
+                    child.setUpstreamPathCost(childCost);
+                    child.setLowerBoundTotalPathCost(childCost);
+                    queue.decreaseKey(child);
+                    continue;
+                }
+                child.setVisited(visitedId);
+                child.setUpstreamPathCost(childCost);
+                child.setLowerBoundTotalPathCost(childCost);
+                queue.add(child);
+            }
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jgrapht.traverse.TopologicalOrderIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Microbenchmarks comparing the propagation of arrival times over the JGraphT adjacency of a
+ * {@link TimingGraph} with that over its {@link CompactTimingGraph}, on a single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8G"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BenchmarkTimingGraph {
+
+    private TimingGraph graph;
+    private List<TimingVertex> orderedVertices;
+
+    @Setup
+    public void setup() {
+        ParallelismTools.setParallel(false);
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath("bnn.dcp"));
+        graph = new TimingManager(design).getTimingGraph();
+        graph.getCompactTimingGraph();
+        orderedVertices = new ArrayList<>();
+        TopologicalOrderIterator<TimingVertex, TimingEdge> it = new TopologicalOrderIterator<>(graph);
+        while (it.hasNext()) {
+            orderedVertices.add(it.next());
+        }
+    }
+
+    /**
+     * Propagates arrival times the way {@link TimingGraph} did before it had a compact form.
+     */
+    @Benchmark
+    public void jgraphtArrivalTimes(Blackhole bh) {
+        for (TimingVertex v : orderedVertices) {
+            if (graph.inDegreeOf(v) == 0) v.setArrivalTime(0);
+            for (TimingEdge e : graph.outgoingEdgesOf(v)) {
+                float arrival = e.getSrc().getArrivalTime() + e.getDelay();
+                e.getDst().setMaxArrivalTime(arrival, v);
+            }
+        }
+        bh.consume(graph.superSink.getArrivalTime());
+    }
+
+    @Benchmark
+    public void compactArrivalTimes(Blackhole bh) {
+        graph.computeArrivalTimesTopologicalOrder();
+        bh.consume(graph.superSink.getArrivalTime());
+    }
+}
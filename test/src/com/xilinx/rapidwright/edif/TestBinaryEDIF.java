@@ -26,6 +26,9 @@
  */
 package com.xilinx.rapidwright.edif;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -51,6 +54,63 @@ public class TestBinaryEDIF {
         testBinaryEDIF(tempDir, dcp);
     }
 
+    @Test
+    public void testSequentialAndChunkedBinaryEDIF(@TempDir Path tempDir) throws IOException {
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath("picoblaze_ooc_X10Y235.dcp"));
+        EDIFNetlist netlist = design.getNetlist();
+        netlist.collapseMacroUnisims(design.getDevice().getSeries());
+        Path sequentialPath = tempDir.resolve("sequential.bedf");
+        try (OutputStream os = Files.newOutputStream(sequentialPath)) {
+            BinaryEDIFWriter.writeBinaryEDIF(os, netlist, false);
+        }
+        Path chunkedPath = tempDir.resolve("chunked.bedf");
+        try (OutputStream os = Files.newOutputStream(chunkedPath)) {
+            BinaryEDIFWriter.writeBinaryEDIF(os, netlist, true);
+        }
+        EDIFNetlist sequential = EDIFNetlist.readBinaryEDIF(sequentialPath);
+        EDIFNetlist chunked = EDIFNetlist.readBinaryEDIF(chunkedPath);
+        Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(netlist, sequential));
+        Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(sequential, chunked));
+    }
+
+    @Test
+    public void testLazyBinaryEDIF(@TempDir Path tempDir) {
+        Design design = Design.readCheckpoint(RapidWrightDCP.getPath("picoblaze_ooc_X10Y235.dcp"));
+        EDIFNetlist netlist = design.getNetlist();
+        netlist.collapseMacroUnisims(design.getDevice().getSeries());
+        Path binaryPath = tempDir.resolve("test.bedf");
+        netlist.writeBinaryEDIF(binaryPath);
+
+        EDIFNetlist lazy = EDIFNetlist.readBinaryEDIF(binaryPath, true);
+        EDIFCell top = lazy.getTopCell();
+        Assertions.assertFalse(top.isContentsLoaded());
+        Assertions.assertFalse(top.isLeafCellOrBlackBox());
+        Assertions.assertEquals(netlist.getTopCell().getCellInsts().size(), top.getCellInsts().size());
+        Assertions.assertTrue(top.isContentsLoaded());
+
+        Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(netlist, lazy));
+    }
+
+    @Test
+    public void testLazyBinaryEDIFLoadIsNotAChange(@TempDir Path tempDir) {
+        EDIFNetlist netlist = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp").getNetlist();
+        Path binaryPath = tempDir.resolve("test.bedf");
+        netlist.writeBinaryEDIF(binaryPath);
+
+        EDIFNetlist lazy = EDIFNetlist.readBinaryEDIF(binaryPath, true);
+        lazy.setTrackCellChanges(true);
+        EDIFCell top = lazy.getTopCell();
+        Assertions.assertFalse(top.isContentsLoaded());
+        Assertions.assertFalse(top.getCellInsts().isEmpty());
+        Assertions.assertTrue(top.isContentsLoaded());
+        Assertions.assertTrue(lazy.getModifiedCells().isEmpty());
+
+        // Changes after loading are still tracked
+        top.createChildCellInst("lazy_load_test", Design.getPrimitivesLibrary().getCell("LUT2"));
+        Assertions.assertEquals(1, lazy.getModifiedCells().size());
+        Assertions.assertTrue(lazy.getModifiedCells().containsKey(top));
+    }
+
     @Test
     public void runTestBinaryEDIFOnLSF() {
         String dcpPath = System.getenv(RW_TEST_DCP_PATH_VAR_NAME);
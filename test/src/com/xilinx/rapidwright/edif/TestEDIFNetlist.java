@@ -23,7 +23,15 @@
 
 package com.xilinx.rapidwright.edif;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +53,7 @@ import com.xilinx.rapidwright.device.PartNameTools;
 import com.xilinx.rapidwright.device.Series;
 import com.xilinx.rapidwright.edif.compare.EDIFNetlistComparator;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 class TestEDIFNetlist {
 
@@ -255,6 +264,182 @@ class TestEDIFNetlist {
         }
     }
 
+    private static void assertParentNetMapMatchesFullGeneration(EDIFNetlist netlist) {
+        Map<EDIFHierNet, EDIFHierNet> updatedMap = new HashMap<>(netlist.getParentNetMap());
+        Map<EDIFHierNet, List<EDIFHierPortInst>> updatedPinMap = new HashMap<>(netlist.getPhysicalNetPinMap());
+        List<EDIFHierPortInst> updatedGndPins = new ArrayList<>(netlist.getPhysicalGndPins());
+        List<EDIFHierPortInst> updatedVccPins = new ArrayList<>(netlist.getPhysicalVccPins());
+        Map<String, String> updatedNames = new HashMap<>(netlist.getParentNetMapNames());
+
+        netlist.resetParentNetMap();
+        Assertions.assertEquals(netlist.getParentNetMap(), updatedMap);
+        Assertions.assertEquals(netlist.getPhysicalNetPinMap().keySet(), updatedPinMap.keySet());
+        for (Map.Entry<EDIFHierNet, List<EDIFHierPortInst>> e : netlist.getPhysicalNetPinMap().entrySet()) {
+            Assertions.assertEquals(new HashSet<>(e.getValue()), new HashSet<>(updatedPinMap.get(e.getKey())));
+        }
+        Assertions.assertEquals(netlist.getPhysicalGndPins(), updatedGndPins);
+        Assertions.assertEquals(netlist.getPhysicalVccPins(), updatedVccPins);
+        Assertions.assertEquals(netlist.getParentNetMapNames(), updatedNames);
+    }
+
+    @Test
+    public void testIncrementalParentNetMap() {
+        Design d = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = d.getNetlist();
+        netlist.setTrackCellChanges(true);
+        netlist.getParentNetMapNames();
+
+        EDIFHierPortInst srcPortInst = netlist.getHierPortInstFromName(TestEDIFTools.TEST_SRC);
+        EDIFHierPortInst snkPortInst = netlist.getHierPortInstFromName(TestEDIFTools.TEST_SNK);
+        EDIFHierNet oldSnkNet = netlist.getParentNet(snkPortInst.getHierarchicalNet());
+
+        // Disconnect sink, which is picked up without resetting the parent net map
+        snkPortInst.getNet().removePortInst(snkPortInst.getPortInst());
+        Assertions.assertFalse(netlist.getPhysicalPins(oldSnkNet).contains(snkPortInst));
+        assertParentNetMapMatchesFullGeneration(netlist);
+
+        EDIFTools.connectPortInstsThruHier(srcPortInst, snkPortInst, TestEDIFTools.UNIQUE_SUFFIX);
+        EDIFHierNet srcNet = netlist.getParentNet(srcPortInst.getHierarchicalNet());
+        Assertions.assertTrue(netlist.getPhysicalPins(srcNet).contains(snkPortInst));
+        assertParentNetMapMatchesFullGeneration(netlist);
+
+        // Remove the sink cell entirely
+        EDIFHierCellInst snkInst = snkPortInst.getHierarchicalInst();
+        for (EDIFPortInst portInst : snkPortInst.getCellInst().getPortInsts()) {
+            if (portInst.getNet() != null) {
+                portInst.getNet().removePortInst(portInst);
+            }
+        }
+        snkInst.getCellType().removeCellInst(snkPortInst.getCellInst());
+        Assertions.assertFalse(netlist.getPhysicalPins(srcNet).contains(snkPortInst));
+        assertParentNetMapMatchesFullGeneration(netlist);
+    }
+
+    @Test
+    public void testParallelParentNetMap() {
+        Design d = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = d.getNetlist();
+
+        boolean parallel = ParallelismTools.getParallel();
+        Map<EDIFHierNet, EDIFHierNet> serialMap;
+        Map<EDIFHierNet, List<EDIFHierPortInst>> serialPinMap;
+        List<EDIFHierPortInst> serialGndPins;
+        List<EDIFHierPortInst> serialVccPins;
+        Map<String, String> serialNames;
+        try {
+            // The map may already have been generated in parallel while loading the design
+            ParallelismTools.setParallel(false);
+            netlist.resetParentNetMap();
+            serialMap = new HashMap<>(netlist.getParentNetMap());
+            serialPinMap = new HashMap<>(netlist.getPhysicalNetPinMap());
+            serialGndPins = new ArrayList<>(netlist.getPhysicalGndPins());
+            serialVccPins = new ArrayList<>(netlist.getPhysicalVccPins());
+            serialNames = new HashMap<>(netlist.getParentNetMapNames());
+
+            ParallelismTools.setParallel(true);
+            netlist.resetParentNetMap();
+            Assertions.assertEquals(serialMap, netlist.getParentNetMap());
+            Assertions.assertEquals(serialPinMap, netlist.getPhysicalNetPinMap());
+            Assertions.assertEquals(serialGndPins, netlist.getPhysicalGndPins());
+            Assertions.assertEquals(serialVccPins, netlist.getPhysicalVccPins());
+            Assertions.assertEquals(serialNames, netlist.getParentNetMapNames());
+            Assertions.assertFalse(netlist.getParentNetMap().containsKey(null));
+            Assertions.assertNull(netlist.getParentNet(null));
+            Assertions.assertNull(netlist.getPhysicalNetPinMap().get(null));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+
+        EDIFParentNetIds ids = netlist.getParentNetIds();
+        Assertions.assertEquals(serialMap.size(), ids.getAliasCount());
+        Assertions.assertEquals(new HashSet<>(serialMap.values()).size(), ids.size());
+        for (Map.Entry<EDIFHierNet, EDIFHierNet> e : serialMap.entrySet()) {
+            int id = ids.getId(e.getKey());
+            Assertions.assertEquals(e.getValue(), ids.getParentNet(id));
+            Assertions.assertEquals(id, ids.getId(e.getValue()));
+        }
+        Assertions.assertEquals(-1, ids.getId(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testHierNameIndex(boolean parallel) {
+        Design d = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = d.getNetlist();
+        List<EDIFHierCellInst> allInsts = netlist.findCellInsts("*");
+        List<EDIFHierCellInst> matches = netlist.findCellInsts("base_mb_i/microblaze_0/U0/*LUT*");
+        Assertions.assertFalse(matches.isEmpty());
+
+        try {
+            ParallelismTools.setParallel(parallel);
+            netlist.setUseHierNameIndex(true);
+            Assertions.assertEquals(allInsts.size() + 1, netlist.getHierNameIndex().size());
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+
+        EDIFHierNameIndex index = netlist.getHierNameIndex();
+        for (EDIFHierCellInst inst : allInsts) {
+            String name = inst.getFullHierarchicalInstName();
+            Assertions.assertEquals(name, index.getName(index.getId(name)));
+            Assertions.assertEquals(inst, netlist.getHierCellInstFromName(name));
+            for (EDIFNet net : inst.getCellType().getNets()) {
+                EDIFHierNet hierNet = new EDIFHierNet(inst, net);
+                Assertions.assertEquals(hierNet, netlist.getHierNetFromName(hierNet.getHierarchicalNetName()));
+            }
+        }
+        for (EDIFNet net : netlist.getTopCell().getNets()) {
+            Assertions.assertEquals(net, netlist.getHierNetFromName(net.getName()).getNet());
+        }
+        EDIFHierPortInst src = netlist.getHierPortInstFromName(TestEDIFTools.TEST_SRC);
+        Assertions.assertNotNull(src);
+        Assertions.assertEquals(TestEDIFTools.TEST_SRC, src.toString());
+        Assertions.assertNull(netlist.getHierCellInstFromName("does/not/exist"));
+        Assertions.assertEquals(new HashSet<>(matches),
+                new HashSet<>(netlist.findCellInsts("base_mb_i/microblaze_0/U0/*LUT*")));
+        List<String> prefixed = new ArrayList<>();
+        for (EDIFHierCellInst inst : index.getHierCellInstsWithPrefix("base_mb_i/")) {
+            prefixed.add(inst.getFullHierarchicalInstName());
+        }
+        Assertions.assertFalse(prefixed.isEmpty());
+        List<String> sortedPrefixed = new ArrayList<>(prefixed);
+        Collections.sort(sortedPrefixed);
+        Assertions.assertEquals(sortedPrefixed, prefixed);
+        Assertions.assertEquals(allInsts.stream()
+                .filter((i) -> i.getFullHierarchicalInstName().startsWith("base_mb_i/")).count(), prefixed.size());
+
+        // Adding an instance invalidates the index
+        EDIFCell lut2 = Design.getPrimitivesLibrary().getCell("LUT2");
+        EDIFCellInst added = netlist.getTopCell().createChildCellInst("hier_name_index_test", lut2);
+        EDIFHierCellInst hierAdded = netlist.getHierCellInstFromName("hier_name_index_test");
+        Assertions.assertNotNull(hierAdded);
+        Assertions.assertSame(added, hierAdded.getInst());
+        netlist.getTopCell().removeCellInst(added);
+        Assertions.assertNull(netlist.getHierCellInstFromName("hier_name_index_test"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testStreamingExportEDIF(boolean parallel, @TempDir Path tempDir) throws IOException {
+        EDIFNetlist netlist = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp").getNetlist();
+        Path reference = tempDir.resolve("reference.edf");
+        ParallelismTools.setParallel(false);
+        try (OutputStream out = Files.newOutputStream(reference)) {
+            netlist.exportEDIF(out, true);
+        }
+
+        Path streamed = tempDir.resolve("streamed.edf");
+        try {
+            ParallelismTools.setParallel(parallel);
+            try (FileChannel channel = FileChannel.open(streamed, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                netlist.exportEDIF(channel, true);
+            }
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+        Assertions.assertArrayEquals(Files.readAllBytes(reference), Files.readAllBytes(streamed));
+    }
+
     @Test
     public void testGetHier() {
         final EDIFNetlist netlist = EDIFTools.createNewNetlist("test");
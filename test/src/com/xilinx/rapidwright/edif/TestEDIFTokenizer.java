@@ -85,6 +85,46 @@ public class TestEDIFTokenizer {
                 });
     }
 
+    @Test
+    public void testMappedTokenizer(@TempDir Path tempDir) throws IOException {
+        Design d = Design.readCheckpoint(RapidWrightDCP.getPath("picoblaze_ooc_X10Y235.dcp"));
+        Path edif = tempDir.resolve("picoblaze.edf");
+        d.getNetlist().exportEDIF(edif);
+        long fileSize = Files.size(edif);
+
+        List<EDIFToken> allTokens;
+        try (EDIFTokenizer tokenizer = new EDIFTokenizer(edif, new BufferedInputStream(Files.newInputStream(edif)), StringPool.singleThreadedPool())) {
+            allTokens = readTokens(tokenizer);
+        }
+        // Use the smallest window size so that remapping is exercised
+        try (EDIFTokenizer tokenizer = new MappedEDIFTokenizer(edif, StringPool.singleThreadedPool(), TESTING_MAX_TOKEN_LENGTH, 0)) {
+            Assertions.assertEquals(allTokens, readTokens(tokenizer));
+        }
+
+        LongStream.range(0, fileSize).parallel()
+                .forEach(i-> {
+                    try (EDIFTokenizer skipTokenizer = new MappedEDIFTokenizer(edif, StringPool.singleThreadedPool(), TESTING_MAX_TOKEN_LENGTH, 0)) {
+                        skipTokenizer.skip(i);
+
+                        compareSuffixTokens(i, allTokens, skipTokenizer);
+
+                    } catch (RuntimeException e) {
+                        throw new RuntimeException("Failed parsing starting at offset "+i, e);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Test
+    public void testMappedTooLongToken(@TempDir Path tempDir) throws IOException {
+        Path edif = tempDir.resolve("long.edf");
+        Files.write(edif, toByteArray(repeatString("ASDF", 250) + " "));
+        try (EDIFTokenizer tokenizer = new MappedEDIFTokenizer(edif, StringPool.singleThreadedPool(), 256)) {
+            Assertions.assertThrows(TokenTooLongException.class, () -> tokenizer.getOptionalNextToken(true));
+        }
+    }
+
     private void compareSuffixTokens(long offset, List<EDIFToken> allTokens, EDIFTokenizer tokenizer) {
         final EDIFToken firstToken = tokenizer.getOptionalNextToken(true);
         if (firstToken == null) {
@@ -25,9 +25,11 @@ package com.xilinx.rapidwright.interchange;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SiteInst;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -82,4 +84,40 @@ public class TestPhysNetlistReader {
         Assertions.assertEquals("ERROR: Cell \"LUT6_2_70/LUT6\" placement on BEL SLICE_X61Y155/B6LUT conflicts with previously placed cell \"LUT6_2_70/LUT5\".",
                 ex.getMessage());
     }
+
+    @Test
+    public void testReadPhysNetlistParallel(@TempDir Path tempDir) throws IOException {
+        Design input = RapidWrightDCP.loadDCP("bnn.dcp");
+        final Path interchangePath = tempDir.resolve("bnn.phys");
+        PhysNetlistWriter.writePhysNetlist(input, interchangePath.toString());
+
+        Design serial;
+        Design parallel;
+        try {
+            ParallelismTools.setParallel(false);
+            serial = PhysNetlistReader.readPhysNetlist(interchangePath.toString(), input.getNetlist());
+            ParallelismTools.setParallel(true);
+            parallel = PhysNetlistReader.readPhysNetlist(interchangePath.toString(), input.getNetlist());
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+
+        Assertions.assertEquals(serial.getNets().size(), parallel.getNets().size());
+        for (Net net : serial.getNets()) {
+            Net other = parallel.getNet(net.getName());
+            Assertions.assertNotNull(other, net.getName());
+            Assertions.assertEquals(net.getType(), other.getType());
+            Assertions.assertEquals(net.getPIPs().toString(), other.getPIPs().toString());
+            Assertions.assertEquals(net.getPins().toString(), other.getPins().toString());
+        }
+
+        Assertions.assertEquals(serial.getSiteInsts().size(), parallel.getSiteInsts().size());
+        for (SiteInst si : serial.getSiteInsts()) {
+            SiteInst other = parallel.getSiteInstFromSiteName(si.getSiteName());
+            Assertions.assertNotNull(other, si.getSiteName());
+            Assertions.assertEquals(si.getCellMap().toString(), other.getCellMap().toString());
+            Assertions.assertEquals(si.getUsedSitePIPs().toString(), other.getUsedSitePIPs().toString());
+            Assertions.assertEquals(si.getSiteCTags().toString(), other.getSiteCTags().toString());
+        }
+    }
 }
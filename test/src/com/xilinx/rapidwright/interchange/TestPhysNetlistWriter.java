@@ -24,6 +24,7 @@
 package com.xilinx.rapidwright.interchange;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
@@ -42,6 +43,7 @@ import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.PinMapping
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranch;
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranch.RouteSegment;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -140,4 +142,27 @@ public class TestPhysNetlistWriter {
         }
     }
 
+
+    @Test
+    public void testParallelWriteMatchesSerial(@TempDir Path tempDir) throws IOException {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+
+        Path serialLogPath = tempDir.resolve("serial.netlist");
+        Path serialPhysPath = tempDir.resolve("serial.phys");
+        Path parallelLogPath = tempDir.resolve("parallel.netlist");
+        Path parallelPhysPath = tempDir.resolve("parallel.phys");
+        try {
+            ParallelismTools.setParallel(false);
+            LogNetlistWriter.writeLogNetlist(design.getNetlist(), serialLogPath.toString());
+            PhysNetlistWriter.writePhysNetlist(design, serialPhysPath.toString());
+            ParallelismTools.setParallel(true);
+            LogNetlistWriter.writeLogNetlist(design.getNetlist(), parallelLogPath.toString());
+            PhysNetlistWriter.writePhysNetlist(design, parallelPhysPath.toString());
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+
+        Assertions.assertArrayEquals(Files.readAllBytes(serialLogPath), Files.readAllBytes(parallelLogPath));
+        Assertions.assertArrayEquals(Files.readAllBytes(serialPhysPath), Files.readAllBytes(parallelPhysPath));
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestConnectionStatistics {
+
+    /** Nodes popped by each routing attempt of each synthetic connection */
+    private static final int[][] ATTEMPTS = {
+            {},             // never routed
+            {0},            // routed without popping anything
+            {0, 0},
+            {1},
+            {2},
+            {1, 2},
+            {4},
+            {7},
+            {3, 5},         // 8 in total
+            {1023},
+            {1000, 24},     // 1024 in total
+    };
+
+    private static List<Connection> createConnections() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        Net net = null;
+        for (Net n : design.getNets()) {
+            if (n.getSource() != null && n.getSinkPins().size() > 0 && !n.isStaticNet() && !n.isClockNet()) {
+                net = n;
+                break;
+            }
+        }
+        Assertions.assertNotNull(net);
+        SitePinInst source = net.getSource();
+        SitePinInst sink = net.getSinkPins().get(0);
+        NetWrapper netWrapper = new NetWrapper(0, net);
+        List<Connection> connections = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS.length; i++) {
+            Connection connection = new Connection(i, source, sink, netWrapper);
+            for (int popped : ATTEMPTS[i]) {
+                connection.addSearchEffort(popped, 3L * popped + 1);
+            }
+            for (int j = 0; j < i % 3; j++) {
+                connection.enlargeBoundingBox(1, 1);
+            }
+            connections.add(connection);
+        }
+        return connections;
+    }
+
+    @Test
+    public void testBinsAndJSON(@TempDir Path tempDir) throws IOException {
+        List<Connection> connections = createConnections();
+        Path jsonFile = tempDir.resolve("stats.json");
+        ConnectionStatistics.write(connections, jsonFile.toString());
+        JSONArray histogram = new JSONObject(new String(Files.readAllBytes(jsonFile))).getJSONArray("histogram");
+
+        // Bins are [0,0], [1,1], [2,3], [4,7], ... up to the bin of the 1024 nodes popped, [1024,2047]
+        Assertions.assertEquals(12, histogram.length());
+        long totalConnections = 0;
+        for (int bin = 0; bin < histogram.length(); bin++) {
+            JSONObject row = histogram.getJSONObject(bin);
+            long min = bin == 0 ? 0 : 1L << (bin - 1);
+            long max = bin == 0 ? 0 : (1L << bin) - 1;
+            Assertions.assertEquals(min, row.getLong("min_nodes_popped"));
+            Assertions.assertEquals(max, row.getLong("max_nodes_popped"));
+
+            long expectedConnections = 0;
+            long expectedPopped = 0;
+            long expectedPushed = 0;
+            long expectedRouted = 0;
+            long expectedEnlarged = 0;
+            for (Connection connection : connections) {
+                long popped = connection.getNodesPopped();
+                if (popped < min || popped > max) {
+                    continue;
+                }
+                expectedConnections++;
+                expectedPopped += popped;
+                expectedPushed += connection.getNodesPushed();
+                expectedRouted += connection.getTimesRouted();
+                expectedEnlarged += connection.getTimesEnlarged();
+            }
+            Assertions.assertEquals(expectedConnections, row.getLong("connections"));
+            Assertions.assertEquals(expectedPopped, row.getLong("nodes_popped"));
+            Assertions.assertEquals(expectedPushed, row.getLong("nodes_pushed"));
+            Assertions.assertEquals(expectedRouted, row.getLong("times_routed"));
+            Assertions.assertEquals(expectedEnlarged, row.getLong("times_enlarged"));
+            totalConnections += expectedConnections;
+        }
+        Assertions.assertEquals(connections.size(), totalConnections);
+
+        // Zero pops, whether or not the connection was ever routed, go into the first bin
+        JSONObject zeroBin = histogram.getJSONObject(0);
+        Assertions.assertEquals(3, zeroBin.getLong("connections"));
+        Assertions.assertEquals(3, zeroBin.getLong("times_routed"));
+        Assertions.assertEquals(3, zeroBin.getLong("nodes_pushed"));
+        // Empty bins between non-empty ones are still reported
+        Assertions.assertEquals(0, histogram.getJSONObject(5).getLong("connections"));
+
+        // Any other extension is written as CSV with the same rows
+        Path csvFile = tempDir.resolve("stats.csv");
+        ConnectionStatistics.write(connections, csvFile.toString());
+        List<String> lines = Files.readAllLines(csvFile);
+        Assertions.assertEquals("min_nodes_popped,max_nodes_popped,connections,nodes_popped,nodes_pushed,times_routed,times_enlarged",
+                lines.get(0));
+        Assertions.assertEquals(histogram.length() + 1, lines.size());
+        for (int bin = 0; bin < histogram.length(); bin++) {
+            JSONObject row = histogram.getJSONObject(bin);
+            Assertions.assertEquals(row.getLong("min_nodes_popped") + "," + row.getLong("max_nodes_popped") + ","
+                    + row.getLong("connections") + "," + row.getLong("nodes_popped") + ","
+                    + row.getLong("nodes_pushed") + "," + row.getLong("times_routed") + ","
+                    + row.getLong("times_enlarged"), lines.get(bin + 1));
+        }
+    }
+
+    @Test
+    public void testWriteFailureIsNotFatal(@TempDir Path tempDir) {
+        List<Connection> connections = createConnections();
+        Path statsFile = tempDir.resolve("missing").resolve("stats.csv");
+        Assertions.assertDoesNotThrow(() -> ConnectionStatistics.write(connections, statsFile.toString()));
+        Assertions.assertFalse(Files.exists(statsFile));
+    }
+}
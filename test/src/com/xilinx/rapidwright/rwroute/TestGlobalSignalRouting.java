@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.router.RouteThruHelper;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+public class TestGlobalSignalRouting {
+
+    /**
+     * Routes the GND net of a design with its sinks partitioned by clock region, and returns its PIPs.
+     */
+    private static Set<PIP> routeGndNetPartitioned() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        Net gndNet = design.getGndNet();
+        gndNet.unroute();
+        Set<Node> unavailable = new HashSet<>();
+        for (Net net : design.getNets()) {
+            if (net == gndNet) continue;
+            for (PIP pip : net.getPIPs()) {
+                unavailable.add(pip.getStartNode());
+                unavailable.add(pip.getEndNode());
+            }
+            for (SitePinInst spi : net.getPins()) {
+                unavailable.add(spi.getConnectedNode());
+            }
+        }
+        RouteThruHelper routeThruHelper = new RouteThruHelper(design.getDevice());
+        GlobalSignalRouting.routeStaticNet(gndNet,
+                (node) -> unavailable.contains(node) ? NodeStatus.UNAVAILABLE : NodeStatus.AVAILABLE,
+                design, routeThruHelper, 1);
+        return new HashSet<>(gndNet.getPIPs());
+    }
+
+    /**
+     * Tests that the partitioned routing of a static net gives identical results whether the
+     * partitions are routed concurrently or one after another.
+     */
+    @Test
+    public void testPartitionedStaticRoutingMatchesSerial() {
+        boolean parallel = ParallelismTools.getParallel();
+        List<Set<PIP>> results = new ArrayList<>();
+        try {
+            for (boolean useThreads : new boolean[] {false, true}) {
+                ParallelismTools.setParallel(useThreads);
+                results.add(routeGndNetPartitioned());
+            }
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+        Assertions.assertFalse(results.get(0).isEmpty());
+        Assertions.assertEquals(results.get(0), results.get(1));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TestIdentityCounter {
+
+    private static void assertMatches(Map<Object, Integer> expected, IdentityCounter<Object> counter, List<Object> keys) {
+        Assertions.assertEquals(expected.size(), counter.size());
+        for (Object key : keys) {
+            Assertions.assertEquals(expected.getOrDefault(key, 0), counter.get(key));
+        }
+        Map<Object, Integer> actual = new IdentityHashMap<>();
+        counter.putAllInto(actual);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testOverflowIntoMapAndBackToEmpty() {
+        // Keys that are equal, but not identical, must be counted separately
+        List<Object> keys = new ArrayList<>();
+        keys.add(null);
+        for (int i = 0; i < 2 * IdentityCounter.MAX_ARRAY_SIZE; i++) {
+            keys.add(new String("key"));
+        }
+
+        IdentityCounter<Object> counter = new IdentityCounter<>();
+        Map<Object, Integer> expected = new IdentityHashMap<>();
+        // Grow one distinct key at a time, past the point at which the arrays are replaced by a map
+        for (Object key : keys) {
+            counter.increment(key);
+            counter.increment(key);
+            expected.put(key, 2);
+            assertMatches(expected, counter, keys);
+        }
+
+        // Decrement every count back to zero
+        for (int round = 0; round < 2; round++) {
+            for (Object key : keys) {
+                counter.decrement(key);
+                expected.compute(key, (k,v) -> (v == 1) ? null : v - 1);
+                assertMatches(expected, counter, keys);
+            }
+        }
+        Assertions.assertEquals(0, counter.size());
+
+        // Counter remains usable once empty
+        counter.increment(keys.get(1));
+        expected.put(keys.get(1), 1);
+        assertMatches(expected, counter, keys);
+    }
+
+    @Test
+    public void testRandomOperationsMatchReference() {
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < IdentityCounter.MAX_ARRAY_SIZE + 2; i++) {
+            keys.add(new Object());
+        }
+        Random random = new Random(0);
+        for (int numKeys : new int[] {2, IdentityCounter.MAX_ARRAY_SIZE, keys.size()}) {
+            IdentityCounter<Object> counter = new IdentityCounter<>();
+            Map<Object, Integer> expected = new IdentityHashMap<>();
+            for (int i = 0; i < 10000; i++) {
+                Object key = keys.get(random.nextInt(numKeys));
+                if (expected.containsKey(key) && random.nextBoolean()) {
+                    counter.decrement(key);
+                    expected.compute(key, (k,v) -> (v == 1) ? null : v - 1);
+                } else {
+                    counter.increment(key);
+                    expected.merge(key, 1, Integer::sum);
+                }
+                assertMatches(expected, counter, keys);
+            }
+        }
+    }
+
+    @Test
+    public void testDecrementAbsentKey() {
+        IdentityCounter<Object> counter = new IdentityCounter<>();
+        Assertions.assertThrows(RuntimeException.class, () -> counter.decrement(new Object()));
+
+        for (int i = 0; i <= IdentityCounter.MAX_ARRAY_SIZE; i++) {
+            counter.increment(new Object());
+        }
+        Assertions.assertThrows(RuntimeException.class, () -> counter.decrement(new Object()));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestNodeOwnershipIndex {
+
+    @Test
+    public void testConcurrentClaimMatchesSerial() {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+
+        Map<Node, Net> expected = new HashMap<>();
+        for (Net net : design.getNets()) {
+            for (Node node : RouterHelper.getNodesOfNet(net)) {
+                expected.putIfAbsent(node, net);
+            }
+        }
+
+        NodeOwnershipIndex index = new NodeOwnershipIndex();
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            ParallelismTools.invokeAllRunnable(design.getNets(), (net) -> {
+                int netId = index.getNetId(net);
+                for (Node node : RouterHelper.getNodesOfNet(net)) {
+                    index.claim(node, netId);
+                }
+            });
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+
+        Assertions.assertEquals(expected.size(), index.size());
+        for (Map.Entry<Node, Net> e : expected.entrySet()) {
+            Node node = e.getKey();
+            Assertions.assertTrue(index.isOwned(node));
+            Net owner = index.getOwner(node);
+            if (owner != e.getValue()) {
+                // Claim order across threads is not deterministic; the owner must have used this node
+                Assertions.assertTrue(RouterHelper.getNodesOfNet(owner).contains(node));
+            }
+        }
+
+        Node node = expected.keySet().iterator().next();
+        Net owner = index.getOwner(node);
+        Assertions.assertSame(owner, index.claim(node, owner));
+        Assertions.assertTrue(index.release(node));
+        Assertions.assertFalse(index.isOwned(node));
+        Assertions.assertNull(index.getOwner(node));
+        Assertions.assertFalse(index.release(node));
+        Assertions.assertEquals(expected.size() - 1, index.size());
+        Assertions.assertNull(index.claim(node, owner));
+        Assertions.assertSame(owner, index.getOwner(node));
+    }
+}
@@ -23,25 +23,40 @@
 
 package com.xilinx.rapidwright.rwroute;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.ReportRouteStatusResult;
 import com.xilinx.rapidwright.util.VivadoTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SiteInst;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.Part;
 import com.xilinx.rapidwright.device.PartNameTools;
 import com.xilinx.rapidwright.device.Series;
@@ -93,7 +108,103 @@ public class TestRWRoute {
         assertVivadoFullyRouted(design);
     }
 
+    /**
+     * Tests the non-timing driven full routing with connections routed in parallel.
+     * The bnn design from Rosetta benchmarks is used.
+     */
+    @Test
+    @LargeTest
+    public void testNonTimingDrivenParallelFullRouting() {
+        String dcpPath = RapidWrightDCP.getString("bnn.dcp");
+        Design design = Design.readCheckpoint(dcpPath);
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven", "--parallelRouting"});
+        assertAllSinksRouted(design);
+        assertVivadoFullyRouted(design);
+    }
 
+    /**
+     * Tests that routing with connections partitioned for parallel routing gives identical results
+     * whether the partitions are routed by multiple threads or by a single one.
+     */
+    @Test
+    public void testParallelRoutingMatchesSerial() {
+        boolean parallel = ParallelismTools.getParallel();
+        List<Map<String, Set<PIP>>> results = new ArrayList<>();
+        try {
+            for (boolean useThreads : new boolean[] {false, true}) {
+                ParallelismTools.setParallel(useThreads);
+                Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+                RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven", "--parallelRouting"});
+                Map<String, Set<PIP>> pips = new HashMap<>();
+                for (Net net : design.getNets()) {
+                    pips.put(net.getName(), new HashSet<>(net.getPIPs()));
+                }
+                results.add(pips);
+            }
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+        Assertions.assertEquals(results.get(0), results.get(1));
+    }
+
+    /**
+     * Tests that re-routing the same design seeded with the connection routing hints saved by a
+     * previous run applies those hints, needs no more iterations, and produces a fully routed design.
+     */
+    @Test
+    @LargeTest
+    public void testNonTimingDrivenFullRoutingWithConnectionRoutingCache(@TempDir Path tempDir) {
+        String dcpPath = RapidWrightDCP.getString("bnn.dcp");
+        String cacheFileName = tempDir.resolve("bnn.hints").toString();
+        String[] args = new String[] {"--nonTimingDriven", "--connectionRoutingCache", cacheFileName};
+
+        Design design = Design.readCheckpoint(dcpPath);
+        RWRoute router = new RWRoute(design, new RWRouteConfig(args));
+        RWRoute.routeDesign(design, router);
+        assertAllSinksRouted(design);
+        Assertions.assertEquals(0, router.getNumRoutingHintsApplied());
+        int firstRunIterations = router.routeIteration;
+        Assertions.assertTrue(Files.exists(Paths.get(cacheFileName)));
+        int cachedPaths = ConnectionRoutingCache.load(cacheFileName, design.getDevice()).size();
+        Assertions.assertTrue(cachedPaths > 0);
+
+        design = Design.readCheckpoint(dcpPath);
+        router = new RWRoute(design, new RWRouteConfig(args));
+        RWRoute.routeDesign(design, router);
+        assertAllSinksRouted(design);
+        // A legal routing from the previous run must be (almost) entirely reusable
+        Assertions.assertTrue(router.getNumRoutingHintsApplied() > cachedPaths / 2);
+        Assertions.assertTrue(router.routeIteration <= firstRunIterations);
+        assertVivadoFullyRouted(design);
+    }
+
+    /**
+     * Tests the non-timing driven full routing with adaptively enlarged bounding boxes, and that the
+     * histogram of per-connection search effort accounts for every routing attempt.
+     */
+    @Test
+    @LargeTest
+    public void testNonTimingDrivenFullRoutingWithAdaptiveBoundingBox(@TempDir Path tempDir) throws IOException {
+        String dcpPath = RapidWrightDCP.getString("bnn.dcp");
+        Path statsFile = tempDir.resolve("bnn_stats.csv");
+        Design design = Design.readCheckpoint(dcpPath);
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven", "--adaptiveBoundingBox",
+                "--connectionStatistics", statsFile.toString()});
+        assertAllSinksRouted(design);
+
+        List<String> lines = Files.readAllLines(statsFile);
+        Assertions.assertTrue(lines.get(0).startsWith("min_nodes_popped,max_nodes_popped,connections"));
+        long connections = 0;
+        long timesRouted = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",");
+            connections += Long.parseLong(columns[2]);
+            timesRouted += Long.parseLong(columns[5]);
+        }
+        Assertions.assertTrue(connections > 0);
+        Assertions.assertTrue(timesRouted >= connections);
+        assertVivadoFullyRouted(design);
+    }
 
     /**
      * Tests the timing driven full routing, i.e., RWRoute running in timing-driven mode.
@@ -280,4 +391,74 @@ public class TestRWRoute {
         }
     }
 
+    /**
+     * Tests that static nets are fully routed, with each node driven by a single PIP, whether or
+     * not their sinks are routed concurrently.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @LargeTest
+    public void testStaticNetRouting(boolean parallel) {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        try {
+            ParallelismTools.setParallel(parallel);
+            RWRoute.routeDesignFullNonTimingDriven(design);
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+
+        for (Net net : new Net[] {design.getGndNet(), design.getVccNet()}) {
+            assertAllSinksRouted(net.getPins());
+            Set<Node> drivenNodes = new HashSet<>();
+            for (PIP pip : net.getPIPs()) {
+                Node endNode = pip.isReversed() ? pip.getStartNode() : pip.getEndNode();
+                Assertions.assertTrue(drivenNodes.add(endNode), net + " drives " + endNode + " more than once");
+            }
+        }
+        assertVivadoFullyRouted(design);
+    }
+
+    private static void assertNoSharedNodes(Net net0, Net net1) {
+        Set<Node> nodes0 = new HashSet<>(RouterHelper.getNodesOfNet(net0));
+        for (Node node : RouterHelper.getNodesOfNet(net1)) {
+            Assertions.assertFalse(nodes0.contains(node), node + " is used by both " + net0 + " and " + net1);
+        }
+    }
+
+    /**
+     * Tests that a sequence of changes routed by the same {@link PartialRoutingSession} respect
+     * the routing created by earlier changes.
+     */
+    @Test
+    public void testPartialRoutingSession() {
+        Design design = new Design("top", Device.AWS_F1);
+
+        Net net0 = design.createNet("net0");
+        net0.createPin("AQ", design.createSiteInst("SLICE_X0Y0"));
+        SiteInst dstSi = design.createSiteInst("SLICE_X1Y10");
+        SitePinInst sink0 = net0.createPin("A1", dstSi);
+
+        Net net1 = design.createNet("net1");
+        net1.createPin("AQ", design.createSiteInst("SLICE_X1Y0"));
+        SitePinInst sink1 = net1.createPin("B1", dstSi);
+
+        PartialRoutingSession session = new PartialRoutingSession(design);
+
+        Map<Net, List<PIP>> updated = session.route(Collections.emptyList(), Arrays.asList(sink0));
+        Assertions.assertTrue(sink0.isRouted());
+        Assertions.assertEquals(net0.getPIPs(), updated.get(net0));
+        List<PIP> net0PIPs = new ArrayList<>(net0.getPIPs());
+
+        updated = session.route(Collections.emptyList(), Arrays.asList(sink1));
+        Assertions.assertTrue(sink1.isRouted());
+        Assertions.assertFalse(updated.containsKey(net0));
+        Assertions.assertEquals(net0PIPs, net0.getPIPs());
+        assertNoSharedNodes(net0, net1);
+
+        // Re-route the first connection around the second
+        updated = session.route(Arrays.asList(sink0), Arrays.asList(sink0));
+        Assertions.assertTrue(sink0.isRouted());
+        Assertions.assertEquals(net0.getPIPs(), updated.get(net0));
+        assertNoSharedNodes(net0, net1);
+    }
 }
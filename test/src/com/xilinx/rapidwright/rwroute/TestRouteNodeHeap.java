@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.device.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+public class TestRouteNodeHeap {
+
+    /** Minimal rnode that is not backed by a device node, for exercising the heap alone */
+    private static class TestRouteNode extends RouteNode {
+        TestRouteNode(RouteNodeStore store, int id) {
+            super(null, RouteNodeType.PINFEED_I, new RouteNodeInfo(RouteNodeType.PINFEED_I, (short) 0, (short) 0, (short) 0),
+                    store, id);
+        }
+
+        @Override
+        protected RouteNode getOrCreate(Node node, RouteNodeType type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean mustInclude(Node parent, Node child) {
+            return false;
+        }
+
+        @Override
+        public boolean isPreserved(Node node) {
+            return false;
+        }
+
+        @Override
+        public boolean isExcluded(Node parent, Node child) {
+            return false;
+        }
+
+        @Override
+        public int getSLRIndex() {
+            return 0;
+        }
+    }
+
+    private static void assertConsistent(RouteNodeHeap heap, PriorityQueue<Float> expected, List<RouteNode> rnodes,
+                                         Set<RouteNode> members) {
+        Assertions.assertEquals(expected.size(), heap.size());
+        Assertions.assertEquals(expected.isEmpty(), heap.isEmpty());
+        if (!expected.isEmpty()) {
+            Assertions.assertEquals(expected.peek(), heap.peek().getLowerBoundTotalPathCost());
+        } else {
+            Assertions.assertNull(heap.peek());
+        }
+        for (RouteNode rnode : rnodes) {
+            Assertions.assertEquals(members.contains(rnode), heap.contains(rnode));
+            if (!members.contains(rnode)) {
+                Assertions.assertEquals(RouteNodeHeap.NOT_IN_HEAP, rnode.getHeapIndex());
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesPriorityQueue() {
+        RouteNodeStore store = RouteNodeStore.create(false);
+        List<RouteNode> rnodes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rnodes.add(new TestRouteNode(store, i));
+        }
+
+        // Small initial capacity so that the heap must grow
+        RouteNodeHeap heap = new RouteNodeHeap(4);
+        // Reference holds the cost of each member; ties between equal costs may be broken arbitrarily
+        PriorityQueue<Float> expected = new PriorityQueue<>();
+        Set<RouteNode> members = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<RouteNode> memberList = new ArrayList<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            int op = random.nextInt(10);
+            if (op < 4) {
+                RouteNode rnode = rnodes.get(random.nextInt(rnodes.size()));
+                if (members.contains(rnode)) {
+                    continue;
+                }
+                // Integer costs so that ties occur
+                float cost = random.nextInt(1000);
+                rnode.setLowerBoundTotalPathCost(cost);
+                heap.add(rnode);
+                expected.add(cost);
+                members.add(rnode);
+                memberList.add(rnode);
+            } else if (op < 7) {
+                if (memberList.isEmpty()) {
+                    continue;
+                }
+                RouteNode rnode = memberList.get(random.nextInt(memberList.size()));
+                float oldCost = rnode.getLowerBoundTotalPathCost();
+                float newCost = oldCost - random.nextInt(100);
+                rnode.setLowerBoundTotalPathCost(newCost);
+                heap.decreaseKey(rnode);
+                Assertions.assertTrue(expected.remove(oldCost));
+                expected.add(newCost);
+            } else if (op < 9) {
+                RouteNode rnode = heap.poll();
+                Float cost = expected.poll();
+                if (cost == null) {
+                    Assertions.assertNull(rnode);
+                    continue;
+                }
+                Assertions.assertEquals(cost, rnode.getLowerBoundTotalPathCost());
+                Assertions.assertTrue(members.remove(rnode));
+                // RouteNode.equals() compares device nodes, so remove by identity
+                memberList.removeIf((r) -> r == rnode);
+            } else if (random.nextInt(20) == 0) {
+                heap.clear();
+                expected.clear();
+                members.clear();
+                memberList.clear();
+            }
+            assertConsistent(heap, expected, rnodes, members);
+        }
+
+        // Drain in non-decreasing order of cost
+        float lastCost = Float.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            RouteNode rnode = heap.poll();
+            Assertions.assertEquals(expected.poll(), rnode.getLowerBoundTotalPathCost());
+            Assertions.assertTrue(rnode.getLowerBoundTotalPathCost() >= lastCost);
+            lastCost = rnode.getLowerBoundTotalPathCost();
+        }
+        Assertions.assertTrue(expected.isEmpty());
+        Assertions.assertNull(heap.poll());
+    }
+}
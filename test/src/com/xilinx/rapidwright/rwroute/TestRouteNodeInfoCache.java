@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TestRouteNodeInfoCache {
+
+    private static void assertSameInfo(RouteNodeInfo expected, RouteNodeInfo actual) {
+        Assertions.assertEquals(expected.type, actual.type);
+        Assertions.assertEquals(expected.endTileXCoordinate, actual.endTileXCoordinate);
+        Assertions.assertEquals(expected.endTileYCoordinate, actual.endTileYCoordinate);
+        Assertions.assertEquals(expected.length, actual.length);
+    }
+
+    @Test
+    public void testSaveReloadMatchesComputed(@TempDir Path tempDir) {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        Set<Node> nodeSet = new LinkedHashSet<>();
+        for (Net net : design.getNets()) {
+            nodeSet.addAll(RouterHelper.getNodesOfNet(net));
+        }
+        List<Node> nodes = new ArrayList<>(nodeSet);
+        Assertions.assertTrue(nodes.size() > 1000);
+        List<Node> firstHalf = nodes.subList(0, nodes.size() / 2);
+        String fileName = tempDir.resolve("test_rnode_cache.dat").toString();
+
+        // Nothing exists yet, so every node is computed
+        RouteNodeInfoCache cache = RouteNodeInfoCache.load(fileName);
+        for (Node node : firstHalf) {
+            assertSameInfo(RouteNodeInfo.get(node), cache.get(node));
+        }
+        Assertions.assertEquals(firstHalf.size(), cache.getNumMisses());
+        cache.save();
+
+        // Reloaded entries are served from the file; the rest are computed and merged on save
+        cache = RouteNodeInfoCache.load(fileName);
+        for (Node node : nodes) {
+            assertSameInfo(RouteNodeInfo.get(node), cache.get(node));
+        }
+        Assertions.assertEquals(nodes.size() - firstHalf.size(), cache.getNumMisses());
+        // Replaces the file that was loaded above
+        cache.save();
+
+        cache = RouteNodeInfoCache.load(fileName);
+        for (Node node : nodes) {
+            assertSameInfo(RouteNodeInfo.get(node), cache.get(node));
+        }
+        Assertions.assertEquals(0, cache.getNumMisses());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.rwroute;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+public class TestRouteNodeStore {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testRoundTrip(boolean offHeap) {
+        RouteNodeStore store = RouteNodeStore.create(offHeap);
+        // Span several chunks, including both ends of a chunk, and leave some chunks unallocated
+        int[] ids = new int[2 * RouteNodeStore.CHUNK_SIZE + 8];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (i < RouteNodeStore.CHUNK_SIZE) ? i : i + 3 * RouteNodeStore.CHUNK_SIZE - 4;
+        }
+
+        for (int id : ids) {
+            store.initialize(id);
+            Assertions.assertEquals(RouteNode.initialPresentCongestionCost, store.getPresentCongestionCost(id));
+            Assertions.assertEquals(RouteNode.initialHistoricalCongestionCost, store.getHistoricalCongestionCost(id));
+            Assertions.assertEquals(0f, store.getUpstreamPathCost(id));
+            Assertions.assertEquals(0f, store.getLowerBoundTotalPathCost(id));
+            Assertions.assertEquals(0, store.getVisited(id));
+            Assertions.assertEquals(RouteNodeHeap.NOT_IN_HEAP, store.getHeapIndex(id));
+        }
+
+        Random random = new Random(0);
+        float[][] floats = new float[ids.length][4];
+        int[][] ints = new int[ids.length][2];
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            for (int j = 0; j < floats[i].length; j++) {
+                floats[i][j] = random.nextFloat() * 1000;
+            }
+            for (int j = 0; j < ints[i].length; j++) {
+                ints[i][j] = random.nextInt();
+            }
+            store.setPresentCongestionCost(id, floats[i][0]);
+            store.setHistoricalCongestionCost(id, floats[i][1]);
+            store.setUpstreamPathCost(id, floats[i][2]);
+            store.setLowerBoundTotalPathCost(id, floats[i][3]);
+            store.setVisited(id, ints[i][0]);
+            store.setHeapIndex(id, ints[i][1]);
+        }
+
+        // Read back only after all writes, so that any aliasing between entries or fields is caught
+        for (int i = 0; i < ids.length; i++) {
+            int id = ids[i];
+            Assertions.assertEquals(floats[i][0], store.getPresentCongestionCost(id));
+            Assertions.assertEquals(floats[i][1], store.getHistoricalCongestionCost(id));
+            Assertions.assertEquals(floats[i][2], store.getUpstreamPathCost(id));
+            Assertions.assertEquals(floats[i][3], store.getLowerBoundTotalPathCost(id));
+            Assertions.assertEquals(ints[i][0], store.getVisited(id));
+            Assertions.assertEquals(ints[i][1], store.getHeapIndex(id));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.timing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.xilinx.rapidwright.util.ParallelismTools;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestTimingGraph {
+
+    /**
+     * Creates a random timing graph of layers of vertices, where each vertex is driven by one to
+     * three vertices of the previous layer. The super source drives the first layer and the last
+     * layer drives the super sink. Vertices of other layers without fan-out are left dangling.
+     */
+    static TimingGraph createLayeredTimingGraph(int numLayers, int layerSize, long seed) {
+        TimingGraph graph = new TimingGraph(null);
+        Random random = new Random(seed);
+        graph.superSource = new TimingVertex("superSource");
+        graph.superSink = new TimingVertex("superSink");
+        graph.addVertex(graph.superSource);
+        graph.addVertex(graph.superSink);
+        List<TimingVertex> prevLayer = Collections.singletonList(graph.superSource);
+        for (int l = 0; l < numLayers; l++) {
+            List<TimingVertex> layer = new ArrayList<>(layerSize);
+            for (int i = 0; i < layerSize; i++) {
+                TimingVertex v = new TimingVertex("v" + l + "_" + i);
+                graph.addVertex(v);
+                layer.add(v);
+                int fanIn = 1 + random.nextInt(3);
+                for (int j = 0; j < fanIn; j++) {
+                    TimingVertex u = prevLayer.get(random.nextInt(prevLayer.size()));
+                    if (!graph.containsEdge(u, v)) {
+                        addTimingEdge(graph, u, v, random.nextInt(500));
+                    }
+                }
+            }
+            prevLayer = layer;
+        }
+        for (TimingVertex v : prevLayer) {
+            addTimingEdge(graph, v, graph.superSink, 0);
+        }
+        return graph;
+    }
+
+    private static void addTimingEdge(TimingGraph graph, TimingVertex u, TimingVertex v, float delay) {
+        TimingEdge e = new TimingEdge(graph, u, v);
+        graph.addEdge(u, v, e);
+        e.setNetDelay(delay);
+    }
+
+    /**
+     * Brings timing up to date the same way as {@link TimingManager#calculateArrivalRequiredTimes()}.
+     */
+    private static void updateTiming(TimingGraph graph, float requirement) {
+        graph.updateArrivalTimesIncremental();
+        float maxArrival = graph.getMaxDelay().getFirst();
+        graph.updateRequiredTimesIncremental(Float.max(maxArrival, requirement));
+    }
+
+    private static void assertSameTiming(Map<TimingVertex, Float> arrivals, Map<TimingVertex, Float> requireds,
+                                         Map<TimingVertex, TimingVertex> prevs, TimingGraph graph) {
+        for (TimingVertex v : graph.vertexSet()) {
+            Assertions.assertEquals(arrivals.get(v), v.getArrivalTime(), v.getName());
+            Assertions.assertEquals(requireds.get(v), v.getRequiredTime(), v.getName());
+            Assertions.assertSame(prevs.get(v), v.getPrev(), v.getName());
+        }
+    }
+
+    /**
+     * Changes net delays in rounds and checks that incrementally updated arrival times, required
+     * times, critical path predecessors and worst slack match those of a full recompute. A small
+     * requirement changes the normalized requirement whenever the maximum arrival time changes,
+     * whereas a large one keeps it fixed such that required times are also updated incrementally.
+     */
+    @ParameterizedTest
+    @ValueSource(floats = {0f, 100000f})
+    public void testIncrementalTimingMatchesFullRecompute(float requirement) {
+        TimingGraph graph = createLayeredTimingGraph(20, 50, 0);
+        updateTiming(graph, requirement);
+        Assertions.assertTrue(graph.isIncrementalTimingValid());
+
+        List<TimingEdge> edges = new ArrayList<>(graph.edgeSet());
+        Random random = new Random(1);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1 + round * 5; i++) {
+                TimingEdge e = edges.get(random.nextInt(edges.size()));
+                e.setNetDelay(random.nextInt(500));
+            }
+            Assertions.assertTrue(graph.isIncrementalTimingValid());
+            updateTiming(graph, requirement);
+
+            Map<TimingVertex, Float> arrivals = new HashMap<>();
+            Map<TimingVertex, Float> requireds = new HashMap<>();
+            Map<TimingVertex, TimingVertex> prevs = new HashMap<>();
+            for (TimingVertex v : graph.vertexSet()) {
+                arrivals.put(v, v.getArrivalTime());
+                requireds.put(v, v.getRequiredTime());
+                prevs.put(v, v.getPrev());
+            }
+            float worstSlack = graph.getWorstSlack();
+
+            graph.resetRequiredAndArrivalTime();
+            Assertions.assertFalse(graph.isIncrementalTimingValid());
+            updateTiming(graph, requirement);
+
+            assertSameTiming(arrivals, requireds, prevs, graph);
+            Assertions.assertEquals(worstSlack, graph.getWorstSlack());
+        }
+    }
+
+    /**
+     * Checks that arrival and required times propagated on the {@link CompactTimingGraph} match
+     * those propagated over the JGraphT adjacency of the {@link TimingGraph}.
+     */
+    @Test
+    public void testCompactTimingMatchesJGraphT() {
+        TimingGraph graph = createLayeredTimingGraph(30, 100, 2);
+        List<TimingVertex> order = new ArrayList<>();
+        TopologicalOrderIterator<TimingVertex, TimingEdge> it = new TopologicalOrderIterator<>(graph);
+        while (it.hasNext()) {
+            order.add(it.next());
+        }
+
+        Map<TimingVertex, Float> arrivals = new HashMap<>();
+        for (TimingVertex v : order) {
+            if (graph.inDegreeOf(v) == 0) {
+                arrivals.put(v, 0f);
+            }
+            for (TimingEdge e : graph.outgoingEdgesOf(v)) {
+                arrivals.merge(e.getDst(), arrivals.get(v) + e.getDelay(), Float::max);
+            }
+        }
+        float requirement = arrivals.get(graph.superSink);
+        Map<TimingVertex, Float> requireds = new HashMap<>();
+        for (int i = order.size() - 1; i >= 0; i--) {
+            TimingVertex v = order.get(i);
+            if (graph.outDegreeOf(v) == 0) {
+                requireds.put(v, v == graph.superSink ? requirement : Short.MAX_VALUE);
+            }
+            for (TimingEdge e : graph.incomingEdgesOf(v)) {
+                requireds.merge(e.getSrc(), requireds.get(v) - e.getDelay(), Float::min);
+            }
+        }
+
+        graph.computeArrivalTimesTopologicalOrder();
+        graph.setTimingRequirementTopologicalOrder(requirement);
+        Assertions.assertEquals(graph.vertexSet().size(), graph.getCompactTimingGraph().getNumVertices());
+        Assertions.assertEquals(graph.edgeSet().size(), graph.getCompactTimingGraph().getNumEdges());
+        for (TimingVertex v : graph.vertexSet()) {
+            Assertions.assertEquals(arrivals.get(v), v.getArrivalTime(), v.getName());
+            Assertions.assertEquals(requireds.get(v), v.getRequiredTime(), v.getName());
+        }
+
+        float criticalPathDelay = 0;
+        for (TimingEdge e : graph.getCriticalTimingEdgesInOrder(graph.superSink)) {
+            criticalPathDelay += e.getDelay();
+        }
+        Assertions.assertEquals(requirement, criticalPathDelay);
+    }
+
+    /**
+     * Checks that propagating arrival and required times with the vertices of each level split
+     * across threads gives exactly the same result as propagating them on the calling thread.
+     */
+    @Test
+    public void testParallelTimingMatchesSerial() {
+        // Every layer is large enough to be split across threads
+        TimingGraph graph = createLayeredTimingGraph(6, CompactTimingGraph.MIN_PARALLEL_LEVEL_SIZE * 2, 3);
+        CompactTimingGraph compactGraph = graph.getCompactTimingGraph();
+        Assertions.assertEquals(6 + 2, compactGraph.getNumLevels());
+
+        Map<TimingVertex, Float> arrivals = new HashMap<>();
+        Map<TimingVertex, Float> requireds = new HashMap<>();
+        Map<TimingVertex, TimingVertex> prevs = new HashMap<>();
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(false);
+            graph.computeArrivalTimesTopologicalOrder();
+            float requirement = graph.getMaxDelay().getFirst();
+            graph.setTimingRequirementTopologicalOrder(requirement);
+            for (TimingVertex v : graph.vertexSet()) {
+                arrivals.put(v, v.getArrivalTime());
+                requireds.put(v, v.getRequiredTime());
+                prevs.put(v, v.getPrev());
+            }
+
+            graph.resetRequiredAndArrivalTime();
+            ParallelismTools.setParallel(true);
+            graph.computeArrivalTimesTopologicalOrder();
+            Assertions.assertEquals(requirement, (float) graph.getMaxDelay().getFirst());
+            graph.setTimingRequirementTopologicalOrder(requirement);
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+        assertSameTiming(arrivals, requireds, prevs, graph);
+    }
+}
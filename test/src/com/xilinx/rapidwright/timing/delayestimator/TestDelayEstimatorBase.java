@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.timing.delayestimator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.rwroute.RouteNode;
+
+public class TestDelayEstimatorBase {
+
+    /**
+     * Collects the exit nodes of a few INT tiles in different rows and columns of the device.
+     */
+    private static List<Node> getExitNodes(Device device) {
+        List<Node> nodes = new ArrayList<>();
+        Tile[][] intTiles = device.getTilesByRootName("INT");
+        for (int y = 0; y < intTiles.length; y += Math.max(1, intTiles.length / 4)) {
+            for (int x = 0; x < intTiles[y].length; x += Math.max(1, intTiles[y].length / 4)) {
+                Tile tile = intTiles[y][x];
+                if (tile == null) continue;
+                for (int wire = 0; wire < tile.getWireCount(); wire++) {
+                    Node node = Node.getNode(tile, wire);
+                    if (node != null && node.getTile() == tile && RouteNode.isExitNode(node)) {
+                        nodes.add(node);
+                    }
+                }
+            }
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testDelayLookupTableSaveAndLoad(@TempDir Path tempDir) {
+        Device device = Device.getDevice("xcvu3p");
+        String fileName = tempDir.resolve("xcvu3p_delay_lut.dat").toString();
+        List<Node> nodes = getExitNodes(device);
+        Assertions.assertFalse(nodes.isEmpty());
+
+        DelayEstimatorBase<InterconnectInfo> estimator = new DelayEstimatorBase<>(device, new InterconnectInfo(), false, 0);
+        estimator.setDelayLookupTableFileName(fileName);
+        short[] delays = new short[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            delays[i] = estimator.getDelayOf(nodes.get(i));
+        }
+        estimator.saveDelayLookupTable();
+        Assertions.assertTrue(Files.exists(tempDir.resolve("xcvu3p_delay_lut.dat")));
+
+        DelayEstimatorBase<InterconnectInfo> reloaded = new DelayEstimatorBase<>(device, new InterconnectInfo(), false, 0);
+        reloaded.setDelayLookupTableFileName(fileName);
+        for (int i = 0; i < nodes.size(); i++) {
+            Assertions.assertEquals(delays[i], reloaded.getDelayOf(nodes.get(i)), nodes.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testDelayLookupTableNotSavedByDefault() throws IOException {
+        Device device = Device.getDevice("xcvu3p");
+        String defaultFileName = DelayEstimatorBase.getDelayLookupTableFileName(device);
+        Assumptions.assumeTrue(defaultFileName != null);
+        Path defaultPath = Paths.get(defaultFileName);
+        FileTime before = Files.exists(defaultPath) ? Files.getLastModifiedTime(defaultPath) : null;
+
+        DelayEstimatorBase<InterconnectInfo> estimator = new DelayEstimatorBase<>(device, new InterconnectInfo(), false, 0);
+        for (Node node : getExitNodes(device)) {
+            estimator.getDelayOf(node);
+        }
+        // No file was set, so neither the device's default file nor any other is written
+        estimator.saveDelayLookupTable();
+        FileTime after = Files.exists(defaultPath) ? Files.getLastModifiedTime(defaultPath) : null;
+        Assertions.assertEquals(before, after);
+    }
+}
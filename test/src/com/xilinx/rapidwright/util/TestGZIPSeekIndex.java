@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestGZIPSeekIndex {
+
+    private static byte[] makeData() {
+        // Mix of compressible text and random data to get all deflate block types
+        Random random = new Random(0);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("(instance inst_").append(random.nextInt(1000)).append(" (viewref netlist (cellref LUT6))\n");
+        }
+        byte[] text = sb.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] noise = new byte[200000];
+        random.nextBytes(noise);
+        byte[] data = new byte[text.length * 2 + noise.length];
+        System.arraycopy(text, 0, data, 0, text.length);
+        System.arraycopy(noise, 0, data, text.length, noise.length);
+        System.arraycopy(text, 0, data, text.length + noise.length, text.length);
+        return data;
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] buffer = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int count = in.read(buffer, read, length - read);
+            if (count < 0) {
+                break;
+            }
+            read += count;
+        }
+        Assertions.assertEquals(length, read);
+        return buffer;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 6, 9})
+    public void testSeek(int level, @TempDir Path tempDir) throws IOException {
+        byte[] data = makeData();
+        Path gzipFile = tempDir.resolve("data.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(gzipFile)) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            os.write(data);
+        }
+
+        GZIPSeekIndex index = GZIPSeekIndex.build(gzipFile, 100000);
+        Assertions.assertNotNull(index);
+        Assertions.assertEquals(data.length, index.getUncompressedSize());
+        Assertions.assertTrue(index.getNumCheckpoints() > 1);
+
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            int offset = (i == 0) ? 0 : random.nextInt(data.length);
+            int length = Math.min(10000, data.length - offset);
+            try (InputStream in = index.getInputStream()) {
+                Assertions.assertEquals(offset, in.skip(offset));
+                byte[] actual = readFully(in, length);
+                for (int j = 0; j < length; j++) {
+                    Assertions.assertEquals(data[offset + j], actual[j], "Mismatch at offset " + (offset + j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedIndex(@TempDir Path tempDir) throws IOException {
+        byte[] data = makeData();
+        Path gzipFile = tempDir.resolve("data.gz");
+        try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            os.write(data);
+        }
+        Path cacheDir = tempDir.resolve("cache");
+        String origDir = Params.RW_GZIP_SEEK_INDEX_DIR;
+        try {
+            Params.RW_GZIP_SEEK_INDEX_DIR = cacheDir.toString();
+            Path indexFile = FileTools.getGZIPSeekIndexFileName(gzipFile);
+            Assertions.assertEquals(cacheDir, indexFile.getParent());
+
+            GZIPSeekIndex index = GZIPSeekIndex.getOrCreate(gzipFile);
+            Assertions.assertNotNull(index);
+            Assertions.assertTrue(Files.exists(indexFile));
+            Assertions.assertFalse(Files.exists(Paths.get(gzipFile + FileTools.GZIP_SEEK_INDEX_FILE_SUFFIX)));
+
+            GZIPSeekIndex loaded = GZIPSeekIndex.getOrCreate(gzipFile);
+            Assertions.assertEquals(index.getUncompressedSize(), loaded.getUncompressedSize());
+            Assertions.assertEquals(index.getNumCheckpoints(), loaded.getNumCheckpoints());
+            try (InputStream in = loaded.getInputStream()) {
+                Assertions.assertArrayEquals(data, readFully(in, data.length));
+            }
+        } finally {
+            Params.RW_GZIP_SEEK_INDEX_DIR = origDir;
+        }
+    }
+}
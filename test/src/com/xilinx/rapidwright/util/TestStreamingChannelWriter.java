@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.xilinx.rapidwright.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestStreamingChannelWriter {
+
+    private static final int BUFFER_SIZE = 64;
+
+    private static final int MAX_BUFFERS = 5;
+
+    private static List<StreamingChannelWriter.Renderer> createRenderers(ByteArrayOutputStream expected) throws IOException {
+        Random random = new Random(0);
+        List<StreamingChannelWriter.Renderer> renderers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            byte[] data = new byte[random.nextInt(50 * BUFFER_SIZE)];
+            random.nextBytes(data);
+            expected.write(data);
+            renderers.add((os) -> {
+                // Mix single byte and array writes that straddle buffer boundaries
+                for (int j = 0; j < data.length; j += 7) {
+                    os.write(data[j]);
+                    os.write(data, j + 1, Math.min(6, data.length - j - 1));
+                }
+            });
+        }
+        return renderers;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testWriteInOrder(boolean parallel, @TempDir Path tempDir) throws IOException {
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        List<StreamingChannelWriter.Renderer> renderers = createRenderers(expected);
+        Path output = tempDir.resolve("output.bin");
+        try {
+            ParallelismTools.setParallel(parallel);
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                StreamingChannelWriter writer = new StreamingChannelWriter(channel, BUFFER_SIZE, MAX_BUFFERS);
+                writer.write(renderers);
+                Assertions.assertTrue(writer.getAllocatedBufferCount() <= MAX_BUFFERS);
+            }
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+        Assertions.assertArrayEquals(expected.toByteArray(), Files.readAllBytes(output));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testRendererFailure(boolean parallel, @TempDir Path tempDir) throws IOException {
+        List<StreamingChannelWriter.Renderer> renderers = createRenderers(new ByteArrayOutputStream());
+        renderers.set(100, (os) -> {
+            throw new IOException("Renderer failed");
+        });
+        Path output = tempDir.resolve("output.bin");
+        try {
+            ParallelismTools.setParallel(parallel);
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                StreamingChannelWriter writer = new StreamingChannelWriter(channel, BUFFER_SIZE, MAX_BUFFERS);
+                IOException e = Assertions.assertThrows(IOException.class, () -> writer.write(renderers));
+                Assertions.assertEquals("Renderer failed", e.getMessage());
+            }
+        } finally {
+            ParallelismTools.setParallel(false);
+        }
+    }
+}